@@ -21,6 +21,9 @@ android {
         vectorDrawables {
             useSupportLibrary = true
         }
+
+        // URL base da API do cardápio. Vazia = usa o RemoteDataSource mockado.
+        buildConfigField("String", "API_BASE_URL", "\"\"")
     }
 
     buildTypes {
@@ -44,6 +47,7 @@ android {
 
     buildFeatures {
         compose = true
+        buildConfig = true
     }
 
     composeOptions {
@@ -55,6 +59,12 @@ android {
             excludes += "/META-INF/{AL2.0,LGPL2.1}"
         }
     }
+
+    // Utilitários comuns aos testes locais (JVM) e instrumentados
+    sourceSets {
+        getByName("test").java.srcDir("src/sharedTest/java")
+        getByName("androidTest").java.srcDir("src/sharedTest/java")
+    }
 }
 
 // Configuração para KAPT funcionar com JDK 17+
@@ -87,6 +97,7 @@ dependencies {
 
     // ViewModel
     implementation("androidx.lifecycle:lifecycle-viewmodel-compose:2.6.2")
+    implementation("androidx.lifecycle:lifecycle-runtime-compose:2.6.2")
 
     // Hilt
     implementation("com.google.dagger:hilt-android:2.48")
@@ -115,6 +126,9 @@ dependencies {
     // Coil for image loading
     implementation("io.coil-kt:coil-compose:2.5.0")
     
+    // OkHttp (cliente HTTP da API do cardápio)
+    implementation("com.squareup.okhttp3:okhttp:4.12.0")
+    
     // Timber for logging
     implementation("com.jakewharton.timber:timber:5.0.1")
     
@@ -123,6 +137,8 @@ dependencies {
 
     // Testing
     testImplementation("junit:junit:4.13.2")
+    testImplementation("com.squareup.okhttp3:mockwebserver:4.12.0")
+    testImplementation("org.jetbrains.kotlinx:kotlinx-coroutines-test:1.7.3")
     androidTestImplementation("androidx.test.ext:junit:1.1.5")
     androidTestImplementation("androidx.test.espresso:espresso-core:3.5.1")
     androidTestImplementation(platform("androidx.compose:compose-bom:2023.10.01"))
@@ -0,0 +1,144 @@
+package com.speedmenu.tablet.data.local
+
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.PreferenceDataStoreFactory
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.edit
+import androidx.datastore.preferences.core.intPreferencesKey
+import androidx.datastore.preferences.core.stringPreferencesKey
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.speedmenu.tablet.data.config.DefaultAppConfig
+import com.speedmenu.tablet.domain.model.AppConfig
+import com.speedmenu.tablet.testing.medianMillis
+import com.speedmenu.tablet.testing.reportBenchmark
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.runBlocking
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.io.File
+
+/**
+ * Cache de AppConfig em disco: migração do formato antigo, um arquivo por restaurante
+ * e tempo de carga com 50 restaurantes em cache.
+ */
+@RunWith(AndroidJUnit4::class)
+class AppConfigDataStoreTest {
+
+    private lateinit var directory: File
+    private lateinit var scope: CoroutineScope
+    private lateinit var preferences: DataStore<Preferences>
+
+    @Before
+    fun setUp() {
+        val context = InstrumentationRegistry.getInstrumentation().targetContext
+        directory = File(context.cacheDir, "app_config_test").apply {
+            deleteRecursively()
+            mkdirs()
+        }
+        scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+        preferences = PreferenceDataStoreFactory.create(scope = scope) {
+            File(directory, "app_config.preferences_pb")
+        }
+    }
+
+    @After
+    fun tearDown() {
+        scope.cancel()
+        directory.deleteRecursively()
+    }
+
+    @Test
+    fun migratesLegacyJsonOnFirstLoad() = runBlocking {
+        preferences.edit {
+            it[stringPreferencesKey("app_config_json_r1")] = legacyJson(version = 4, restaurantName = "Cantina")
+            it[intPreferencesKey("app_config_version_r1")] = 4
+        }
+        val store = AppConfigDataStore(preferences, File(directory, "configs"))
+
+        val config = store.loadConfig("r1")
+        assertEquals(4, config?.version)
+        assertEquals("Cantina", config?.branding?.restaurantName)
+        assertEquals(4, store.loadVersion("r1"))
+
+        // Chaves antigas removidas: a migração não se repete
+        val migrated = preferences.data.first()
+        assertNull(migrated[stringPreferencesKey("app_config_json_r1")])
+        assertNull(migrated[intPreferencesKey("app_config_version_r1")])
+        assertEquals(4, AppConfigDataStore(preferences, File(directory, "configs")).loadVersion("r1"))
+    }
+
+    @Test
+    fun legacyJsonNeverOverwritesNewerConfig() = runBlocking {
+        val configs = File(directory, "configs")
+        AppConfigDataStore(preferences, configs).saveConfig("r1", config(version = 9, restaurantName = "Nova"))
+        preferences.edit { it[stringPreferencesKey("app_config_json_r1")] = legacyJson(version = 2, restaurantName = "Antiga") }
+
+        val config = AppConfigDataStore(preferences, configs).loadConfig("r1")
+        assertEquals(9, config?.version)
+        assertEquals("Nova", config?.branding?.restaurantName)
+    }
+
+    @Test
+    fun similarIdsUseSeparateFiles() = runBlocking {
+        val store = AppConfigDataStore(preferences, File(directory, "configs"))
+        store.saveConfig("a.b", config(version = 1, restaurantName = "Ponto"))
+        store.saveConfig("a_b", config(version = 2, restaurantName = "Sublinhado"))
+
+        assertEquals("Ponto", store.loadConfig("a.b")?.branding?.restaurantName)
+        assertEquals("Sublinhado", store.loadConfig("a_b")?.branding?.restaurantName)
+        assertNull(store.loadConfig("a-b"))
+    }
+
+    @Test
+    fun benchmarkLoadWith50Restaurants() = runBlocking {
+        val store = AppConfigDataStore(preferences, File(directory, "configs"))
+        repeat(RESTAURANT_COUNT) { index ->
+            store.saveConfig("restaurant_$index", config(version = index + 1, restaurantName = "Restaurante $index"))
+        }
+
+        var loaded: AppConfig? = null
+        val loadMillis = medianMillis(runs = 20) { loaded = runBlocking { store.loadConfig("restaurant_25") } }
+        val versionMillis = medianMillis(runs = 20) { runBlocking { store.loadVersion("restaurant_25") } }
+        reportBenchmark("AppConfigDataStore.loadConfig[$RESTAURANT_COUNT restaurants]", loadMillis)
+        reportBenchmark("AppConfigDataStore.loadVersion[$RESTAURANT_COUNT restaurants]", versionMillis)
+
+        assertEquals(26, loaded?.version)
+        assertEquals("Restaurante 25", loaded?.branding?.restaurantName)
+        // Um arquivo pequeno por restaurante: a carga não depende de quantos estão em cache
+        assertTrue("loadConfig took $loadMillis ms", loadMillis < MAX_LOAD_MILLIS)
+    }
+
+    private fun config(version: Int, restaurantName: String): AppConfig {
+        val default = DefaultAppConfig.get()
+        return default.copy(
+            version = version,
+            branding = default.branding.copy(restaurantName = restaurantName)
+        )
+    }
+
+    private fun legacyJson(version: Int, restaurantName: String): String {
+        val colors = """{"primary":"#112233","onPrimary":"#FFFFFF","secondary":"#445566","onSecondary":"#FFFFFF",""" +
+            """"background":"#000000","onBackground":"#FFFFFF","surface":"#101010","onSurface":"#FFFFFF",""" +
+            """"error":"#FF0000","onError":"#FFFFFF"}"""
+        return """{"version":$version,"branding":{"restaurantName":"$restaurantName"},""" +
+            """"theme":{"light":$colors,"dark":$colors},""" +
+            """"home":{"carousel":[{"imageUrl":"https://cdn.example.com/1.jpg","action":{"type":"CATEGORY","categoryId":"entradas"}}]}}"""
+    }
+
+    companion object {
+        private const val RESTAURANT_COUNT = 50
+
+        // Folga para emuladores lentos; em um tablet médio a carga fica abaixo de 1ms
+        private const val MAX_LOAD_MILLIS = 10.0
+    }
+}
@@ -0,0 +1,160 @@
+package com.speedmenu.tablet.data.local
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.CartItemOptions
+import com.speedmenu.tablet.domain.model.CartOperation
+import com.speedmenu.tablet.domain.model.Money
+import com.speedmenu.tablet.testing.medianMillis
+import com.speedmenu.tablet.testing.reportBenchmark
+import com.speedmenu.tablet.ui.viewmodel.CartLines
+import com.speedmenu.tablet.ui.viewmodel.CartState
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.runBlocking
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.io.DataOutputStream
+import java.io.File
+import java.io.FileOutputStream
+
+/**
+ * Diário do carrinho: kill no meio de um write, carrinho da mesa gravado como um único
+ * registro e tempo de restore de um carrinho de 200 linhas.
+ */
+@RunWith(AndroidJUnit4::class)
+class CartJournalTest {
+
+    private lateinit var directory: File
+    private lateinit var scope: CoroutineScope
+
+    @Before
+    fun setUp() {
+        val context = InstrumentationRegistry.getInstrumentation().targetContext
+        directory = File(context.cacheDir, "cart_journal_test").apply {
+            deleteRecursively()
+            mkdirs()
+        }
+        scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    }
+
+    @After
+    fun tearDown() {
+        scope.cancel()
+        directory.deleteRecursively()
+    }
+
+    @Test
+    fun killMidWriteDropsOnlyTornRecord() = runBlocking {
+        val journal = CartJournal(directory, scope)
+        journal.restore()
+        val first = item("line_1", "p1")
+        val second = item("line_2", "p2")
+        journal.record(CartOperation.Add(first), listOf(first))
+        journal.record(CartOperation.SetQuantity("line_1", 3), listOf(first.copy(quantity = 3)))
+        journal.record(CartOperation.Add(second), listOf(first.copy(quantity = 3), second))
+        journal.flush()
+
+        // Processo morto no meio do próximo write: cabeçalho do registro + parte do payload
+        val journalFile = File(directory, "cart_journal.bin")
+        val intactLength = journalFile.length()
+        DataOutputStream(FileOutputStream(journalFile, true)).use { out ->
+            out.writeInt(64)
+            out.writeInt(0x12345678)
+            out.write(ByteArray(10) { 7 })
+        }
+
+        val afterKill = CartJournal(directory, scope)
+        val restored = afterKill.restore()
+        assertEquals(
+            listOf(CartOperation.Add(first), CartOperation.SetQuantity("line_1", 3), CartOperation.Add(second)),
+            restored.operations
+        )
+        // O final cortado sai do arquivo: os próximos registros continuam legíveis
+        assertEquals(intactLength, journalFile.length())
+
+        afterKill.record(CartOperation.Remove("line_2"), listOf(first.copy(quantity = 3)))
+        afterKill.flush()
+        val lines = replay(CartJournal(directory, scope).restore())
+        assertEquals(listOf(first.copy(quantity = 3)), lines.items)
+    }
+
+    @Test
+    fun tableCartIsOneRecordAndKeepsDuplicateLines() = runBlocking {
+        val journal = CartJournal(directory, scope)
+        journal.restore()
+        journal.record(CartOperation.Add(item("line_1", "p1")), listOf(item("line_1", "p1")))
+        // Mesma linha adicionada ao mesmo tempo em dois tablets da mesa
+        val shared = listOf(item("a_1", "p1"), item("b_1", "p1"), item("b_2", "p2"))
+        journal.record(CartOperation.ReplaceAll(shared), shared)
+        journal.flush()
+
+        // Substituir o carrinho compacta na hora: o diário fica vazio
+        assertFalse(File(directory, "cart_journal.bin").exists())
+        val restored = CartJournal(directory, scope).restore()
+        assertTrue(restored.operations.isEmpty())
+        assertEquals(shared, replay(restored).items)
+    }
+
+    @Test
+    fun benchmarkRestore200Lines() = runBlocking {
+        val journal = CartJournal(directory, scope)
+        journal.restore()
+        val lines = List(LINE_COUNT) { index ->
+            item("line_$index", "product_$index", options = CartItemOptions.Builder()
+                .ingredient("Queijo", 1 + index % 3)
+                .observations(if (index % 5 == 0) "Sem cebola" else "")
+                .build())
+        }
+        journal.record(CartOperation.ReplaceAll(lines), lines)
+        journal.flush()
+        // Alterações depois do snapshot, reaplicadas no restore
+        repeat(JOURNAL_OPERATIONS) { index ->
+            journal.record(CartOperation.SetQuantity("line_$index", 2), lines)
+        }
+        journal.flush()
+
+        var state = CartState()
+        val restoreMillis = medianMillis(runs = 20) {
+            state = replay(runBlocking { CartJournal(directory, scope).restore() })
+        }
+        reportBenchmark("CartJournal.restore[$LINE_COUNT lines + $JOURNAL_OPERATIONS operations]", restoreMillis)
+
+        assertEquals(LINE_COUNT, state.items.size)
+        assertEquals(LINE_COUNT + JOURNAL_OPERATIONS, state.totalItems)
+        assertTrue("restore took $restoreMillis ms", restoreMillis < MAX_RESTORE_MILLIS)
+    }
+
+    // Mesmo caminho do CartViewModel: snapshot sem mesclar + operações em ordem
+    private fun replay(restored: CartJournal.Restored): CartState {
+        val lines = CartLines()
+        lines.replaceAll(restored.lines)
+        restored.operations.forEach { lines.apply(it) }
+        return lines.snapshot()
+    }
+
+    private fun item(id: String, productId: String, options: CartItemOptions = CartItemOptions()) = CartItem(
+        id = id,
+        productId = productId,
+        name = "Produto $productId",
+        price = Money.ofCents(2_500),
+        quantity = 1,
+        options = options
+    )
+
+    companion object {
+        private const val LINE_COUNT = 200
+        private const val JOURNAL_OPERATIONS = 40
+
+        // Meta do restore no boot; em um tablet médio fica perto de 10ms
+        private const val MAX_RESTORE_MILLIS = 100.0
+    }
+}
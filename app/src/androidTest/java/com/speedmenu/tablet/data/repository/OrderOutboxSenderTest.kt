@@ -0,0 +1,163 @@
+package com.speedmenu.tablet.data.repository
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.speedmenu.tablet.core.refresh.RefreshPolicy
+import com.speedmenu.tablet.data.datasource.remote.OrderSubmissionResult
+import com.speedmenu.tablet.data.datasource.remote.OrderSubmissionSource
+import com.speedmenu.tablet.data.local.OrderOutbox
+import com.speedmenu.tablet.data.local.PendingOrder
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.io.File
+import java.io.IOException
+import java.util.UUID
+import kotlin.random.Random
+
+/**
+ * Envio da outbox contra um servidor substituto com latência e falhas injetadas:
+ * ordem de finalização preservada (inclusive no mesmo milissegundo), nenhum pedido
+ * aplicado duas vezes e pedidos recusados fora da fila.
+ */
+@RunWith(AndroidJUnit4::class)
+class OrderOutboxSenderTest {
+
+    private lateinit var directory: File
+    private lateinit var scope: CoroutineScope
+
+    @Before
+    fun setUp() {
+        val context = InstrumentationRegistry.getInstrumentation().targetContext
+        directory = File(context.cacheDir, "order_outbox_test").apply {
+            deleteRecursively()
+            mkdirs()
+        }
+        scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    }
+
+    @After
+    fun tearDown() {
+        scope.cancel()
+        directory.deleteRecursively()
+    }
+
+    @Test
+    fun deliversInOrderThroughLatencyAndFailures() = runBlocking {
+        val outbox = OrderOutbox(directory)
+        // Todos finalizados no mesmo milissegundo: só a sequência define a ordem
+        val keys = List(ORDER_COUNT) { UUID.randomUUID().toString() }
+        keys.forEach { outbox.enqueue(PendingOrder(it, ENQUEUED_AT, it.toByteArray())) }
+
+        val server = StandInServer(random = Random(7), failureRate = 0.3)
+        OrderOutboxSender(outbox, server, scope, fastPolicy()).start()
+        awaitEmpty(outbox)
+
+        assertEquals(keys, server.accepted())
+        assertTrue("expected injected failures, got ${server.attempts} attempts", server.attempts > ORDER_COUNT)
+    }
+
+    @Test
+    fun rejectedOrderLeavesQueueAndOthersContinue() = runBlocking {
+        val outbox = OrderOutbox(directory)
+        val keys = List(5) { UUID.randomUUID().toString() }
+        keys.forEach { outbox.enqueue(PendingOrder(it, ENQUEUED_AT, it.toByteArray())) }
+
+        val server = StandInServer(random = Random(11), failureRate = 0.0, rejected = setOf(keys[2]))
+        OrderOutboxSender(outbox, server, scope, fastPolicy()).start()
+        awaitEmpty(outbox)
+
+        assertEquals(keys - keys[2], server.accepted())
+        val rejectedFiles = File(directory, "rejected").list().orEmpty()
+        assertTrue(rejectedFiles.single().endsWith("_${keys[2]}.json"))
+    }
+
+    @Test
+    fun sequenceContinuesAfterRestart() = runBlocking {
+        val before = List(3) { UUID.randomUUID().toString() }
+        val beforeRestart = OrderOutbox(directory)
+        before.forEach { beforeRestart.enqueue(PendingOrder(it, ENQUEUED_AT, it.toByteArray())) }
+
+        // Processo reiniciado; o relógio voltou (ex: ajuste de hora) antes dos próximos pedidos
+        val after = List(3) { UUID.randomUUID().toString() }
+        val afterRestart = OrderOutbox(directory)
+        after.forEach { afterRestart.enqueue(PendingOrder(it, ENQUEUED_AT - 60_000L, it.toByteArray())) }
+
+        assertEquals(before + after, afterRestart.pending().map { it.idempotencyKey })
+    }
+
+    private suspend fun awaitEmpty(outbox: OrderOutbox) {
+        withTimeout(DELIVERY_TIMEOUT_MILLIS) {
+            while (outbox.pending().isNotEmpty()) delay(20)
+        }
+    }
+
+    private fun fastPolicy() = RefreshPolicy(
+        intervalMillis = 0L,
+        backoffBaseMillis = 10L,
+        backoffMaxMillis = 50L,
+        random = Random(3)
+    )
+
+    /**
+     * Servidor de pedidos em processo: latência aleatória e falhas antes ou depois de aplicar
+     * o pedido (resposta perdida). Pedidos repetidos com a mesma chave não são aplicados de novo.
+     */
+    private class StandInServer(
+        private val random: Random,
+        private val failureRate: Double,
+        private val rejected: Set<String> = emptySet()
+    ) : OrderSubmissionSource {
+
+        private val lock = Any()
+        private val acceptedKeys = ArrayList<String>()
+
+        @Volatile
+        var attempts = 0
+            private set
+
+        fun accepted(): List<String> = synchronized(lock) { ArrayList(acceptedKeys) }
+
+        override suspend fun submit(idempotencyKey: String, payload: ByteArray): OrderSubmissionResult {
+            val (latency, failure) = synchronized(lock) {
+                attempts++
+                random.nextLong(MAX_LATENCY_MILLIS + 1) to
+                    if (random.nextDouble() < failureRate) random.nextInt(3) else NO_FAILURE
+            }
+            delay(latency)
+            when (failure) {
+                FAIL_WITH_RETRY -> return OrderSubmissionResult.RETRY
+                FAIL_WITH_EXCEPTION -> throw IOException("connection reset")
+            }
+            if (idempotencyKey in rejected) return OrderSubmissionResult.REJECTED
+            synchronized(lock) {
+                if (idempotencyKey !in acceptedKeys) acceptedKeys += idempotencyKey
+            }
+            // Pedido aplicado, mas a resposta não chega ao tablet
+            if (failure == FAIL_AFTER_APPLY) throw IOException("response lost")
+            return OrderSubmissionResult.DELIVERED
+        }
+    }
+
+    companion object {
+        private const val ORDER_COUNT = 20
+        private const val ENQUEUED_AT = 1_700_000_000_000L
+        private const val DELIVERY_TIMEOUT_MILLIS = 30_000L
+
+        private const val MAX_LATENCY_MILLIS = 15L
+        private const val NO_FAILURE = -1
+        private const val FAIL_WITH_RETRY = 0
+        private const val FAIL_WITH_EXCEPTION = 1
+        private const val FAIL_AFTER_APPLY = 2
+    }
+}
@@ -0,0 +1,150 @@
+package com.speedmenu.tablet.ui.viewmodel
+
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.SideEffect
+import androidx.compose.runtime.collectAsState
+import androidx.compose.runtime.getValue
+import androidx.compose.ui.graphics.Color
+import androidx.compose.ui.test.junit4.createComposeRule
+import androidx.datastore.preferences.core.PreferenceDataStoreFactory
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.speedmenu.tablet.data.config.DefaultAppConfig
+import com.speedmenu.tablet.data.local.AppConfigDataStore
+import com.speedmenu.tablet.data.local.RestaurantSession
+import com.speedmenu.tablet.domain.model.AppConfig
+import com.speedmenu.tablet.domain.model.CarouselItem
+import com.speedmenu.tablet.domain.repository.AppConfigRepository
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableSharedFlow
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.io.File
+
+/**
+ * Conta recomposições de quem lê cada fatia do AppConfig: um config repetido não recompõe
+ * ninguém, e mudar o carrossel (ou o tema) recompõe só quem lê aquela fatia.
+ */
+@RunWith(AndroidJUnit4::class)
+class AppConfigViewModelRecompositionTest {
+
+    @get:Rule
+    val composeRule = createComposeRule()
+
+    private lateinit var directory: File
+    private lateinit var scope: CoroutineScope
+    private val configs = MutableSharedFlow<AppConfig>(replay = 1)
+    private lateinit var viewModel: AppConfigViewModel
+
+    private var themeCompositions = 0
+    private var brandingCompositions = 0
+    private var carouselCompositions = 0
+
+    @Before
+    fun setUp() {
+        val context = InstrumentationRegistry.getInstrumentation().targetContext
+        directory = File(context.cacheDir, "app_config_recomposition_test").apply {
+            deleteRecursively()
+            mkdirs()
+        }
+        scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+        val preferences = PreferenceDataStoreFactory.create(scope = scope) {
+            File(directory, "session.preferences_pb")
+        }
+        val session = RestaurantSession(preferences, AppConfigDataStore(preferences, File(directory, "configs")))
+        val repository = object : AppConfigRepository {
+            override fun observeConfig(restaurantId: String): Flow<AppConfig> = configs
+            override suspend fun refreshConfig(restaurantId: String): Result<Unit> = Result.success(Unit)
+        }
+        configs.tryEmit(BASE_CONFIG)
+        InstrumentationRegistry.getInstrumentation().runOnMainSync {
+            viewModel = AppConfigViewModel(repository, session)
+        }
+
+        composeRule.setContent {
+            ThemeReader(viewModel)
+            BrandingReader(viewModel)
+            CarouselReader(viewModel)
+        }
+        composeRule.waitUntil(timeoutMillis = 5_000) { viewModel.appConfig.value != null }
+        composeRule.waitForIdle()
+    }
+
+    @After
+    fun tearDown() {
+        scope.cancel()
+        directory.deleteRecursively()
+    }
+
+    @Test
+    fun equalConfigDoesNotRecompose() {
+        val counts = snapshotCounts()
+
+        // Nova instância com o mesmo conteúdo (ex: o mesmo config relido do disco)
+        emit(BASE_CONFIG.copy())
+
+        assertEquals(counts, snapshotCounts())
+    }
+
+    @Test
+    fun carouselChangeRecomposesOnlyCarouselReaders() {
+        val (theme, branding, carousel) = snapshotCounts()
+
+        emit(BASE_CONFIG.copy(version = 2, home = BASE_CONFIG.home.copy(carousel = listOf(CarouselItem("https://cdn.example.com/new.jpg")))))
+
+        assertEquals(Triple(theme, branding, carousel + 1), snapshotCounts())
+    }
+
+    @Test
+    fun paletteChangeRecomposesOnlyThemeReaders() {
+        val (theme, branding, carousel) = snapshotCounts()
+
+        val dark = BASE_CONFIG.theme.dark.copy(primary = Color(0xFF00897B))
+        emit(BASE_CONFIG.copy(version = 2, theme = BASE_CONFIG.theme.copy(dark = dark)))
+
+        assertEquals(Triple(theme + 1, branding, carousel), snapshotCounts())
+    }
+
+    private fun emit(config: AppConfig) {
+        configs.tryEmit(config)
+        composeRule.waitUntil(timeoutMillis = 5_000) { viewModel.appConfig.value == config }
+        composeRule.waitForIdle()
+    }
+
+    private fun snapshotCounts() = composeRule.runOnIdle {
+        Triple(themeCompositions, brandingCompositions, carouselCompositions)
+    }
+
+    @Composable
+    private fun ThemeReader(viewModel: AppConfigViewModel) {
+        val theme by viewModel.themeTokens.collectAsState()
+        SideEffect { themeCompositions++ }
+        theme?.dark?.primary
+    }
+
+    @Composable
+    private fun BrandingReader(viewModel: AppConfigViewModel) {
+        val branding by viewModel.branding.collectAsState()
+        SideEffect { brandingCompositions++ }
+        branding?.restaurantName
+    }
+
+    @Composable
+    private fun CarouselReader(viewModel: AppConfigViewModel) {
+        val carousel by viewModel.carousel.collectAsState()
+        SideEffect { carouselCompositions++ }
+        carousel.size
+    }
+
+    companion object {
+        private val BASE_CONFIG = DefaultAppConfig.get()
+    }
+}
@@ -8,9 +8,12 @@ import androidx.compose.material3.MaterialTheme
 import androidx.compose.material3.Surface
 import androidx.compose.ui.Modifier
 import androidx.navigation.compose.rememberNavController
+import com.speedmenu.tablet.core.kiosk.GuestActivityMonitor
 import com.speedmenu.tablet.core.navigation.NavGraph
+import com.speedmenu.tablet.core.navigation.Screen
 import com.speedmenu.tablet.core.ui.theme.SpeedMenuTheme
 import dagger.hilt.android.AndroidEntryPoint
+import javax.inject.Inject
 
 /**
  * Activity principal do aplicativo SpeedMenuTablet.
@@ -18,6 +21,10 @@ import dagger.hilt.android.AndroidEntryPoint
  */
 @AndroidEntryPoint
 class MainActivity : ComponentActivity() {
+
+    @Inject
+    lateinit var guestActivityMonitor: GuestActivityMonitor
+
     override fun onCreate(savedInstanceState: Bundle?) {
         super.onCreate(savedInstanceState)
         setContent {
@@ -27,10 +34,19 @@ class MainActivity : ComponentActivity() {
                     color = MaterialTheme.colorScheme.background
                 ) {
                     val navController = rememberNavController()
-                    NavGraph(navController = navController)
+                    NavGraph(
+                        navController = navController,
+                        startDestination = Screen.Splash.route
+                    )
                 }
             }
         }
     }
+
+    override fun onUserInteraction() {
+        super.onUserInteraction()
+        // Toques do cliente adiam o refresh em segundo plano
+        guestActivityMonitor.onUserInteraction()
+    }
 }
 
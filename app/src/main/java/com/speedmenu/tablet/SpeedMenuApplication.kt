@@ -1,21 +1,31 @@
 package com.speedmenu.tablet
 
 import android.app.Application
+import com.speedmenu.tablet.core.startup.StartupOrchestrator
 import dagger.hilt.android.HiltAndroidApp
 import timber.log.Timber
+import javax.inject.Inject
 
 /**
  * Classe Application do SpeedMenuTablet.
- * Configura o Hilt para injeção de dependências.
+ * Configura o Hilt para injeção de dependências e inicia o aquecimento do app.
  */
 @HiltAndroidApp
 class SpeedMenuApplication : Application() {
+
+    @Inject
+    lateinit var startupOrchestrator: StartupOrchestrator
+
     override fun onCreate() {
         super.onCreate()
         
         // Inicializa Timber para logging
         // Sempre usa DebugTree (em produção pode ser substituído por CrashReportingTree)
         Timber.plant(Timber.DebugTree())
+        
+        // Aquecimento, refresh periódico e envio de pedidos pendentes em todo início de processo,
+        // inclusive quando o sistema restaura o app direto em outra tela (sem passar pela Splash)
+        startupOrchestrator.start()
     }
 }
 
@@ -1,8 +1,13 @@
 package com.speedmenu.tablet.core.di
 
+import com.speedmenu.tablet.core.utils.Clock
 import dagger.Module
+import dagger.Provides
 import dagger.hilt.InstallIn
 import dagger.hilt.components.SingletonComponent
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
 import javax.inject.Singleton
 
 /**
@@ -12,6 +17,25 @@ import javax.inject.Singleton
 @Module
 @InstallIn(SingletonComponent::class)
 object AppModule {
-    // Módulos de DI serão adicionados aqui conforme necessário
-}
 
+    /**
+     * Scope de vida da aplicação para trabalhos em segundo plano.
+     * SupervisorJob garante que a falha de uma tarefa não cancele as demais.
+     */
+    @Provides
+    @Singleton
+    @ApplicationScope
+    fun provideApplicationScope(): CoroutineScope {
+        return CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    }
+
+    /**
+     * Relógio do app. Classes com lógica dependente de tempo recebem o Clock
+     * para poderem ser testadas com tempo virtual.
+     */
+    @Provides
+    @Singleton
+    fun provideClock(): Clock {
+        return Clock.Default
+    }
+}
@@ -4,6 +4,8 @@ import android.content.Context
 import androidx.datastore.core.DataStore
 import androidx.datastore.preferences.core.Preferences
 import androidx.datastore.preferences.preferencesDataStore
+import com.speedmenu.tablet.BuildConfig
+import com.speedmenu.tablet.data.datasource.remote.HttpAppConfigSource
 import com.speedmenu.tablet.data.local.AppConfigDataStore
 import com.speedmenu.tablet.data.local.RestaurantSession
 import com.speedmenu.tablet.data.mock.MockAppConfigSource
@@ -15,6 +17,8 @@ import dagger.Provides
 import dagger.hilt.InstallIn
 import dagger.hilt.android.qualifiers.ApplicationContext
 import dagger.hilt.components.SingletonComponent
+import java.io.File
+import javax.inject.Provider
 import javax.inject.Singleton
 
 /**
@@ -49,15 +53,26 @@ object ConfigModule {
     @Provides
     @Singleton
     fun provideAppConfigDataStoreWrapper(
+        @ApplicationContext context: Context,
         @AppConfigDS dataStore: DataStore<Preferences>
     ): AppConfigDataStore {
-        return AppConfigDataStore(dataStore)
+        // Um arquivo por restaurante em filesDir/app_config
+        return AppConfigDataStore(dataStore, File(context.filesDir, "app_config"))
     }
     
+    /**
+     * Usa o backend real quando há URL configurada; caso contrário, os restaurantes mockados.
+     */
     @Provides
     @Singleton
-    fun provideAppConfigSource(): AppConfigSource {
-        return MockAppConfigSource()
+    fun provideAppConfigSource(
+        httpAppConfigSource: Provider<HttpAppConfigSource>
+    ): AppConfigSource {
+        return if (BuildConfig.API_BASE_URL.isNotBlank()) {
+            httpAppConfigSource.get()
+        } else {
+            MockAppConfigSource()
+        }
     }
     
     @Provides
@@ -0,0 +1,12 @@
+package com.speedmenu.tablet.core.di
+
+import javax.inject.Qualifier
+
+/**
+ * Qualifier para o CoroutineScope de vida da aplicação.
+ * Usado por trabalhos em segundo plano que não pertencem a nenhuma tela
+ * (ex.: revalidação do cardápio).
+ */
+@Qualifier
+@Retention(AnnotationRetention.BINARY)
+annotation class ApplicationScope
@@ -1,9 +1,23 @@
 package com.speedmenu.tablet.core.di
 
+import com.speedmenu.tablet.BuildConfig
 import com.speedmenu.tablet.data.datasource.local.LocalDataSource
 import com.speedmenu.tablet.data.datasource.local.LocalDataSourceImpl
+import com.speedmenu.tablet.data.datasource.remote.HttpOrderSubmissionSource
+import com.speedmenu.tablet.data.datasource.remote.HttpOrderUpdatesSource
+import com.speedmenu.tablet.data.datasource.remote.HttpRemoteDataSource
+import com.speedmenu.tablet.data.datasource.remote.HttpTableCartSyncSource
+import com.speedmenu.tablet.data.datasource.remote.MenuLiveUpdatesSource
+import com.speedmenu.tablet.data.datasource.remote.MockMenuLiveUpdatesSource
+import com.speedmenu.tablet.data.datasource.remote.MockOrderSubmissionSource
+import com.speedmenu.tablet.data.datasource.remote.MockOrderUpdatesSource
+import com.speedmenu.tablet.data.datasource.remote.MockTableCartSyncSource
+import com.speedmenu.tablet.data.datasource.remote.OrderSubmissionSource
+import com.speedmenu.tablet.data.datasource.remote.OrderUpdatesSource
 import com.speedmenu.tablet.data.datasource.remote.RemoteDataSource
 import com.speedmenu.tablet.data.datasource.remote.RemoteDataSourceImpl
+import com.speedmenu.tablet.data.datasource.remote.SseMenuLiveUpdatesSource
+import com.speedmenu.tablet.data.datasource.remote.TableCartSyncSource
 import com.speedmenu.tablet.data.repository.MenuRepositoryImpl
 import com.speedmenu.tablet.data.repository.OrderRepositoryImpl
 import com.speedmenu.tablet.data.repository.RatingRepositoryImpl
@@ -12,8 +26,10 @@ import com.speedmenu.tablet.domain.repository.OrderRepository
 import com.speedmenu.tablet.domain.repository.RatingRepository
 import dagger.Binds
 import dagger.Module
+import dagger.Provides
 import dagger.hilt.InstallIn
 import dagger.hilt.components.SingletonComponent
+import javax.inject.Provider
 import javax.inject.Singleton
 
 /**
@@ -30,12 +46,6 @@ abstract class DataModule {
         localDataSourceImpl: LocalDataSourceImpl
     ): LocalDataSource
 
-    @Binds
-    @Singleton
-    abstract fun bindRemoteDataSource(
-        remoteDataSourceImpl: RemoteDataSourceImpl
-    ): RemoteDataSource
-
     @Binds
     @Singleton
     abstract fun bindMenuRepository(
@@ -53,5 +63,88 @@ abstract class DataModule {
     abstract fun bindRatingRepository(
         ratingRepositoryImpl: RatingRepositoryImpl
     ): RatingRepository
-}
 
+    companion object {
+        /**
+         * Usa a API real quando há URL configurada; caso contrário, o RemoteDataSource mockado.
+         */
+        @Provides
+        @Singleton
+        fun provideRemoteDataSource(
+            httpRemoteDataSource: Provider<HttpRemoteDataSource>,
+            mockRemoteDataSource: Provider<RemoteDataSourceImpl>
+        ): RemoteDataSource {
+            return if (BuildConfig.API_BASE_URL.isNotBlank()) {
+                httpRemoteDataSource.get()
+            } else {
+                mockRemoteDataSource.get()
+            }
+        }
+
+        /**
+         * Canal ao vivo via SSE quando há URL configurada; caso contrário, o substituto mockado.
+         */
+        @Provides
+        @Singleton
+        fun provideMenuLiveUpdatesSource(
+            sseLiveUpdatesSource: Provider<SseMenuLiveUpdatesSource>,
+            mockLiveUpdatesSource: Provider<MockMenuLiveUpdatesSource>
+        ): MenuLiveUpdatesSource {
+            return if (BuildConfig.API_BASE_URL.isNotBlank()) {
+                sseLiveUpdatesSource.get()
+            } else {
+                mockLiveUpdatesSource.get()
+            }
+        }
+
+        /**
+         * Envio de pedidos para o backend quando há URL configurada; caso contrário, o substituto mockado.
+         */
+        @Provides
+        @Singleton
+        fun provideOrderSubmissionSource(
+            httpOrderSubmissionSource: Provider<HttpOrderSubmissionSource>,
+            mockOrderSubmissionSource: Provider<MockOrderSubmissionSource>
+        ): OrderSubmissionSource {
+            return if (BuildConfig.API_BASE_URL.isNotBlank()) {
+                httpOrderSubmissionSource.get()
+            } else {
+                mockOrderSubmissionSource.get()
+            }
+        }
+
+        /**
+         * Carrinho da mesa sincronizado pelo backend quando há URL configurada;
+         * caso contrário, o relay mockado dentro do processo.
+         */
+        @Provides
+        @Singleton
+        fun provideTableCartSyncSource(
+            httpTableCartSyncSource: Provider<HttpTableCartSyncSource>,
+            mockTableCartSyncSource: Provider<MockTableCartSyncSource>
+        ): TableCartSyncSource {
+            return if (BuildConfig.API_BASE_URL.isNotBlank()) {
+                httpTableCartSyncSource.get()
+            } else {
+                mockTableCartSyncSource.get()
+            }
+        }
+
+        /**
+         * Acompanhamento do pedido pelo backend quando há URL configurada;
+         * caso contrário, o pedido mockado que avança sozinho.
+         */
+        @Provides
+        @Singleton
+        fun provideOrderUpdatesSource(
+            httpOrderUpdatesSource: Provider<HttpOrderUpdatesSource>,
+            mockOrderUpdatesSource: Provider<MockOrderUpdatesSource>
+        ): OrderUpdatesSource {
+            return if (BuildConfig.API_BASE_URL.isNotBlank()) {
+                httpOrderUpdatesSource.get()
+            } else {
+                mockOrderUpdatesSource.get()
+            }
+        }
+    }
+}
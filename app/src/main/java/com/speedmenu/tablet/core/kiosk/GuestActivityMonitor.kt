@@ -0,0 +1,49 @@
+package com.speedmenu.tablet.core.kiosk
+
+import com.speedmenu.tablet.core.utils.Clock
+import java.util.concurrent.atomic.AtomicLong
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Acompanha a interação do cliente com o tablet.
+ *
+ * Um cliente é considerado "pedindo" enquanto toca na tela dentro da janela de atividade.
+ * Trabalho de segundo plano pesado (ex: refresh de config e cardápio) espera o tablet
+ * ficar ocioso para não trocar dados no meio de um pedido.
+ */
+@Singleton
+class GuestActivityMonitor @Inject constructor(
+    private val clock: Clock
+) {
+
+    private val lastInteractionMillis = AtomicLong(NO_INTERACTION)
+
+    /**
+     * Registra uma interação do cliente (chamado pela Activity a cada toque/tecla).
+     */
+    fun onUserInteraction() {
+        lastInteractionMillis.set(clock.nowMillis())
+    }
+
+    /**
+     * Indica se há um cliente interagindo com o tablet agora.
+     */
+    fun isGuestActive(): Boolean = millisUntilIdle() > 0L
+
+    /**
+     * Tempo restante até o tablet ser considerado ocioso (0 se já está ocioso).
+     */
+    fun millisUntilIdle(): Long {
+        val last = lastInteractionMillis.get()
+        if (last == NO_INTERACTION) return 0L
+        return (last + ACTIVE_WINDOW_MILLIS - clock.nowMillis()).coerceAtLeast(0L)
+    }
+
+    companion object {
+        private const val NO_INTERACTION = Long.MIN_VALUE
+
+        // Sem toques por este tempo, o cliente é considerado fora do pedido
+        private const val ACTIVE_WINDOW_MILLIS = 90_000L
+    }
+}
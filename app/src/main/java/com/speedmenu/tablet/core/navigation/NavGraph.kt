@@ -34,13 +34,14 @@ import com.speedmenu.tablet.ui.screens.aiassistant.AiAssistantScreen
 import com.speedmenu.tablet.ui.screens.about.AboutSpeedMenuScreen
 import com.speedmenu.tablet.ui.games.GamesHubScreen
 import com.speedmenu.tablet.ui.games.flappy.GameFlappyScreen
+import com.speedmenu.tablet.domain.model.Money
 
 /**
  * Configuração do grafo de navegação da aplicação.
  * Define todas as rotas e suas respectivas telas.
  *
  * @param navController Controlador de navegação do Compose
- * @param startDestination Rota inicial da aplicação (padrão: Home)
+ * @param startDestination Rota inicial da aplicação (padrão: Home; o app inicia pela Splash)
  */
 @Composable
 fun NavGraph(
@@ -58,7 +59,7 @@ fun NavGraph(
     ) {
         composable(route = Screen.Splash.route) {
             SplashScreen(
-                onNavigateToPlaceholder = {
+                onNavigateToHome = {
                     navController.navigate(Screen.Home.route) {
                         popUpTo(Screen.Splash.route) { inclusive = true }
                     }
@@ -182,7 +183,7 @@ fun NavGraph(
                 productId = productId,
                 productName = "Filé Mignon ao Molho",
                 productCategory = "Pratos Principais",
-                productPrice = 68.90,
+                productPrice = Money.ofCents(6890),
                 productImageResId = com.speedmenu.tablet.R.drawable.pratos_principais,
                 productDescription = "Filé grelhado com molho especial e acompanhamentos",
                 ingredients = listOf("Filé mignon", "Molho especial", "Batatas", "Legumes", "Ervas"),
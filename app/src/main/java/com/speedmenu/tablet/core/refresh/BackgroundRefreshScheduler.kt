@@ -0,0 +1,171 @@
+package com.speedmenu.tablet.core.refresh
+
+import com.speedmenu.tablet.core.di.ApplicationScope
+import com.speedmenu.tablet.core.kiosk.GuestActivityMonitor
+import com.speedmenu.tablet.core.utils.SingleFlight
+import com.speedmenu.tablet.data.local.RestaurantSession
+import com.speedmenu.tablet.domain.repository.AppConfigRepository
+import com.speedmenu.tablet.domain.repository.MenuRepository
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import timber.log.Timber
+import java.util.concurrent.atomic.AtomicBoolean
+import javax.inject.Inject
+import javax.inject.Singleton
+import kotlin.random.Random
+
+/**
+ * Refresh periódico de AppConfig e cardápio em segundo plano, pensado para frotas de tablets.
+ *
+ * - Espalhamento inicial aleatório: tablets religados juntos (ex: após queda de energia)
+ *   não batem no backend no mesmo instante
+ * - Intervalo com jitter entre refreshes bem-sucedidos
+ * - Backoff exponencial com jitter após falhas
+ * - Não atualiza enquanto um cliente está usando o tablet ([GuestActivityMonitor]);
+ *   espera o tablet ficar ocioso
+ *
+ * Todo o tempo passa por delay() e pelo Clock do [GuestActivityMonitor]: com um relógio
+ * virtual (ex: runTest) e políticas com Random fixo, o ciclo ([runRefreshLoop]) pode ser
+ * testado sem esperar de verdade.
+ */
+@Singleton
+class BackgroundRefreshScheduler internal constructor(
+    private val appConfigRepository: AppConfigRepository,
+    private val menuRepository: MenuRepository,
+    private val restaurantSession: RestaurantSession,
+    private val guestActivityMonitor: GuestActivityMonitor,
+    private val applicationScope: CoroutineScope,
+    private val configPolicy: RefreshPolicy,
+    private val menuPolicy: RefreshPolicy
+) {
+
+    @Inject
+    constructor(
+        appConfigRepository: AppConfigRepository,
+        menuRepository: MenuRepository,
+        restaurantSession: RestaurantSession,
+        guestActivityMonitor: GuestActivityMonitor,
+        @ApplicationScope applicationScope: CoroutineScope
+    ) : this(
+        appConfigRepository,
+        menuRepository,
+        restaurantSession,
+        guestActivityMonitor,
+        applicationScope,
+        RefreshPolicy(intervalMillis = CONFIG_INTERVAL_MILLIS),
+        RefreshPolicy(intervalMillis = MENU_INTERVAL_MILLIS)
+    )
+
+    private val started = AtomicBoolean(false)
+
+    /**
+     * Inicia os ciclos de refresh (uma única vez por processo).
+     */
+    fun start() {
+        if (!started.compareAndSet(false, true)) return
+        applicationScope.launch {
+            runRefreshLoop("config", configPolicy, guestActivityMonitor) {
+                appConfigRepository.refreshConfig(restaurantSession.getRestaurantId())
+            }
+        }
+        applicationScope.launch {
+            runRefreshLoop("menu", menuPolicy, guestActivityMonitor) {
+                menuRepository.refreshMenu().also {
+                    // Quanto das buscas do período foi coalescido entre telas
+                    SingleFlight.logAllStats()
+                }
+            }
+        }
+        Timber.d("BackgroundRefreshScheduler: started")
+    }
+
+    companion object {
+        private const val CONFIG_INTERVAL_MILLIS = 30 * 60 * 1000L
+        private const val MENU_INTERVAL_MILLIS = 10 * 60 * 1000L
+    }
+}
+
+/**
+ * Ciclo de refresh de uma fonte. Roda até o scope ser cancelado.
+ *
+ * @param name Nome usado nos logs
+ * @param policy Intervalos, jitter e backoff
+ * @param guestActivityMonitor Adia o refresh enquanto um cliente usa o tablet
+ * @param refresh Refresh da fonte; falha conta para o backoff
+ */
+internal suspend fun runRefreshLoop(
+    name: String,
+    policy: RefreshPolicy,
+    guestActivityMonitor: GuestActivityMonitor,
+    refresh: suspend () -> Result<Unit>
+) {
+    delay(policy.initialDelayMillis())
+    var consecutiveFailures = 0
+    while (true) {
+        val untilIdle = guestActivityMonitor.millisUntilIdle()
+        if (untilIdle > 0L) {
+            // Cliente pedindo: tenta de novo logo depois que o tablet ficar ocioso
+            Timber.d("BackgroundRefreshScheduler: $name refresh deferred, guest active")
+            delay(untilIdle + policy.idleJitterMillis())
+            continue
+        }
+
+        val result = refresh()
+        val nextDelay = if (result.isSuccess) {
+            consecutiveFailures = 0
+            policy.delayAfterSuccessMillis()
+        } else {
+            consecutiveFailures++
+            policy.delayAfterFailureMillis(consecutiveFailures)
+        }
+        Timber.d("BackgroundRefreshScheduler: $name refresh ${if (result.isSuccess) "ok" else "failed ($consecutiveFailures in a row)"}, next in ${nextDelay / 1000}s")
+        delay(nextDelay)
+    }
+}
+
+/**
+ * Intervalos do refresh em segundo plano.
+ *
+ * @param intervalMillis Intervalo nominal entre refreshes bem-sucedidos
+ * @param jitterRatio Variação aleatória do intervalo (0.2 = ±20%)
+ * @param initialSpreadMillis Janela do primeiro refresh após iniciar (espalha a frota)
+ * @param backoffBaseMillis Espera após a primeira falha; dobra a cada falha seguida
+ * @param backoffMaxMillis Teto da espera após falhas
+ * @param idleJitterMaxMillis Jitter extra ao retomar depois que o tablet fica ocioso
+ * @param random Fonte de aleatoriedade (fixa em testes)
+ */
+class RefreshPolicy(
+    private val intervalMillis: Long,
+    private val jitterRatio: Double = 0.2,
+    private val initialSpreadMillis: Long = 2 * 60 * 1000L,
+    private val backoffBaseMillis: Long = 15_000L,
+    private val backoffMaxMillis: Long = 15 * 60 * 1000L,
+    private val idleJitterMaxMillis: Long = 30_000L,
+    private val random: Random = Random.Default
+) {
+
+    fun initialDelayMillis(): Long = random.nextLong(initialSpreadMillis + 1)
+
+    fun delayAfterSuccessMillis(): Long {
+        val jitter = (intervalMillis * jitterRatio).toLong()
+        return intervalMillis - jitter + random.nextLong(2 * jitter + 1)
+    }
+
+    /**
+     * Backoff exponencial com jitter: sorteado entre metade e o valor cheio da espera,
+     * para que tablets que falharam juntos não tentem de novo juntos.
+     */
+    fun delayAfterFailureMillis(consecutiveFailures: Int): Long {
+        val exponent = (consecutiveFailures - 1).coerceIn(0, MAX_BACKOFF_EXPONENT)
+        val capped = (backoffBaseMillis shl exponent).coerceAtMost(backoffMaxMillis)
+        return capped / 2 + random.nextLong(capped / 2 + 1)
+    }
+
+    fun idleJitterMillis(): Long = random.nextLong(idleJitterMaxMillis + 1)
+
+    private companion object {
+        // Evita overflow no shift; o teto real é backoffMaxMillis
+        const val MAX_BACKOFF_EXPONENT = 20
+    }
+}
@@ -0,0 +1,249 @@
+package com.speedmenu.tablet.core.startup
+
+import android.content.Context
+import android.os.Process
+import android.os.SystemClock
+import androidx.core.os.TraceCompat
+import coil.imageLoader
+import coil.request.ImageRequest
+import com.speedmenu.tablet.BuildConfig
+import com.speedmenu.tablet.core.di.ApplicationScope
+import com.speedmenu.tablet.core.refresh.BackgroundRefreshScheduler
+import com.speedmenu.tablet.core.ui.images.CarouselAssetManager
+import com.speedmenu.tablet.core.ui.images.RemoteCarouselImage
+import com.speedmenu.tablet.core.utils.SingleFlight
+import com.speedmenu.tablet.data.local.CartJournal
+import com.speedmenu.tablet.data.local.RestaurantSession
+import com.speedmenu.tablet.data.repository.OrderOutboxSender
+import com.speedmenu.tablet.domain.model.AppConfig
+import com.speedmenu.tablet.domain.repository.AppConfigRepository
+import com.speedmenu.tablet.domain.repository.MenuRepository
+import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withTimeoutOrNull
+import timber.log.Timber
+import java.util.concurrent.atomic.AtomicInteger
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Aquecimento do app na inicialização, em paralelo.
+ *
+ * Tarefas (cada uma com prazo próprio e marcador de trace "startup:<nome>"):
+ * - session: restaura o restaurante da sessão (crítica)
+ * - config: carrega o AppConfig do cache para o LRU em memória (crítica, depende de session)
+ * - menu: restaura o snapshot local do cardápio (segundo plano; a revalidação respeita o TTL)
+ * - cart: lê o carrinho salvo em disco (segundo plano)
+ * - images: decodifica o logo e baixa as imagens do carrossel da Home (segundo plano, depende de config)
+ *
+ * O aquecimento é iniciado pela Application ([start]), e não pela Splash: quando o sistema
+ * recria o processo direto em outra tela, o refresh periódico e o envio de pedidos pendentes
+ * também rodam. [awaitInteractive] retorna assim que as tarefas críticas terminam (ou estouram o prazo);
+ * as de segundo plano continuam no scope da aplicação, sem segurar a navegação para a Home.
+ * Uma tarefa que falha ou estoura o prazo não impede as demais: as telas carregam sob demanda.
+ *
+ * Ao fim do aquecimento, inicia o [BackgroundRefreshScheduler]. O [OrderOutboxSender] inicia
+ * logo no começo: pedidos que ficaram sem enviar antes de um reboot saem sem esperar o aquecimento.
+ *
+ * Cada boot registra no log o tempo até interativo (desde o início do processo) e a
+ * duração de cada tarefa, com a versão do app, para acompanhar regressões entre releases.
+ */
+@Singleton
+class StartupOrchestrator @Inject constructor(
+    @ApplicationContext private val context: Context,
+    private val restaurantSession: RestaurantSession,
+    private val appConfigRepository: AppConfigRepository,
+    private val menuRepository: MenuRepository,
+    private val backgroundRefreshScheduler: BackgroundRefreshScheduler,
+    private val carouselAssetManager: CarouselAssetManager,
+    private val cartJournal: CartJournal,
+    private val orderOutboxSender: OrderOutboxSender,
+    @ApplicationScope private val applicationScope: CoroutineScope
+) {
+
+    private val traceCookies = AtomicInteger()
+
+    // Um único aquecimento por processo, mesmo que a Splash seja recriada
+    private val startup: Deferred<StartupReport> by lazy {
+        applicationScope.async(start = CoroutineStart.LAZY) { runStartup() }
+    }
+
+    /**
+     * Inicia o aquecimento, se ainda não iniciado, sem aguardá-lo.
+     * Chamado em Application.onCreate.
+     */
+    fun start() {
+        startup.start()
+    }
+
+    /**
+     * Inicia o aquecimento (se ainda não iniciado) e aguarda as tarefas críticas.
+     * @return Relatório com o tempo até interativo e as tarefas críticas
+     */
+    suspend fun awaitInteractive(): StartupReport = startup.await()
+
+    private suspend fun runStartup(): StartupReport = coroutineScope {
+        val startedAt = SystemClock.elapsedRealtime()
+        orderOutboxSender.start()
+
+        val session = async { runTask("session", SESSION_DEADLINE_MS) { restaurantSession.warmUp() } }
+        val config = async {
+            val restaurantId = session.await().value ?: return@async StartupTaskResult.skipped<AppConfig>("config")
+            runTask("config", CONFIG_DEADLINE_MS) {
+                // Primeira emissão = cache (memória/disco) ou default. O first() cancela o Flow antes da
+                // busca na fonte: quem busca a versão nova é o AppConfigViewModel, ao coletar o config
+                appConfigRepository.observeConfig(restaurantId).first()
+            }
+        }
+
+        // Segundo plano: não bloqueiam a navegação
+        val background = listOf(
+            applicationScope.async {
+                // Snapshot local (disco): não bloqueia na rede; a revalidação segue em segundo plano
+                runTask("menu", MENU_DEADLINE_MS) { menuRepository.observeMenu().first().size }
+            },
+            applicationScope.async {
+                runTask("cart", CART_DEADLINE_MS) { cartJournal.warmUp() }
+            },
+            applicationScope.async {
+                val loadedConfig = config.await().value ?: return@async StartupTaskResult.skipped<Int>("images")
+                runTask("images", IMAGES_DEADLINE_MS) { decodeHomeImages(loadedConfig) }
+            }
+        )
+
+        val critical = listOf(session.await(), config.await())
+        val interactiveAt = SystemClock.elapsedRealtime()
+        val report = StartupReport(
+            timeToInteractiveMs = interactiveAt - Process.getStartElapsedRealtime(),
+            orchestrationMs = interactiveAt - startedAt,
+            tasks = critical
+        )
+        Timber.i("StartupOrchestrator: interactive in ${report.timeToInteractiveMs}ms (orchestration ${report.orchestrationMs}ms) version=${BuildConfig.VERSION_NAME} [${report.describeTasks()}]")
+
+        applicationScope.launch {
+            val finished = background.awaitAll()
+            Timber.i("StartupOrchestrator: background warm-up finished in ${SystemClock.elapsedRealtime() - startedAt}ms [${StartupReport.describe(finished)}]")
+            SingleFlight.logAllStats()
+            // Refresh periódico só depois do aquecimento, para não competir com ele
+            backgroundRefreshScheduler.start()
+        }
+        report
+    }
+
+    /**
+     * Executa uma tarefa com prazo e marcador de trace, sem propagar falhas.
+     */
+    private suspend fun <T> runTask(name: String, deadlineMs: Long, block: suspend () -> T): StartupTaskResult<T> {
+        val cookie = traceCookies.incrementAndGet()
+        TraceCompat.beginAsyncSection("startup:$name", cookie)
+        val startedAt = SystemClock.elapsedRealtime()
+        return try {
+            val value = withTimeoutOrNull(deadlineMs) { block() }
+            val durationMs = SystemClock.elapsedRealtime() - startedAt
+            if (value == null) {
+                Timber.w("StartupOrchestrator: task '$name' missed its ${deadlineMs}ms deadline")
+                StartupTaskResult(name, StartupTaskStatus.TIMED_OUT, durationMs, null)
+            } else {
+                StartupTaskResult(name, StartupTaskStatus.DONE, durationMs, value)
+            }
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            Timber.e(e, "StartupOrchestrator: task '$name' failed")
+            StartupTaskResult(name, StartupTaskStatus.FAILED, SystemClock.elapsedRealtime() - startedAt, null)
+        } finally {
+            TraceCompat.endAsyncSection("startup:$name", cookie)
+        }
+    }
+
+    private suspend fun RestaurantSession.warmUp(): String {
+        initializeWithLastRestaurant()
+        return getRestaurantId()
+    }
+
+    /**
+     * Decodifica o logo nos caches do Coil e baixa as imagens do carrossel para o disco
+     * (o banner as decodifica no tamanho exato ao ser exibido).
+     * @return Quantidade de imagens carregadas com sucesso
+     */
+    private suspend fun decodeHomeImages(config: AppConfig): Int = coroutineScope {
+        val logoUrls = listOfNotNull(config.branding.logoUrl, config.branding.logoUrlDark).distinct()
+        val carousel = async { carouselAssetManager.prefetch(
+            config.home.carousel.map { RemoteCarouselImage(it.imageUrl, config.version) }
+        ) }
+
+        val logos = logoUrls.map { url ->
+            async {
+                val request = ImageRequest.Builder(context).data(url).build()
+                context.imageLoader.execute(request).drawable != null
+            }
+        }.awaitAll().count { it }
+        logos + carousel.await()
+    }
+
+    companion object {
+        private const val SESSION_DEADLINE_MS = 500L
+        private const val CONFIG_DEADLINE_MS = 800L
+        private const val MENU_DEADLINE_MS = 5_000L
+        private const val IMAGES_DEADLINE_MS = 5_000L
+        private const val CART_DEADLINE_MS = 1_000L
+    }
+}
+
+/**
+ * Situação final de uma tarefa de inicialização.
+ */
+enum class StartupTaskStatus {
+    DONE,
+    TIMED_OUT,
+    FAILED,
+    SKIPPED
+}
+
+/**
+ * Resultado de uma tarefa de inicialização.
+ *
+ * @param name Nome da tarefa (igual ao marcador de trace)
+ * @param status Situação final
+ * @param durationMs Duração até concluir, falhar ou estourar o prazo
+ * @param value Valor produzido (null se não concluiu)
+ */
+data class StartupTaskResult<T>(
+    val name: String,
+    val status: StartupTaskStatus,
+    val durationMs: Long,
+    val value: T?
+) {
+    companion object {
+        fun <T> skipped(name: String) = StartupTaskResult<T>(name, StartupTaskStatus.SKIPPED, 0L, null)
+    }
+}
+
+/**
+ * Relatório de um boot.
+ *
+ * @param timeToInteractiveMs Tempo desde o início do processo até as tarefas críticas terminarem
+ * @param orchestrationMs Tempo gasto pelo orquestrador nas tarefas críticas
+ * @param tasks Resultado das tarefas críticas
+ */
+data class StartupReport(
+    val timeToInteractiveMs: Long,
+    val orchestrationMs: Long,
+    val tasks: List<StartupTaskResult<*>>
+) {
+    fun describeTasks(): String = describe(tasks)
+
+    companion object {
+        fun describe(tasks: List<StartupTaskResult<*>>): String {
+            return tasks.joinToString { "${it.name}=${it.status.name.lowercase()}/${it.durationMs}ms" }
+        }
+    }
+}
@@ -74,9 +74,9 @@ fun AppTopBar(
     onRestaurantLongClick: (() -> Unit)? = null, // Callback para abrir debug menu
     modifier: Modifier = Modifier
 ) {
-    // Observa AppConfig para obter o nome do restaurante
-    val appConfig by appConfigViewModel.appConfig.collectAsState()
-    val restaurantName = appConfig?.branding?.restaurantName ?: DefaultAppConfig.get().branding.restaurantName
+    // Observa apenas o branding do AppConfig para obter o nome do restaurante
+    val branding by appConfigViewModel.branding.collectAsState()
+    val restaurantName = branding?.restaurantName ?: DefaultAppConfig.get().branding.restaurantName
     
     // Handler interno que adiciona logging antes de chamar o callback
     val waiterClickHandler: () -> Unit = {
@@ -15,6 +15,7 @@ import androidx.compose.ui.unit.dp
 import androidx.compose.ui.unit.sp
 import com.speedmenu.tablet.core.ui.theme.SpeedMenuColors
 import com.speedmenu.tablet.core.utils.CurrencyFormatter
+import com.speedmenu.tablet.domain.model.Money
 
 /**
  * Header com nome do prato, categoria e preço destacado.
@@ -23,7 +24,7 @@ import com.speedmenu.tablet.core.utils.CurrencyFormatter
 fun PriceHeader(
     name: String,
     category: String,
-    price: Double,
+    price: Money,
     modifier: Modifier = Modifier
 ) {
     Column(
@@ -25,6 +25,7 @@ import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.unit.dp
 import androidx.compose.ui.unit.sp
 import com.speedmenu.tablet.core.utils.CurrencyFormatter
+import com.speedmenu.tablet.domain.model.Money
 
 /**
  * CTA principal fixo no rodapé com preço.
@@ -32,7 +33,7 @@ import com.speedmenu.tablet.core.utils.CurrencyFormatter
 @Composable
 fun PrimaryCTA(
     text: String,
-    price: Double,
+    price: Money,
     onClick: () -> Unit,
     modifier: Modifier = Modifier,
     enabled: Boolean = true
@@ -95,7 +96,7 @@ fun PrimaryCTA(
         contentAlignment = Alignment.Center
     ) {
         Text(
-            text = if (price > 0.0) {
+            text = if (price.isPositive) {
                 "$text • ${CurrencyFormatter.formatCurrencyBR(price)}"
             } else {
                 text
@@ -36,6 +36,7 @@ import androidx.compose.ui.unit.dp
 import androidx.compose.ui.unit.sp
 import com.speedmenu.tablet.core.ui.theme.SpeedMenuColors
 import com.speedmenu.tablet.core.utils.CurrencyFormatter
+import com.speedmenu.tablet.domain.model.Money
 
 /**
  * Card minimalista de produto/prato.
@@ -44,7 +45,7 @@ import com.speedmenu.tablet.core.utils.CurrencyFormatter
 @Composable
 fun ProductCard(
     name: String,
-    price: Double,
+    price: Money,
     imageResId: Int,
     onClick: () -> Unit,
     onSelectClick: () -> Unit,
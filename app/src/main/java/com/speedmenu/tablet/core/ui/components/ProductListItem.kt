@@ -27,15 +27,25 @@ import androidx.compose.runtime.getValue
 import androidx.compose.runtime.remember
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
+import androidx.compose.ui.draw.alpha
 import androidx.compose.ui.draw.clip
 import androidx.compose.ui.draw.scale
 import androidx.compose.ui.draw.shadow
 import androidx.compose.ui.layout.ContentScale
 import androidx.compose.ui.res.painterResource
 import androidx.compose.ui.text.font.FontWeight
+import androidx.compose.ui.unit.DpSize
 import androidx.compose.ui.unit.dp
 import androidx.compose.ui.unit.sp
+import com.speedmenu.tablet.core.ui.images.ProductImage
 import com.speedmenu.tablet.core.utils.CurrencyFormatter
+import com.speedmenu.tablet.domain.model.Money
+
+/**
+ * Tamanho exato em que a foto é desenhada na linha: 180dp de largura e a altura do card (180dp)
+ * menos o padding vertical (2 x 24dp). Usado para decodificar/pré-carregar imagens remotas.
+ */
+val ProductListItemImageSize = DpSize(180.dp, 132.dp)
 
 /**
  * Item de lista vertical de produto/prato.
@@ -46,12 +56,14 @@ import com.speedmenu.tablet.core.utils.CurrencyFormatter
 fun ProductListItem(
     name: String,
     description: String,
-    price: Double,
-    imageResId: Int,
+    price: Money,
+    imageResId: Int, // Imagem local; com imageUrl, vira o placeholder
     onClick: () -> Unit,
     onSelectClick: () -> Unit,
     modifier: Modifier = Modifier,
-    badgeText: String? = null // Badge opcional para destaque emocional
+    badgeText: String? = null, // Badge opcional para destaque emocional
+    isAvailable: Boolean = true, // Item esgotado: imagem esmaecida e botão desabilitado
+    imageUrl: String? = null // Imagem remota do prato (opcional)
 ) {
     val colorScheme = MaterialTheme.colorScheme
     
@@ -106,15 +118,27 @@ fun ProductListItem(
                 .width(180.dp)
                 .height(photoHeight) // Altura fixa que define o card
         ) {
-            Image(
-                painter = painterResource(id = imageResId),
-                contentDescription = null,
-                modifier = Modifier
-                    .fillMaxSize()
-                    .scale(imageScale)
-                    .clip(RoundedCornerShape(12.dp)),
-                contentScale = ContentScale.Crop
-            )
+            val imageModifier = Modifier
+                .fillMaxSize()
+                .scale(imageScale)
+                .clip(RoundedCornerShape(12.dp))
+                .alpha(if (isAvailable) 1f else UNAVAILABLE_ALPHA)
+            if (imageUrl != null) {
+                // Imagem remota no tamanho exato da linha (compartilha o cache com o pré-carregamento)
+                ProductImage(
+                    url = imageUrl,
+                    size = ProductListItemImageSize,
+                    placeholderResId = imageResId,
+                    modifier = imageModifier
+                )
+            } else {
+                Image(
+                    painter = painterResource(id = imageResId),
+                    contentDescription = null,
+                    modifier = imageModifier,
+                    contentScale = ContentScale.Crop
+                )
+            }
             
             // Overlay gradiente escuro sutil (de baixo para cima)
             Box(
@@ -134,7 +158,8 @@ fun ProductListItem(
             )
             
             // Badge emocional opcional (canto superior direito)
-            badgeText?.let { text ->
+            // Item esgotado substitui o badge emocional
+            (if (isAvailable) badgeText else UNAVAILABLE_LABEL)?.let { text ->
                 Box(
                     modifier = Modifier
                         .align(Alignment.TopEnd)
@@ -226,11 +251,11 @@ fun ProductListItem(
                         color = colorScheme.primary.copy(alpha = 0.25f),
                         shape = RoundedCornerShape(12.dp)
                     )
-                    .clickable(onClick = onSelectClick)
+                    .clickable(enabled = isAvailable, onClick = onSelectClick)
                     .padding(horizontal = 24.dp, vertical = 0.dp)
             ) {
                 Text(
-                    text = "Selecionar",
+                    text = if (isAvailable) "Selecionar" else UNAVAILABLE_LABEL,
                     style = MaterialTheme.typography.bodyMedium,
                     fontWeight = FontWeight.SemiBold,
                     color = colorScheme.primary,
@@ -242,3 +267,5 @@ fun ProductListItem(
     }
 }
 
+private const val UNAVAILABLE_LABEL = "Esgotado"
+private const val UNAVAILABLE_ALPHA = 0.45f
@@ -0,0 +1,198 @@
+package com.speedmenu.tablet.core.ui.images
+
+import android.content.Context
+import android.graphics.drawable.BitmapDrawable
+import androidx.compose.ui.graphics.ImageBitmap
+import androidx.compose.ui.graphics.asImageBitmap
+import coil.imageLoader
+import coil.request.CachePolicy
+import coil.request.ImageRequest
+import coil.size.Precision
+import dagger.hilt.EntryPoint
+import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
+import dagger.hilt.components.SingletonComponent
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import timber.log.Timber
+import java.io.File
+import java.io.IOException
+import java.security.MessageDigest
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Imagens do carrossel da Home: baixadas uma vez, guardadas em disco e mantidas
+ * decodificadas em memória no tamanho exato do banner.
+ *
+ * - Download: cada imagem é salva em filesDir/carousel (nome = hash da versão do config + URL).
+ *   Uma nova versão do config baixa de novo, mesmo com a URL igual (a imagem pode ter sido
+ *   trocada no servidor); [retainOnly] apaga as que saíram do carrossel
+ * - Decodificação: via Coil a partir do arquivo local, no tamanho exato em pixels e com
+ *   bitmap de hardware quando disponível (o pixel fica na GPU, sem custo no heap)
+ * - Memória: os bitmaps do carrossel atual ficam referenciados aqui, fora do LRU do Coil,
+ *   para que o loop 24/7 do banner nunca volte ao disco ou à rede. Um único tamanho por imagem:
+ *   decodificar em outro tamanho (ex: rotação) descarta o anterior
+ *
+ * Modelos: [RemoteCarouselImage] (config) ou recursos locais (Int), usados como carrossel padrão sem config.
+ */
+@Singleton
+class CarouselAssetManager @Inject constructor(
+    @ApplicationContext private val context: Context,
+    private val client: OkHttpClient
+) {
+
+    private val directory = File(context.filesDir, "carousel")
+
+    // Modelo -> bitmap decodificado (no último tamanho pedido)
+    private val decoded = HashMap<Any, DecodedImage>()
+    private val lock = Any()
+
+    // Evita baixar/decodificar a mesma imagem duas vezes em paralelo
+    private val loadMutex = Mutex()
+
+    /**
+     * Bitmap já decodificado no tamanho informado, sem suspender (null se ainda não carregado).
+     */
+    fun peek(model: Any, widthPx: Int, heightPx: Int): ImageBitmap? {
+        return synchronized(lock) {
+            decoded[model]?.takeIf { it.widthPx == widthPx && it.heightPx == heightPx }?.bitmap
+        }
+    }
+
+    /**
+     * Garante a imagem baixada e decodificada no tamanho informado.
+     *
+     * @param model [RemoteCarouselImage] ou recurso local (Int)
+     * @return Bitmap pronto para desenhar, ou null se falhou
+     */
+    suspend fun load(model: Any, widthPx: Int, heightPx: Int): ImageBitmap? {
+        peek(model, widthPx, heightPx)?.let { return it }
+        return loadMutex.withLock {
+            peek(model, widthPx, heightPx)?.let { return@withLock it }
+            try {
+                val data = if (model is RemoteCarouselImage) download(model) else model
+                val bitmap = decode(data, widthPx, heightPx)
+                if (bitmap != null) {
+                    // Substitui o bitmap de outro tamanho, se houver
+                    synchronized(lock) { decoded[model] = DecodedImage(widthPx, heightPx, bitmap) }
+                }
+                bitmap
+            } catch (e: IOException) {
+                Timber.w(e, "CarouselAssetManager: failed to load $model")
+                null
+            }
+        }
+    }
+
+    /**
+     * Apenas baixa as imagens para o disco (ex: na inicialização, antes de saber o tamanho do banner).
+     * @return Quantidade de imagens disponíveis em disco
+     */
+    suspend fun prefetch(images: List<RemoteCarouselImage>): Int {
+        return images.count { image ->
+            try {
+                loadMutex.withLock { download(image) }
+                true
+            } catch (e: IOException) {
+                Timber.w(e, "CarouselAssetManager: failed to prefetch ${image.url}")
+                false
+            }
+        }
+    }
+
+    /**
+     * Mantém apenas as imagens do carrossel atual (memória e disco).
+     *
+     * @param models Imagens/recursos do carrossel atual
+     */
+    suspend fun retainOnly(models: List<Any>) {
+        val keep = models.toSet()
+        synchronized(lock) { decoded.keys.retainAll(keep) }
+        val images = models.filterIsInstance<RemoteCarouselImage>()
+        // Carrossel local (sem config remoto): mantém os arquivos para quando o config voltar
+        if (images.isEmpty()) return
+        val keepFiles = images.map { fileNameFor(it) }.toSet()
+        // Com o mutex, nenhum download está no meio (o .tmp de um download em andamento não é apagado)
+        loadMutex.withLock {
+            withContext(Dispatchers.IO) {
+                directory.listFiles()?.forEach { file ->
+                    if (file.name !in keepFiles) {
+                        file.delete()
+                        Timber.d("CarouselAssetManager: removed stale image ${file.name}")
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Baixa a imagem para o disco, se ainda não estiver lá nesta versão do config.
+     * Chamado com [loadMutex].
+     */
+    private suspend fun download(image: RemoteCarouselImage): File = withContext(Dispatchers.IO) {
+        val url = image.url
+        val file = File(directory, fileNameFor(image))
+        if (file.exists()) return@withContext file
+
+        directory.mkdirs()
+        val temp = File(directory, "${file.name}.tmp")
+        val request = Request.Builder().url(url).get().build()
+        client.newCall(request).execute().use { response ->
+            if (!response.isSuccessful) throw IOException("HTTP ${response.code} for $url")
+            val body = response.body ?: throw IOException("Empty body for $url")
+            temp.outputStream().use { output -> body.byteStream().copyTo(output) }
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete()
+            throw IOException("Failed to store $url")
+        }
+        Timber.d("CarouselAssetManager: downloaded $url (${file.length() / 1024}KB)")
+        file
+    }
+
+    private suspend fun decode(data: Any, widthPx: Int, heightPx: Int): ImageBitmap? {
+        val request = ImageRequest.Builder(context)
+            .data(data)
+            .size(widthPx, heightPx)
+            .precision(Precision.EXACT)
+            .allowHardware(true)
+            // O bitmap fica referenciado aqui; não precisa ocupar o cache de memória/disco do Coil
+            .memoryCachePolicy(CachePolicy.DISABLED)
+            .diskCachePolicy(CachePolicy.DISABLED)
+            .build()
+        val drawable = context.imageLoader.execute(request).drawable as? BitmapDrawable
+        return drawable?.bitmap?.asImageBitmap()
+    }
+
+    private fun fileNameFor(image: RemoteCarouselImage): String {
+        val digest = MessageDigest.getInstance("SHA-1").digest("${image.configVersion}|${image.url}".toByteArray())
+        return digest.joinToString("") { "%02x".format(it) }
+    }
+
+    private class DecodedImage(val widthPx: Int, val heightPx: Int, val bitmap: ImageBitmap)
+}
+
+/**
+ * Imagem do carrossel vinda do config, amarrada à versão que a trouxe.
+ *
+ * @param url URL da imagem
+ * @param configVersion Versão do AppConfig; uma nova versão baixa a imagem de novo
+ */
+data class RemoteCarouselImage(
+    val url: String,
+    val configVersion: Int
+)
+
+/**
+ * Acesso ao [CarouselAssetManager] a partir de composables.
+ */
+@EntryPoint
+@InstallIn(SingletonComponent::class)
+interface CarouselAssetManagerEntryPoint {
+    fun carouselAssetManager(): CarouselAssetManager
+}
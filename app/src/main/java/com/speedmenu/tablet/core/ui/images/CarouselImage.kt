@@ -0,0 +1,60 @@
+package com.speedmenu.tablet.core.ui.images
+
+import androidx.compose.foundation.Image
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.getValue
+import androidx.compose.runtime.produceState
+import androidx.compose.runtime.remember
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.graphics.ImageBitmap
+import androidx.compose.ui.layout.ContentScale
+import androidx.compose.ui.platform.LocalContext
+import androidx.compose.ui.unit.IntSize
+import dagger.hilt.android.EntryPointAccessors
+
+/**
+ * Retorna o [CarouselAssetManager] singleton do app.
+ */
+@Composable
+fun rememberCarouselAssetManager(): CarouselAssetManager {
+    val context = LocalContext.current
+    return remember(context) {
+        EntryPointAccessors.fromApplication(context.applicationContext, CarouselAssetManagerEntryPoint::class.java)
+            .carouselAssetManager()
+    }
+}
+
+/**
+ * Imagem do carrossel já decodificada no tamanho do banner.
+ * Enquanto carrega (ou se falhar), não desenha nada: o fundo do banner aparece.
+ *
+ * @param model [RemoteCarouselImage] ou recurso local (Int)
+ * @param sizePx Tamanho do banner em pixels
+ */
+@Composable
+fun CarouselImage(
+    model: Any,
+    sizePx: IntSize,
+    contentDescription: String?,
+    modifier: Modifier = Modifier
+) {
+    val assets = rememberCarouselAssetManager()
+    val bitmap by produceState<ImageBitmap?>(
+        initialValue = assets.peek(model, sizePx.width, sizePx.height),
+        model,
+        sizePx
+    ) {
+        if (sizePx == IntSize.Zero) return@produceState
+        value = assets.peek(model, sizePx.width, sizePx.height)
+            ?: assets.load(model, sizePx.width, sizePx.height)
+    }
+
+    bitmap?.let {
+        Image(
+            bitmap = it,
+            contentDescription = contentDescription,
+            modifier = modifier,
+            contentScale = ContentScale.Crop
+        )
+    }
+}
@@ -0,0 +1,162 @@
+package com.speedmenu.tablet.core.ui.images
+
+import android.content.Context
+import coil.ImageLoader
+import coil.decode.DataSource
+import coil.imageLoader
+import coil.memory.MemoryCache
+import coil.request.CachePolicy
+import coil.request.Disposable
+import coil.request.ImageRequest
+import coil.size.Precision
+import dagger.hilt.EntryPoint
+import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
+import dagger.hilt.components.SingletonComponent
+import timber.log.Timber
+import java.util.concurrent.atomic.AtomicLong
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Pré-carregamento de imagens de produtos no cache de memória e disco do Coil.
+ *
+ * As imagens são decodificadas já no tamanho exato da linha/card, com o mesmo
+ * [ImageRequest] usado na exibição ([productImageRequest]); assim a linha encontra
+ * o bitmap pronto no cache de memória quando é composta.
+ *
+ * Cada chamada a [prefetch] define a janela desejada: pedidos em andamento fora
+ * da janela são cancelados (ex.: fling rápido que já passou daquelas linhas).
+ *
+ * Também acumula métricas de exibição (de onde veio cada imagem mostrada),
+ * usadas para confirmar que a rolagem não mostra imagens em branco.
+ */
+@Singleton
+class ImagePrefetcher @Inject constructor(
+    @ApplicationContext private val context: Context
+) {
+
+    private val imageLoader: ImageLoader
+        get() = context.imageLoader
+
+    // Pedidos em andamento por URL. Acessado apenas na main thread (efeitos e listeners do Coil)
+    private val inFlight = HashMap<String, Disposable>()
+
+    private val prefetchRequests = AtomicLong()
+    private val memoryHits = AtomicLong()
+    private val diskHits = AtomicLong()
+    private val networkLoads = AtomicLong()
+
+    /**
+     * Garante que as imagens estejam (ou fiquem) no cache no tamanho informado.
+     * Pedidos em andamento para URLs fora de [urls] são cancelados.
+     *
+     * @param urls URLs da janela atual, em ordem de prioridade
+     * @param widthPx Largura exata de exibição em pixels
+     * @param heightPx Altura exata de exibição em pixels
+     */
+    fun prefetch(urls: List<String>, widthPx: Int, heightPx: Int) {
+        val wanted = urls.toHashSet()
+        val stale = inFlight.keys.filter { it !in wanted }
+        for (url in stale) {
+            inFlight.remove(url)?.dispose()
+        }
+
+        val memoryCache = imageLoader.memoryCache
+        for (url in urls) {
+            if (url in inFlight) continue
+            if (memoryCache?.get(MemoryCache.Key(url)) != null) continue
+
+            prefetchRequests.incrementAndGet()
+            val request = productImageRequest(context, url, widthPx, heightPx)
+                .newBuilder()
+                .listener(
+                    onSuccess = { _, _ -> inFlight.remove(url) },
+                    onError = { _, _ -> inFlight.remove(url) },
+                    onCancel = { inFlight.remove(url) }
+                )
+                .build()
+            inFlight[url] = imageLoader.enqueue(request)
+        }
+    }
+
+    /**
+     * Registra a origem de uma imagem exibida.
+     * Apenas imagens vindas do cache de memória aparecem sem placeholder.
+     */
+    fun recordDisplay(dataSource: DataSource) {
+        when (dataSource) {
+            DataSource.MEMORY_CACHE, DataSource.MEMORY -> memoryHits.incrementAndGet()
+            DataSource.DISK -> diskHits.incrementAndGet()
+            DataSource.NETWORK -> networkLoads.incrementAndGet()
+        }
+    }
+
+    /**
+     * Métricas acumuladas desde a criação.
+     */
+    fun stats(): ImagePrefetchStats {
+        return ImagePrefetchStats(
+            prefetchRequests = prefetchRequests.get(),
+            memoryHits = memoryHits.get(),
+            diskHits = diskHits.get(),
+            networkLoads = networkLoads.get()
+        )
+    }
+
+    /**
+     * Registra as métricas atuais no log.
+     */
+    fun logStats() {
+        val stats = stats()
+        Timber.d("ImagePrefetcher: prefetched=${stats.prefetchRequests} displayed=${stats.displayed} memory=${stats.memoryHits} disk=${stats.diskHits} network=${stats.networkLoads} (hit rate ${stats.memoryHitPercent}%)")
+    }
+}
+
+/**
+ * Métricas de exibição de imagens de produtos.
+ *
+ * @param prefetchRequests Pré-carregamentos disparados
+ * @param memoryHits Imagens exibidas direto do cache de memória (sem placeholder)
+ * @param diskHits Imagens que precisaram ser lidas do disco ao exibir
+ * @param networkLoads Imagens que precisaram ser baixadas ao exibir
+ */
+data class ImagePrefetchStats(
+    val prefetchRequests: Long,
+    val memoryHits: Long,
+    val diskHits: Long,
+    val networkLoads: Long
+) {
+    val displayed: Long
+        get() = memoryHits + diskHits + networkLoads
+
+    /**
+     * Percentual de imagens exibidas a partir do cache de memória (0-100).
+     */
+    val memoryHitPercent: Int
+        get() = if (displayed == 0L) 0 else ((memoryHits * 100) / displayed).toInt()
+}
+
+/**
+ * Request padrão de imagem de produto, decodificada no tamanho exato de exibição.
+ * Exibição e pré-carregamento devem usar este mesmo request para compartilhar o cache.
+ */
+fun productImageRequest(context: Context, url: String, widthPx: Int, heightPx: Int): ImageRequest {
+    return ImageRequest.Builder(context)
+        .data(url)
+        .memoryCacheKey(url)
+        .size(widthPx, heightPx)
+        .precision(Precision.EXACT)
+        .memoryCachePolicy(CachePolicy.ENABLED)
+        .diskCachePolicy(CachePolicy.ENABLED)
+        .build()
+}
+
+/**
+ * Acesso ao [ImagePrefetcher] a partir de composables fora de telas com ViewModel.
+ */
+@EntryPoint
+@InstallIn(SingletonComponent::class)
+interface ImagePrefetcherEntryPoint {
+    fun imagePrefetcher(): ImagePrefetcher
+}
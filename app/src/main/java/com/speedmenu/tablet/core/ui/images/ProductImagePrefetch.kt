@@ -0,0 +1,168 @@
+package com.speedmenu.tablet.core.ui.images
+
+import androidx.compose.foundation.lazy.LazyListState
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.DisposableEffect
+import androidx.compose.runtime.LaunchedEffect
+import androidx.compose.runtime.remember
+import androidx.compose.runtime.snapshotFlow
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.layout.ContentScale
+import androidx.compose.ui.platform.LocalContext
+import androidx.compose.ui.platform.LocalDensity
+import androidx.compose.ui.res.painterResource
+import androidx.compose.ui.unit.DpSize
+import coil.compose.AsyncImage
+import dagger.hilt.android.EntryPointAccessors
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlin.math.abs
+
+/**
+ * Retorna o [ImagePrefetcher] singleton do app.
+ */
+@Composable
+fun rememberImagePrefetcher(): ImagePrefetcher {
+    val context = LocalContext.current
+    return remember(context) {
+        EntryPointAccessors.fromApplication(context.applicationContext, ImagePrefetcherEntryPoint::class.java)
+            .imagePrefetcher()
+    }
+}
+
+/**
+ * Imagem remota de produto decodificada no tamanho exato de exibição.
+ * Usa o mesmo request do pré-carregamento e registra de onde cada imagem veio (métricas).
+ *
+ * @param url URL da imagem
+ * @param size Tamanho exato em que a imagem é exibida
+ * @param placeholderResId Imagem local mostrada enquanto carrega ou em caso de erro
+ */
+@Composable
+fun ProductImage(
+    url: String,
+    size: DpSize,
+    placeholderResId: Int,
+    modifier: Modifier = Modifier,
+    contentScale: ContentScale = ContentScale.Crop
+) {
+    val context = LocalContext.current
+    val prefetcher = rememberImagePrefetcher()
+    val density = LocalDensity.current
+    val widthPx = with(density) { size.width.roundToPx() }
+    val heightPx = with(density) { size.height.roundToPx() }
+    val request = remember(url, widthPx, heightPx) {
+        productImageRequest(context, url, widthPx, heightPx)
+    }
+    val placeholder = painterResource(id = placeholderResId)
+
+    AsyncImage(
+        model = request,
+        contentDescription = null,
+        modifier = modifier,
+        contentScale = contentScale,
+        placeholder = placeholder,
+        error = placeholder,
+        onSuccess = { state -> prefetcher.recordDisplay(state.result.dataSource) }
+    )
+}
+
+/**
+ * Pré-carrega as imagens das próximas linhas de uma LazyColumn conforme a rolagem.
+ *
+ * A janela acompanha a direção e a velocidade da rolagem: quanto mais rápido,
+ * mais linhas à frente são aquecidas. Perto do fim da lista, também aquece as
+ * primeiras linhas da categoria adjacente.
+ *
+ * @param listState Estado da LazyColumn observada
+ * @param imageUrls URL da imagem de cada linha (na ordem da lista; null = sem imagem remota)
+ * @param adjacentImageUrls URLs das linhas da categoria adjacente
+ * @param imageSize Tamanho exato em que as imagens são exibidas nas linhas
+ */
+@Composable
+fun ProductImagePrefetchEffect(
+    listState: LazyListState,
+    imageUrls: List<String?>,
+    adjacentImageUrls: List<String?>,
+    imageSize: DpSize
+) {
+    val prefetcher = rememberImagePrefetcher()
+    val density = LocalDensity.current
+    val widthPx = with(density) { imageSize.width.roundToPx() }
+    val heightPx = with(density) { imageSize.height.roundToPx() }
+
+    LaunchedEffect(listState, imageUrls, adjacentImageUrls, widthPx, heightPx) {
+        if (imageUrls.none { it != null } && adjacentImageUrls.none { it != null }) return@LaunchedEffect
+
+        var lastFirstIndex = listState.firstVisibleItemIndex
+        var lastTimeNanos = System.nanoTime()
+
+        snapshotFlow {
+            val visible = listState.layoutInfo.visibleItemsInfo
+            (visible.firstOrNull()?.index ?: 0) to (visible.lastOrNull()?.index ?: 0)
+        }
+            .distinctUntilChanged()
+            .collect { (firstVisible, lastVisible) ->
+                val now = System.nanoTime()
+                val elapsedSeconds = (now - lastTimeNanos).coerceAtLeast(1L) / 1_000_000_000f
+                val rowsPerSecond = (firstVisible - lastFirstIndex) / elapsedSeconds
+                lastFirstIndex = firstVisible
+                lastTimeNanos = now
+
+                prefetcher.prefetch(
+                    urls = prefetchWindow(firstVisible, lastVisible, rowsPerSecond, imageUrls, adjacentImageUrls),
+                    widthPx = widthPx,
+                    heightPx = heightPx
+                )
+            }
+    }
+
+    DisposableEffect(prefetcher) {
+        // Pré-carregamentos em andamento continuam: a próxima tela (ou categoria) costuma usá-los
+        onDispose { prefetcher.logStats() }
+    }
+}
+
+/**
+ * Calcula as URLs a aquecer, em ordem de prioridade (as mais próximas primeiro).
+ */
+private fun prefetchWindow(
+    firstVisible: Int,
+    lastVisible: Int,
+    rowsPerSecond: Float,
+    imageUrls: List<String?>,
+    adjacentImageUrls: List<String?>
+): List<String> {
+    val lookahead = (BASE_LOOKAHEAD_ROWS + (abs(rowsPerSecond) * LOOKAHEAD_SECONDS).toInt())
+        .coerceAtMost(MAX_LOOKAHEAD_ROWS)
+    val urls = ArrayList<String>(lookahead + BEHIND_ROWS + ADJACENT_ROWS)
+
+    val ahead: IntProgression
+    val behind: IntProgression
+    if (rowsPerSecond >= 0f) {
+        ahead = (lastVisible + 1)..(lastVisible + lookahead)
+        behind = (firstVisible - 1) downTo (firstVisible - BEHIND_ROWS)
+    } else {
+        ahead = (firstVisible - 1) downTo (firstVisible - lookahead)
+        behind = (lastVisible + 1)..(lastVisible + BEHIND_ROWS)
+    }
+    // Linhas visíveis primeiro (caso ainda estejam carregando), depois à frente e atrás
+    for (index in firstVisible..lastVisible) imageUrls.getOrNull(index)?.let { urls += it }
+    for (index in ahead) imageUrls.getOrNull(index)?.let { urls += it }
+    for (index in behind) imageUrls.getOrNull(index)?.let { urls += it }
+
+    // Perto do fim da categoria: aquece o início da categoria adjacente
+    if (lastVisible + lookahead >= imageUrls.lastIndex) {
+        adjacentImageUrls.take(ADJACENT_ROWS).forEach { url -> url?.let { urls += it } }
+    }
+    return urls
+}
+
+// Linhas aquecidas à frente mesmo com a lista parada
+private const val BASE_LOOKAHEAD_ROWS = 6
+
+// Quantos segundos de rolagem à frente a janela cobre
+private const val LOOKAHEAD_SECONDS = 0.75f
+
+private const val MAX_LOOKAHEAD_ROWS = 30
+private const val BEHIND_ROWS = 2
+private const val ADJACENT_ROWS = 4
@@ -2,6 +2,7 @@ package com.speedmenu.tablet.core.ui.theme
 
 import android.app.Activity
 import android.os.Build
+import android.util.LruCache
 import androidx.compose.foundation.isSystemInDarkTheme
 import androidx.compose.material3.ColorScheme
 import androidx.compose.material3.MaterialTheme
@@ -88,6 +89,17 @@ private fun ThemeColors.toColorScheme(): ColorScheme {
     )
 }
 
+/**
+ * ColorSchemes já derivados dos últimos temas usados (claro e escuro de cada restaurante).
+ * A chave é o próprio ThemeColors (data class): a mesma paleta reaproveita o mesmo ColorScheme
+ * ao voltar para um restaurante recente.
+ */
+private val colorSchemeCache = LruCache<ThemeColors, ColorScheme>(16)
+
+private fun ThemeColors.cachedColorScheme(): ColorScheme {
+    return colorSchemeCache.get(this) ?: toColorScheme().also { colorSchemeCache.put(this, it) }
+}
+
 /**
  * Theme principal do aplicativo SpeedMenuTablet.
  * Configura cores, tipografia e formas baseadas no Material Design 3.
@@ -106,21 +118,15 @@ fun SpeedMenuTheme(
     content: @Composable () -> Unit
 ) {
     // dynamicColor é reservado para uso futuro (Android 12+ dynamic colors)
-    // Observa AppConfig
-    val appConfig by appConfigViewModel.appConfig.collectAsState()
+    // Observa apenas o tema do AppConfig: mudanças de branding/carrossel não recompõem o theme
+    val themeTokens by appConfigViewModel.themeTokens.collectAsState()
     
-    // Resolve o ColorScheme baseado no AppConfig e dark mode
-    // Usa remember para garantir que seja recalculado quando appConfig mudar
-    // Usa variável local para permitir smart cast
-    val colorScheme = remember(appConfig, darkTheme) {
-        val currentConfig = appConfig
-        if (currentConfig != null) {
-            val themeColors = if (darkTheme) currentConfig.theme.dark else currentConfig.theme.light
-            themeColors.toColorScheme()
-        } else {
-            // Fallback para cores padrão
-            SpeedMenuDarkColorScheme
-        }
+    // Resolve o ColorScheme pelas cores do modo atual (claro/escuro).
+    // A chave é o ThemeColors selecionado: outro config com a mesma paleta reaproveita o mesmo ColorScheme.
+    val themeColors = themeTokens?.let { if (darkTheme) it.dark else it.light }
+    val colorScheme = remember(themeColors) {
+        // Fallback para cores padrão
+        themeColors?.cachedColorScheme() ?: SpeedMenuDarkColorScheme
     }
 
     val view = LocalView.current
@@ -132,6 +138,8 @@ fun SpeedMenuTheme(
         }
     }
 
+    // O MaterialTheme (material3 1.2) atualiza o ColorScheme lembrado campo a campo, com cada cor
+    // em um State próprio: ao trocar de paleta, só recompõe quem lê as cores que mudaram.
     MaterialTheme(
         colorScheme = colorScheme,
         typography = Typography,
@@ -0,0 +1,18 @@
+package com.speedmenu.tablet.core.utils
+
+/**
+ * Fonte de tempo injetável.
+ * Em produção usa o relógio do sistema; em testes, um relógio virtual controlado pelo teste
+ * (ex: o currentTime do TestCoroutineScheduler, que também avança os delay()).
+ */
+fun interface Clock {
+    /**
+     * Instante atual em milissegundos.
+     */
+    fun nowMillis(): Long
+
+    companion object {
+        /** Relógio do sistema (System.currentTimeMillis) */
+        val Default: Clock = Clock { System.currentTimeMillis() }
+    }
+}
@@ -6,15 +6,30 @@ import timber.log.Timber
 /**
  * Utilitário para parsing de cores HEX.
  * Suporta formatos #RRGGBB e #AARRGGBB.
+ *
+ * O parsing é feito caractere a caractere (sem Regex, substring ou toInt(16)), e os
+ * últimos valores vistos ficam em um pequeno cache de "intern": configs repetem as
+ * mesmas cores (ex: "#FFFFFF" em vários tokens), que então não são parseadas de novo.
  */
 object ColorParser {
+
+    // Cache de mapeamento direto (slot = hash & mask). Colisões apenas sobrescrevem o slot.
+    private const val INTERN_SLOTS = 64
+    private const val INTERN_MASK = INTERN_SLOTS - 1
+
+    private val parsedHex = arrayOfNulls<String>(INTERN_SLOTS)
+    private val parsedColors = arrayOfNulls<Color>(INTERN_SLOTS)
+
+    /** Valor retornado por [parseArgb] para entradas inválidas (fora da faixa de 32 bits) */
+    const val INVALID_ARGB = -1L
+
     /**
      * Parse uma string HEX para Color, retornando null se inválida.
-     * 
+     *
      * Formatos aceitos:
      * - #RRGGBB (ex: "#FF6A00")
      * - #AARRGGBB (ex: "#FFFF6A00")
-     * 
+     *
      * @param hex String HEX com ou sem #
      * @return Color ou null se inválida
      */
@@ -23,47 +38,29 @@ object ColorParser {
             Timber.w("ColorParser: hex is null or blank")
             return null
         }
-        
-        // Remove # se presente
-        val cleanHex = hex.trim().removePrefix("#")
-        
-        // Valida formato
-        if (!cleanHex.matches(Regex("^[0-9A-Fa-f]{6}$|^[0-9A-Fa-f]{8}$"))) {
+
+        val slot = hex.hashCode() and INTERN_MASK
+        synchronized(this) {
+            if (parsedHex[slot] == hex) return parsedColors[slot]
+        }
+
+        val argb = parseArgb(hex)
+        if (argb == INVALID_ARGB) {
             Timber.w("ColorParser: invalid hex format: $hex")
             return null
         }
-        
-        return try {
-            when (cleanHex.length) {
-                6 -> {
-                    // #RRGGBB
-                    val r = cleanHex.substring(0, 2).toInt(16)
-                    val g = cleanHex.substring(2, 4).toInt(16)
-                    val b = cleanHex.substring(4, 6).toInt(16)
-                    Color(r, g, b)
-                }
-                8 -> {
-                    // #AARRGGBB
-                    val a = cleanHex.substring(0, 2).toInt(16)
-                    val r = cleanHex.substring(2, 4).toInt(16)
-                    val g = cleanHex.substring(4, 6).toInt(16)
-                    val b = cleanHex.substring(6, 8).toInt(16)
-                    Color(a, r, g, b)
-                }
-                else -> {
-                    Timber.w("ColorParser: unexpected hex length: ${cleanHex.length}")
-                    null
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "ColorParser: failed to parse hex: $hex")
-            null
+
+        val color = Color(argb.toInt())
+        synchronized(this) {
+            parsedHex[slot] = hex
+            parsedColors[slot] = color
         }
+        return color
     }
-    
+
     /**
      * Parse uma string HEX para Color, usando fallback se inválida.
-     * 
+     *
      * @param hex String HEX
      * @param fallback Color a ser usada se hex for inválida
      * @return Color parseada ou fallback
@@ -71,5 +68,39 @@ object ColorParser {
     fun parseColorOrFallback(hex: String?, fallback: Color): Color {
         return parseColorOrNull(hex) ?: fallback
     }
-}
 
+    /**
+     * Parse de HEX para ARGB empacotado, sem alocar.
+     * Aceita espaços nas pontas e o # opcional; #RRGGBB recebe alpha FF.
+     *
+     * @param hex Texto HEX
+     * @return ARGB (0..0xFFFFFFFF) ou [INVALID_ARGB] se inválido
+     */
+    fun parseArgb(hex: CharSequence): Long {
+        var start = 0
+        var end = hex.length
+        while (start < end && hex[start].isWhitespace()) start++
+        while (end > start && hex[end - 1].isWhitespace()) end--
+        if (start < end && hex[start] == '#') start++
+
+        val length = end - start
+        if (length != 6 && length != 8) return INVALID_ARGB
+
+        var value = 0L
+        for (index in start until end) {
+            val digit = hexDigit(hex[index])
+            if (digit < 0) return INVALID_ARGB
+            value = (value shl 4) or digit.toLong()
+        }
+        return if (length == 6) value or 0xFF000000L else value
+    }
+
+    private fun hexDigit(ch: Char): Int {
+        return when (ch) {
+            in '0'..'9' -> ch - '0'
+            in 'A'..'F' -> ch - 'A' + 10
+            in 'a'..'f' -> ch - 'a' + 10
+            else -> -1
+        }
+    }
+}
@@ -1,36 +1,48 @@
 package com.speedmenu.tablet.core.utils
 
-import java.math.BigDecimal
-import java.text.NumberFormat
-import java.util.Locale
+import com.speedmenu.tablet.domain.model.Money
 
 /**
  * Utilitário para formatação de moeda em padrão brasileiro (pt-BR).
  * Sempre usa vírgula como separador decimal e 2 casas decimais.
+ *
+ * Formata diretamente a partir de centavos (aritmética inteira), sem passar
+ * por NumberFormat nem por Double.
  */
 object CurrencyFormatter {
-    private val currencyFormat = NumberFormat.getCurrencyInstance(Locale("pt", "BR"))
-    
-    init {
-        // Garante sempre 2 casas decimais
-        currencyFormat.minimumFractionDigits = 2
-        currencyFormat.maximumFractionDigits = 2
-    }
+    // Mesmo prefixo gerado pelo NumberFormat pt-BR (espaço não separável)
+    private const val PREFIX = "R$\u00A0"
     
     /**
-     * Formata um valor Double como moeda brasileira.
-     * Exemplo: 68.90 -> "R$ 68,90"
+     * Formata um valor Money como moeda brasileira.
+     * Exemplo: Money(6890) -> "R$ 68,90", Money(123456) -> "R$ 1.234,56"
      */
-    fun formatCurrencyBR(value: Double): String {
-        return currencyFormat.format(value)
+    fun formatCurrencyBR(value: Money): String {
+        val cents = value.cents
+        val negative = cents < 0
+        // Evita overflow de Long.MIN_VALUE trabalhando com valores negativos
+        val absReais = -((if (negative) cents else -cents) / 100)
+        val absCents = -((if (negative) cents else -cents) % 100).toInt()
+        
+        val builder = StringBuilder(24)
+        if (negative) builder.append('-')
+        builder.append(PREFIX)
+        appendGrouped(builder, absReais)
+        builder.append(',')
+        if (absCents < 10) builder.append('0')
+        builder.append(absCents)
+        return builder.toString()
     }
     
     /**
-     * Formata um valor BigDecimal como moeda brasileira.
-     * Exemplo: BigDecimal("68.90") -> "R$ 68,90"
+     * Acrescenta a parte inteira com separador de milhar (ponto).
      */
-    fun formatCurrencyBR(value: BigDecimal): String {
-        return currencyFormat.format(value)
+    private fun appendGrouped(builder: StringBuilder, value: Long) {
+        val digits = value.toString()
+        val firstGroup = digits.length % 3
+        for (i in digits.indices) {
+            if (i > 0 && (i - firstGroup) % 3 == 0) builder.append('.')
+            builder.append(digits[i])
+        }
     }
 }
-
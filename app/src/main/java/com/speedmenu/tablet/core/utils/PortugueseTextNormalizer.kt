@@ -0,0 +1,118 @@
+package com.speedmenu.tablet.core.utils
+
+/**
+ * Normalização de texto em português para busca.
+ *
+ * - Ignora caixa e acentos ("Salmão" == "salmao", "Pão" == "pao")
+ * - Reduz plurais comuns ao singular ("pastéis" -> "pastel", "limões" -> "limao", "atuns" -> "atum")
+ * - Descarta palavras vazias (artigos, preposições), que não ajudam a encontrar um prato
+ *
+ * O stemming é propositalmente simples: o importante é que índice e consulta
+ * apliquem exatamente as mesmas regras.
+ */
+object PortugueseTextNormalizer {
+
+    private const val ACCENTED = "àáâãäåçèéêëìíîïñòóôõöùúûüýÿ"
+    private const val FOLDED = "aaaaaaceeeeiiiinooooouuuuyy"
+
+    private val STOP_WORDS = hashSetOf(
+        "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos",
+        "em", "no", "na", "nos", "nas", "ao", "aos", "com", "para", "um", "uma"
+    )
+
+    /**
+     * Quebra o texto em palavras normalizadas (minúsculas, sem acentos), sem stemming.
+     * Qualquer caractere que não seja letra ou dígito separa palavras.
+     */
+    fun words(text: String): List<String> {
+        val words = ArrayList<String>()
+        val current = StringBuilder()
+        for (ch in text) {
+            val folded = fold(ch)
+            if (folded != SEPARATOR) {
+                current.append(folded)
+            } else if (current.isNotEmpty()) {
+                words += current.toString()
+                current.setLength(0)
+            }
+        }
+        if (current.isNotEmpty()) words += current.toString()
+        return words
+    }
+
+    /**
+     * Termos de indexação do texto: cada palavra normalizada e, quando diferente, o seu singular.
+     * Indexar as duas formas permite casar tanto "pastel" quanto o prefixo "pastei".
+     */
+    fun indexTerms(text: String, into: MutableCollection<String>) {
+        for (word in words(text)) {
+            if (word in STOP_WORDS) continue
+            into += word
+            val stem = stem(word)
+            if (stem != word) into += stem
+        }
+    }
+
+    /**
+     * Termos de uma consulta digitada. Palavras vazias são ignoradas,
+     * a menos que a consulta só tenha palavras vazias.
+     */
+    fun queryTerms(query: String): List<SearchTerm> {
+        val words = words(query)
+        val meaningful = words.filter { it !in STOP_WORDS }.ifEmpty { words }
+        return meaningful.map { SearchTerm(word = it, stem = stem(it)) }
+    }
+
+    /**
+     * Reduz um plural ao singular com as regras mais comuns do português.
+     * Espera uma palavra já normalizada (minúscula, sem acentos).
+     */
+    fun stem(word: String): String {
+        if (word.length <= 3) return word
+        return when {
+            // limões, pães, mamões -> limao, pao, mamao
+            word.endsWith("oes") || word.endsWith("aes") -> word.dropLast(3) + "ao"
+            // atuns, bombons -> atum, bombom
+            word.endsWith("ns") -> word.dropLast(2) + "m"
+            // pastéis, papéis -> pastel, papel
+            word.length > 4 && word.endsWith("eis") -> word.dropLast(3) + "el"
+            // animais, lençóis -> animal, lencol
+            word.length > 4 && (word.endsWith("ais") || word.endsWith("ois")) -> word.dropLast(2) + "l"
+            // hambúrgueres, luzes -> hamburguer, luz
+            word.endsWith("res") || word.endsWith("zes") -> word.dropLast(2)
+            // queijos, batatas, doces -> queijo, batata, doce
+            word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us") && !word.endsWith("is") ->
+                word.dropLast(1)
+            else -> word
+        }
+    }
+
+    /**
+     * Converte o caractere para minúscula sem acento, ou [SEPARATOR] se não for letra/dígito.
+     * O caminho comum (ASCII) não consulta tabelas.
+     */
+    private fun fold(ch: Char): Char {
+        return when (ch) {
+            in 'a'..'z', in '0'..'9' -> ch
+            in 'A'..'Z' -> ch + ('a' - 'A')
+            else -> {
+                if (ch.code < 0x80 || !ch.isLetterOrDigit()) return SEPARATOR
+                val lower = ch.lowercaseChar()
+                val index = ACCENTED.indexOf(lower)
+                if (index >= 0) FOLDED[index] else lower
+            }
+        }
+    }
+
+    private const val SEPARATOR = ' '
+}
+
+/**
+ * Termo de consulta normalizado.
+ * @param word Palavra como digitada (minúscula, sem acentos), usada como prefixo durante a digitação
+ * @param stem Forma no singular da palavra
+ */
+data class SearchTerm(
+    val word: String,
+    val stem: String
+)
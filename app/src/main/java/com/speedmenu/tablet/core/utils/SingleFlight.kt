@@ -0,0 +1,144 @@
+package com.speedmenu.tablet.core.utils
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import timber.log.Timber
+import java.lang.ref.WeakReference
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Coalescência de requisições concorrentes ("single-flight").
+ *
+ * Chamadas simultâneas com a mesma chave compartilham uma única execução em andamento:
+ * a primeira inicia o trabalho e as demais apenas aguardam o mesmo resultado (ou erro).
+ *
+ * Cancelamento:
+ * - Cancelar um chamador não afeta os demais que aguardam a mesma chave
+ * - Quando todos os chamadores de uma chave cancelam, a execução compartilhada é cancelada
+ *
+ * As métricas de todas as instâncias vivas são registradas juntas por [logAllStats]
+ * (ao fim do aquecimento e a cada refresh do cardápio).
+ *
+ * @param scope Scope onde as execuções compartilhadas rodam (deve sobreviver aos chamadores)
+ * @param name Nome usado nos logs e métricas
+ */
+class SingleFlight<K : Any, V>(
+    private val scope: CoroutineScope,
+    private val name: String
+) {
+
+    private class Call<V>(val deferred: Deferred<V>) {
+        var waiters = 0
+    }
+
+    private val lock = Any()
+    private val calls = HashMap<K, Call<V>>()
+
+    private val totalCalls = AtomicLong()
+    private val coalescedCalls = AtomicLong()
+
+    init {
+        instances += WeakReference(this)
+    }
+
+    /**
+     * Executa [block] para a chave, ou aguarda a execução já em andamento para ela.
+     */
+    suspend fun run(key: K, block: suspend () -> V): V {
+        totalCalls.incrementAndGet()
+        val call = synchronized(lock) {
+            val existing = calls[key]
+            if (existing != null && existing.deferred.isActive) {
+                coalescedCalls.incrementAndGet()
+                existing.waiters++
+                existing
+            } else {
+                val deferred = scope.async(start = CoroutineStart.LAZY) { block() }
+                val created = Call(deferred)
+                created.waiters = 1
+                calls[key] = created
+                deferred.invokeOnCompletion {
+                    synchronized(lock) {
+                        if (calls[key] === created) calls.remove(key)
+                    }
+                }
+                deferred.start()
+                created
+            }
+        }
+
+        try {
+            return call.deferred.await()
+        } finally {
+            synchronized(lock) {
+                call.waiters--
+                if (call.waiters == 0 && call.deferred.isActive) {
+                    // Ninguém mais aguarda: cancela a execução compartilhada
+                    call.deferred.cancel()
+                    if (calls[key] === call) calls.remove(key)
+                }
+            }
+        }
+    }
+
+    /**
+     * Métricas acumuladas desde a criação.
+     */
+    fun stats(): SingleFlightStats {
+        return SingleFlightStats(
+            name = name,
+            totalCalls = totalCalls.get(),
+            coalescedCalls = coalescedCalls.get()
+        )
+    }
+
+    /**
+     * Registra as métricas atuais no log.
+     */
+    fun logStats() {
+        val stats = stats()
+        Timber.d("SingleFlight[$name]: total=${stats.totalCalls} coalesced=${stats.coalescedCalls} (${stats.coalescedPercent}%)")
+    }
+
+    companion object {
+        // Referências fracas: o registro não prende repositórios descartados
+        private val instances = CopyOnWriteArrayList<WeakReference<SingleFlight<*, *>>>()
+
+        /**
+         * Métricas de todas as instâncias vivas.
+         */
+        fun allStats(): List<SingleFlightStats> {
+            instances.removeAll { it.get() == null }
+            return instances.mapNotNull { it.get()?.stats() }
+        }
+
+        /**
+         * Registra no log as métricas de todas as instâncias vivas.
+         */
+        fun logAllStats() {
+            instances.removeAll { it.get() == null }
+            instances.forEach { it.get()?.logStats() }
+        }
+    }
+}
+
+/**
+ * Métricas de um [SingleFlight].
+ *
+ * @param totalCalls Total de chamadas recebidas
+ * @param coalescedCalls Chamadas que reaproveitaram uma execução em andamento
+ */
+data class SingleFlightStats(
+    val name: String,
+    val totalCalls: Long,
+    val coalescedCalls: Long
+) {
+    /**
+     * Percentual de chamadas coalescidas (0-100).
+     */
+    val coalescedPercent: Int
+        get() = if (totalCalls == 0L) 0 else ((coalescedCalls * 100) / totalCalls).toInt()
+}
@@ -1,7 +1,10 @@
 package com.speedmenu.tablet.data.datasource.local
 
 import com.speedmenu.tablet.data.model.CategoryEntity
+import com.speedmenu.tablet.data.model.MenuChangesEntity
 import com.speedmenu.tablet.data.model.MenuItemEntity
+import com.speedmenu.tablet.data.model.MenuItemPatchEntity
+import kotlinx.coroutines.flow.Flow
 
 /**
  * Interface para acesso a dados locais (cache, banco de dados local, etc.).
@@ -27,6 +30,74 @@ interface LocalDataSource {
      */
     suspend fun getMenuItemById(itemId: String): MenuItemEntity?
 
+    /**
+     * Busca os itens de uma categoria a partir do índice local.
+     * @param categoryId ID da categoria
+     * @return Itens da categoria ou lista vazia se não houver dados
+     */
+    suspend fun getMenuItemsByCategory(categoryId: String): List<MenuItemEntity>
+
+    /**
+     * Indica se há itens do menu salvos localmente.
+     */
+    suspend fun hasMenuItems(): Boolean
+
+    /**
+     * Observa os itens do menu salvos localmente.
+     * Emite o estado atual imediatamente e a cada nova gravação; alterações ao vivo
+     * ([applyItemPatches]) não geram emissão.
+     */
+    fun observeMenuItems(): Flow<List<MenuItemEntity>>
+
+    /**
+     * Observa os itens de uma categoria a partir do índice local.
+     * Emite apenas quando a lista da categoria muda, e não com alterações ao vivo ([applyItemPatches]).
+     * @param categoryId ID da categoria
+     */
+    fun observeMenuItemsByCategory(categoryId: String): Flow<List<MenuItemEntity>>
+
+    /**
+     * Busca textual nos itens salvos localmente (nome e descrição).
+     * Ignora acentos e plurais e casa cada palavra por prefixo (busca enquanto digita).
+     * @param query Texto digitado
+     * @param limit Número máximo de resultados
+     * @return Itens encontrados, com os que casam pelo nome primeiro
+     */
+    suspend fun searchMenuItems(query: String, limit: Int): List<MenuItemEntity>
+
+    /**
+     * Versão do catálogo salvo localmente (0 se desconhecida).
+     */
+    suspend fun getCatalogVersion(): Long
+
+    /**
+     * Momento (epoch millis) da última sincronização com o servidor nesta sessão (0 se nunca).
+     */
+    suspend fun getLastSyncedAtMillis(): Long
+
+    /**
+     * Registra uma sincronização bem-sucedida com o servidor.
+     * @param catalogVersion Versão do catálogo confirmada pelo servidor
+     * @param syncedAtMillis Momento da sincronização (epoch millis)
+     */
+    suspend fun markSynced(catalogVersion: Long, syncedAtMillis: Long)
+
+    /**
+     * Aplica um delta do servidor ao catálogo local, corrigindo os índices no lugar.
+     * Também registra a sincronização com a nova versão do catálogo.
+     * @param changes Alterações desde a versão local
+     * @param syncedAtMillis Momento da sincronização (epoch millis)
+     */
+    suspend fun applyMenuChanges(changes: MenuChangesEntity, syncedAtMillis: Long)
+
+    /**
+     * Aplica alterações pontuais recebidas pelo canal ao vivo (disponibilidade, preço).
+     * Os itens são localizados pelo índice por ID; não altera a versão do catálogo.
+     * @param patches Alterações a aplicar
+     * @return Itens efetivamente alterados (vazio se nada mudou)
+     */
+    suspend fun applyItemPatches(patches: List<MenuItemPatchEntity>): List<MenuItemEntity>
+
     /**
      * Salva categorias localmente.
      * @param categories Lista de categorias a serem salvas
@@ -1,45 +1,233 @@
 package com.speedmenu.tablet.data.datasource.local
 
+import com.speedmenu.tablet.core.di.ApplicationScope
 import com.speedmenu.tablet.data.model.CategoryEntity
+import com.speedmenu.tablet.data.model.MenuChangesEntity
 import com.speedmenu.tablet.data.model.MenuItemEntity
+import com.speedmenu.tablet.data.model.MenuItemPatchEntity
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.update
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import timber.log.Timber
+import java.util.concurrent.atomic.AtomicBoolean
 import javax.inject.Inject
 
 /**
- * Implementação mockada do LocalDataSource.
- * Por enquanto, armazena dados em memória.
- * TODO: Substituir por implementação real usando Room ou DataStore quando necessário.
+ * Implementação do LocalDataSource com índice em memória e persistência em disco.
+ *
+ * Mantém o cardápio em um [MenuCatalogSnapshot] imutável publicado atomicamente
+ * (copy-on-write): cada escrita constrói um novo snapshot com os índices prontos
+ * e o troca de uma vez. Leituras nunca bloqueiam e nunca copiam listas.
+ *
+ * Toda escrita também é gravada no [MenuCatalogFileStore]. Após reinício do processo,
+ * o catálogo é restaurado do disco de forma preguiçosa: categorias e consultas por
+ * categoria leem só o trecho necessário do arquivo; as demais consultas restauram
+ * o catálogo completo uma única vez.
+ *
+ * Um [MenuSearchIndex] acompanha o snapshot: a cada escrita de itens ele é sincronizado
+ * de forma incremental (apenas itens alterados são reindexados).
+ *
+ * Patches ao vivo não regravam o arquivo um a um: a gravação é adiada por
+ * [PATCH_PERSIST_DELAY_MILLIS] e uma rajada de patches vira uma única regravação.
+ * Se o processo morrer nesse intervalo, os patches perdidos voltam pela revalidação do catálogo.
  */
-class LocalDataSourceImpl @Inject constructor() : LocalDataSource {
+class LocalDataSourceImpl @Inject constructor(
+    private val fileStore: MenuCatalogFileStore,
+    @ApplicationScope private val applicationScope: CoroutineScope
+) : LocalDataSource {
 
-    // Armazenamento em memória temporário
-    private val menuItemsCache = mutableListOf<MenuItemEntity>()
-    private val categoriesCache = mutableListOf<CategoryEntity>()
+    private val snapshot = MutableStateFlow(MenuCatalogSnapshot.EMPTY)
+
+    // Indica se o snapshot em memória já reflete o disco (ou foi escrito nesta sessão)
+    @Volatile
+    private var isRestored = false
+    private val restoreMutex = Mutex()
+
+    // Serializa gravações em disco para que o arquivo sempre reflita o snapshot mais recente
+    private val writeMutex = Mutex()
+
+    // Último snapshot gravado (protegido por writeMutex): regravar o mesmo snapshot não faz nada
+    private var persistedSnapshot: MenuCatalogSnapshot? = null
+
+    // Há uma gravação adiada de patches ao vivo agendada
+    private val isPatchPersistScheduled = AtomicBoolean(false)
+
+    private val searchIndex = MenuSearchIndex()
 
     override suspend fun saveMenuItems(items: List<MenuItemEntity>) {
-        menuItemsCache.clear()
-        menuItemsCache.addAll(items)
+        // A própria lista do snapshot (ex: 304 respondido com a cópia local): nada a gravar
+        if (restoredSnapshot().items === items) return
+        snapshot.update { current -> current.withItems(items) }
+        syncSearchIndex()
+        persist()
     }
 
     override suspend fun getMenuItems(): List<MenuItemEntity> {
-        return menuItemsCache.toList()
+        return restoredSnapshot().items
     }
 
     override suspend fun getMenuItemById(itemId: String): MenuItemEntity? {
-        return menuItemsCache.find { it.id == itemId }
+        return restoredSnapshot().itemById(itemId)
+    }
+
+    override suspend fun getMenuItemsByCategory(categoryId: String): List<MenuItemEntity> {
+        if (!isRestored) return fileStore.readCategory(categoryId)
+        return snapshot.value.itemsInCategory(categoryId)
+    }
+
+    override suspend fun hasMenuItems(): Boolean {
+        return restoredSnapshot().items.isNotEmpty()
+    }
+
+    override fun observeMenuItems(): Flow<List<MenuItemEntity>> = flow {
+        restoredSnapshot()
+        emitAll(listings().map { it.items })
+    }.distinctUntilChanged { old, new -> old === new }
+
+    override fun observeMenuItemsByCategory(categoryId: String): Flow<List<MenuItemEntity>> = flow {
+        restoredSnapshot()
+        emitAll(listings().map { it.itemsInCategory(categoryId) })
+    }.distinctUntilChanged()
+
+    override suspend fun searchMenuItems(query: String, limit: Int): List<MenuItemEntity> {
+        restoredSnapshot()
+        return searchIndex.search(query, limit)
+    }
+
+    override suspend fun getCatalogVersion(): Long {
+        return restoredSnapshot().catalogVersion
+    }
+
+    override suspend fun getLastSyncedAtMillis(): Long {
+        return restoredSnapshot().syncedAtMillis
+    }
+
+    override suspend fun markSynced(catalogVersion: Long, syncedAtMillis: Long) {
+        val previousVersion = restoredSnapshot().catalogVersion
+        snapshot.update { current -> current.withSyncState(catalogVersion, syncedAtMillis) }
+        // O momento da sincronização vive só em memória; o disco só é regravado se a versão mudou
+        if (catalogVersion != previousVersion) persist()
+    }
+
+    override suspend fun applyMenuChanges(changes: MenuChangesEntity, syncedAtMillis: Long) {
+        val previousVersion = restoredSnapshot().catalogVersion
+        if (changes.isEmpty) {
+            markSynced(changes.catalogVersion, syncedAtMillis)
+            return
+        }
+        snapshot.update { current -> current.withChanges(changes, syncedAtMillis) }
+        syncSearchIndex()
+        Timber.d("LocalDataSource: applied menu delta $previousVersion -> ${changes.catalogVersion} (upserts=${changes.upsertedItems.size}, deletions=${changes.deletedItemIds.size})")
+        persist()
+    }
+
+    override suspend fun applyItemPatches(patches: List<MenuItemPatchEntity>): List<MenuItemEntity> {
+        restoredSnapshot()
+        var changed = emptyList<MenuItemEntity>()
+        snapshot.update { current ->
+            val (patched, changedItems) = current.withItemPatches(patches)
+            changed = changedItems
+            patched
+        }
+        if (changed.isEmpty()) return changed
+        Timber.d("LocalDataSource: applied ${changed.size} live item patches")
+        syncSearchIndex()
+        schedulePatchPersist()
+        return changed
     }
 
     override suspend fun saveCategories(categories: List<CategoryEntity>) {
-        categoriesCache.clear()
-        categoriesCache.addAll(categories)
+        if (restoredSnapshot().categories === categories) return
+        snapshot.update { current -> current.withCategories(categories) }
+        persist()
     }
 
     override suspend fun getCategories(): List<CategoryEntity> {
-        return categoriesCache.toList()
+        if (!isRestored) return fileStore.readCategories()
+        return snapshot.value.categories
     }
 
     override suspend fun clearAll() {
-        menuItemsCache.clear()
-        categoriesCache.clear()
+        restoreMutex.withLock {
+            snapshot.value = MenuCatalogSnapshot.EMPTY
+            isRestored = true
+        }
+        syncSearchIndex()
+        writeMutex.withLock {
+            fileStore.delete()
+            persistedSnapshot = MenuCatalogSnapshot.EMPTY
+        }
+    }
+
+    /**
+     * Grava no disco o snapshot mais recente (lido dentro do lock, nunca um snapshot antigo).
+     */
+    private suspend fun persist() {
+        writeMutex.withLock {
+            val current = snapshot.value
+            if (current === persistedSnapshot) return@withLock
+            fileStore.write(current.items, current.categories, current.catalogVersion)
+            persistedSnapshot = current
+        }
     }
-}
 
+    /**
+     * Agenda uma gravação adiada; patches que chegarem antes dela entram na mesma regravação.
+     */
+    private fun schedulePatchPersist() {
+        if (!isPatchPersistScheduled.compareAndSet(false, true)) return
+        applicationScope.launch {
+            delay(PATCH_PERSIST_DELAY_MILLIS)
+            isPatchPersistScheduled.set(false)
+            try {
+                persist()
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                Timber.w(e, "LocalDataSource: failed to persist live item patches")
+            }
+        }
+    }
+
+    /**
+     * Leva o índice de busca ao snapshot mais recente (lido dentro do lock do índice).
+     */
+    private fun syncSearchIndex() {
+        searchIndex.sync { snapshot.value.items }
+    }
+
+    /**
+     * Snapshots que mudam a listagem; alterações ao vivo não geram emissão nem novo mapeamento.
+     */
+    private fun listings(): Flow<MenuCatalogSnapshot> =
+        snapshot.distinctUntilChanged { old, new -> old.hasSameListingAs(new) }
+
+    /**
+     * Retorna o snapshot atual, restaurando-o do disco na primeira chamada.
+     */
+    private suspend fun restoredSnapshot(): MenuCatalogSnapshot {
+        if (isRestored) return snapshot.value
+        restoreMutex.withLock {
+            if (!isRestored) {
+                fileStore.readAll()?.let { snapshot.value = it }
+                isRestored = true
+                syncSearchIndex()
+            }
+        }
+        return snapshot.value
+    }
+
+    companion object {
+        private const val PATCH_PERSIST_DELAY_MILLIS = 5_000L
+    }
+}
@@ -0,0 +1,353 @@
+package com.speedmenu.tablet.data.datasource.local
+
+import android.content.Context
+import android.util.AtomicFile
+import com.speedmenu.tablet.data.model.CategoryEntity
+import com.speedmenu.tablet.data.model.MenuItemEntity
+import com.speedmenu.tablet.domain.model.Money
+import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.withContext
+import timber.log.Timber
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInput
+import java.io.DataInputStream
+import java.io.DataOutput
+import java.io.DataOutputStream
+import java.io.File
+import java.io.FileInputStream
+import java.io.FileNotFoundException
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.util.concurrent.locks.ReentrantReadWriteLock
+import javax.inject.Inject
+import javax.inject.Singleton
+import kotlin.concurrent.read
+import kotlin.concurrent.write
+
+/**
+ * Catálogo do cardápio persistido em disco num arquivo binário compacto e versionado.
+ * Permite que o tablet mostre o cardápio após reboot mesmo sem rede.
+ *
+ * Layout do arquivo:
+ * ```
+ * [MAGIC:int][SCHEMA_VERSION:int][headerLength:int]
+ * [header: catalogVersion + categorias + diretório de blocos (categoryId, offset, length, itemCount)]
+ * [dados: um bloco de itens por categoria]
+ * ```
+ * O diretório permite ler apenas o bloco de uma categoria (carga preguiçosa).
+ * Arquivos com MAGIC ou versão de schema diferentes são descartados (cache miss).
+ *
+ * Leituras sempre passam por [AtomicFile.openRead] (recupera o backup se o processo morreu no
+ * meio de uma escrita) e acontecem sob o read lock. A escrita inteira (startWrite até
+ * finishWrite, mais a invalidação do header em cache) acontece sob o write lock: uma leitura
+ * nunca combina o header de um arquivo com os offsets de outro, nem descarta uma escrita em andamento.
+ */
+@Singleton
+class MenuCatalogFileStore internal constructor(
+    private val file: AtomicFile
+) {
+
+    @Inject
+    constructor(@ApplicationContext context: Context) :
+        this(AtomicFile(File(context.filesDir, FILE_NAME)))
+
+    /**
+     * Diretório lido do header. Mantido em memória para evitar reler o header
+     * a cada carga de categoria. Invalidado a cada escrita.
+     */
+    @Volatile
+    private var cachedHeader: Header? = null
+
+    private val lock = ReentrantReadWriteLock()
+
+    /**
+     * Grava o catálogo completo de forma atômica (arquivo temporário + rename).
+     */
+    suspend fun write(
+        items: List<MenuItemEntity>,
+        categories: List<CategoryEntity>,
+        catalogVersion: Long
+    ) =
+        withContext(Dispatchers.IO) {
+            val blocks = LinkedHashMap<String, MutableList<MenuItemEntity>>()
+            for (item in items) {
+                blocks.getOrPut(item.category) { ArrayList() }.add(item)
+            }
+
+            // Serializa os blocos primeiro para conhecer offsets e tamanhos
+            val data = ByteArrayOutputStream()
+            val directory = ArrayList<BlockEntry>(blocks.size)
+            val blockBuffer = ByteArrayOutputStream()
+            for ((categoryId, blockItems) in blocks) {
+                blockBuffer.reset()
+                val out = DataOutputStream(blockBuffer)
+                for (item in blockItems) writeItem(out, item)
+                out.flush()
+                directory += BlockEntry(categoryId, data.size().toLong(), blockBuffer.size(), blockItems.size)
+                blockBuffer.writeTo(data)
+            }
+
+            val headerBytes = ByteArrayOutputStream().also { buffer ->
+                val out = DataOutputStream(buffer)
+                out.writeLong(catalogVersion)
+                out.writeInt(categories.size)
+                for (category in categories) writeCategory(out, category)
+                out.writeInt(directory.size)
+                for (entry in directory) {
+                    out.writeUTF(entry.categoryId)
+                    out.writeLong(entry.offset)
+                    out.writeInt(entry.length)
+                    out.writeInt(entry.itemCount)
+                }
+                out.flush()
+            }
+
+            try {
+                // Sob o write lock do startWrite ao finishWrite: o openRead de um leitor
+                // (API 30+) apagaria o ".new" de uma escrita em andamento
+                lock.write {
+                    val stream = file.startWrite()
+                    try {
+                        val out = DataOutputStream(stream.buffered())
+                        out.writeInt(MAGIC)
+                        out.writeInt(SCHEMA_VERSION)
+                        out.writeInt(headerBytes.size())
+                        headerBytes.writeTo(out)
+                        data.writeTo(out)
+                        out.flush()
+                        file.finishWrite(stream)
+                    } catch (e: Throwable) {
+                        file.failWrite(stream)
+                        throw e
+                    }
+                    cachedHeader = null
+                }
+                Timber.d("MenuCatalogFileStore: saved ${items.size} items in ${directory.size} categories")
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                Timber.e(e, "MenuCatalogFileStore: failed to save catalog")
+            }
+        }
+
+    /**
+     * Lê apenas as categorias (header), sem tocar nos blocos de itens.
+     */
+    suspend fun readCategories(): List<CategoryEntity> = withContext(Dispatchers.IO) {
+        lock.read { readHeader()?.categories } ?: emptyList()
+    }
+
+    /**
+     * Lê apenas o bloco de itens de uma categoria.
+     */
+    suspend fun readCategory(categoryId: String): List<MenuItemEntity> = withContext(Dispatchers.IO) {
+        try {
+            lock.read {
+                val header = readHeader() ?: return@read emptyList()
+                val entry = header.blocks[categoryId] ?: return@read emptyList()
+                val bytes = openRead()?.use { stream ->
+                    readRange(stream, header.dataStart + entry.offset, entry.length)
+                } ?: return@read emptyList()
+                readItems(DataInputStream(ByteArrayInputStream(bytes)), entry.itemCount)
+            }
+        } catch (e: Exception) {
+            Timber.e(e, "MenuCatalogFileStore: failed to read category=$categoryId")
+            emptyList()
+        }
+    }
+
+    /**
+     * Lê o catálogo completo e constrói um snapshot indexado.
+     * @return Snapshot ou null se não houver arquivo válido
+     */
+    internal suspend fun readAll(): MenuCatalogSnapshot? = withContext(Dispatchers.IO) {
+        try {
+            lock.read {
+                val header = readHeader() ?: return@read null
+                openRead()?.use { stream ->
+                    val dataLength = (stream.channel.size() - header.dataStart).toInt()
+                    val input = DataInputStream(ByteArrayInputStream(readRange(stream, header.dataStart, dataLength)))
+                    val items = ArrayList<MenuItemEntity>(header.blocks.values.sumOf { it.itemCount })
+                    // Blocos foram gravados em sequência, na ordem do diretório
+                    for (entry in header.blocks.values) {
+                        items += readItems(input, entry.itemCount)
+                    }
+                    MenuCatalogSnapshot.build(items, header.categories, header.catalogVersion)
+                }
+            }
+        } catch (e: Exception) {
+            Timber.e(e, "MenuCatalogFileStore: failed to read catalog")
+            null
+        }
+    }
+
+    /**
+     * Remove o catálogo persistido.
+     */
+    suspend fun delete() = withContext(Dispatchers.IO) {
+        lock.write {
+            file.delete()
+            cachedHeader = null
+        }
+    }
+
+    /**
+     * Abre o arquivo para leitura via AtomicFile (restaura o backup de uma escrita interrompida).
+     * @return null se não há catálogo gravado
+     */
+    private fun openRead(): FileInputStream? {
+        return try {
+            file.openRead()
+        } catch (e: FileNotFoundException) {
+            null
+        }
+    }
+
+    /**
+     * Lê [length] bytes a partir de [position], sem depender da posição atual do stream.
+     */
+    private fun readRange(stream: FileInputStream, position: Long, length: Int): ByteArray {
+        val buffer = ByteBuffer.allocate(length)
+        val channel = stream.channel
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw IOException("Unexpected end of catalog at ${position + buffer.position()}")
+            }
+        }
+        return buffer.array()
+    }
+
+    /**
+     * Lê o header (ou devolve o que está em cache). Deve ser chamado sob o read lock.
+     */
+    private fun readHeader(): Header? {
+        cachedHeader?.let { return it }
+        return try {
+            openRead()?.use { stream ->
+                val input = DataInputStream(stream.buffered())
+                val magic = input.readInt()
+                val schemaVersion = input.readInt()
+                if (magic != MAGIC || schemaVersion != SCHEMA_VERSION) {
+                    Timber.w("MenuCatalogFileStore: discarding catalog with schema=$schemaVersion (expected $SCHEMA_VERSION)")
+                    return null
+                }
+                val headerLength = input.readInt()
+                val bytes = ByteArray(headerLength)
+                input.readFully(bytes)
+                val header = DataInputStream(ByteArrayInputStream(bytes))
+
+                val catalogVersion = header.readLong()
+                val categoryCount = header.readInt()
+                val categories = ArrayList<CategoryEntity>(categoryCount)
+                repeat(categoryCount) { categories += readCategory(header) }
+
+                val blockCount = header.readInt()
+                val blocks = LinkedHashMap<String, BlockEntry>(blockCount)
+                repeat(blockCount) {
+                    val entry = BlockEntry(
+                        categoryId = header.readUTF(),
+                        offset = header.readLong(),
+                        length = header.readInt(),
+                        itemCount = header.readInt()
+                    )
+                    blocks[entry.categoryId] = entry
+                }
+
+                Header(
+                    catalogVersion = catalogVersion,
+                    categories = categories,
+                    blocks = blocks,
+                    dataStart = PREFIX_LENGTH + headerLength.toLong()
+                ).also { cachedHeader = it }
+            }
+        } catch (e: Exception) {
+            Timber.e(e, "MenuCatalogFileStore: failed to read header")
+            null
+        }
+    }
+
+    private fun readItems(input: DataInput, count: Int): List<MenuItemEntity> {
+        val items = ArrayList<MenuItemEntity>(count)
+        repeat(count) { items += readItem(input) }
+        return items
+    }
+
+    private fun writeItem(out: DataOutput, item: MenuItemEntity) {
+        out.writeUTF(item.id)
+        out.writeUTF(item.name)
+        out.writeUTF(item.description)
+        out.writeLong(item.price.cents)
+        out.writeUTF(item.category)
+        writeNullableUTF(out, item.imageUrl)
+        out.writeBoolean(item.isAvailable)
+    }
+
+    private fun readItem(input: DataInput): MenuItemEntity {
+        return MenuItemEntity(
+            id = input.readUTF(),
+            name = input.readUTF(),
+            description = input.readUTF(),
+            price = Money(input.readLong()),
+            category = input.readUTF(),
+            imageUrl = readNullableUTF(input),
+            isAvailable = input.readBoolean()
+        )
+    }
+
+    private fun writeCategory(out: DataOutput, category: CategoryEntity) {
+        out.writeUTF(category.id)
+        out.writeUTF(category.name)
+        writeNullableUTF(out, category.description)
+        out.writeInt(category.displayOrder)
+    }
+
+    private fun readCategory(input: DataInput): CategoryEntity {
+        return CategoryEntity(
+            id = input.readUTF(),
+            name = input.readUTF(),
+            description = readNullableUTF(input),
+            displayOrder = input.readInt()
+        )
+    }
+
+    private fun writeNullableUTF(out: DataOutput, value: String?) {
+        out.writeBoolean(value != null)
+        if (value != null) out.writeUTF(value)
+    }
+
+    private fun readNullableUTF(input: DataInput): String? {
+        return if (input.readBoolean()) input.readUTF() else null
+    }
+
+    private class BlockEntry(
+        val categoryId: String,
+        val offset: Long,
+        val length: Int,
+        val itemCount: Int
+    )
+
+    private class Header(
+        val catalogVersion: Long,
+        val categories: List<CategoryEntity>,
+        val blocks: Map<String, BlockEntry>,
+        val dataStart: Long
+    )
+
+    companion object {
+        private const val FILE_NAME = "menu_catalog.bin"
+
+        /** "SMCT" em ASCII */
+        private const val MAGIC = 0x534D4354
+
+        /**
+         * Versão do layout binário. Incrementar sempre que o formato mudar;
+         * arquivos de versões anteriores são ignorados e regravados no próximo sync.
+         */
+        private const val SCHEMA_VERSION = 3
+
+        private const val PREFIX_LENGTH = 12L
+    }
+}
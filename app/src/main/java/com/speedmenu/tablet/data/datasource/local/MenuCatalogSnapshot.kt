@@ -0,0 +1,234 @@
+package com.speedmenu.tablet.data.datasource.local
+
+import com.speedmenu.tablet.data.model.CategoryEntity
+import com.speedmenu.tablet.data.model.MenuChangesEntity
+import com.speedmenu.tablet.data.model.MenuItemEntity
+import com.speedmenu.tablet.data.model.MenuItemPatchEntity
+
+/**
+ * Snapshot imutável do cardápio armazenado localmente.
+ *
+ * Os índices são construídos uma única vez, na escrita, e nunca mais alterados.
+ * Assim os leitores podem consultar o snapshot sem lock e sem copiar listas:
+ * - itemsById: busca O(1) por ID do item
+ * - itemsByCategory: itens já particionados por ID de categoria (ordem original preservada)
+ *
+ * Alterações ao vivo ([withItemPatches]) mantêm a mesma listagem ([hasSameListingAs]):
+ * quem mostra a lista não precisa reemiti-la, pois recebe essas alterações item a item.
+ *
+ * @param catalogVersion Versão do catálogo no servidor (0 = desconhecida)
+ * @param syncedAtMillis Momento da última sincronização com o servidor (0 = nunca nesta sessão)
+ */
+internal class MenuCatalogSnapshot private constructor(
+    val items: List<MenuItemEntity>,
+    val categories: List<CategoryEntity>,
+    val catalogVersion: Long,
+    val syncedAtMillis: Long,
+    private val itemsById: Map<String, MenuItemEntity>,
+    private val itemsByCategory: Map<String, List<MenuItemEntity>>,
+    private val listing: Any = Any()
+) {
+
+    /**
+     * Indica se [other] tem a mesma listagem deste snapshot: os mesmos itens, vindos da mesma
+     * gravação do servidor, diferindo no máximo por alterações ao vivo de disponibilidade e preço.
+     */
+    fun hasSameListingAs(other: MenuCatalogSnapshot): Boolean = listing === other.listing
+
+    /**
+     * Busca um item por ID sem alocação (consulta direta ao hash).
+     */
+    fun itemById(itemId: String): MenuItemEntity? = itemsById[itemId]
+
+    /**
+     * Retorna os itens de uma categoria (lista pré-particionada, sem cópia).
+     */
+    fun itemsInCategory(categoryId: String): List<MenuItemEntity> =
+        itemsByCategory[categoryId] ?: emptyList()
+
+    /**
+     * Cria um novo snapshot substituindo os itens e mantendo as categorias atuais.
+     */
+    fun withItems(newItems: List<MenuItemEntity>): MenuCatalogSnapshot =
+        build(newItems, categories, catalogVersion, syncedAtMillis)
+
+    /**
+     * Cria um novo snapshot substituindo as categorias e mantendo os itens atuais.
+     * Os índices de itens são reaproveitados, pois não dependem das categorias.
+     */
+    fun withCategories(newCategories: List<CategoryEntity>): MenuCatalogSnapshot =
+        MenuCatalogSnapshot(
+            items = items,
+            categories = newCategories.toList(),
+            catalogVersion = catalogVersion,
+            syncedAtMillis = syncedAtMillis,
+            itemsById = itemsById,
+            itemsByCategory = itemsByCategory,
+            listing = listing
+        )
+
+    /**
+     * Cria um novo snapshot registrando uma sincronização, reaproveitando todos os índices.
+     */
+    fun withSyncState(newCatalogVersion: Long, newSyncedAtMillis: Long): MenuCatalogSnapshot =
+        MenuCatalogSnapshot(
+            items = items,
+            categories = categories,
+            catalogVersion = newCatalogVersion,
+            syncedAtMillis = newSyncedAtMillis,
+            itemsById = itemsById,
+            itemsByCategory = itemsByCategory,
+            listing = listing
+        )
+
+    /**
+     * Cria um novo snapshot aplicando um delta do servidor.
+     *
+     * Em vez de reconstruir tudo, copia os índices existentes e corrige apenas o que mudou:
+     * o índice por ID é ajustado item a item e só as categorias afetadas são reparticionadas.
+     * A ordem dos itens existentes é preservada; itens novos vão para o final.
+     */
+    fun withChanges(changes: MenuChangesEntity, newSyncedAtMillis: Long): MenuCatalogSnapshot {
+        if (changes.isFullSnapshot) {
+            return build(changes.upsertedItems, changes.upsertedCategories, changes.catalogVersion, newSyncedAtMillis)
+        }
+
+        val deletedIds = changes.deletedItemIds.toHashSet()
+        val pendingUpserts = HashMap<String, MenuItemEntity>(capacityFor(changes.upsertedItems.size))
+        for (item in changes.upsertedItems) pendingUpserts[item.id] = item
+
+        // Índice por ID: upserts primeiro, remoções depois; anota categorias afetadas
+        val byId = HashMap(itemsById)
+        val touchedCategories = HashSet<String>()
+        for (item in changes.upsertedItems) {
+            byId.put(item.id, item)?.let { previous -> touchedCategories += previous.category }
+            touchedCategories += item.category
+        }
+        for (id in deletedIds) {
+            byId.remove(id)?.let { previous -> touchedCategories += previous.category }
+        }
+
+        // Lista de itens: substitui no lugar, remove excluídos e acrescenta os novos
+        val newItems = ArrayList<MenuItemEntity>(items.size + pendingUpserts.size)
+        for (item in items) {
+            if (item.id in deletedIds) continue
+            newItems += pendingUpserts.remove(item.id) ?: item
+        }
+        for (item in changes.upsertedItems) {
+            val added = pendingUpserts.remove(item.id) ?: continue
+            if (added.id !in deletedIds) newItems += added
+        }
+
+        // Índice por categoria: reparticiona apenas as categorias afetadas, numa única passada
+        val byCategory = HashMap(itemsByCategory)
+        if (touchedCategories.isNotEmpty()) {
+            val rebuilt = HashMap<String, MutableList<MenuItemEntity>>(capacityFor(touchedCategories.size))
+            for (categoryId in touchedCategories) rebuilt[categoryId] = ArrayList()
+            for (item in newItems) rebuilt[item.category]?.add(item)
+            for ((categoryId, categoryItems) in rebuilt) {
+                if (categoryItems.isEmpty()) byCategory.remove(categoryId) else byCategory[categoryId] = categoryItems
+            }
+        }
+
+        return MenuCatalogSnapshot(
+            items = newItems,
+            categories = patchCategories(changes),
+            catalogVersion = changes.catalogVersion,
+            syncedAtMillis = newSyncedAtMillis,
+            itemsById = byId,
+            itemsByCategory = byCategory
+        )
+    }
+
+    /**
+     * Cria um novo snapshot aplicando alterações pontuais (canal ao vivo) aos itens por ID.
+     * Patches de itens inexistentes são ignorados; vários patches do mesmo item são combinados.
+     * O novo snapshot mantém a listagem deste ([hasSameListingAs]).
+     *
+     * @return Novo snapshot e os itens efetivamente alterados (snapshot atual se nada mudou)
+     */
+    fun withItemPatches(patches: List<MenuItemPatchEntity>): Pair<MenuCatalogSnapshot, List<MenuItemEntity>> {
+        val patched = LinkedHashMap<String, MenuItemEntity>()
+        for (patch in patches) {
+            val base = patched[patch.itemId] ?: itemsById[patch.itemId] ?: continue
+            patched[patch.itemId] = patch.applyTo(base)
+        }
+        val changed = patched.values.filter { it != itemsById[it.id] }
+        if (changed.isEmpty()) return this to emptyList()
+
+        // Reaproveita o caminho do delta: mesmo catálogo, apenas itens substituídos no lugar
+        val changes = MenuChangesEntity(catalogVersion = catalogVersion, upsertedItems = changed)
+        return withChanges(changes, syncedAtMillis).withListing(listing) to changed
+    }
+
+    private fun withListing(listing: Any): MenuCatalogSnapshot =
+        MenuCatalogSnapshot(
+            items = items,
+            categories = categories,
+            catalogVersion = catalogVersion,
+            syncedAtMillis = syncedAtMillis,
+            itemsById = itemsById,
+            itemsByCategory = itemsByCategory,
+            listing = listing
+        )
+
+    private fun patchCategories(changes: MenuChangesEntity): List<CategoryEntity> {
+        if (changes.upsertedCategories.isEmpty() && changes.deletedCategoryIds.isEmpty()) {
+            return categories
+        }
+        val deletedIds = changes.deletedCategoryIds.toHashSet()
+        val pendingUpserts = changes.upsertedCategories.associateByTo(LinkedHashMap()) { it.id }
+        val patched = ArrayList<CategoryEntity>(categories.size + pendingUpserts.size)
+        for (category in categories) {
+            if (category.id in deletedIds) continue
+            patched += pendingUpserts.remove(category.id) ?: category
+        }
+        for (category in pendingUpserts.values) {
+            if (category.id !in deletedIds) patched += category
+        }
+        return patched
+    }
+
+    companion object {
+        val EMPTY = MenuCatalogSnapshot(
+            items = emptyList(),
+            categories = emptyList(),
+            catalogVersion = 0L,
+            syncedAtMillis = 0L,
+            itemsById = emptyMap(),
+            itemsByCategory = emptyMap()
+        )
+
+        /**
+         * Constrói um snapshot com todos os índices a partir das listas recebidas.
+         * Em caso de IDs duplicados, o último item prevalece no índice por ID.
+         */
+        fun build(
+            items: List<MenuItemEntity>,
+            categories: List<CategoryEntity>,
+            catalogVersion: Long = 0L,
+            syncedAtMillis: Long = 0L
+        ): MenuCatalogSnapshot {
+            val itemsCopy = items.toList()
+            val byId = HashMap<String, MenuItemEntity>(capacityFor(itemsCopy.size))
+            val byCategory = HashMap<String, MutableList<MenuItemEntity>>()
+            for (item in itemsCopy) {
+                byId[item.id] = item
+                byCategory.getOrPut(item.category) { ArrayList() }.add(item)
+            }
+            return MenuCatalogSnapshot(
+                items = itemsCopy,
+                categories = categories.toList(),
+                catalogVersion = catalogVersion,
+                syncedAtMillis = syncedAtMillis,
+                itemsById = byId,
+                itemsByCategory = byCategory
+            )
+        }
+
+        /**
+         * Capacidade inicial que evita rehash para o load factor padrão (0.75).
+         */
+        private fun capacityFor(size: Int): Int = (size / 0.75f).toInt() + 1
+    }
+}
@@ -0,0 +1,113 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import com.speedmenu.tablet.core.utils.ColorParser
+import com.speedmenu.tablet.domain.model.AppConfig
+import com.speedmenu.tablet.domain.model.Branding
+import com.speedmenu.tablet.domain.model.CarouselAction
+import com.speedmenu.tablet.domain.model.CarouselItem
+import com.speedmenu.tablet.domain.model.HomeConfig
+import com.speedmenu.tablet.domain.model.ThemeColors
+import com.speedmenu.tablet.domain.model.ThemeTokens
+import kotlinx.serialization.Serializable
+
+/**
+ * DTOs do payload JSON do config do restaurante.
+ * Usados apenas para desserialização em [HttpAppConfigSource].
+ * Cores chegam como HEX (#RRGGBB ou #AARRGGBB); cores inválidas usam o valor do config padrão.
+ */
+@Serializable
+internal data class AppConfigDto(
+    val version: Int,
+    val branding: BrandingDto,
+    val theme: ThemeTokensDto,
+    val home: HomeConfigDto = HomeConfigDto()
+) {
+    fun toDomain(fallback: AppConfig) = AppConfig(
+        version = version,
+        branding = Branding(
+            restaurantName = branding.restaurantName,
+            logoUrl = branding.logoUrl,
+            logoUrlDark = branding.logoUrlDark
+        ),
+        theme = ThemeTokens(
+            light = theme.light.toDomain(fallback.theme.light),
+            dark = theme.dark.toDomain(fallback.theme.dark)
+        ),
+        home = HomeConfig(carousel = home.carousel.map { it.toDomain() })
+    )
+}
+
+@Serializable
+internal data class BrandingDto(
+    val restaurantName: String,
+    val logoUrl: String? = null,
+    val logoUrlDark: String? = null
+)
+
+@Serializable
+internal data class ThemeTokensDto(
+    val light: ThemeColorsDto,
+    val dark: ThemeColorsDto
+)
+
+@Serializable
+internal data class ThemeColorsDto(
+    val primary: String,
+    val onPrimary: String,
+    val secondary: String,
+    val onSecondary: String,
+    val background: String,
+    val onBackground: String,
+    val surface: String,
+    val onSurface: String,
+    val error: String,
+    val onError: String
+) {
+    fun toDomain(fallback: ThemeColors) = ThemeColors(
+        primary = ColorParser.parseColorOrFallback(primary, fallback.primary),
+        onPrimary = ColorParser.parseColorOrFallback(onPrimary, fallback.onPrimary),
+        secondary = ColorParser.parseColorOrFallback(secondary, fallback.secondary),
+        onSecondary = ColorParser.parseColorOrFallback(onSecondary, fallback.onSecondary),
+        background = ColorParser.parseColorOrFallback(background, fallback.background),
+        onBackground = ColorParser.parseColorOrFallback(onBackground, fallback.onBackground),
+        surface = ColorParser.parseColorOrFallback(surface, fallback.surface),
+        onSurface = ColorParser.parseColorOrFallback(onSurface, fallback.onSurface),
+        error = ColorParser.parseColorOrFallback(error, fallback.error),
+        onError = ColorParser.parseColorOrFallback(onError, fallback.onError)
+    )
+}
+
+@Serializable
+internal data class HomeConfigDto(
+    val carousel: List<CarouselItemDto> = emptyList()
+)
+
+@Serializable
+internal data class CarouselItemDto(
+    val imageUrl: String,
+    val action: CarouselActionDto? = null
+) {
+    fun toDomain() = CarouselItem(
+        imageUrl = imageUrl,
+        action = action?.toDomain()
+    )
+}
+
+/**
+ * Ação do carrossel: type = CATEGORY | PRODUCT | URL, com o campo correspondente preenchido.
+ * Tipos desconhecidos (ou sem o campo) viram item sem ação.
+ */
+@Serializable
+internal data class CarouselActionDto(
+    val type: String,
+    val categoryId: String? = null,
+    val productId: String? = null,
+    val url: String? = null
+) {
+    fun toDomain(): CarouselAction? = when (type) {
+        "CATEGORY" -> categoryId?.let { CarouselAction.Category(it) }
+        "PRODUCT" -> productId?.let { CarouselAction.Product(it) }
+        "URL" -> url?.let { CarouselAction.Url(it) }
+        else -> null
+    }
+}
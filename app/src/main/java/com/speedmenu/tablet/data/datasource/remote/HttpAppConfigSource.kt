@@ -0,0 +1,88 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import com.speedmenu.tablet.BuildConfig
+import com.speedmenu.tablet.data.config.DefaultAppConfig
+import com.speedmenu.tablet.domain.model.AppConfig
+import com.speedmenu.tablet.domain.model.AppConfigFetchResult
+import com.speedmenu.tablet.domain.repository.AppConfigSource
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.withContext
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.decodeFromStream
+import okhttp3.HttpUrl
+import okhttp3.HttpUrl.Companion.toHttpUrl
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import timber.log.Timber
+import java.io.IOException
+import javax.inject.Inject
+
+/**
+ * Fonte HTTP de AppConfig (backend real).
+ *
+ * Endpoint: GET config/{restaurantId} (relativo a [BuildConfig.API_BASE_URL]).
+ *
+ * O ETag do config é a própria versão (ex: `"3"`). Com uma versão em cache, a requisição
+ * envia If-None-Match e o backend responde 304 quando não há versão mais nova:
+ * nenhum payload é transferido nem decodificado.
+ */
+@OptIn(ExperimentalSerializationApi::class)
+class HttpAppConfigSource @Inject constructor(
+    private val client: OkHttpClient
+) : AppConfigSource {
+
+    private val baseUrl: HttpUrl by lazy { BuildConfig.API_BASE_URL.toHttpUrl() }
+
+    private val json = Json {
+        ignoreUnknownKeys = true
+        coerceInputValues = true
+    }
+
+    override suspend fun getConfig(restaurantId: String): AppConfig? {
+        return when (val result = getConfigIfModified(restaurantId, knownVersion = null)) {
+            is AppConfigFetchResult.Modified -> result.config
+            else -> null
+        }
+    }
+
+    override suspend fun getConfigIfModified(restaurantId: String, knownVersion: Int?): AppConfigFetchResult {
+        val url = baseUrl.newBuilder()
+            .addPathSegment("config")
+            .addPathSegment(restaurantId)
+            .build()
+        val request = Request.Builder().url(url).get().apply {
+            knownVersion?.let { header("If-None-Match", "\"$it\"") }
+        }.build()
+
+        val response = client.newCall(request).await()
+        return response.use {
+            when {
+                it.code == HTTP_NOT_MODIFIED -> {
+                    Timber.d("HttpAppConfigSource: 304 not modified (version=$knownVersion) for restaurant=$restaurantId")
+                    AppConfigFetchResult.NotModified
+                }
+                it.code == HTTP_NOT_FOUND -> {
+                    Timber.w("HttpAppConfigSource: no config for restaurant=$restaurantId")
+                    AppConfigFetchResult.NotFound
+                }
+                !it.isSuccessful -> throw IOException("HTTP ${it.code} for $url")
+                else -> {
+                    val body = it.body ?: throw IOException("Empty body for $url")
+                    val config = withContext(Dispatchers.IO) {
+                        body.byteStream().use { stream ->
+                            json.decodeFromStream(AppConfigDto.serializer(), stream)
+                        }.toDomain(DefaultAppConfig.get())
+                    }
+                    Timber.d("HttpAppConfigSource: received config version=${config.version} for restaurant=$restaurantId")
+                    AppConfigFetchResult.Modified(config)
+                }
+            }
+        }
+    }
+
+    companion object {
+        private const val HTTP_NOT_MODIFIED = 304
+        private const val HTTP_NOT_FOUND = 404
+    }
+}
@@ -0,0 +1,66 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import com.speedmenu.tablet.BuildConfig
+import okhttp3.HttpUrl
+import okhttp3.HttpUrl.Companion.toHttpUrl
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.RequestBody.Companion.toRequestBody
+import timber.log.Timber
+import java.io.IOException
+import javax.inject.Inject
+
+/**
+ * Envio HTTP de pedidos (backend real).
+ *
+ * Endpoint: POST orders (relativo a [BuildConfig.API_BASE_URL]), com o header Idempotency-Key.
+ * O backend responde 2xx para pedidos novos e repetidos (mesma chave); 409 também é tratado
+ * como entregue (chave já processada).
+ */
+class HttpOrderSubmissionSource internal constructor(
+    private val client: OkHttpClient,
+    baseUrlProvider: () -> HttpUrl
+) : OrderSubmissionSource {
+
+    @Inject
+    constructor(client: OkHttpClient) : this(client, { BuildConfig.API_BASE_URL.toHttpUrl() })
+
+    private val url: HttpUrl by lazy {
+        baseUrlProvider().newBuilder().addPathSegment("orders").build()
+    }
+
+    override suspend fun submit(idempotencyKey: String, payload: ByteArray): OrderSubmissionResult {
+        val request = Request.Builder()
+            .url(url)
+            .header("Idempotency-Key", idempotencyKey)
+            .post(payload.toRequestBody(JSON_MEDIA_TYPE))
+            .build()
+
+        return try {
+            client.newCall(request).await().use { response ->
+                when {
+                    response.isSuccessful || response.code == HTTP_CONFLICT -> OrderSubmissionResult.DELIVERED
+                    response.code == HTTP_TIMEOUT || response.code == HTTP_TOO_MANY_REQUESTS || response.code >= 500 -> {
+                        Timber.w("HttpOrderSubmissionSource: HTTP ${response.code} for order $idempotencyKey, will retry")
+                        OrderSubmissionResult.RETRY
+                    }
+                    else -> {
+                        Timber.e("HttpOrderSubmissionSource: order $idempotencyKey rejected with HTTP ${response.code}")
+                        OrderSubmissionResult.REJECTED
+                    }
+                }
+            }
+        } catch (e: IOException) {
+            Timber.w(e, "HttpOrderSubmissionSource: failed to send order $idempotencyKey")
+            OrderSubmissionResult.RETRY
+        }
+    }
+
+    companion object {
+        private val JSON_MEDIA_TYPE = "application/json; charset=utf-8".toMediaType()
+        private const val HTTP_TIMEOUT = 408
+        private const val HTTP_CONFLICT = 409
+        private const val HTTP_TOO_MANY_REQUESTS = 429
+    }
+}
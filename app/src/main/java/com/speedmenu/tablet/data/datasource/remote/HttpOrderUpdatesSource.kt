@@ -0,0 +1,62 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import com.speedmenu.tablet.BuildConfig
+import com.speedmenu.tablet.data.model.OrderChangesEntity
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.withContext
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.decodeFromStream
+import okhttp3.HttpUrl
+import okhttp3.HttpUrl.Companion.toHttpUrl
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import java.io.IOException
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+
+/**
+ * Acompanhamento do pedido via backend (long-poll HTTP).
+ *
+ * Endpoint (relativo a [BuildConfig.API_BASE_URL]):
+ * - GET orders/{comanda}/changes?since=42&wait=25: responde assim que o pedido muda depois da
+ *   versão informada, ou sem alterações ao fim da espera. Sem "since", responde com o pedido completo.
+ */
+@OptIn(ExperimentalSerializationApi::class)
+class HttpOrderUpdatesSource @Inject constructor(
+    client: OkHttpClient
+) : OrderUpdatesSource {
+
+    // Leitura maior que a espera do long-poll
+    private val pollingClient = client.newBuilder()
+        .readTimeout(MAX_WAIT_SECONDS + 15L, TimeUnit.SECONDS)
+        .build()
+
+    private val baseUrl: HttpUrl by lazy { BuildConfig.API_BASE_URL.toHttpUrl() }
+
+    private val json = Json {
+        ignoreUnknownKeys = true
+    }
+
+    override suspend fun fetchChanges(comandaCode: String, sinceVersion: Long?, waitSeconds: Int): OrderChangesEntity {
+        val url = baseUrl.newBuilder()
+            .addPathSegment("orders")
+            .addPathSegment(comandaCode)
+            .addPathSegment("changes")
+            .apply { if (sinceVersion != null) addQueryParameter("since", sinceVersion.toString()) }
+            .addQueryParameter("wait", waitSeconds.coerceIn(0, MAX_WAIT_SECONDS).toString())
+            .build()
+        val request = Request.Builder().url(url).get().build()
+        return pollingClient.newCall(request).await().use { response ->
+            if (!response.isSuccessful) throw IOException("HTTP ${response.code} for $url")
+            val responseBody = response.body ?: throw IOException("Empty body for $url")
+            withContext(Dispatchers.IO) {
+                responseBody.byteStream().use { json.decodeFromStream(OrderChangesDto.serializer(), it) }
+            }
+        }.toEntity()
+    }
+
+    companion object {
+        private const val MAX_WAIT_SECONDS = 30
+    }
+}
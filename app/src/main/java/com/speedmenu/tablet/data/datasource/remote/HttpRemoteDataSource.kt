@@ -0,0 +1,198 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import com.speedmenu.tablet.BuildConfig
+import com.speedmenu.tablet.data.datasource.local.LocalDataSource
+import com.speedmenu.tablet.data.model.CategoryEntity
+import com.speedmenu.tablet.data.model.MenuChangesEntity
+import com.speedmenu.tablet.data.model.MenuItemEntity
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.withContext
+import kotlinx.serialization.DeserializationStrategy
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.json.DecodeSequenceMode
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.decodeFromStream
+import kotlinx.serialization.json.decodeToSequence
+import okhttp3.HttpUrl
+import okhttp3.HttpUrl.Companion.toHttpUrl
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.Response
+import timber.log.Timber
+import java.io.IOException
+import java.io.InputStream
+import java.util.concurrent.ConcurrentHashMap
+import javax.inject.Inject
+
+/**
+ * Implementação HTTP do RemoteDataSource (API real do cardápio).
+ *
+ * - Usa o OkHttpClient singleton (pool de conexões compartilhado, gzip transparente)
+ * - Decodifica o corpo direto do stream com kotlinx-serialization, sem montar uma String
+ *   com o payload inteiro; listas grandes são convertidas item a item
+ * - Guarda só o ETag de cada URL: requisições seguintes enviam If-None-Match e, em caso de 304,
+ *   respondem com o catálogo do [LocalDataSource] (onde o resultado anterior já foi gravado),
+ *   sem decodificar nada nem manter uma segunda cópia do cardápio em memória
+ *
+ * Endpoints (relativos a [BuildConfig.API_BASE_URL]):
+ * - GET menu/items, GET menu/items/{id}, GET menu/categories
+ * - GET menu/version, GET menu/changes?since={version}
+ */
+@OptIn(ExperimentalSerializationApi::class)
+class HttpRemoteDataSource internal constructor(
+    private val client: OkHttpClient,
+    private val localDataSource: LocalDataSource,
+    baseUrlProvider: () -> HttpUrl
+) : RemoteDataSource {
+
+    @Inject
+    constructor(
+        client: OkHttpClient,
+        localDataSource: LocalDataSource
+    ) : this(client, localDataSource, { BuildConfig.API_BASE_URL.toHttpUrl() })
+
+    private val baseUrl: HttpUrl by lazy(baseUrlProvider)
+
+    private val json = Json {
+        ignoreUnknownKeys = true
+        coerceInputValues = true
+    }
+
+    // URL -> ETag do último corpo recebido (e gravado no LocalDataSource)
+    private val etags = ConcurrentHashMap<String, String>()
+
+    override suspend fun getMenuItems(): Result<List<MenuItemEntity>> = resultOf {
+        getConditional(
+            url = url("menu", "items"),
+            local = { localDataSource.getMenuItems().takeIf { it.isNotEmpty() } },
+            decode = { stream -> decodeList(stream, MenuItemDto.serializer()) { it.toEntity() } }
+        )
+    }
+
+    override suspend fun getMenuItemById(itemId: String): Result<MenuItemEntity> = resultOf {
+        get(url("menu", "items", itemId)) { stream ->
+            json.decodeFromStream(MenuItemDto.serializer(), stream).toEntity()
+        }
+    }
+
+    override suspend fun getCategories(): Result<List<CategoryEntity>> = resultOf {
+        getConditional(
+            url = url("menu", "categories"),
+            local = { localDataSource.getCategories().takeIf { it.isNotEmpty() } },
+            decode = { stream -> decodeList(stream, CategoryDto.serializer()) { it.toEntity() } }
+        )
+    }
+
+    override suspend fun getCatalogVersion(): Result<Long> = resultOf {
+        get(url("menu", "version")) { stream ->
+            json.decodeFromStream(CatalogVersionDto.serializer(), stream).catalogVersion
+        }
+    }
+
+    override suspend fun getMenuChanges(sinceVersion: Long): Result<MenuChangesEntity> = resultOf {
+        val url = url("menu", "changes").newBuilder()
+            .addQueryParameter("since", sinceVersion.toString())
+            .build()
+        get(url) { stream ->
+            json.decodeFromStream(MenuChangesDto.serializer(), stream).toEntity()
+        }
+    }
+
+    /**
+     * Como runCatching, mas sem engolir o cancelamento da coroutine.
+     */
+    private inline fun <T> resultOf(block: () -> T): Result<T> {
+        return try {
+            Result.success(block())
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            Result.failure(e)
+        }
+    }
+
+    private fun url(vararg segments: String): HttpUrl {
+        val builder = baseUrl.newBuilder()
+        segments.forEach { builder.addPathSegment(it) }
+        return builder.build()
+    }
+
+    /**
+     * Decodifica um array JSON elemento a elemento, convertendo cada DTO assim que lido.
+     * Evita manter a lista de DTOs e a lista final em memória ao mesmo tempo.
+     */
+    private fun <D, E> decodeList(
+        stream: InputStream,
+        deserializer: DeserializationStrategy<D>,
+        transform: (D) -> E
+    ): List<E> {
+        val result = ArrayList<E>()
+        json.decodeToSequence(stream, deserializer, DecodeSequenceMode.ARRAY_WRAPPED)
+            .forEach { result += transform(it) }
+        return result
+    }
+
+    /**
+     * GET simples: decodifica o corpo do stream.
+     */
+    private suspend fun <T> get(url: HttpUrl, decode: (InputStream) -> T): T {
+        val request = Request.Builder().url(url).get().build()
+        val response = client.newCall(request).await()
+        return response.use {
+            if (!it.isSuccessful) throw IOException("HTTP ${it.code} for $url")
+            decodeBody(url, it, decode)
+        }
+    }
+
+    /**
+     * GET condicional com ETag: em caso de 304, responde com a cópia local.
+     * O ETag só é enviado se a cópia local existe (ex: após clearAll, baixa de novo).
+     *
+     * @param local Cópia local do último resultado, ou null se não houver
+     */
+    private suspend fun <T : Any> getConditional(
+        url: HttpUrl,
+        local: suspend () -> T?,
+        decode: (InputStream) -> T
+    ): T {
+        val key = url.toString()
+        val etag = etags[key]
+        val localValue = if (etag != null) local() else null
+        val request = Request.Builder().url(url).get().apply {
+            if (etag != null && localValue != null) header("If-None-Match", etag)
+        }.build()
+
+        val response = client.newCall(request).await()
+        return response.use {
+            if (it.code == HTTP_NOT_MODIFIED && localValue != null) {
+                Timber.d("HttpRemoteDataSource: 304 not modified for $url")
+                return@use localValue
+            }
+            if (!it.isSuccessful) throw IOException("HTTP ${it.code} for $url")
+
+            val value = decodeBody(url, it, decode)
+            val newEtag = it.header("ETag")
+            if (newEtag != null) {
+                etags[key] = newEtag
+            } else {
+                etags.remove(key)
+            }
+            value
+        }
+    }
+
+    private suspend fun <T> decodeBody(url: HttpUrl, response: Response, decode: (InputStream) -> T): T {
+        val body = response.body ?: throw IOException("Empty body for $url")
+        return withContext(Dispatchers.IO) {
+            val startNanos = System.nanoTime()
+            val value = body.byteStream().use(decode)
+            Timber.d("HttpRemoteDataSource: decoded $url in ${(System.nanoTime() - startNanos) / 1_000_000}ms")
+            value
+        }
+    }
+
+    companion object {
+        private const val HTTP_NOT_MODIFIED = 304
+    }
+}
@@ -0,0 +1,100 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import com.speedmenu.tablet.BuildConfig
+import com.speedmenu.tablet.domain.model.TableCartOperation
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.withContext
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.builtins.ListSerializer
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.decodeFromStream
+import okhttp3.HttpUrl
+import okhttp3.HttpUrl.Companion.toHttpUrl
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.RequestBody.Companion.toRequestBody
+import timber.log.Timber
+import java.io.IOException
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+
+/**
+ * Sincronização do carrinho da mesa via backend (relay HTTP).
+ *
+ * Endpoints (relativos a [BuildConfig.API_BASE_URL]):
+ * - POST tables/{tableId}/cart/ops: publica um lote (array JSON de operações)
+ * - GET tables/{tableId}/cart/ops?since=r1:12,r2:7&wait=25: long-poll; responde assim que há
+ *   operações posteriores ao vetor informado, ou com um array vazio ao fim da espera
+ */
+@OptIn(ExperimentalSerializationApi::class)
+class HttpTableCartSyncSource @Inject constructor(
+    client: OkHttpClient
+) : TableCartSyncSource {
+
+    // Leitura maior que a espera do long-poll
+    private val pollingClient = client.newBuilder()
+        .readTimeout(LONG_POLL_WAIT_SECONDS + 15L, TimeUnit.SECONDS)
+        .build()
+
+    private val baseUrl: HttpUrl by lazy { BuildConfig.API_BASE_URL.toHttpUrl() }
+
+    private val json = Json {
+        ignoreUnknownKeys = true
+    }
+
+    private val listSerializer = ListSerializer(TableCartOperationDto.serializer())
+
+    override suspend fun publish(tableId: String, operations: List<TableCartOperation>) {
+        val body = json.encodeToString(listSerializer, operations.map { TableCartOperationDto.from(it) })
+        val request = Request.Builder()
+            .url(opsUrl(tableId).build())
+            .post(body.toRequestBody(JSON_MEDIA_TYPE))
+            .build()
+        pollingClient.newCall(request).await().use { response ->
+            if (!response.isSuccessful) throw IOException("HTTP ${response.code} publishing table cart $tableId")
+        }
+    }
+
+    override fun operations(tableId: String, since: () -> Map<String, Long>): Flow<List<TableCartOperation>> = flow {
+        var isFirst = true
+        while (true) {
+            // Vetor da réplica, não o das respostas: o emit só retorna depois de o lote ser aplicado
+            val known = since()
+            val url = opsUrl(tableId)
+                .addQueryParameter("since", known.entries.joinToString(",") { "${it.key}:${it.value}" })
+                // A carga inicial responde na hora; as seguintes esperam por novidades
+                .addQueryParameter("wait", if (isFirst) "0" else LONG_POLL_WAIT_SECONDS.toString())
+                .build()
+            val request = Request.Builder().url(url).get().build()
+            val batch = pollingClient.newCall(request).await().use { response ->
+                if (!response.isSuccessful) throw IOException("HTTP ${response.code} for $url")
+                val responseBody = response.body ?: throw IOException("Empty body for $url")
+                withContext(Dispatchers.IO) {
+                    responseBody.byteStream().use { json.decodeFromStream(listSerializer, it) }
+                }
+            }.mapNotNull { it.toDomain() }
+
+            if (isFirst || batch.isNotEmpty()) {
+                Timber.d("HttpTableCartSyncSource: received ${batch.size} operations for table $tableId")
+                emit(batch)
+            }
+            isFirst = false
+        }
+    }
+
+    private fun opsUrl(tableId: String): HttpUrl.Builder {
+        return baseUrl.newBuilder()
+            .addPathSegment("tables")
+            .addPathSegment(tableId)
+            .addPathSegment("cart")
+            .addPathSegment("ops")
+    }
+
+    companion object {
+        private val JSON_MEDIA_TYPE = "application/json; charset=utf-8".toMediaType()
+        private const val LONG_POLL_WAIT_SECONDS = 25L
+    }
+}
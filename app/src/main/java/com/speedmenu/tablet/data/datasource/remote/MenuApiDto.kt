@@ -0,0 +1,86 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import com.speedmenu.tablet.data.model.CategoryEntity
+import com.speedmenu.tablet.data.model.MenuChangesEntity
+import com.speedmenu.tablet.data.model.MenuItemEntity
+import com.speedmenu.tablet.data.model.MenuItemPatchEntity
+import com.speedmenu.tablet.domain.model.Money
+import kotlinx.serialization.Serializable
+
+/**
+ * DTOs do payload JSON da API do cardápio.
+ * Usados apenas para desserialização em [HttpRemoteDataSource].
+ */
+@Serializable
+internal data class MenuItemDto(
+    val id: String,
+    val name: String,
+    val description: String = "",
+    val price: Double,
+    val category: String,
+    val imageUrl: String? = null,
+    val isAvailable: Boolean = true
+) {
+    fun toEntity() = MenuItemEntity(
+        id = id,
+        name = name,
+        description = description,
+        // API envia preço decimal; convertido para centavos na fronteira
+        price = Money.fromDecimal(price),
+        category = category,
+        imageUrl = imageUrl,
+        isAvailable = isAvailable
+    )
+}
+
+@Serializable
+internal data class CategoryDto(
+    val id: String,
+    val name: String,
+    val description: String? = null,
+    val displayOrder: Int = 0
+) {
+    fun toEntity() = CategoryEntity(
+        id = id,
+        name = name,
+        description = description,
+        displayOrder = displayOrder
+    )
+}
+
+@Serializable
+internal data class CatalogVersionDto(
+    val catalogVersion: Long
+)
+
+@Serializable
+internal data class MenuChangesDto(
+    val catalogVersion: Long,
+    val upsertedItems: List<MenuItemDto> = emptyList(),
+    val deletedItemIds: List<String> = emptyList(),
+    val upsertedCategories: List<CategoryDto> = emptyList(),
+    val deletedCategoryIds: List<String> = emptyList(),
+    val isFullSnapshot: Boolean = false
+) {
+    fun toEntity() = MenuChangesEntity(
+        catalogVersion = catalogVersion,
+        upsertedItems = upsertedItems.map { it.toEntity() },
+        deletedItemIds = deletedItemIds,
+        upsertedCategories = upsertedCategories.map { it.toEntity() },
+        deletedCategoryIds = deletedCategoryIds,
+        isFullSnapshot = isFullSnapshot
+    )
+}
+
+@Serializable
+internal data class MenuItemPatchDto(
+    val itemId: String,
+    val isAvailable: Boolean? = null,
+    val price: Double? = null
+) {
+    fun toEntity() = MenuItemPatchEntity(
+        itemId = itemId,
+        isAvailable = isAvailable,
+        price = price?.let { Money.fromDecimal(it) }
+    )
+}
@@ -0,0 +1,16 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import com.speedmenu.tablet.data.model.MenuItemPatchEntity
+import kotlinx.coroutines.flow.Flow
+
+/**
+ * Canal ao vivo (push) com alterações de disponibilidade e preço dos itens do cardápio.
+ */
+interface MenuLiveUpdatesSource {
+    /**
+     * Conecta ao canal e emite cada alteração recebida.
+     * O Flow é frio: a conexão abre na coleta e fecha quando a coleta é cancelada.
+     * Falhas de conexão encerram o Flow com erro; a reconexão fica a cargo de quem coleta.
+     */
+    fun itemPatches(): Flow<MenuItemPatchEntity>
+}
@@ -0,0 +1,32 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import com.speedmenu.tablet.data.model.MenuItemPatchEntity
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import javax.inject.Inject
+
+/**
+ * Canal ao vivo mockado (substituto local do SSE).
+ * Alterna periodicamente a disponibilidade de um prato do catálogo mockado de
+ * [RemoteDataSourceImpl] (o mesmo exibido na listagem de produtos), simulando a cozinha
+ * marcando o prato como esgotado e depois repondo.
+ * TODO: Remover quando a API real estiver disponível.
+ */
+class MockMenuLiveUpdatesSource @Inject constructor() : MenuLiveUpdatesSource {
+
+    override fun itemPatches(): Flow<MenuItemPatchEntity> = flow {
+        var isAvailable = true
+        while (true) {
+            delay(MOCK_INTERVAL_MILLIS)
+            isAvailable = !isAvailable
+            emit(MenuItemPatchEntity(itemId = MOCK_ITEM_ID, isAvailable = isAvailable))
+        }
+    }
+
+    companion object {
+        // "Carpaccio de Salmão" (Entradas)
+        private const val MOCK_ITEM_ID = "2"
+        private const val MOCK_INTERVAL_MILLIS = 45_000L
+    }
+}
@@ -0,0 +1,30 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import kotlinx.coroutines.delay
+import timber.log.Timber
+import java.util.Collections
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Envio de pedidos mockado (substituto local do backend).
+ * Simula a latência da rede e a deduplicação pelo Idempotency-Key feita pelo servidor.
+ * TODO: Remover quando a API real estiver disponível.
+ */
+@Singleton
+class MockOrderSubmissionSource @Inject constructor() : OrderSubmissionSource {
+
+    private val receivedKeys = Collections.synchronizedSet(HashSet<String>())
+
+    override suspend fun submit(idempotencyKey: String, payload: ByteArray): OrderSubmissionResult {
+        delay(MOCK_LATENCY_MILLIS)
+        if (!receivedKeys.add(idempotencyKey)) {
+            Timber.d("MockOrderSubmissionSource: duplicate order $idempotencyKey ignored")
+        }
+        return OrderSubmissionResult.DELIVERED
+    }
+
+    companion object {
+        private const val MOCK_LATENCY_MILLIS = 1_000L
+    }
+}
@@ -0,0 +1,120 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import com.speedmenu.tablet.R
+import com.speedmenu.tablet.data.model.OrderChangesEntity
+import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.CartItemOptions
+import com.speedmenu.tablet.domain.model.Money
+import com.speedmenu.tablet.domain.model.OrderLine
+import com.speedmenu.tablet.domain.model.OrderLineStatus
+import com.speedmenu.tablet.domain.model.OrderUpdate
+import kotlinx.coroutines.delay
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Acompanhamento do pedido mockado (substituto local do backend).
+ *
+ * A cada [STEP_INTERVAL_MILLIS], uma linha do pedido avança uma etapa (em rodízio entre as
+ * linhas) até todas estarem entregues. A versão do pedido é o número de avanços desde a primeira
+ * consulta da comanda, então telas diferentes acompanhando a mesma comanda veem o mesmo estado
+ * (só as [MAX_TRACKED_COMANDAS] comandas mais recentes são lembradas; as demais recomeçam).
+ * TODO: Remover quando a API real estiver disponível.
+ */
+@Singleton
+class MockOrderUpdatesSource @Inject constructor() : OrderUpdatesSource {
+
+    // Início do acompanhamento de cada comanda; limitado às mais recentes (tablet ligado 24/7)
+    private val startedAt = object : LinkedHashMap<String, Long>(MAX_TRACKED_COMANDAS, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, Long>?): Boolean {
+            return size > MAX_TRACKED_COMANDAS
+        }
+    }
+
+    override suspend fun fetchChanges(comandaCode: String, sinceVersion: Long?, waitSeconds: Int): OrderChangesEntity {
+        val items = mockOrderItems(comandaCode)
+        val start = synchronized(startedAt) { startedAt.getOrPut(comandaCode) { System.currentTimeMillis() } }
+        val lastVersion = items.size.toLong() * STEPS_PER_LINE
+
+        if (sinceVersion == null) {
+            delay(MOCK_LATENCY_MILLIS)
+            val version = versionAt(start, lastVersion)
+            val lines = items.mapIndexed { index, item -> OrderLine(item, statusAt(index, items.size, version)) }
+            return OrderChangesEntity(version, listOf(OrderUpdate.Snapshot(lines)))
+        }
+
+        var version = versionAt(start, lastVersion)
+        if (version <= sinceVersion) {
+            // Long-poll: espera o próximo avanço, limitado à espera pedida
+            val waitMillis = waitSeconds * 1000L
+            val untilNextStep = start + (sinceVersion + 1) * STEP_INTERVAL_MILLIS - System.currentTimeMillis()
+            delay(if (sinceVersion >= lastVersion) waitMillis else untilNextStep.coerceIn(0L, waitMillis))
+            version = versionAt(start, lastVersion)
+            if (version <= sinceVersion) return OrderChangesEntity(sinceVersion)
+        }
+
+        val updates = items.indices.mapNotNull { index ->
+            val status = statusAt(index, items.size, version)
+            if (status != statusAt(index, items.size, sinceVersion)) {
+                OrderUpdate.StatusChanged(items[index].id, status)
+            } else {
+                null
+            }
+        }
+        return OrderChangesEntity(version, updates)
+    }
+
+    private fun versionAt(start: Long, lastVersion: Long): Long {
+        return ((System.currentTimeMillis() - start) / STEP_INTERVAL_MILLIS).coerceAtMost(lastVersion)
+    }
+
+    /**
+     * Situação da linha [index] depois de [version] avanços: o avanço N vai para a linha (N - 1) % lineCount.
+     */
+    private fun statusAt(index: Int, lineCount: Int, version: Long): OrderLineStatus {
+        val steps = if (version <= index) 0L else (version - index - 1) / lineCount + 1
+        return OrderLineStatus.values()[steps.coerceAtMost(STEPS_PER_LINE.toLong()).toInt()]
+    }
+
+    companion object {
+        private const val MOCK_LATENCY_MILLIS = 500L
+        private const val STEP_INTERVAL_MILLIS = 8_000L
+        private const val MAX_TRACKED_COMANDAS = 32
+        private val STEPS_PER_LINE = OrderLineStatus.values().size - 1
+    }
+}
+
+/**
+ * Pedido mockado da comanda.
+ * Códigos contendo "VAZIO" ou "EMPTY" retornam um pedido vazio.
+ */
+internal fun mockOrderItems(comandaCode: String): List<CartItem> {
+    if (comandaCode.contains("VAZIO", ignoreCase = true) ||
+        comandaCode.contains("EMPTY", ignoreCase = true)) {
+        return emptyList()
+    }
+
+    return listOf(
+        CartItem(
+            id = "item_1_${comandaCode}",
+            productId = "file_mignon",
+            name = "Filé Mignon ao Molho",
+            price = Money.ofCents(6890),
+            quantity = 1,
+            imageResId = R.drawable.pratos_principais,
+            options = CartItemOptions(
+                ingredients = mapOf("Batatas" to 1),
+                observations = "Bem passado"
+            )
+        ),
+        CartItem(
+            id = "item_2_${comandaCode}",
+            productId = "agua",
+            name = "Água Mineral",
+            price = Money.ofCents(500),
+            quantity = 2,
+            imageResId = R.drawable.bebidas,
+            options = CartItemOptions()
+        )
+    )
+}
@@ -0,0 +1,45 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import com.speedmenu.tablet.domain.model.TableCartOperation
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.update
+import java.util.concurrent.ConcurrentHashMap
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Relay mockado do carrinho compartilhado, dentro do processo (substituto local do backend).
+ * Guarda o histórico de operações de cada mesa e o repassa a todas as réplicas conectadas,
+ * inclusive a que publicou (o eco é descartado pela própria réplica).
+ * TODO: Remover quando a API real estiver disponível.
+ */
+@Singleton
+class MockTableCartSyncSource @Inject constructor() : TableCartSyncSource {
+
+    private val logs = ConcurrentHashMap<String, MutableStateFlow<List<TableCartOperation>>>()
+
+    override suspend fun publish(tableId: String, operations: List<TableCartOperation>) {
+        delay(MOCK_LATENCY_MILLIS)
+        logFor(tableId).update { it + operations }
+    }
+
+    override fun operations(tableId: String, since: () -> Map<String, Long>): Flow<List<TableCartOperation>> = flow {
+        var isFirst = true
+        // Cada valor é o histórico completo: valores intermediários conflados não perdem operações
+        logFor(tableId).collect { log ->
+            val known = since()
+            val fresh = log.filter { it.sequence > (known[it.replicaId] ?: 0L) }
+            if (isFirst || fresh.isNotEmpty()) emit(fresh)
+            isFirst = false
+        }
+    }
+
+    private fun logFor(tableId: String) = logs.getOrPut(tableId) { MutableStateFlow(emptyList()) }
+
+    companion object {
+        private const val MOCK_LATENCY_MILLIS = 150L
+    }
+}
@@ -0,0 +1,154 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import com.speedmenu.tablet.data.model.OrderChangesEntity
+import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.CartItemOptions
+import com.speedmenu.tablet.domain.model.OrderLine
+import com.speedmenu.tablet.domain.model.OrderLineStatus
+import com.speedmenu.tablet.domain.model.OrderUpdate
+import kotlinx.serialization.Serializable
+
+/**
+ * DTOs do envio de pedido para a cozinha.
+ *
+ * Formato compacto: cada ingrediente e cada conjunto de opções aparece uma única vez no pedido
+ * e as linhas apontam para eles por índice. Linhas com as mesmas personalizações
+ * (ex: 3 pratos "sem cebola") não repetem nomes nem observações.
+ *
+ * [idempotencyKey] identifica o pedido: reenvios do mesmo pedido trazem a mesma chave.
+ */
+@Serializable
+internal data class OrderSubmissionDto(
+    val idempotencyKey: String,
+    val comandaCode: String,
+    val ingredients: List<String> = emptyList(),
+    val options: List<OrderOptionsDto> = emptyList(),
+    val lines: List<OrderLineDto>
+)
+
+/**
+ * Conjunto de opções do pedido.
+ * @param ingredients Índices em [OrderSubmissionDto.ingredients], na ordem em que foram escolhidos
+ * @param quantities Quantidade de cada ingrediente (mesma posição de [ingredients])
+ */
+@Serializable
+internal class OrderOptionsDto(
+    val ingredients: IntArray = IntArray(0),
+    val quantities: IntArray = IntArray(0),
+    val observations: String = ""
+)
+
+/**
+ * Linha do pedido.
+ * @param options Índice em [OrderSubmissionDto.options], ou [NO_OPTIONS]
+ */
+@Serializable
+internal data class OrderLineDto(
+    val productId: String,
+    val name: String,
+    val quantity: Int,
+    val unitPriceCents: Long,
+    val fulfillment: String,
+    val options: Int = NO_OPTIONS
+) {
+    companion object {
+        const val NO_OPTIONS = -1
+    }
+}
+
+/**
+ * Monta o pedido compacto a partir das linhas do carrinho.
+ * As opções canônicas se agrupam por hash (fingerprint) sem comparar ingredientes.
+ */
+internal fun orderSubmissionOf(idempotencyKey: String, comandaCode: String, items: List<CartItem>): OrderSubmissionDto {
+    val ingredientNames = ArrayList<String>()
+    val ingredientIndexById = HashMap<Int, Int>()
+    val options = ArrayList<OrderOptionsDto>()
+    val optionsIndex = HashMap<CartItemOptions, Int>()
+
+    val lines = items.map { item ->
+        val optionsRef = if (item.options == CartItemOptions.NONE) {
+            OrderLineDto.NO_OPTIONS
+        } else {
+            optionsIndex.getOrPut(item.options) {
+                val itemOptions = item.options
+                val indices = IntArray(itemOptions.ingredientCount) { index ->
+                    ingredientIndexById.getOrPut(itemOptions.ingredientId(index)) {
+                        ingredientNames += itemOptions.ingredientName(index)
+                        ingredientNames.size - 1
+                    }
+                }
+                val quantities = IntArray(itemOptions.ingredientCount) { itemOptions.ingredientQuantity(it) }
+                options += OrderOptionsDto(indices, quantities, itemOptions.observations)
+                options.size - 1
+            }
+        }
+        OrderLineDto(
+            productId = item.productId,
+            name = item.name,
+            quantity = item.quantity,
+            unitPriceCents = item.price.cents,
+            fulfillment = item.fulfillmentType.name,
+            options = optionsRef
+        )
+    }
+    return OrderSubmissionDto(
+        idempotencyKey = idempotencyKey,
+        comandaCode = comandaCode,
+        ingredients = ingredientNames,
+        options = options,
+        lines = lines
+    )
+}
+
+/**
+ * DTOs do acompanhamento do pedido (resposta de GET orders/{comanda}/changes).
+ * [snapshot] só vem quando o servidor manda o pedido completo; [changes] são as diferenças
+ * por linha, na ordem em que aconteceram.
+ */
+@Serializable
+internal class OrderChangesDto(
+    val version: Long,
+    val snapshot: List<OrderLineStateDto>? = null,
+    val changes: List<OrderLineChangeDto> = emptyList()
+) {
+    fun toEntity(): OrderChangesEntity {
+        val updates = ArrayList<OrderUpdate>(changes.size + 1)
+        snapshot?.let { lines -> updates += OrderUpdate.Snapshot(lines.map { it.toDomain() }) }
+        changes.mapNotNullTo(updates) { it.toDomain() }
+        return OrderChangesEntity(version, updates)
+    }
+}
+
+@Serializable
+internal class OrderLineStateDto(
+    val item: TableCartItemDto,
+    val status: String = ""
+) {
+    fun toDomain(): OrderLine = OrderLine(item.toDomain(), orderLineStatusOf(status))
+}
+
+@Serializable
+internal class OrderLineChangeDto(
+    val type: String,
+    val lineId: String,
+    val line: OrderLineStateDto? = null,
+    val status: String = ""
+) {
+    fun toDomain(): OrderUpdate? = when (type) {
+        TYPE_UPSERT -> line?.let { OrderUpdate.LineUpserted(it.toDomain()) }
+        TYPE_REMOVE -> OrderUpdate.LineRemoved(lineId)
+        TYPE_STATUS -> OrderUpdate.StatusChanged(lineId, orderLineStatusOf(status))
+        else -> null
+    }
+
+    companion object {
+        private const val TYPE_UPSERT = "upsert"
+        private const val TYPE_REMOVE = "remove"
+        private const val TYPE_STATUS = "status"
+    }
+}
+
+private fun orderLineStatusOf(name: String): OrderLineStatus {
+    return OrderLineStatus.values().firstOrNull { it.name == name } ?: OrderLineStatus.RECEIVED
+}
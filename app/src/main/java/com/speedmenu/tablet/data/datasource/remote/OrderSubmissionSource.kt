@@ -0,0 +1,30 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+/**
+ * Destino dos pedidos finalizados (cozinha/backend).
+ *
+ * O envio deve ser idempotente: o mesmo pedido pode chegar mais de uma vez (ex: timeout
+ * depois de o servidor já ter gravado) e o servidor usa a chave para ignorar a repetição.
+ */
+interface OrderSubmissionSource {
+    /**
+     * Envia um pedido.
+     *
+     * @param idempotencyKey Chave única do pedido, igual em todas as tentativas
+     * @param payload Pedido codificado (JSON de OrderSubmissionDto)
+     * @return Resultado da tentativa
+     */
+    suspend fun submit(idempotencyKey: String, payload: ByteArray): OrderSubmissionResult
+}
+
+/**
+ * Resultado de uma tentativa de envio de pedido.
+ */
+enum class OrderSubmissionResult {
+    /** Pedido aceito (ou já recebido antes com a mesma chave) */
+    DELIVERED,
+    /** Falha temporária (rede, timeout, 5xx): tentar de novo mais tarde */
+    RETRY,
+    /** Recusado pelo servidor (4xx): tentar de novo não adianta */
+    REJECTED
+}
@@ -0,0 +1,17 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import com.speedmenu.tablet.data.model.OrderChangesEntity
+
+/**
+ * Fonte das alterações do pedido de uma comanda (situação das linhas na cozinha).
+ */
+interface OrderUpdatesSource {
+    /**
+     * Busca as alterações do pedido posteriores a [sinceVersion].
+     *
+     * Long-poll: se ainda não há alteração, a resposta espera até [waitSeconds] por uma
+     * (0 responde na hora). Sem [sinceVersion], responde com o pedido completo.
+     * Falhas de conexão são lançadas; a nova tentativa fica a cargo de quem chama.
+     */
+    suspend fun fetchChanges(comandaCode: String, sinceVersion: Long?, waitSeconds: Int): OrderChangesEntity
+}
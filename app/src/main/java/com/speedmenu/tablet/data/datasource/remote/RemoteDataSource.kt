@@ -1,6 +1,7 @@
 package com.speedmenu.tablet.data.datasource.remote
 
 import com.speedmenu.tablet.data.model.CategoryEntity
+import com.speedmenu.tablet.data.model.MenuChangesEntity
 import com.speedmenu.tablet.data.model.MenuItemEntity
 
 /**
@@ -26,5 +27,18 @@ interface RemoteDataSource {
      * @return Lista de categorias
      */
     suspend fun getCategories(): Result<List<CategoryEntity>>
-}
 
+    /**
+     * Busca a versão atual do catálogo no servidor.
+     * Chamada barata usada para decidir se é preciso baixar o cardápio novamente.
+     * @return Versão do catálogo
+     */
+    suspend fun getCatalogVersion(): Result<Long>
+
+    /**
+     * Busca apenas as alterações do cardápio desde uma versão conhecida (sync incremental).
+     * @param sinceVersion Versão do catálogo que o tablet já possui
+     * @return Upserts, remoções e a nova versão do catálogo
+     */
+    suspend fun getMenuChanges(sinceVersion: Long): Result<MenuChangesEntity>
+}
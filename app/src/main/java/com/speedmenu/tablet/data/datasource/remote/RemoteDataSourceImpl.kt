@@ -1,7 +1,9 @@
 package com.speedmenu.tablet.data.datasource.remote
 
 import com.speedmenu.tablet.data.model.CategoryEntity
+import com.speedmenu.tablet.data.model.MenuChangesEntity
 import com.speedmenu.tablet.data.model.MenuItemEntity
+import com.speedmenu.tablet.domain.model.Money
 import javax.inject.Inject
 
 /**
@@ -31,44 +33,96 @@ class RemoteDataSourceImpl @Inject constructor() : RemoteDataSource {
         return Result.success(getMockCategories())
     }
 
+    override suspend fun getCatalogVersion(): Result<Long> {
+        // TODO: Substituir por chamada real à API
+        return Result.success(MOCK_CATALOG_VERSION)
+    }
+
+    override suspend fun getMenuChanges(sinceVersion: Long): Result<MenuChangesEntity> {
+        // TODO: Substituir por chamada real à API
+        // Mock: catálogo nunca muda; versões antigas recebem o catálogo completo
+        return if (sinceVersion >= MOCK_CATALOG_VERSION) {
+            Result.success(MenuChangesEntity(catalogVersion = MOCK_CATALOG_VERSION))
+        } else {
+            Result.success(
+                MenuChangesEntity(
+                    catalogVersion = MOCK_CATALOG_VERSION,
+                    upsertedItems = getMockMenuItems(),
+                    upsertedCategories = getMockCategories(),
+                    isFullSnapshot = true
+                )
+            )
+        }
+    }
+
     /**
-     * Gera dados mockados de itens do menu para desenvolvimento.
+     * Gera dados mockados de itens do menu para desenvolvimento, na ordem do cardápio.
+     * As categorias usam como ID o nome em minúsculas (o mesmo recebido pela rota de produtos).
      * TODO: Remover quando a API real estiver disponível.
      */
     private fun getMockMenuItems(): List<MenuItemEntity> {
         return listOf(
-            MenuItemEntity(
-                id = "1",
-                name = "Item Mock 1",
-                description = "Descrição do item mock 1",
-                price = 25.90,
-                category = "1",
-                isAvailable = true
-            ),
-            MenuItemEntity(
-                id = "2",
-                name = "Item Mock 2",
-                description = "Descrição do item mock 2",
-                price = 35.50,
-                category = "1",
-                isAvailable = true
-            )
+            mockItem("1", "Bruschetta Italiana", 2490, "Pão artesanal com tomate, manjericão e azeite", "entradas"),
+            mockItem("2", "Carpaccio de Salmão", 3250, "Salmão fresco com rúcula e parmesão", "entradas"),
+            mockItem("3", "Tartar de Atum", 2890, "Atum fresco com abacate e molho especial", "entradas"),
+            mockItem("4", "Ceviche de Peixe", 2990, "Peixe branco marinado com limão e cebola roxa", "entradas"),
+            mockItem("5", "Salada Caprese", 2290, "Mozzarella, tomate e manjericão fresco", "entradas"),
+            mockItem("6", "Crostini de Queijo", 2650, "Pão crocante com queijo brie e geleia", "entradas"),
+            mockItem("7", "Antepasto Italiano", 3590, "Seleção de embutidos e queijos", "entradas"),
+            mockItem("8", "Tábua de Frios", 3890, "Variedade de frios e queijos artesanais", "entradas"),
+            mockItem("9", "Filé Mignon ao Molho", 6890, "Filé grelhado com molho especial", "pratos principais"),
+            mockItem("10", "Risotto de Camarão", 5490, "Arroz cremoso com camarões frescos", "pratos principais"),
+            mockItem("11", "Salmão Grelhado", 6250, "Salmão com legumes grelhados", "pratos principais"),
+            mockItem("12", "Penne ao Pesto", 4290, "Massa com molho pesto artesanal", "pratos principais"),
+            mockItem("13", "Frango à Parmegiana", 4890, "Frango empanado com molho de tomate", "pratos principais"),
+            mockItem("14", "Costela de Porco", 5890, "Costela assada com molho barbecue", "pratos principais"),
+            mockItem("15", "Lasanha Bolonhesa", 5290, "Lasanha tradicional italiana", "pratos principais"),
+            mockItem("16", "Peixe à Moda do Chef", 5990, "Peixe fresco com molho exclusivo", "pratos principais"),
+            mockItem("17", "Suco Natural Laranja", 1290, "Suco fresco de laranja", "bebidas"),
+            mockItem("18", "Água com Gás", 690, "Água mineral com gás", "bebidas"),
+            mockItem("19", "Refrigerante", 890, "Refrigerante gelado", "bebidas"),
+            mockItem("20", "Cerveja Artesanal", 1590, "Cerveja artesanal local", "bebidas"),
+            mockItem("21", "Vinho Tinto", 4590, "Vinho tinto selecionado", "bebidas"),
+            mockItem("22", "Caipirinha", 1890, "Caipirinha tradicional", "bebidas"),
+            mockItem("23", "Água Mineral", 590, "Água mineral sem gás", "bebidas"),
+            mockItem("24", "Suco Detox", 1490, "Suco verde detox", "bebidas"),
+            mockItem("25", "Brownie com Sorvete", 2290, "Brownie quente com sorvete de creme", "sobremesas"),
+            mockItem("26", "Tiramisu", 2490, "Tiramisu tradicional italiano", "sobremesas"),
+            mockItem("27", "Cheesecake de Frutas", 2390, "Cheesecake com frutas vermelhas", "sobremesas"),
+            mockItem("28", "Pudim de Leite", 1890, "Pudim caseiro com calda", "sobremesas"),
+            mockItem("29", "Mousse de Chocolate", 2090, "Mousse cremosa de chocolate", "sobremesas"),
+            mockItem("30", "Petit Gateau", 2690, "Bolinho quente com sorvete", "sobremesas"),
+            mockItem("31", "Torta de Limão", 2190, "Torta refrescante de limão", "sobremesas"),
+            mockItem("32", "Sorvete Artesanal", 1690, "Sorvete artesanal com cobertura", "sobremesas")
         )
     }
 
+    private fun mockItem(id: String, name: String, priceCents: Long, description: String, category: String) =
+        MenuItemEntity(
+            id = id,
+            name = name,
+            description = description,
+            price = Money.ofCents(priceCents),
+            category = category,
+            isAvailable = true
+        )
+
     /**
      * Gera dados mockados de categorias para desenvolvimento.
      * TODO: Remover quando a API real estiver disponível.
      */
     private fun getMockCategories(): List<CategoryEntity> {
         return listOf(
-            CategoryEntity(
-                id = "1",
-                name = "Categoria Mock",
-                description = "Descrição da categoria mock",
-                displayOrder = 1
-            )
+            CategoryEntity(id = "entradas", name = "Entradas", displayOrder = 1),
+            CategoryEntity(id = "pratos principais", name = "Pratos Principais", displayOrder = 2),
+            CategoryEntity(id = "bebidas", name = "Bebidas", displayOrder = 3),
+            CategoryEntity(id = "sobremesas", name = "Sobremesas", displayOrder = 4)
         )
     }
-}
 
+    companion object {
+        // Versão fixa do catálogo mockado (os dados mockados nunca mudam).
+        // 2: catálogo com os pratos exibidos nas telas (substitui o cache do catálogo "Item Mock")
+        private const val MOCK_CATALOG_VERSION = 2L
+    }
+}
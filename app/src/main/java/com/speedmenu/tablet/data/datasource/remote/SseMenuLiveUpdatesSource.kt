@@ -0,0 +1,109 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import com.speedmenu.tablet.BuildConfig
+import com.speedmenu.tablet.data.model.MenuItemPatchEntity
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.channels.awaitClose
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.callbackFlow
+import kotlinx.coroutines.launch
+import kotlinx.serialization.json.Json
+import okhttp3.HttpUrl
+import okhttp3.HttpUrl.Companion.toHttpUrl
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import timber.log.Timber
+import java.io.IOException
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+
+/**
+ * Canal ao vivo via Server-Sent Events (GET menu/live, text/event-stream).
+ *
+ * Cada evento traz no campo `data` um JSON com o ID do item e os campos alterados:
+ * ```
+ * event: item
+ * data: {"itemId":"42","isAvailable":false}
+ * ```
+ * Eventos de outros tipos e comentários (keep-alive) são ignorados.
+ * Para testes, o construtor interno aceita a URL base de um servidor local que escreva nesse formato.
+ */
+class SseMenuLiveUpdatesSource internal constructor(
+    client: OkHttpClient,
+    baseUrlProvider: () -> HttpUrl
+) : MenuLiveUpdatesSource {
+
+    @Inject
+    constructor(client: OkHttpClient) : this(client, { BuildConfig.API_BASE_URL.toHttpUrl() })
+
+    private val baseUrl: HttpUrl by lazy(baseUrlProvider)
+
+    // Mesmo pool de conexões, mas sem timeout de leitura: o stream fica aberto indefinidamente
+    private val streamingClient = client.newBuilder()
+        .readTimeout(0, TimeUnit.MILLISECONDS)
+        .build()
+
+    private val json = Json {
+        ignoreUnknownKeys = true
+    }
+
+    override fun itemPatches(): Flow<MenuItemPatchEntity> = callbackFlow {
+        val url = baseUrl.newBuilder()
+            .addPathSegments("menu/live")
+            .build()
+        val request = Request.Builder()
+            .url(url)
+            .header("Accept", "text/event-stream")
+            .get()
+            .build()
+        val call = streamingClient.newCall(request)
+
+        launch(Dispatchers.IO) {
+            try {
+                call.execute().use { response ->
+                    if (!response.isSuccessful) throw IOException("HTTP ${response.code} for $url")
+                    val source = response.body?.source() ?: throw IOException("Empty body for $url")
+                    Timber.d("SseMenuLiveUpdatesSource: connected to $url")
+
+                    var eventType = DEFAULT_EVENT
+                    val data = StringBuilder()
+                    while (true) {
+                        val line = source.readUtf8Line() ?: break
+                        when {
+                            // Linha em branco encerra o evento
+                            line.isEmpty() -> {
+                                if (eventType == ITEM_EVENT || eventType == DEFAULT_EVENT) {
+                                    if (data.isNotEmpty()) send(decode(data.toString()))
+                                }
+                                eventType = DEFAULT_EVENT
+                                data.setLength(0)
+                            }
+                            line.startsWith(":") -> Unit
+                            line.startsWith("event:") -> eventType = line.substring(6).trim()
+                            line.startsWith("data:") -> {
+                                if (data.isNotEmpty()) data.append('\n')
+                                data.append(line.substring(5).trimStart())
+                            }
+                        }
+                    }
+                }
+                // Servidor encerrou o stream: fecha o Flow para que o coletor reconecte
+                close(IOException("Live stream closed by server"))
+            } catch (e: IOException) {
+                // Inclui a leitura interrompida por call.cancel() depois que o coletor saiu:
+                // nesse caso o canal já está fechado e o erro é descartado, sem chegar ao coletor
+                close(e)
+            }
+        }
+
+        awaitClose { call.cancel() }
+    }
+
+    private fun decode(payload: String): MenuItemPatchEntity =
+        json.decodeFromString(MenuItemPatchDto.serializer(), payload).toEntity()
+
+    companion object {
+        private const val DEFAULT_EVENT = "message"
+        private const val ITEM_EVENT = "item"
+    }
+}
@@ -0,0 +1,128 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.CartItemOptions
+import com.speedmenu.tablet.domain.model.FulfillmentType
+import com.speedmenu.tablet.domain.model.Money
+import com.speedmenu.tablet.domain.model.TableCartOperation
+import kotlinx.serialization.Serializable
+
+/**
+ * DTOs das operações do carrinho compartilhado da mesa.
+ * Usados em [HttpTableCartSyncSource]; os campos não usados por um tipo ficam com o valor padrão
+ * (omitidos no JSON).
+ */
+@Serializable
+internal data class TableCartOperationDto(
+    val type: String,
+    val replicaId: String,
+    val sequence: Long,
+    val timestamp: Long,
+    val lineId: String = "",
+    val delta: Int = 0,
+    val fulfillmentType: String = "",
+    val item: TableCartItemDto? = null
+) {
+    fun toDomain(): TableCartOperation? = when (type) {
+        TYPE_ADD -> item?.let { TableCartOperation.AddLine(replicaId, sequence, timestamp, it.toDomain()) }
+        TYPE_ADJUST -> TableCartOperation.AdjustQuantity(replicaId, sequence, timestamp, lineId, delta)
+        TYPE_FULFILLMENT -> TableCartOperation.SetFulfillmentType(replicaId, sequence, timestamp, lineId, fulfillmentTypeOf(fulfillmentType))
+        TYPE_REMOVE -> TableCartOperation.RemoveLine(replicaId, sequence, timestamp, lineId)
+        else -> null
+    }
+
+    companion object {
+        private const val TYPE_ADD = "add"
+        private const val TYPE_ADJUST = "adjust"
+        private const val TYPE_FULFILLMENT = "fulfillment"
+        private const val TYPE_REMOVE = "remove"
+
+        fun from(operation: TableCartOperation): TableCartOperationDto = when (operation) {
+            is TableCartOperation.AddLine -> TableCartOperationDto(
+                type = TYPE_ADD,
+                replicaId = operation.replicaId,
+                sequence = operation.sequence,
+                timestamp = operation.timestamp,
+                lineId = operation.item.id,
+                item = TableCartItemDto.from(operation.item)
+            )
+            is TableCartOperation.AdjustQuantity -> TableCartOperationDto(
+                type = TYPE_ADJUST,
+                replicaId = operation.replicaId,
+                sequence = operation.sequence,
+                timestamp = operation.timestamp,
+                lineId = operation.lineId,
+                delta = operation.delta
+            )
+            is TableCartOperation.SetFulfillmentType -> TableCartOperationDto(
+                type = TYPE_FULFILLMENT,
+                replicaId = operation.replicaId,
+                sequence = operation.sequence,
+                timestamp = operation.timestamp,
+                lineId = operation.lineId,
+                fulfillmentType = operation.type.name
+            )
+            is TableCartOperation.RemoveLine -> TableCartOperationDto(
+                type = TYPE_REMOVE,
+                replicaId = operation.replicaId,
+                sequence = operation.sequence,
+                timestamp = operation.timestamp,
+                lineId = operation.lineId
+            )
+        }
+    }
+}
+
+@Serializable
+internal class TableCartItemDto(
+    val id: String,
+    val productId: String,
+    val name: String,
+    val priceCents: Long,
+    val quantity: Int,
+    val imageResId: Int = 0,
+    val ingredients: List<String> = emptyList(),
+    val ingredientQuantities: IntArray = IntArray(0),
+    val observations: String = "",
+    val fulfillmentType: String = ""
+) {
+    fun toDomain(): CartItem {
+        val options = CartItemOptions.Builder()
+        ingredients.forEachIndexed { index, name ->
+            options.ingredient(name, ingredientQuantities.getOrElse(index) { 1 })
+        }
+        return CartItem(
+            id = id,
+            productId = productId,
+            name = name,
+            price = Money(priceCents),
+            quantity = quantity,
+            imageResId = imageResId,
+            options = options.observations(observations).build(),
+            fulfillmentType = fulfillmentTypeOf(fulfillmentType)
+        )
+    }
+
+    companion object {
+        fun from(item: CartItem): TableCartItemDto {
+            val names = ArrayList<String>(item.options.ingredientCount)
+            item.options.forEachIngredient { name, _ -> names += name }
+            return TableCartItemDto(
+                id = item.id,
+                productId = item.productId,
+                name = item.name,
+                priceCents = item.price.cents,
+                quantity = item.quantity,
+                imageResId = item.imageResId,
+                ingredients = names,
+                ingredientQuantities = IntArray(item.options.ingredientCount) { item.options.ingredientQuantity(it) },
+                observations = item.options.observations,
+                fulfillmentType = item.fulfillmentType.name
+            )
+        }
+    }
+}
+
+private fun fulfillmentTypeOf(name: String): FulfillmentType {
+    return FulfillmentType.values().firstOrNull { it.name == name } ?: FulfillmentType.DINE_IN
+}
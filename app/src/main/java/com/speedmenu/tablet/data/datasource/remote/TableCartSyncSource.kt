@@ -0,0 +1,25 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import com.speedmenu.tablet.domain.model.TableCartOperation
+import kotlinx.coroutines.flow.Flow
+
+/**
+ * Canal de sincronização do carrinho compartilhado da mesa (relay das operações entre tablets).
+ */
+interface TableCartSyncSource {
+    /**
+     * Publica um lote de operações locais, na ordem em que foram feitas.
+     * Reenviar um lote já publicado é seguro: as réplicas descartam operações repetidas.
+     */
+    suspend fun publish(tableId: String, operations: List<TableCartOperation>)
+
+    /**
+     * Recebe as operações da mesa em lotes: primeiro tudo o que veio depois de [since]
+     * (vetor replicaId -> última sequência aplicada), depois as novas conforme chegam.
+     * [since] é consultado a cada busca, depois de o lote anterior ter sido aplicado: o que
+     * não foi aceito pela réplica (ex: operação adiantada) é pedido de novo.
+     * O primeiro lote é sempre emitido, mesmo vazio (marca o fim da carga inicial).
+     * Falhas de conexão encerram o Flow com erro; a reconexão fica a cargo de quem coleta.
+     */
+    fun operations(tableId: String, since: () -> Map<String, Long>): Flow<List<TableCartOperation>>
+}
@@ -1,97 +1,155 @@
 package com.speedmenu.tablet.data.local
 
+import android.util.AtomicFile
+import androidx.compose.ui.graphics.Color
+import androidx.compose.ui.graphics.toArgb
 import androidx.datastore.core.DataStore
 import androidx.datastore.preferences.core.Preferences
 import androidx.datastore.preferences.core.edit
-import androidx.datastore.preferences.core.stringPreferencesKey
 import androidx.datastore.preferences.core.intPreferencesKey
+import androidx.datastore.preferences.core.stringPreferencesKey
+import com.speedmenu.tablet.data.config.DefaultAppConfig
+import com.speedmenu.tablet.data.datasource.remote.AppConfigDto
 import com.speedmenu.tablet.domain.model.AppConfig
-import kotlinx.coroutines.flow.Flow
+import com.speedmenu.tablet.domain.model.Branding
+import com.speedmenu.tablet.domain.model.CarouselAction
+import com.speedmenu.tablet.domain.model.CarouselItem
+import com.speedmenu.tablet.domain.model.HomeConfig
+import com.speedmenu.tablet.domain.model.ThemeColors
+import com.speedmenu.tablet.domain.model.ThemeTokens
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.flow.first
-import kotlinx.coroutines.flow.map
-import kotlinx.serialization.Serializable
-import kotlinx.serialization.encodeToString
-import kotlinx.serialization.decodeFromString
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
 import kotlinx.serialization.json.Json
 import timber.log.Timber
+import java.io.Closeable
+import java.io.DataInput
+import java.io.DataInputStream
+import java.io.DataOutput
+import java.io.DataOutputStream
+import java.io.File
+import java.io.FileNotFoundException
+import java.security.MessageDigest
 
 /**
- * DataStore para cache de AppConfig.
- * Armazena a configuração como JSON string junto com version e updatedAt.
- * 
+ * Cache de AppConfig em disco, com um arquivo binário por restaurante.
+ *
+ * Carregar o config de um restaurante lê apenas o arquivo dele (nunca os dos demais),
+ * sem JSON: as cores ficam gravadas como ARGB empacotado em Int e voltam direto para [Color].
+ *
+ * Layout do arquivo:
+ * ```
+ * [MAGIC:int][SCHEMA_VERSION:int][configVersion:int][restaurantId:utf]
+ * [branding][tema claro: 10 x argb][tema escuro: 10 x argb][carrossel]
+ * ```
+ * O cabeçalho permite ler só a versão ([loadVersion]) sem materializar o config.
+ * Arquivos com MAGIC ou versão de schema diferentes são descartados (cache miss).
+ *
+ * O nome do arquivo é um hash do restaurantId (IDs como "a.b" e "a_b" nunca dividem arquivo),
+ * e o restaurantId gravado no cabeçalho é conferido na leitura.
+ *
+ * Leituras e gravações dos arquivos passam por um único [Mutex]: no API 30+, AtomicFile.openRead()
+ * apaga o arquivo .new de uma gravação em andamento, então ler durante uma gravação a perderia.
+ * Todo o acesso a disco roda em Dispatchers.IO.
+ *
+ * O último restaurante usado continua no DataStore de Preferences (valor pequeno).
+ * Configs do formato antigo (JSON dentro das Preferences) são migrados para arquivos
+ * uma única vez, na primeira leitura.
+ *
  * IMPORTANTE: Recebe o DataStore por injeção (singleton) para evitar múltiplas instâncias.
  */
 class AppConfigDataStore(
-    private val dataStore: DataStore<Preferences>
+    private val dataStore: DataStore<Preferences>,
+    private val directory: File
 ) {
-    
-    // Chaves dinâmicas por restaurantId
-    private fun configKey(restaurantId: String) = stringPreferencesKey("app_config_json_$restaurantId")
-    private fun versionKey(restaurantId: String) = intPreferencesKey("app_config_version_$restaurantId")
-    
+
     // Chave para último restaurante usado
     private val lastRestaurantIdKey = stringPreferencesKey("last_restaurant_id")
-    
-    private val json = Json {
+
+    // Chaves do formato antigo (JSON dentro das Preferences), migradas na primeira leitura
+    private fun legacyConfigKey(restaurantId: String) = stringPreferencesKey("$LEGACY_CONFIG_PREFIX$restaurantId")
+    private fun legacyVersionKey(restaurantId: String) = intPreferencesKey("$LEGACY_VERSION_PREFIX$restaurantId")
+
+    private val legacyJson = Json {
         ignoreUnknownKeys = true
         coerceInputValues = true
     }
-    
+
+    // A migração roda uma vez por processo; depois dela não restam chaves antigas
+    @Volatile
+    private var isLegacyMigrated = false
+    private val migrationMutex = Mutex()
+
+    // Serializa o acesso aos arquivos (de qualquer restaurante): leitura nunca concorre com gravação
+    private val fileMutex = Mutex()
+
     /**
      * Salva o AppConfig no cache para um restaurante específico.
-     * 
+     *
      * @param restaurantId ID do restaurante
      * @param config Configuração a ser salva
      */
-    suspend fun saveConfig(restaurantId: String, config: AppConfig) {
+    suspend fun saveConfig(restaurantId: String, config: AppConfig) = withContext(Dispatchers.IO) {
+        // O JSON antigo nunca pode sobrescrever um config mais novo
+        migrateLegacyConfigs()
         try {
+            fileMutex.withLock { writeFile(restaurantId, config) }
             dataStore.edit { preferences ->
-                preferences[configKey(restaurantId)] = json.encodeToString(AppConfigDto.fromDomain(config))
-                preferences[versionKey(restaurantId)] = config.version
                 preferences[lastRestaurantIdKey] = restaurantId
+                preferences.remove(legacyConfigKey(restaurantId))
+                preferences.remove(legacyVersionKey(restaurantId))
             }
             Timber.d("AppConfigDataStore: saved config version=${config.version} for restaurant=$restaurantId")
+        } catch (e: CancellationException) {
+            throw e
         } catch (e: Exception) {
             Timber.e(e, "AppConfigDataStore: failed to save config")
         }
     }
-    
+
     /**
      * Carrega o AppConfig do cache para um restaurante específico.
-     * 
+     *
      * @param restaurantId ID do restaurante
      * @return AppConfig ou null se não existir
      */
-    suspend fun loadConfig(restaurantId: String): AppConfig? {
-        return try {
-            val preferences = dataStore.data.first()
-            val cachedJson = preferences[configKey(restaurantId)]
-            val cachedVersion = preferences[versionKey(restaurantId)]
-            
-            if (cachedJson == null || cachedVersion == null) {
-                Timber.d("AppConfigDataStore: no cached config found for restaurant=$restaurantId")
-                return null
+    suspend fun loadConfig(restaurantId: String): AppConfig? = withContext(Dispatchers.IO) {
+        migrateLegacyConfigs()
+        try {
+            val config = fileMutex.withLock {
+                openConfig(restaurantId)?.use { header -> readConfig(header.version, header.input) }
             }
-            
-            val dto = json.decodeFromString<AppConfigDto>(cachedJson)
-            val parser: (String) -> androidx.compose.ui.graphics.Color? = { hex ->
-                com.speedmenu.tablet.core.utils.ColorParser.parseColorOrNull(hex)
+            if (config == null) {
+                Timber.d("AppConfigDataStore: no cached config found for restaurant=$restaurantId")
+            } else {
+                Timber.d("AppConfigDataStore: loaded config version=${config.version} for restaurant=$restaurantId")
             }
-            val config = AppConfig(
-                version = dto.version,
-                branding = dto.branding.toDomain(),
-                theme = dto.theme.toDomain(parser),
-                home = dto.home.toDomain()
-            )
-            
-            Timber.d("AppConfigDataStore: loaded config version=${config.version} for restaurant=$restaurantId")
             config
         } catch (e: Exception) {
             Timber.e(e, "AppConfigDataStore: failed to load config for restaurant=$restaurantId")
             null
         }
     }
-    
+
+    /**
+     * Lê apenas a versão do config em cache (cabeçalho do arquivo), sem materializar o config.
+     *
+     * @param restaurantId ID do restaurante
+     * @return Versão em cache ou null se não existir
+     */
+    suspend fun loadVersion(restaurantId: String): Int? = withContext(Dispatchers.IO) {
+        migrateLegacyConfigs()
+        try {
+            fileMutex.withLock { openConfig(restaurantId)?.use { header -> header.version } }
+        } catch (e: Exception) {
+            Timber.e(e, "AppConfigDataStore: failed to load config version for restaurant=$restaurantId")
+            null
+        }
+    }
+
     /**
      * Obtém o último restaurantId usado.
      */
@@ -104,209 +162,271 @@ class AppConfigDataStore(
             null
         }
     }
-    
+
     /**
      * Limpa o cache de um restaurante específico.
      */
     suspend fun clearCache(restaurantId: String) {
         try {
-            dataStore.edit { preferences ->
-                preferences.remove(configKey(restaurantId))
-                preferences.remove(versionKey(restaurantId))
-            }
+            withContext(Dispatchers.IO) { fileMutex.withLock { fileFor(restaurantId).delete() } }
             Timber.d("AppConfigDataStore: cache cleared for restaurant=$restaurantId")
         } catch (e: Exception) {
             Timber.e(e, "AppConfigDataStore: failed to clear cache for restaurant=$restaurantId")
         }
     }
-}
 
-/**
- * DTO para serialização JSON do AppConfig.
- * Usado apenas para persistência no DataStore.
- */
-@Serializable
-private data class AppConfigDto(
-    val version: Int,
-    val branding: BrandingDto,
-    val theme: ThemeTokensDto,
-    val home: HomeConfigDto
-) {
-    // Nota: toDomain() não é usado diretamente porque ThemeTokensDto.toDomain() precisa de parser
-    // A conversão é feita manualmente em loadConfig()
-    
-    companion object {
-        fun fromDomain(config: AppConfig): AppConfigDto {
-            return AppConfigDto(
-                version = config.version,
-                branding = BrandingDto.fromDomain(config.branding),
-                theme = ThemeTokensDto.fromDomain(config.theme),
-                home = HomeConfigDto.fromDomain(config.home)
-            )
+    /**
+     * Migra os configs do formato antigo (JSON nas Preferences) para arquivos, uma única vez.
+     * Um arquivo já existente (mais novo) prevalece sobre o JSON antigo; as chaves antigas
+     * são removidas mesmo se o JSON estiver corrompido, para não tentar de novo a cada leitura.
+     */
+    private suspend fun migrateLegacyConfigs() {
+        if (isLegacyMigrated) return
+        migrationMutex.withLock {
+            if (isLegacyMigrated) return
+            try {
+                val preferences = dataStore.data.first()
+                val legacyIds = preferences.asMap().keys
+                    .map { it.name }
+                    .filter { it.startsWith(LEGACY_CONFIG_PREFIX) }
+                    .map { it.removePrefix(LEGACY_CONFIG_PREFIX) }
+                if (legacyIds.isNotEmpty()) {
+                    fileMutex.withLock {
+                        for (restaurantId in legacyIds) {
+                            val cachedJson = preferences[legacyConfigKey(restaurantId)] ?: continue
+                            migrateLegacyConfig(restaurantId, cachedJson)
+                        }
+                    }
+                    dataStore.edit { editable ->
+                        for (restaurantId in legacyIds) {
+                            editable.remove(legacyConfigKey(restaurantId))
+                            editable.remove(legacyVersionKey(restaurantId))
+                        }
+                    }
+                    Timber.d("AppConfigDataStore: migrated ${legacyIds.size} legacy configs")
+                }
+                isLegacyMigrated = true
+            } catch (e: Exception) {
+                Timber.e(e, "AppConfigDataStore: failed to migrate legacy configs")
+            }
         }
     }
-}
 
-@Serializable
-private data class BrandingDto(
-    val restaurantName: String,
-    val logoUrl: String? = null,
-    val logoUrlDark: String? = null
-) {
-    fun toDomain() = com.speedmenu.tablet.domain.model.Branding(
-        restaurantName = restaurantName,
-        logoUrl = logoUrl,
-        logoUrlDark = logoUrlDark
-    )
-    
-    companion object {
-        fun fromDomain(branding: com.speedmenu.tablet.domain.model.Branding) = BrandingDto(
-            restaurantName = branding.restaurantName,
-            logoUrl = branding.logoUrl,
-            logoUrlDark = branding.logoUrlDark
-        )
+    private fun migrateLegacyConfig(restaurantId: String, cachedJson: String) {
+        if (fileFor(restaurantId).baseFile.exists()) return
+        try {
+            val config = legacyJson.decodeFromString(AppConfigDto.serializer(), cachedJson)
+                .toDomain(DefaultAppConfig.get())
+            writeFile(restaurantId, config)
+        } catch (e: Exception) {
+            Timber.w(e, "AppConfigDataStore: discarding unreadable legacy config for restaurant=$restaurantId")
+        }
     }
-}
 
-@Serializable
-private data class ThemeColorsDto(
-    val primary: String,
-    val onPrimary: String,
-    val secondary: String,
-    val onSecondary: String,
-    val background: String,
-    val onBackground: String,
-    val surface: String,
-    val onSurface: String,
-    val error: String,
-    val onError: String
-) {
-    fun toDomain(parser: (String) -> androidx.compose.ui.graphics.Color?): com.speedmenu.tablet.domain.model.ThemeColors {
-        return com.speedmenu.tablet.domain.model.ThemeColors(
-            primary = parser(primary) ?: com.speedmenu.tablet.core.ui.theme.SpeedMenuColors.Primary,
-            onPrimary = parser(onPrimary) ?: com.speedmenu.tablet.core.ui.theme.SpeedMenuColors.TextOnPrimary,
-            secondary = parser(secondary) ?: com.speedmenu.tablet.core.ui.theme.SpeedMenuColors.PrimaryLight,
-            onSecondary = parser(onSecondary) ?: com.speedmenu.tablet.core.ui.theme.SpeedMenuColors.TextOnPrimary,
-            background = parser(background) ?: com.speedmenu.tablet.core.ui.theme.SpeedMenuColors.BackgroundPrimary,
-            onBackground = parser(onBackground) ?: com.speedmenu.tablet.core.ui.theme.SpeedMenuColors.TextPrimary,
-            surface = parser(surface) ?: com.speedmenu.tablet.core.ui.theme.SpeedMenuColors.Surface,
-            onSurface = parser(onSurface) ?: com.speedmenu.tablet.core.ui.theme.SpeedMenuColors.TextPrimary,
-            error = parser(error) ?: com.speedmenu.tablet.core.ui.theme.SpeedMenuColors.Error,
-            onError = parser(onError) ?: com.speedmenu.tablet.core.ui.theme.SpeedMenuColors.TextOnPrimary
-        )
+    /**
+     * Grava o arquivo do restaurante. Chamar dentro de [fileMutex], em Dispatchers.IO.
+     */
+    private fun writeFile(restaurantId: String, config: AppConfig) {
+        val file = fileFor(restaurantId)
+        directory.mkdirs()
+        val stream = file.startWrite()
+        try {
+            val out = DataOutputStream(stream.buffered())
+            writeConfig(out, restaurantId, config)
+            out.flush()
+            file.finishWrite(stream)
+        } catch (e: Exception) {
+            file.failWrite(stream)
+            throw e
+        }
     }
-    
-    companion object {
-        fun fromDomain(colors: com.speedmenu.tablet.domain.model.ThemeColors): ThemeColorsDto {
-            fun colorToHex(color: androidx.compose.ui.graphics.Color): String {
-                val r = (color.red * 255).toInt()
-                val g = (color.green * 255).toInt()
-                val b = (color.blue * 255).toInt()
-                return "#%02X%02X%02X".format(r, g, b)
+
+    /**
+     * Cabeçalho validado de um arquivo de config; [input] fica posicionado no branding.
+     */
+    private class ConfigHeader(val version: Int, val input: DataInputStream) : Closeable {
+        override fun close() = input.close()
+    }
+
+    /**
+     * Abre o arquivo do restaurante e valida o cabeçalho (MAGIC, schema e restaurantId).
+     * Chamar dentro de [fileMutex], mantendo o lock até fechar o cabeçalho.
+     * @return Cabeçalho com o stream aberto, ou null se não houver cache válido
+     */
+    private fun openConfig(restaurantId: String): ConfigHeader? {
+        val input = try {
+            DataInputStream(fileFor(restaurantId).openRead().buffered())
+        } catch (e: FileNotFoundException) {
+            return null
+        }
+        try {
+            val magic = input.readInt()
+            val schemaVersion = input.readInt()
+            if (magic != MAGIC || schemaVersion != SCHEMA_VERSION) {
+                Timber.w("AppConfigDataStore: discarding config with schema=$schemaVersion (expected $SCHEMA_VERSION) for restaurant=$restaurantId")
+                input.close()
+                return null
             }
-            
-            return ThemeColorsDto(
-                primary = colorToHex(colors.primary),
-                onPrimary = colorToHex(colors.onPrimary),
-                secondary = colorToHex(colors.secondary),
-                onSecondary = colorToHex(colors.onSecondary),
-                background = colorToHex(colors.background),
-                onBackground = colorToHex(colors.onBackground),
-                surface = colorToHex(colors.surface),
-                onSurface = colorToHex(colors.onSurface),
-                error = colorToHex(colors.error),
-                onError = colorToHex(colors.onError)
-            )
+            val version = input.readInt()
+            val storedRestaurantId = input.readUTF()
+            if (storedRestaurantId != restaurantId) {
+                Timber.w("AppConfigDataStore: discarding config of restaurant=$storedRestaurantId found for restaurant=$restaurantId")
+                input.close()
+                return null
+            }
+            return ConfigHeader(version, input)
+        } catch (e: Exception) {
+            input.close()
+            throw e
         }
     }
-}
 
-@Serializable
-private data class ThemeTokensDto(
-    val light: ThemeColorsDto,
-    val dark: ThemeColorsDto
-) {
-    fun toDomain(parser: (String) -> androidx.compose.ui.graphics.Color?): com.speedmenu.tablet.domain.model.ThemeTokens {
-        return com.speedmenu.tablet.domain.model.ThemeTokens(
-            light = light.toDomain(parser),
-            dark = dark.toDomain(parser)
+    private fun fileFor(restaurantId: String): AtomicFile {
+        // IDs vêm do backend: o nome do arquivo é o hash do ID (sem colisões por caracteres especiais)
+        val digest = MessageDigest.getInstance("SHA-256").digest(restaurantId.toByteArray(Charsets.UTF_8))
+        val name = buildString(FILE_NAME_HASH_BYTES * 2) {
+            for (i in 0 until FILE_NAME_HASH_BYTES) {
+                append(HEX_DIGITS[(digest[i].toInt() shr 4) and 0xF])
+                append(HEX_DIGITS[digest[i].toInt() and 0xF])
+            }
+        }
+        return AtomicFile(File(directory, "$name.bin"))
+    }
+
+    private fun writeConfig(out: DataOutput, restaurantId: String, config: AppConfig) {
+        out.writeInt(MAGIC)
+        out.writeInt(SCHEMA_VERSION)
+        out.writeInt(config.version)
+        out.writeUTF(restaurantId)
+
+        out.writeUTF(config.branding.restaurantName)
+        writeNullableUTF(out, config.branding.logoUrl)
+        writeNullableUTF(out, config.branding.logoUrlDark)
+
+        writeColors(out, config.theme.light)
+        writeColors(out, config.theme.dark)
+
+        out.writeInt(config.home.carousel.size)
+        for (item in config.home.carousel) {
+            out.writeUTF(item.imageUrl)
+            writeAction(out, item.action)
+        }
+    }
+
+    /**
+     * Lê o config a partir do branding (o cabeçalho já foi validado por [openConfig]).
+     */
+    private fun readConfig(version: Int, input: DataInput): AppConfig {
+        val branding = Branding(
+            restaurantName = input.readUTF(),
+            logoUrl = readNullableUTF(input),
+            logoUrlDark = readNullableUTF(input)
+        )
+        val theme = ThemeTokens(
+            light = readColors(input),
+            dark = readColors(input)
+        )
+        val carouselSize = input.readInt()
+        val carousel = ArrayList<CarouselItem>(carouselSize)
+        repeat(carouselSize) {
+            carousel += CarouselItem(
+                imageUrl = input.readUTF(),
+                action = readAction(input)
+            )
+        }
+
+        return AppConfig(
+            version = version,
+            branding = branding,
+            theme = theme,
+            home = HomeConfig(carousel = carousel)
         )
     }
-    
-    companion object {
-        fun fromDomain(tokens: com.speedmenu.tablet.domain.model.ThemeTokens) = ThemeTokensDto(
-            light = ThemeColorsDto.fromDomain(tokens.light),
-            dark = ThemeColorsDto.fromDomain(tokens.dark)
+
+    private fun writeColors(out: DataOutput, colors: ThemeColors) {
+        out.writeInt(colors.primary.toArgb())
+        out.writeInt(colors.onPrimary.toArgb())
+        out.writeInt(colors.secondary.toArgb())
+        out.writeInt(colors.onSecondary.toArgb())
+        out.writeInt(colors.background.toArgb())
+        out.writeInt(colors.onBackground.toArgb())
+        out.writeInt(colors.surface.toArgb())
+        out.writeInt(colors.onSurface.toArgb())
+        out.writeInt(colors.error.toArgb())
+        out.writeInt(colors.onError.toArgb())
+    }
+
+    private fun readColors(input: DataInput): ThemeColors {
+        return ThemeColors(
+            primary = Color(input.readInt()),
+            onPrimary = Color(input.readInt()),
+            secondary = Color(input.readInt()),
+            onSecondary = Color(input.readInt()),
+            background = Color(input.readInt()),
+            onBackground = Color(input.readInt()),
+            surface = Color(input.readInt()),
+            onSurface = Color(input.readInt()),
+            error = Color(input.readInt()),
+            onError = Color(input.readInt())
         )
     }
-}
 
-@Serializable
-private data class CarouselActionDto(
-    val type: String,
-    val categoryId: String? = null,
-    val productId: String? = null,
-    val url: String? = null
-) {
-    fun toDomain(): com.speedmenu.tablet.domain.model.CarouselAction? {
-        return when (type) {
-            "CATEGORY" -> categoryId?.let { com.speedmenu.tablet.domain.model.CarouselAction.Category(it) }
-            "PRODUCT" -> productId?.let { com.speedmenu.tablet.domain.model.CarouselAction.Product(it) }
-            "URL" -> url?.let { com.speedmenu.tablet.domain.model.CarouselAction.Url(it) }
-            else -> null
+    private fun writeAction(out: DataOutput, action: CarouselAction?) {
+        when (action) {
+            null -> out.writeByte(ACTION_NONE)
+            is CarouselAction.Category -> {
+                out.writeByte(ACTION_CATEGORY)
+                out.writeUTF(action.categoryId)
+            }
+            is CarouselAction.Product -> {
+                out.writeByte(ACTION_PRODUCT)
+                out.writeUTF(action.productId)
+            }
+            is CarouselAction.Url -> {
+                out.writeByte(ACTION_URL)
+                out.writeUTF(action.url)
+            }
         }
     }
-    
-    companion object {
-        fun fromDomain(action: com.speedmenu.tablet.domain.model.CarouselAction): CarouselActionDto {
-            return when (action) {
-                is com.speedmenu.tablet.domain.model.CarouselAction.Category -> CarouselActionDto(
-                    type = "CATEGORY",
-                    categoryId = action.categoryId
-                )
-                is com.speedmenu.tablet.domain.model.CarouselAction.Product -> CarouselActionDto(
-                    type = "PRODUCT",
-                    productId = action.productId
-                )
-                is com.speedmenu.tablet.domain.model.CarouselAction.Url -> CarouselActionDto(
-                    type = "URL",
-                    url = action.url
-                )
-            }
+
+    private fun readAction(input: DataInput): CarouselAction? {
+        return when (input.readByte().toInt()) {
+            ACTION_CATEGORY -> CarouselAction.Category(input.readUTF())
+            ACTION_PRODUCT -> CarouselAction.Product(input.readUTF())
+            ACTION_URL -> CarouselAction.Url(input.readUTF())
+            else -> null
         }
     }
-}
 
-@Serializable
-private data class CarouselItemDto(
-    val imageUrl: String,
-    val action: CarouselActionDto? = null
-) {
-    fun toDomain() = com.speedmenu.tablet.domain.model.CarouselItem(
-        imageUrl = imageUrl,
-        action = action?.toDomain()
-    )
-    
-    companion object {
-        fun fromDomain(item: com.speedmenu.tablet.domain.model.CarouselItem) = CarouselItemDto(
-            imageUrl = item.imageUrl,
-            action = item.action?.let { CarouselActionDto.fromDomain(it) }
-        )
+    private fun writeNullableUTF(out: DataOutput, value: String?) {
+        out.writeBoolean(value != null)
+        if (value != null) out.writeUTF(value)
+    }
+
+    private fun readNullableUTF(input: DataInput): String? {
+        return if (input.readBoolean()) input.readUTF() else null
     }
-}
 
-@Serializable
-private data class HomeConfigDto(
-    val carousel: List<CarouselItemDto> = emptyList()
-) {
-    fun toDomain() = com.speedmenu.tablet.domain.model.HomeConfig(
-        carousel = carousel.map { it.toDomain() }
-    )
-    
     companion object {
-        fun fromDomain(config: com.speedmenu.tablet.domain.model.HomeConfig) = HomeConfigDto(
-            carousel = config.carousel.map { CarouselItemDto.fromDomain(it) }
-        )
+        /** "SMAC" em ASCII */
+        private const val MAGIC = 0x534D4143
+
+        /**
+         * Versão do layout binário. Incrementar sempre que o formato mudar;
+         * arquivos de versões anteriores são ignorados e regravados no próximo fetch.
+         */
+        private const val SCHEMA_VERSION = 1
+
+        private const val ACTION_NONE = 0
+        private const val ACTION_CATEGORY = 1
+        private const val ACTION_PRODUCT = 2
+        private const val ACTION_URL = 3
+
+        private const val LEGACY_CONFIG_PREFIX = "app_config_json_"
+        private const val LEGACY_VERSION_PREFIX = "app_config_version_"
+
+        // 16 bytes de SHA-256 (32 caracteres hex) no nome do arquivo
+        private const val FILE_NAME_HASH_BYTES = 16
+        private const val HEX_DIGITS = "0123456789abcdef"
     }
 }
-
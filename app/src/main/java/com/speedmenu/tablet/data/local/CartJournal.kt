@@ -0,0 +1,473 @@
+package com.speedmenu.tablet.data.local
+
+import android.content.Context
+import android.os.SystemClock
+import android.util.AtomicFile
+import com.speedmenu.tablet.core.di.ApplicationScope
+import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.CartItemOptions
+import com.speedmenu.tablet.domain.model.CartOperation
+import com.speedmenu.tablet.domain.model.FulfillmentType
+import com.speedmenu.tablet.domain.model.Money
+import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import timber.log.Timber
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInput
+import java.io.DataInputStream
+import java.io.DataOutput
+import java.io.DataOutputStream
+import java.io.EOFException
+import java.io.File
+import java.io.FileNotFoundException
+import java.io.FileOutputStream
+import java.io.IOException
+import java.io.RandomAccessFile
+import java.util.zip.CRC32
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Diário do carrinho em disco: sobrevive a crash, kill do processo ou reboot do tablet no meio do pedido.
+ *
+ * - Cada [CartOperation] vira um registro no fim do arquivo de diário (append-only)
+ * - As gravações são agrupadas: operações próximas (ex: toques seguidos no +) saem num único
+ *   write + fsync, [FLUSH_DELAY_MS] depois da primeira
+ * - A cada [COMPACT_EVERY] registros (ou ao esvaziar/substituir o carrinho) as linhas atuais viram um
+ *   snapshot (AtomicFile) e o diário recomeça vazio, então o restore nunca relê um histórico longo
+ * - [restore] lê o snapshot e reaplica só os registros posteriores a ele
+ *
+ * Layout do diário:
+ * ```
+ * [MAGIC:int][SCHEMA_VERSION:int]
+ * ([payloadLength:int][crc32:int][payload: sequence:long + operação])*
+ * ```
+ * Um kill no meio de um write deixa no máximo o último registro incompleto; o tamanho e o CRC
+ * o denunciam, e o restore descarta o final a partir dele. O snapshot guarda a sequência do
+ * último registro incluído: se o processo morrer entre gravar o snapshot e zerar o diário,
+ * os registros antigos são ignorados em vez de aplicados duas vezes.
+ */
+@Singleton
+class CartJournal internal constructor(
+    private val directory: File,
+    private val applicationScope: CoroutineScope
+) {
+
+    @Inject
+    constructor(
+        @ApplicationContext context: Context,
+        @ApplicationScope applicationScope: CoroutineScope
+    ) : this(File(context.filesDir, "cart"), applicationScope)
+
+    /**
+     * Conteúdo recuperado do disco.
+     *
+     * @param lines Linhas do último snapshot
+     * @param operations Operações registradas depois do snapshot, em ordem
+     */
+    data class Restored(
+        val lines: List<CartItem>,
+        val operations: List<CartOperation>
+    ) {
+        val isEmpty: Boolean
+            get() = lines.isEmpty() && operations.isEmpty()
+    }
+
+    private val snapshotFile = AtomicFile(File(directory, SNAPSHOT_FILE_NAME))
+    private val journalFile = File(directory, JOURNAL_FILE_NAME)
+
+    // Operações aguardando o próximo flush e as linhas resultantes da última delas
+    private val lock = Any()
+    private val pending = ArrayList<CartOperation>()
+    private var latestLines: List<CartItem> = emptyList()
+    private var hasRecorded = false
+    private var restoreHandedOut = false
+    private var flushScheduled = false
+
+    // Escrita em disco (flush e compactação), sempre depois do restore
+    private val writeMutex = Mutex()
+    private var output: FileOutputStream? = null
+    private var nextSequence = 0L
+    private var recordsSinceSnapshot = 0
+
+    // Um único restore por processo (o aquecimento da Splash e o CartViewModel compartilham)
+    private val restored: Deferred<Restored> by lazy {
+        applicationScope.async(start = CoroutineStart.LAZY) { readFromDisk() }
+    }
+
+    /**
+     * Carrega o carrinho salvo (uma única leitura de disco por processo).
+     * Chamadas seguintes, depois de o carrinho ter sido alterado neste processo (ex: ViewModel
+     * recriado), devolvem as linhas atuais em vez do conteúdo lido no boot.
+     */
+    suspend fun restore(): Restored {
+        val fromDisk = restored.await()
+        return synchronized(lock) {
+            if (restoreHandedOut && hasRecorded) {
+                Restored(latestLines, emptyList())
+            } else {
+                restoreHandedOut = true
+                fromDisk
+            }
+        }
+    }
+
+    /**
+     * Lê o carrinho salvo antecipadamente (ex: durante a Splash), sem entregá-lo a ninguém.
+     * @return Quantidade de linhas e operações recuperadas
+     */
+    suspend fun warmUp(): Int {
+        val fromDisk = restored.await()
+        return fromDisk.lines.size + fromDisk.operations.size
+    }
+
+    /**
+     * Registra uma operação já aplicada ao carrinho. Não bloqueia: a gravação é agrupada.
+     *
+     * @param operation Operação aplicada
+     * @param lines Linhas do carrinho depois da operação (usadas na compactação)
+     */
+    fun record(operation: CartOperation, lines: List<CartItem>) {
+        val scheduleFlush = synchronized(lock) {
+            pending += operation
+            latestLines = lines
+            hasRecorded = true
+            if (flushScheduled) {
+                false
+            } else {
+                flushScheduled = true
+                true
+            }
+        }
+        if (scheduleFlush) {
+            applicationScope.launch {
+                delay(FLUSH_DELAY_MS)
+                flush()
+            }
+        }
+    }
+
+    /**
+     * Grava as operações pendentes com um único fsync e compacta quando necessário.
+     * Interno para os testes gravarem sem esperar a janela de [FLUSH_DELAY_MS].
+     */
+    internal suspend fun flush() {
+        writeMutex.withLock {
+            restored.await()
+            val (batch, lines) = synchronized(lock) {
+                flushScheduled = false
+                val batch = ArrayList(pending)
+                pending.clear()
+                batch to latestLines
+            }
+            if (batch.isEmpty()) return
+
+            try {
+                appendRecords(batch)
+                if (recordsSinceSnapshot >= COMPACT_EVERY || batch.last().replacesLines()) {
+                    compact(lines)
+                }
+            } catch (e: IOException) {
+                // Mantém o carrinho em memória funcionando; o próximo flush reabre o diário
+                Timber.e(e, "CartJournal: failed to write ${batch.size} operations")
+                closeOutput()
+            }
+        }
+    }
+
+    // Depois de um Clear ou ReplaceAll o histórico anterior não importa mais
+    private fun CartOperation.replacesLines() =
+        this is CartOperation.Clear || this is CartOperation.ReplaceAll
+
+    private fun appendRecords(batch: List<CartOperation>) {
+        val buffer = ByteArrayOutputStream()
+        val out = DataOutputStream(buffer)
+        val payload = ByteArrayOutputStream()
+        val payloadOut = DataOutputStream(payload)
+        val crc = CRC32()
+        batch.forEach { operation ->
+            payload.reset()
+            payloadOut.writeLong(nextSequence++)
+            writeOperation(payloadOut, operation)
+            payloadOut.flush()
+            crc.reset()
+            crc.update(payload.toByteArray())
+            out.writeInt(payload.size())
+            out.writeInt(crc.value.toInt())
+            payload.writeTo(out)
+        }
+        out.flush()
+
+        val stream = openOutput()
+        stream.write(buffer.toByteArray())
+        stream.fd.sync()
+        recordsSinceSnapshot += batch.size
+    }
+
+    /**
+     * Troca o histórico por um snapshot das linhas atuais e zera o diário.
+     */
+    private fun compact(lines: List<CartItem>) {
+        directory.mkdirs()
+        val stream = snapshotFile.startWrite()
+        try {
+            val out = DataOutputStream(stream.buffered())
+            out.writeInt(MAGIC)
+            out.writeInt(SCHEMA_VERSION)
+            out.writeLong(nextSequence - 1)
+            out.writeInt(lines.size)
+            lines.forEach { writeItem(out, it) }
+            out.flush()
+            snapshotFile.finishWrite(stream)
+        } catch (e: IOException) {
+            snapshotFile.failWrite(stream)
+            throw e
+        }
+        closeOutput()
+        journalFile.delete()
+        recordsSinceSnapshot = 0
+        Timber.d("CartJournal: compacted ${lines.size} lines")
+    }
+
+    private fun openOutput(): FileOutputStream {
+        output?.let { return it }
+        directory.mkdirs()
+        val isNew = !journalFile.exists() || journalFile.length() == 0L
+        val stream = FileOutputStream(journalFile, true)
+        if (isNew) {
+            val header = DataOutputStream(stream)
+            header.writeInt(MAGIC)
+            header.writeInt(SCHEMA_VERSION)
+            header.flush()
+        }
+        output = stream
+        return stream
+    }
+
+    private fun closeOutput() {
+        try {
+            output?.close()
+        } catch (e: IOException) {
+            Timber.w(e, "CartJournal: failed to close journal")
+        }
+        output = null
+    }
+
+    /**
+     * Lê snapshot + diário. Falhas de leitura resultam num carrinho vazio, nunca em crash.
+     */
+    private fun readFromDisk(): Restored {
+        val startedAt = SystemClock.elapsedRealtime()
+        return try {
+            val (snapshotSequence, lines) = readSnapshot()
+            val operations = readJournal(snapshotSequence)
+            Timber.d("CartJournal: restored ${lines.size} lines + ${operations.size} operations in ${SystemClock.elapsedRealtime() - startedAt}ms")
+            Restored(lines, operations)
+        } catch (e: IOException) {
+            Timber.e(e, "CartJournal: failed to restore cart, starting empty")
+            journalFile.delete()
+            Restored(emptyList(), emptyList())
+        }
+    }
+
+    private fun readSnapshot(): Pair<Long, List<CartItem>> {
+        return try {
+            DataInputStream(snapshotFile.openRead().buffered()).use { input ->
+                if (input.readInt() != MAGIC || input.readInt() != SCHEMA_VERSION) {
+                    Timber.w("CartJournal: discarding snapshot with unknown format")
+                    return -1L to emptyList()
+                }
+                val sequence = input.readLong()
+                val count = input.readInt()
+                val lines = ArrayList<CartItem>(count)
+                repeat(count) { lines += readItem(input) }
+                sequence to lines
+            }
+        } catch (e: FileNotFoundException) {
+            -1L to emptyList()
+        } catch (e: IOException) {
+            Timber.e(e, "CartJournal: failed to read snapshot")
+            -1L to emptyList()
+        }
+    }
+
+    /**
+     * Lê os registros válidos do diário, posteriores a [afterSequence].
+     * Um final incompleto ou corrompido é cortado do arquivo para os próximos appends.
+     */
+    private fun readJournal(afterSequence: Long): List<CartOperation> {
+        nextSequence = afterSequence + 1
+        if (!journalFile.exists()) return emptyList()
+
+        val bytes = journalFile.readBytes()
+        val input = DataInputStream(ByteArrayInputStream(bytes))
+        val operations = ArrayList<CartOperation>()
+        var validLength = 0L
+        try {
+            if (bytes.size < HEADER_SIZE || input.readInt() != MAGIC || input.readInt() != SCHEMA_VERSION) {
+                Timber.w("CartJournal: discarding journal with unknown format")
+                journalFile.delete()
+                return emptyList()
+            }
+            validLength = HEADER_SIZE.toLong()
+            val crc = CRC32()
+            while (true) {
+                val length = input.readInt()
+                val expectedCrc = input.readInt()
+                if (length < 0 || length > input.available()) break
+                val payload = ByteArray(length)
+                input.readFully(payload)
+                crc.reset()
+                crc.update(payload)
+                if (crc.value.toInt() != expectedCrc) break
+
+                val record = DataInputStream(ByteArrayInputStream(payload))
+                val sequence = record.readLong()
+                val operation = readOperation(record)
+                if (sequence > afterSequence) {
+                    operations += operation
+                    recordsSinceSnapshot++
+                }
+                nextSequence = maxOf(nextSequence, sequence + 1)
+                validLength += RECORD_HEADER_SIZE + length
+            }
+        } catch (e: EOFException) {
+            // Fim do arquivo (ou registro cortado no meio do cabeçalho)
+        } catch (e: IOException) {
+            Timber.e(e, "CartJournal: failed to read journal")
+        }
+
+        if (validLength < bytes.size) {
+            Timber.w("CartJournal: dropping ${bytes.size - validLength} bytes of torn journal tail")
+            RandomAccessFile(journalFile, "rw").use { it.setLength(validLength) }
+        }
+        return operations
+    }
+
+    private fun writeOperation(out: DataOutput, operation: CartOperation) {
+        when (operation) {
+            is CartOperation.Add -> {
+                out.writeByte(OP_ADD)
+                writeItem(out, operation.item)
+            }
+            is CartOperation.Remove -> {
+                out.writeByte(OP_REMOVE)
+                out.writeUTF(operation.lineId)
+            }
+            is CartOperation.SetQuantity -> {
+                out.writeByte(OP_SET_QUANTITY)
+                out.writeUTF(operation.lineId)
+                out.writeInt(operation.quantity)
+            }
+            is CartOperation.SetFulfillmentType -> {
+                out.writeByte(OP_SET_FULFILLMENT)
+                out.writeUTF(operation.lineId)
+                out.writeUTF(operation.type.name)
+            }
+            CartOperation.Clear -> out.writeByte(OP_CLEAR)
+            is CartOperation.ReplaceAll -> {
+                out.writeByte(OP_REPLACE_ALL)
+                out.writeInt(operation.lines.size)
+                operation.lines.forEach { writeItem(out, it) }
+            }
+        }
+    }
+
+    private fun readOperation(input: DataInput): CartOperation {
+        return when (val type = input.readByte().toInt()) {
+            OP_ADD -> CartOperation.Add(readItem(input))
+            OP_REMOVE -> CartOperation.Remove(input.readUTF())
+            OP_SET_QUANTITY -> CartOperation.SetQuantity(input.readUTF(), input.readInt())
+            OP_SET_FULFILLMENT -> CartOperation.SetFulfillmentType(input.readUTF(), readFulfillmentType(input))
+            OP_CLEAR -> CartOperation.Clear
+            OP_REPLACE_ALL -> {
+                val count = input.readInt()
+                val lines = ArrayList<CartItem>(count)
+                repeat(count) { lines += readItem(input) }
+                CartOperation.ReplaceAll(lines)
+            }
+            else -> throw IOException("Unknown cart operation $type")
+        }
+    }
+
+    private fun writeItem(out: DataOutput, item: CartItem) {
+        out.writeUTF(item.id)
+        out.writeUTF(item.productId)
+        out.writeUTF(item.name)
+        out.writeLong(item.price.cents)
+        out.writeInt(item.quantity)
+        out.writeInt(item.imageResId)
+        // Nomes, não IDs: os IDs dos ingredientes valem só dentro do processo
+        out.writeInt(item.options.ingredientCount)
+        item.options.forEachIngredient { ingredient, quantity ->
+            out.writeUTF(ingredient)
+            out.writeInt(quantity)
+        }
+        out.writeUTF(item.options.observations)
+        out.writeUTF(item.fulfillmentType.name)
+    }
+
+    private fun readItem(input: DataInput): CartItem {
+        val id = input.readUTF()
+        val productId = input.readUTF()
+        val name = input.readUTF()
+        val price = Money(input.readLong())
+        val quantity = input.readInt()
+        val imageResId = input.readInt()
+        val options = CartItemOptions.Builder()
+        repeat(input.readInt()) { options.ingredient(input.readUTF(), input.readInt()) }
+        options.observations(input.readUTF())
+        return CartItem(
+            id = id,
+            productId = productId,
+            name = name,
+            price = price,
+            quantity = quantity,
+            imageResId = imageResId,
+            options = options.build(),
+            fulfillmentType = readFulfillmentType(input)
+        )
+    }
+
+    private fun readFulfillmentType(input: DataInput): FulfillmentType {
+        val name = input.readUTF()
+        return FulfillmentType.values().firstOrNull { it.name == name } ?: FulfillmentType.DINE_IN
+    }
+
+    companion object {
+        // "SMCJ" (Speed Menu Cart Journal)
+        private const val MAGIC = 0x534D434A
+
+        /**
+         * Incrementar ao mudar o layout dos registros.
+         */
+        private const val SCHEMA_VERSION = 1
+
+        private const val SNAPSHOT_FILE_NAME = "cart_snapshot.bin"
+        private const val JOURNAL_FILE_NAME = "cart_journal.bin"
+
+        private const val HEADER_SIZE = 8
+        private const val RECORD_HEADER_SIZE = 8
+
+        /** Janela de agrupamento de operações num único fsync */
+        private const val FLUSH_DELAY_MS = 100L
+
+        /** Registros no diário antes de compactar em snapshot */
+        private const val COMPACT_EVERY = 64
+
+        private const val OP_ADD = 1
+        private const val OP_REMOVE = 2
+        private const val OP_SET_QUANTITY = 3
+        private const val OP_SET_FULFILLMENT = 4
+        private const val OP_CLEAR = 5
+        private const val OP_REPLACE_ALL = 6
+    }
+}
@@ -0,0 +1,162 @@
+package com.speedmenu.tablet.data.local
+
+import android.content.Context
+import android.util.AtomicFile
+import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.withContext
+import timber.log.Timber
+import java.io.File
+import java.io.IOException
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Pedido gravado na outbox, aguardando envio.
+ *
+ * @param idempotencyKey Chave única do pedido (a mesma em todas as tentativas de envio)
+ * @param enqueuedAtMillis Momento em que o pedido foi finalizado no tablet
+ * @param payload Pedido codificado, exatamente como será enviado
+ */
+class PendingOrder(
+    val idempotencyKey: String,
+    val enqueuedAtMillis: Long,
+    val payload: ByteArray
+)
+
+/**
+ * Outbox de pedidos em disco: o pedido finalizado é gravado aqui antes de qualquer tentativa
+ * de rede, e só sai depois de entregue. Sobrevive a crash, kill do processo e reboot.
+ *
+ * Um arquivo por pedido (AtomicFile), nomeado "<sequence>_<enqueuedAtMillis>_<idempotencyKey>.json".
+ * A sequência cresce a cada pedido gravado e continua depois do maior número já na outbox:
+ * dois pedidos no mesmo milissegundo (ou com o relógio ajustado para trás) saem na ordem em
+ * que foram finalizados.
+ * Pedidos recusados pelo servidor vão para o subdiretório "rejected", para conferência manual.
+ */
+@Singleton
+class OrderOutbox internal constructor(
+    private val directory: File
+) {
+
+    @Inject
+    constructor(@ApplicationContext context: Context) :
+        this(File(context.filesDir, "order_outbox"))
+
+    private val rejectedDirectory = File(directory, "rejected")
+
+    // Próxima sequência; -1 até a primeira gravação ler a outbox
+    private val sequenceLock = Any()
+    private var nextSequence = -1L
+
+    /**
+     * Arquivo de pedido na outbox.
+     * @param sequence Ordem de gravação
+     */
+    private class Entry(
+        val name: String,
+        val sequence: Long,
+        val enqueuedAtMillis: Long,
+        val idempotencyKey: String
+    )
+
+    /**
+     * Grava o pedido de forma durável (fsync antes de retornar).
+     */
+    suspend fun enqueue(order: PendingOrder) = withContext(Dispatchers.IO) {
+        directory.mkdirs()
+        val file = AtomicFile(File(directory, fileName(takeSequence(), order)))
+        val stream = file.startWrite()
+        try {
+            stream.write(order.payload)
+            file.finishWrite(stream)
+        } catch (e: IOException) {
+            file.failWrite(stream)
+            throw e
+        }
+        Timber.d("OrderOutbox: enqueued order ${order.idempotencyKey} (${order.payload.size} bytes)")
+    }
+
+    /**
+     * Pedidos aguardando envio, do mais antigo para o mais novo.
+     */
+    suspend fun pending(): List<PendingOrder> = withContext(Dispatchers.IO) {
+        listEntries()
+            .sortedBy { it.sequence }
+            .mapNotNull { entry -> readOrder(entry) }
+    }
+
+    /**
+     * Remove o pedido entregue.
+     */
+    suspend fun remove(idempotencyKey: String) {
+        withContext(Dispatchers.IO) { findFile(idempotencyKey)?.delete() }
+    }
+
+    /**
+     * Move o pedido recusado pelo servidor para fora da fila.
+     */
+    suspend fun reject(idempotencyKey: String) = withContext(Dispatchers.IO) {
+        val file = findFile(idempotencyKey) ?: return@withContext
+        rejectedDirectory.mkdirs()
+        val target = File(rejectedDirectory, file.baseFile.name)
+        file.baseFile.renameTo(target)
+        Timber.w("OrderOutbox: order $idempotencyKey moved to ${target.path}")
+    }
+
+    private fun takeSequence(): Long = synchronized(sequenceLock) {
+        if (nextSequence < 0L) {
+            nextSequence = (listEntries().maxOfOrNull { it.sequence } ?: -1L) + 1
+        }
+        nextSequence++
+    }
+
+    private fun listEntries(): List<Entry> {
+        val names = directory.list() ?: return emptyList()
+        return names
+            // AtomicFile pode deixar só o ".bak" se o processo morreu no meio de uma escrita
+            .map { it.removeSuffix(BACKUP_SUFFIX) }
+            .filter { it.endsWith(FILE_SUFFIX) }
+            .distinct()
+            .mapNotNull { name -> parseEntry(name) }
+    }
+
+    private fun parseEntry(name: String): Entry? {
+        val parts = name.removeSuffix(FILE_SUFFIX).split('_', limit = 3)
+        val sequence = parts.getOrNull(0)?.toLongOrNull()
+        val enqueuedAt = parts.getOrNull(1)?.toLongOrNull()
+        val entry = if (parts.size == 3 && sequence != null && enqueuedAt != null) {
+            Entry(name, sequence, enqueuedAt, parts[2])
+        } else {
+            null
+        }
+        if (entry == null) Timber.w("OrderOutbox: ignoring unexpected file $name")
+        return entry
+    }
+
+    private fun readOrder(entry: Entry): PendingOrder? {
+        return try {
+            PendingOrder(entry.idempotencyKey, entry.enqueuedAtMillis, AtomicFile(File(directory, entry.name)).readFully())
+        } catch (e: IOException) {
+            Timber.e(e, "OrderOutbox: failed to read order ${entry.idempotencyKey}")
+            null
+        }
+    }
+
+    private fun findFile(idempotencyKey: String): AtomicFile? {
+        val suffix = "_$idempotencyKey$FILE_SUFFIX"
+        val name = directory.list()
+            ?.map { it.removeSuffix(BACKUP_SUFFIX) }
+            ?.firstOrNull { it.endsWith(suffix) }
+            ?: return null
+        return AtomicFile(File(directory, name))
+    }
+
+    private fun fileName(sequence: Long, order: PendingOrder) =
+        "${sequence}_${order.enqueuedAtMillis}_${order.idempotencyKey}$FILE_SUFFIX"
+
+    companion object {
+        private const val FILE_SUFFIX = ".json"
+        private const val BACKUP_SUFFIX = ".bak"
+    }
+}
@@ -22,6 +22,7 @@ class RestaurantSession(
 ) {
     
     private val restaurantIdKey = stringPreferencesKey("restaurant_id")
+    private val tableIdKey = stringPreferencesKey("table_id")
     
     /**
      * Inicializa o restaurantId com o último usado (do AppConfigDataStore).
@@ -75,6 +76,32 @@ class RestaurantSession(
         }
     }
     
+    /**
+     * Define a mesa do tablet (null = tablet avulso, carrinho só local).
+     * Tablets com a mesma mesa compartilham o carrinho.
+     */
+    suspend fun setTableId(tableId: String?) {
+        try {
+            dataStore.edit { preferences ->
+                if (tableId.isNullOrBlank()) {
+                    preferences.remove(tableIdKey)
+                } else {
+                    preferences[tableIdKey] = tableId
+                }
+            }
+            Timber.d("RestaurantSession: set tableId=$tableId")
+        } catch (e: Exception) {
+            Timber.e(e, "RestaurantSession: failed to set tableId")
+        }
+    }
+
+    /**
+     * Observa a mesa do tablet (null se não configurada).
+     */
+    fun observeTableId(): Flow<String?> {
+        return dataStore.data.map { preferences -> preferences[tableIdKey] }
+    }
+    
     /**
      * Retorna o restaurantId padrão (primeiro restaurante mockado).
      */
@@ -0,0 +1,30 @@
+package com.speedmenu.tablet.data.model
+
+/**
+ * Entidade de dados representando as alterações do cardápio desde uma versão conhecida.
+ * Retornada pelo servidor no sync incremental (delta), em vez do cardápio completo.
+ *
+ * Regras de aplicação:
+ * - Upserts substituem o item/categoria de mesmo ID ou são adicionados ao final
+ * - Remoções são aplicadas depois dos upserts (se um ID aparece nos dois, é removido)
+ * - Se [isFullSnapshot] for true, o servidor não conseguiu calcular o delta
+ *   (ex.: versão muito antiga) e os upserts representam o catálogo completo
+ */
+data class MenuChangesEntity(
+    val catalogVersion: Long,
+    val upsertedItems: List<MenuItemEntity> = emptyList(),
+    val deletedItemIds: List<String> = emptyList(),
+    val upsertedCategories: List<CategoryEntity> = emptyList(),
+    val deletedCategoryIds: List<String> = emptyList(),
+    val isFullSnapshot: Boolean = false
+) {
+    /**
+     * Indica se não há nenhuma alteração a aplicar.
+     */
+    val isEmpty: Boolean
+        get() = !isFullSnapshot &&
+            upsertedItems.isEmpty() &&
+            deletedItemIds.isEmpty() &&
+            upsertedCategories.isEmpty() &&
+            deletedCategoryIds.isEmpty()
+}
@@ -1,6 +1,7 @@
 package com.speedmenu.tablet.data.model
 
 import com.speedmenu.tablet.domain.model.MenuItem
+import com.speedmenu.tablet.domain.model.Money
 
 /**
  * Entidade de dados representando um item do cardápio.
@@ -11,7 +12,7 @@ data class MenuItemEntity(
     val id: String,
     val name: String,
     val description: String,
-    val price: Double,
+    val price: Money,
     val category: String,
     val imageUrl: String? = null,
     val isAvailable: Boolean = true
@@ -0,0 +1,23 @@
+package com.speedmenu.tablet.data.model
+
+import com.speedmenu.tablet.domain.model.Money
+
+/**
+ * Alteração pontual de um item do cardápio recebida pelo canal ao vivo (push).
+ * Campos nulos não mudam; só disponibilidade e preço são enviados em tempo real.
+ */
+data class MenuItemPatchEntity(
+    val itemId: String,
+    val isAvailable: Boolean? = null,
+    val price: Money? = null
+) {
+    /**
+     * Aplica a alteração ao item, preservando os campos não enviados.
+     */
+    fun applyTo(item: MenuItemEntity): MenuItemEntity {
+        return item.copy(
+            isAvailable = isAvailable ?: item.isAvailable,
+            price = price ?: item.price
+        )
+    }
+}
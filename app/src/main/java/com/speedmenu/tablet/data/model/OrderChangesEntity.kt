@@ -0,0 +1,21 @@
+package com.speedmenu.tablet.data.model
+
+import com.speedmenu.tablet.domain.model.OrderUpdate
+
+/**
+ * Entidade de dados representando as alterações do pedido de uma comanda desde uma versão conhecida.
+ *
+ * - [version] é a versão do pedido depois das alterações; a próxima consulta pede o que vem depois dela
+ * - [updates] vêm na ordem em que devem ser aplicadas; um [OrderUpdate.Snapshot] (consulta sem
+ *   versão, ou versão que o servidor não consegue mais diferenciar) substitui o pedido inteiro
+ */
+data class OrderChangesEntity(
+    val version: Long,
+    val updates: List<OrderUpdate> = emptyList()
+) {
+    /**
+     * Indica se não há nenhuma alteração a aplicar.
+     */
+    val isEmpty: Boolean
+        get() = updates.isEmpty()
+}
@@ -1,8 +1,10 @@
 package com.speedmenu.tablet.data.repository
 
+import android.util.LruCache
 import com.speedmenu.tablet.data.config.DefaultAppConfig
 import com.speedmenu.tablet.data.local.AppConfigDataStore
 import com.speedmenu.tablet.domain.model.AppConfig
+import com.speedmenu.tablet.domain.model.AppConfigFetchResult
 import com.speedmenu.tablet.domain.repository.AppConfigRepository
 import com.speedmenu.tablet.domain.repository.AppConfigSource
 import kotlinx.coroutines.flow.Flow
@@ -13,10 +15,15 @@ import timber.log.Timber
  * Implementação do AppConfigRepository.
  * 
  * Fluxo de dados:
- * 1. Emite DefaultAppConfig imediatamente (para evitar "piscar")
- * 2. Tenta carregar do cache e emite se válido
- * 3. Busca do AppConfigSource (mock ou backend) e atualiza cache
- * 4. Emite config atualizada
+ * 1. Emite o config já decodificado em memória (LRU dos últimos restaurantes), se houver
+ * 2. Senão, tenta carregar do cache em disco e emite se válido
+ * 3. Sem nenhum cache, emite DefaultAppConfig (para não ficar sem tema)
+ * 4. Busca condicional no AppConfigSource (mock ou backend), enviando a versão em cache;
+ *    "não modificado" não transfere nem decodifica nada
+ * 5. Emite config atualizada (apenas se a versão mudou)
+ * 
+ * Assim, voltar para um restaurante recente é uma única emissão em memória,
+ * sem "piscar" o tema padrão.
  * 
  * Se qualquer etapa falhar, mantém o config atual.
  * 
@@ -27,41 +34,51 @@ class AppConfigRepositoryImpl(
     private val appConfigSource: AppConfigSource
 ) : AppConfigRepository {
     
+    // Configs materializados por restaurantId (a versão está no próprio AppConfig).
+    // LruCache é sincronizado: seguro para coletores em paralelo.
+    private val decodedConfigs = LruCache<String, AppConfig>(MAX_DECODED_CONFIGS)
+    
     override fun observeConfig(restaurantId: String): Flow<AppConfig> = flow {
-        // 1. Emite DefaultAppConfig primeiro (evita "piscar")
-        val defaultConfig = DefaultAppConfig.get()
-        Timber.d("AppConfigRepository: emitting default config for restaurant=$restaurantId")
-        emit(defaultConfig)
-        
-        // 2. Tenta carregar do cache
-        val cachedConfig = dataStore.loadConfig(restaurantId)
-        if (cachedConfig != null) {
-            Timber.d("AppConfigRepository: emitting cached config version=${cachedConfig.version} for restaurant=$restaurantId")
-            emit(cachedConfig)
+        // 1. Config decodificado em memória
+        var currentConfig = decodedConfigs.get(restaurantId)
+        if (currentConfig != null) {
+            Timber.d("AppConfigRepository: emitting in-memory config version=${currentConfig.version} for restaurant=$restaurantId")
+            emit(currentConfig)
         } else {
-            Timber.d("AppConfigRepository: no cached config found for restaurant=$restaurantId")
+            // 2. Cache em disco
+            currentConfig = dataStore.loadConfig(restaurantId)
+            if (currentConfig != null) {
+                Timber.d("AppConfigRepository: emitting cached config version=${currentConfig.version} for restaurant=$restaurantId")
+                cacheDecoded(restaurantId, currentConfig)
+                emit(currentConfig)
+            } else {
+                // 3. DefaultAppConfig (nenhum cache disponível)
+                Timber.d("AppConfigRepository: no cached config found, emitting default config for restaurant=$restaurantId")
+                emit(DefaultAppConfig.get())
+            }
         }
         
-        // 3. Busca do AppConfigSource (mock ou backend)
+        // 4. Busca condicional no AppConfigSource (mock ou backend): só recebe o config se houver versão mais nova
         try {
-            val sourceConfig = appConfigSource.getConfig(restaurantId)
-            
-            if (sourceConfig == null) {
-                Timber.w("AppConfigRepository: no config found in source for restaurant=$restaurantId, using default")
-                return@flow
-            }
-            
-            // Só atualiza se a versão mudou (ou se não havia cache)
-            if (cachedConfig == null || sourceConfig.version > cachedConfig.version) {
-                Timber.d("AppConfigRepository: updating config from source version=${sourceConfig.version} for restaurant=$restaurantId")
-                
-                // Salva no cache
-                dataStore.saveConfig(restaurantId, sourceConfig)
-                
-                // Emite config atualizada
-                emit(sourceConfig)
-            } else {
-                Timber.d("AppConfigRepository: source config version (${sourceConfig.version}) <= cached (${cachedConfig.version}), skipping update")
+            val cachedVersion = currentConfig?.version
+            when (val result = appConfigSource.getConfigIfModified(restaurantId, cachedVersion)) {
+                is AppConfigFetchResult.Modified -> {
+                    val sourceConfig = result.config
+                    Timber.d("AppConfigRepository: updating config from source version=${sourceConfig.version} for restaurant=$restaurantId")
+                    
+                    // Salva nos caches
+                    cacheDecoded(restaurantId, sourceConfig)
+                    dataStore.saveConfig(restaurantId, sourceConfig)
+                    
+                    // 5. Emite config atualizada
+                    emit(sourceConfig)
+                }
+                AppConfigFetchResult.NotModified -> {
+                    Timber.d("AppConfigRepository: config version=$cachedVersion not modified for restaurant=$restaurantId")
+                }
+                AppConfigFetchResult.NotFound -> {
+                    Timber.w("AppConfigRepository: no config found in source for restaurant=$restaurantId, using default")
+                }
             }
         } catch (e: Exception) {
             Timber.e(e, "AppConfigRepository: failed to fetch config from source for restaurant=$restaurantId")
@@ -69,23 +86,50 @@ class AppConfigRepositoryImpl(
         }
     }
     
-    override suspend fun refreshConfig(restaurantId: String) {
-        try {
+    override suspend fun refreshConfig(restaurantId: String): Result<Unit> {
+        return try {
             Timber.d("AppConfigRepository: refreshing config for restaurant=$restaurantId")
             
-            // Busca do AppConfigSource (mock ou backend)
-            val sourceConfig = appConfigSource.getConfig(restaurantId)
+            // Versão conhecida: memória ou só o cabeçalho do arquivo em disco (sem decodificar o config)
+            val knownVersion = decodedConfigs.get(restaurantId)?.version
+                ?: dataStore.loadVersion(restaurantId)
             
-            if (sourceConfig != null) {
-                // Salva no cache (força atualização)
-                dataStore.saveConfig(restaurantId, sourceConfig)
-                Timber.d("AppConfigRepository: config refreshed version=${sourceConfig.version} for restaurant=$restaurantId")
-            } else {
-                Timber.w("AppConfigRepository: no config found in source for restaurant=$restaurantId")
+            // Busca condicional no AppConfigSource (mock ou backend)
+            when (val result = appConfigSource.getConfigIfModified(restaurantId, knownVersion)) {
+                is AppConfigFetchResult.Modified -> {
+                    val sourceConfig = result.config
+                    cacheDecoded(restaurantId, sourceConfig)
+                    dataStore.saveConfig(restaurantId, sourceConfig)
+                    Timber.d("AppConfigRepository: config refreshed version=${sourceConfig.version} for restaurant=$restaurantId")
+                }
+                AppConfigFetchResult.NotModified -> {
+                    Timber.d("AppConfigRepository: config version=$knownVersion already up to date for restaurant=$restaurantId")
+                }
+                AppConfigFetchResult.NotFound -> {
+                    Timber.w("AppConfigRepository: no config found in source for restaurant=$restaurantId")
+                }
             }
+            Result.success(Unit)
         } catch (e: Exception) {
             Timber.e(e, "AppConfigRepository: failed to refresh config for restaurant=$restaurantId")
+            Result.failure(e)
         }
     }
+    
+    /**
+     * Guarda o config materializado, a menos que já exista uma versão mais nova em memória.
+     */
+    private fun cacheDecoded(restaurantId: String, config: AppConfig) {
+        synchronized(decodedConfigs) {
+            val current = decodedConfigs.get(restaurantId)
+            if (current == null || current.version <= config.version) {
+                decodedConfigs.put(restaurantId, config)
+            }
+        }
+    }
+    
+    companion object {
+        /** Restaurantes recentes mantidos decodificados em memória */
+        private const val MAX_DECODED_CONFIGS = 8
+    }
 }
-
@@ -1,6 +1,10 @@
 package com.speedmenu.tablet.data.repository
 
+import com.speedmenu.tablet.core.di.ApplicationScope
+import com.speedmenu.tablet.core.utils.Clock
+import com.speedmenu.tablet.core.utils.SingleFlight
 import com.speedmenu.tablet.data.datasource.local.LocalDataSource
+import com.speedmenu.tablet.data.datasource.remote.MenuLiveUpdatesSource
 import com.speedmenu.tablet.data.datasource.remote.RemoteDataSource
 import com.speedmenu.tablet.data.model.CategoryEntity
 import com.speedmenu.tablet.data.model.MenuItemEntity
@@ -8,26 +12,68 @@ import com.speedmenu.tablet.data.model.toDomain
 import com.speedmenu.tablet.domain.model.Category
 import com.speedmenu.tablet.domain.model.MenuItem
 import com.speedmenu.tablet.domain.repository.MenuRepository
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.SharingStarted
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.filter
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.onStart
+import kotlinx.coroutines.flow.retryWhen
+import kotlinx.coroutines.flow.shareIn
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import timber.log.Timber
+import java.util.concurrent.atomic.AtomicBoolean
 import javax.inject.Inject
 
 /**
  * Implementação do repositório de menu.
  * Coordena o acesso a dados locais e remotos, implementando a lógica de cache.
- * TODO: Implementar estratégia de cache (buscar local primeiro, depois remoto, etc.)
+ *
+ * Os fluxos observeMenu/observeCategory seguem stale-while-revalidate:
+ * 1. Emitem o snapshot local imediatamente
+ * 2. Disparam revalidação em segundo plano se o cache passou do TTL
+ * 3. A revalidação consulta a versão do catálogo e só baixa o cardápio se ela mudou
+ * 4. Emitem de novo apenas se os dados realmente mudaram
+ *
+ * Alterações ao vivo (disponibilidade e preço) chegam por [MenuLiveUpdatesSource]
+ * e são aplicadas ao catálogo local item a item.
  */
 class MenuRepositoryImpl @Inject constructor(
     private val remoteDataSource: RemoteDataSource,
-    private val localDataSource: LocalDataSource
+    private val localDataSource: LocalDataSource,
+    private val liveUpdatesSource: MenuLiveUpdatesSource,
+    @ApplicationScope private val applicationScope: CoroutineScope,
+    private val clock: Clock
 ) : MenuRepository {
 
+    // Garante no máximo uma revalidação em segundo plano por vez
+    private val isRevalidating = AtomicBoolean(false)
+
+    // Telas que pedem o cardápio ao mesmo tempo compartilham uma única busca remota
+    private val menuItemsFlight = SingleFlight<String, Result<List<MenuItemEntity>>>(applicationScope, "menuItems")
+    private val categoriesFlight = SingleFlight<String, Result<List<CategoryEntity>>>(applicationScope, "categories")
+
+    // Uma única conexão ao canal ao vivo, compartilhada por todas as telas que observam
+    private val itemUpdates: Flow<List<MenuItem>> = liveUpdatesSource.itemPatches()
+        .map { patch -> localDataSource.applyItemPatches(listOf(patch)) }
+        .filter { changed -> changed.isNotEmpty() }
+        .map { changed -> changed.map { it.toDomain() } }
+        .retryWhen { cause, attempt ->
+            val backoff = minOf(LIVE_RETRY_BASE_MILLIS shl attempt.coerceAtMost(5).toInt(), LIVE_RETRY_MAX_MILLIS)
+            Timber.w(cause, "MenuRepository: live updates disconnected, retrying in ${backoff}ms")
+            delay(backoff)
+            true
+        }
+        .shareIn(applicationScope, SharingStarted.WhileSubscribed(LIVE_STOP_TIMEOUT_MILLIS))
+
     override suspend fun getMenuItems(): Result<List<MenuItem>> {
         return try {
-            // TODO: Implementar estratégia de cache
-            // Por enquanto, busca apenas do remoto e salva localmente
-            val result = remoteDataSource.getMenuItems()
-            result.onSuccess { items ->
-                localDataSource.saveMenuItems(items)
-            }
+            val result = fetchRemoteMenuItems()
             result.map { items -> items.map { it.toDomain() } }
         } catch (e: Exception) {
             // Em caso de erro, tenta buscar do cache local
@@ -56,12 +102,20 @@ class MenuRepositoryImpl @Inject constructor(
         }
     }
 
+    /**
+     * Responde a partir do índice local pré-particionado por categoria.
+     * Se já houver cardápio local, retorna imediatamente e revalida em segundo plano;
+     * caso contrário, busca o cardápio completo uma vez e responde do índice.
+     */
     override suspend fun getMenuItemsByCategory(categoryId: String): Result<List<MenuItem>> {
         return try {
-            val allItems = getMenuItems()
-            allItems.map { items ->
-                items.filter { it.category == categoryId }
+            if (localDataSource.hasMenuItems()) {
+                revalidateInBackground()
+            } else {
+                val result = fetchRemoteMenuItems()
+                result.exceptionOrNull()?.let { return Result.failure(it) }
             }
+            Result.success(localDataSource.getMenuItemsByCategory(categoryId).map { it.toDomain() })
         } catch (e: Exception) {
             Result.failure(e)
         }
@@ -69,11 +123,7 @@ class MenuRepositoryImpl @Inject constructor(
 
     override suspend fun getCategories(): Result<List<Category>> {
         return try {
-            // TODO: Implementar estratégia de cache
-            val result = remoteDataSource.getCategories()
-            result.onSuccess { categories ->
-                localDataSource.saveCategories(categories)
-            }
+            val result = fetchRemoteCategories()
             result.map { categories -> categories.map { it.toDomain() } }
         } catch (e: Exception) {
             val localCategories = localDataSource.getCategories()
@@ -84,5 +134,142 @@ class MenuRepositoryImpl @Inject constructor(
             }
         }
     }
-}
 
+    /**
+     * Busca no índice textual local. Com cache frio, baixa o cardápio antes de buscar;
+     * caso contrário responde do índice e revalida em segundo plano.
+     * A consulta roda fora da main thread, pois a primeira chamada pode restaurar e indexar o catálogo.
+     */
+    override suspend fun searchMenu(query: String, limit: Int): Result<List<MenuItem>> {
+        if (query.isBlank()) return Result.success(emptyList())
+        return try {
+            if (localDataSource.hasMenuItems()) {
+                revalidateInBackground()
+            } else {
+                val result = fetchRemoteMenuItems()
+                result.exceptionOrNull()?.let { return Result.failure(it) }
+            }
+            val items = withContext(Dispatchers.Default) {
+                localDataSource.searchMenuItems(query, limit)
+            }
+            Result.success(items.map { it.toDomain() })
+        } catch (e: Exception) {
+            Result.failure(e)
+        }
+    }
+
+    override fun observeMenu(): Flow<List<MenuItem>> {
+        return localDataSource.observeMenuItems()
+            .onStart { revalidateInBackground() }
+            .map { items -> items.map { it.toDomain() } }
+            .distinctUntilChanged()
+    }
+
+    override fun observeCategory(categoryId: String): Flow<List<MenuItem>> {
+        return localDataSource.observeMenuItemsByCategory(categoryId)
+            .onStart { revalidateInBackground() }
+            .map { items -> items.map { it.toDomain() } }
+            .distinctUntilChanged()
+    }
+
+    override fun observeItemUpdates(): Flow<List<MenuItem>> = itemUpdates
+
+    override suspend fun refreshMenu(): Result<Unit> {
+        // Uma revalidação já em andamento cobre este refresh
+        if (!isRevalidating.compareAndSet(false, true)) return Result.success(Unit)
+        return try {
+            revalidate()
+            Result.success(Unit)
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            Timber.w(e, "MenuRepository: refresh failed")
+            Result.failure(e)
+        } finally {
+            isRevalidating.set(false)
+        }
+    }
+
+    /**
+     * Atualiza o cardápio local a partir do remoto sem bloquear o chamador.
+     * Chamadas concorrentes enquanto uma revalidação está em andamento são ignoradas.
+     */
+    private fun revalidateInBackground() {
+        if (!isRevalidating.compareAndSet(false, true)) return
+        applicationScope.launch {
+            try {
+                revalidate()
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                Timber.w(e, "MenuRepository: background revalidation failed")
+            } finally {
+                isRevalidating.set(false)
+            }
+        }
+    }
+
+    /**
+     * Revalida o cache local respeitando o TTL e a versão do catálogo.
+     * Com catálogo local versionado, pede apenas o delta desde a versão local;
+     * sem catálogo local (ou sem versão conhecida), baixa o cardápio completo.
+     */
+    private suspend fun revalidate() {
+        val now = clock.nowMillis()
+        val hasLocalMenu = localDataSource.hasMenuItems()
+        if (hasLocalMenu && now - localDataSource.getLastSyncedAtMillis() < MENU_TTL_MILLIS) {
+            return
+        }
+
+        val localVersion = localDataSource.getCatalogVersion()
+        if (hasLocalMenu && localVersion > 0L) {
+            val changes = remoteDataSource.getMenuChanges(localVersion).getOrThrow()
+            localDataSource.applyMenuChanges(changes, now)
+            Timber.d("MenuRepository: catalog synced incrementally $localVersion -> ${changes.catalogVersion}")
+            return
+        }
+
+        val remoteVersion = remoteDataSource.getCatalogVersion().getOrNull()
+        fetchRemoteCategories().getOrThrow()
+        val items = fetchRemoteMenuItems().getOrThrow()
+        localDataSource.markSynced(remoteVersion ?: 0L, now)
+        Timber.d("MenuRepository: catalog downloaded version=$remoteVersion items=${items.size}")
+    }
+
+    /**
+     * Busca os itens no remoto e salva localmente, coalescendo chamadas concorrentes.
+     * A gravação local acontece uma única vez por busca, dentro da execução compartilhada.
+     */
+    private suspend fun fetchRemoteMenuItems(): Result<List<MenuItemEntity>> {
+        return menuItemsFlight.run(KEY_ALL) {
+            remoteDataSource.getMenuItems().onSuccess { items ->
+                localDataSource.saveMenuItems(items)
+            }
+        }
+    }
+
+    /**
+     * Busca as categorias no remoto e salva localmente, coalescendo chamadas concorrentes.
+     */
+    private suspend fun fetchRemoteCategories(): Result<List<CategoryEntity>> {
+        return categoriesFlight.run(KEY_ALL) {
+            remoteDataSource.getCategories().onSuccess { categories ->
+                localDataSource.saveCategories(categories)
+            }
+        }
+    }
+
+    companion object {
+        private const val KEY_ALL = "all"
+
+        // Tempo em que o cardápio local é considerado fresco sem consultar o servidor
+        private const val MENU_TTL_MILLIS = 5 * 60 * 1000L
+
+        // Reconexão do canal ao vivo: 1s, 2s, 4s... até 30s
+        private const val LIVE_RETRY_BASE_MILLIS = 1_000L
+        private const val LIVE_RETRY_MAX_MILLIS = 30_000L
+
+        // Mantém a conexão aberta por um tempo após o último coletor sair (ex.: troca de tela)
+        private const val LIVE_STOP_TIMEOUT_MILLIS = 5_000L
+    }
+}
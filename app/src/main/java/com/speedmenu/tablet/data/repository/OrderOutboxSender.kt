@@ -0,0 +1,131 @@
+package com.speedmenu.tablet.data.repository
+
+import com.speedmenu.tablet.core.di.ApplicationScope
+import com.speedmenu.tablet.core.refresh.RefreshPolicy
+import com.speedmenu.tablet.data.datasource.remote.OrderSubmissionResult
+import com.speedmenu.tablet.data.datasource.remote.OrderSubmissionSource
+import com.speedmenu.tablet.data.local.OrderOutbox
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import timber.log.Timber
+import java.util.concurrent.atomic.AtomicBoolean
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Envio em segundo plano dos pedidos da [OrderOutbox].
+ *
+ * - Entrega em ordem de finalização; uma falha temporária interrompe a rodada para que
+ *   pedidos da mesma comanda não cheguem fora de ordem
+ * - Backoff exponencial com jitter entre rodadas que falharam ([RefreshPolicy])
+ * - Cada pedido é enviado sempre com a mesma chave de idempotência: se uma resposta se perder
+ *   e o pedido for reenviado, o servidor reconhece a repetição
+ * - Pedidos recusados pelo servidor saem da fila (ver [OrderOutbox.reject])
+ *
+ * Pedidos que ficaram na outbox (ex: tablet reiniciou sem rede) são enviados ao iniciar.
+ * Erros da própria outbox (ex: disco) contam como falha da rodada: o ciclo nunca termina por eles.
+ */
+@Singleton
+class OrderOutboxSender internal constructor(
+    private val outbox: OrderOutbox,
+    private val submissionSource: OrderSubmissionSource,
+    private val applicationScope: CoroutineScope,
+    private val policy: RefreshPolicy
+) {
+
+    @Inject
+    constructor(
+        outbox: OrderOutbox,
+        submissionSource: OrderSubmissionSource,
+        @ApplicationScope applicationScope: CoroutineScope
+    ) : this(
+        outbox,
+        submissionSource,
+        applicationScope,
+        RefreshPolicy(
+            intervalMillis = 0L,
+            backoffBaseMillis = BACKOFF_BASE_MILLIS,
+            backoffMaxMillis = BACKOFF_MAX_MILLIS
+        )
+    )
+
+    private val started = AtomicBoolean(false)
+
+    // Sinal de "há pedido novo na outbox"; vários sinais seguidos valem por um
+    private val wakeUp = Channel<Unit>(Channel.CONFLATED)
+
+    /**
+     * Inicia o envio (uma única vez por processo) e avisa que há pedidos na outbox.
+     */
+    fun start() {
+        wakeUp.trySend(Unit)
+        if (!started.compareAndSet(false, true)) return
+        applicationScope.launch { runSendLoop() }
+        Timber.d("OrderOutboxSender: started")
+    }
+
+    /**
+     * Ciclo de envio. Roda até o scope ser cancelado.
+     */
+    internal suspend fun runSendLoop() {
+        var consecutiveFailures = 0
+        while (true) {
+            wakeUp.receive()
+            while (!trySendPending()) {
+                consecutiveFailures++
+                val nextDelay = policy.delayAfterFailureMillis(consecutiveFailures)
+                Timber.d("OrderOutboxSender: delivery failed ($consecutiveFailures in a row), next attempt in ${nextDelay / 1000}s")
+                delay(nextDelay)
+            }
+            consecutiveFailures = 0
+        }
+    }
+
+    /**
+     * [sendPending] protegido: @return false se a rodada falhou, no envio ou na outbox
+     */
+    private suspend fun trySendPending(): Boolean {
+        return try {
+            sendPending()
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            Timber.e(e, "OrderOutboxSender: outbox failure, will retry")
+            false
+        }
+    }
+
+    /**
+     * Envia os pedidos pendentes, do mais antigo para o mais novo.
+     * @return true se a outbox ficou vazia; false se uma falha temporária interrompeu a rodada
+     */
+    private suspend fun sendPending(): Boolean {
+        for (order in outbox.pending()) {
+            val result = try {
+                submissionSource.submit(order.idempotencyKey, order.payload)
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                Timber.e(e, "OrderOutboxSender: failed to send order ${order.idempotencyKey}")
+                OrderSubmissionResult.RETRY
+            }
+            when (result) {
+                OrderSubmissionResult.DELIVERED -> {
+                    outbox.remove(order.idempotencyKey)
+                    Timber.d("OrderOutboxSender: order ${order.idempotencyKey} delivered")
+                }
+                OrderSubmissionResult.REJECTED -> outbox.reject(order.idempotencyKey)
+                OrderSubmissionResult.RETRY -> return false
+            }
+        }
+        return true
+    }
+
+    companion object {
+        private const val BACKOFF_BASE_MILLIS = 2_000L
+        private const val BACKOFF_MAX_MILLIS = 5 * 60 * 1000L
+    }
+}
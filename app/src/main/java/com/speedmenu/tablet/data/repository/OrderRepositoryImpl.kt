@@ -1,84 +1,109 @@
 package com.speedmenu.tablet.data.repository
 
+import com.speedmenu.tablet.core.refresh.RefreshPolicy
+import com.speedmenu.tablet.core.utils.Clock
+import com.speedmenu.tablet.data.datasource.remote.OrderSubmissionDto
+import com.speedmenu.tablet.data.datasource.remote.OrderUpdatesSource
+import com.speedmenu.tablet.data.datasource.remote.orderSubmissionOf
+import com.speedmenu.tablet.data.local.OrderOutbox
+import com.speedmenu.tablet.data.local.PendingOrder
 import com.speedmenu.tablet.domain.model.CartItem
-import com.speedmenu.tablet.domain.model.CartItemOptions
+import com.speedmenu.tablet.domain.model.OrderUpdate
 import com.speedmenu.tablet.domain.repository.OrderRepository
-import com.speedmenu.tablet.R
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import kotlinx.serialization.json.Json
+import timber.log.Timber
+import java.util.UUID
 import javax.inject.Inject
 
 /**
  * Implementação do repositório de pedidos.
- * Por enquanto, usa dados mockados. Em produção, buscará do backend.
+ *
+ * A finalização grava o pedido na [OrderOutbox] e retorna; o [OrderOutboxSender] entrega
+ * em segundo plano. O cliente nunca espera pela rede no checkout.
+ *
+ * O acompanhamento ([observeOrder]) usa long-poll adaptativo no [OrderUpdatesSource]:
+ * - cada consulta pede só o que mudou depois da última versão recebida
+ * - se o servidor responde sem alterações antes do fim da espera (sem suporte a long-poll, ou
+ *   proxy cortando a conexão), as consultas se espaçam de [MIN_IDLE_POLL_MILLIS] até
+ *   [MAX_IDLE_POLL_MILLIS]; a primeira alteração volta ao intervalo mínimo
+ * - falhas reconectam com backoff exponencial ([RefreshPolicy]), sem perder a versão
  */
-class OrderRepositoryImpl @Inject constructor() : OrderRepository {
+class OrderRepositoryImpl @Inject constructor(
+    private val orderOutbox: OrderOutbox,
+    private val orderOutboxSender: OrderOutboxSender,
+    private val orderUpdatesSource: OrderUpdatesSource,
+    private val clock: Clock
+) : OrderRepository {
 
-    override suspend fun getOrderByComandaCode(comandaCode: String): Result<List<CartItem>> {
-        return try {
-            // Simula delay de rede
-            kotlinx.coroutines.delay(500)
-            
-            // Mock: retorna pedido de exemplo baseado no código da comanda
-            // Em produção, isso virá do backend
-            val mockOrder = createMockOrder(comandaCode)
-            
-            Result.success(mockOrder)
-        } catch (e: Exception) {
-            Result.failure(e)
+    private val reconnectPolicy = RefreshPolicy(
+        intervalMillis = 0L,
+        backoffBaseMillis = BACKOFF_BASE_MILLIS,
+        backoffMaxMillis = BACKOFF_MAX_MILLIS
+    )
+
+    override fun observeOrder(comandaCode: String): Flow<OrderUpdate> = flow {
+        var version: Long? = null
+        var idlePollMillis = MIN_IDLE_POLL_MILLIS
+        var consecutiveFailures = 0
+        while (true) {
+            // A carga inicial responde na hora; as seguintes esperam por alterações
+            val waitSeconds = if (version == null) 0 else LONG_POLL_WAIT_SECONDS
+            val requestedAt = clock.nowMillis()
+            val changes = try {
+                orderUpdatesSource.fetchChanges(comandaCode, version, waitSeconds)
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                consecutiveFailures++
+                val nextDelay = reconnectPolicy.delayAfterFailureMillis(consecutiveFailures)
+                Timber.w(e, "OrderRepositoryImpl: failed to fetch order $comandaCode, retrying in ${nextDelay / 1000}s")
+                emit(OrderUpdate.Unavailable(e.message ?: "Erro ao carregar pedido"))
+                delay(nextDelay)
+                continue
+            }
+            consecutiveFailures = 0
+            version = changes.version
+            changes.updates.forEach { emit(it) }
+
+            if (!changes.isEmpty) {
+                idlePollMillis = MIN_IDLE_POLL_MILLIS
+            } else if (clock.nowMillis() - requestedAt < waitSeconds * 1000L / 2) {
+                // Respondeu vazio bem antes do fim da espera: o long-poll não está segurando a conexão
+                delay(idlePollMillis)
+                idlePollMillis = (idlePollMillis * 2).coerceAtMost(MAX_IDLE_POLL_MILLIS)
+            }
         }
     }
-    
+
     override suspend fun finalizeOrder(comandaCode: String, items: List<CartItem>): Result<Unit> {
+        if (items.isEmpty()) {
+            return Result.failure(Exception("Carrinho vazio"))
+        }
         return try {
-            // Simula delay de rede
-            kotlinx.coroutines.delay(1000)
-            
-            // Mock: simula finalização bem-sucedida
-            // Em produção, isso enviará os dados para o backend
-            if (items.isEmpty()) {
-                Result.failure(Exception("Carrinho vazio"))
-            } else {
-                Result.success(Unit)
-            }
+            // A chave acompanha o pedido em todas as tentativas; o servidor descarta repetições
+            val idempotencyKey = UUID.randomUUID().toString()
+            val submission = orderSubmissionOf(idempotencyKey, comandaCode, items)
+            val payload = Json.encodeToString(OrderSubmissionDto.serializer(), submission).toByteArray()
+            orderOutbox.enqueue(PendingOrder(idempotencyKey, clock.nowMillis(), payload))
+            Timber.d("OrderRepositoryImpl: order $idempotencyKey for $comandaCode queued (${items.size} lines)")
+            orderOutboxSender.start()
+            Result.success(Unit)
         } catch (e: Exception) {
-            Result.failure(e)
+            // Só falha se não foi possível gravar o pedido no tablet
+            Timber.e(e, "OrderRepositoryImpl: failed to queue order for $comandaCode")
+            Result.failure(Exception("Não foi possível registrar o pedido", e))
         }
     }
-    
-    /**
-     * Cria um pedido mockado para testes.
-     * Em produção, isso será substituído por chamada ao backend.
-     */
-    private fun createMockOrder(comandaCode: String): List<CartItem> {
-        // Se o código da comanda contém "VAZIO" ou "EMPTY", retorna lista vazia
-        if (comandaCode.contains("VAZIO", ignoreCase = true) || 
-            comandaCode.contains("EMPTY", ignoreCase = true)) {
-            return emptyList()
-        }
-        
-        // Caso contrário, retorna pedido de exemplo
-        return listOf(
-            CartItem(
-                id = "item_1_${comandaCode}",
-                productId = "file_mignon",
-                name = "Filé Mignon ao Molho",
-                price = 68.90,
-                quantity = 1,
-                imageResId = R.drawable.pratos_principais,
-                options = CartItemOptions(
-                    ingredients = mapOf("Batatas" to 1),
-                    observations = "Bem passado"
-                )
-            ),
-            CartItem(
-                id = "item_2_${comandaCode}",
-                productId = "agua",
-                name = "Água Mineral",
-                price = 5.00,
-                quantity = 2,
-                imageResId = R.drawable.bebidas,
-                options = CartItemOptions()
-            )
-        )
+
+    companion object {
+        private const val LONG_POLL_WAIT_SECONDS = 25
+        private const val MIN_IDLE_POLL_MILLIS = 2_000L
+        private const val MAX_IDLE_POLL_MILLIS = 30_000L
+        private const val BACKOFF_BASE_MILLIS = 2_000L
+        private const val BACKOFF_MAX_MILLIS = 60_000L
     }
 }
-
@@ -0,0 +1,200 @@
+package com.speedmenu.tablet.data.repository
+
+import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.FulfillmentType
+import com.speedmenu.tablet.domain.model.TableCartOperation
+
+/**
+ * Réplica do carrinho compartilhado da mesa: CRDT baseado em operações sobre as linhas do carrinho.
+ *
+ * Cada linha combina:
+ * - quantidade como contador (soma dos ajustes de todas as réplicas): "+1" em dois tablets ao mesmo tempo vira +2
+ * - tipo de atendimento como registro last-writer-wins por (timestamp de Lamport, replicaId)
+ * - remoção como marca definitiva (a linha some em todas as réplicas)
+ * - dados do item e posição da criação mais antiga, se duas réplicas criarem a mesma linha
+ *
+ * As operações comutam e são idempotentes (cada réplica aplica a operação de uma origem uma
+ * única vez, pela sequência): réplicas que receberam o mesmo conjunto de operações, em
+ * qualquer ordem, mostram as mesmas linhas na mesma ordem. Operações de uma origem que chegam
+ * antes da anterior dela ficam guardadas até a lacuna ser preenchida; operações de uma linha
+ * que ainda não chegou (ex: ajuste antes do AddLine) ficam guardadas até ela chegar.
+ *
+ * As operações locais são aplicadas na hora; o envio para as outras réplicas é assíncrono.
+ *
+ * Não é thread-safe: o [TableCartSync] serializa o acesso.
+ *
+ * @param replicaId ID único desta réplica (por tablet e por sessão na mesa)
+ */
+internal class TableCartReplica(val replicaId: String) {
+
+    private class Line {
+        var template: CartItem? = null
+        var addedAt = 0L
+        var addedBy = ""
+        var quantity = 0
+        var fulfillmentType: FulfillmentType? = null
+        var fulfillmentAt = -1L
+        var fulfillmentBy = ""
+        var removed = false
+    }
+
+    private val lines = HashMap<String, Line>()
+
+    // Maior sequência aplicada de cada réplica (vetor de versões)
+    private val appliedSequence = HashMap<String, Long>()
+
+    // Operações recebidas antes da anterior da mesma origem, por sequência
+    private val outOfOrder = HashMap<String, HashMap<Long, TableCartOperation>>()
+
+    private var nextSequence = 1L
+    private var lamport = 0L
+
+    /**
+     * Adiciona o item: soma à linha se ela já existe aqui, senão cria a linha.
+     *
+     * Se a linha já foi removida na mesa (ex: outro tablet a removeu enquanto este ainda a
+     * mostrava), a remoção vence: o item vai para uma linha nova, com outro ID. Quem chama
+     * compara o ID do [TableCartOperation.AddLine] retornado com o do item.
+     *
+     * @param item Item com o ID da linha e a quantidade adicionada
+     */
+    fun localAdd(item: CartItem): TableCartOperation {
+        val line = lines[item.id]
+        val operation = when {
+            line?.removed == true -> {
+                // Único entre réplicas: (replicaId, sequência) não se repete
+                val lineId = "${item.productId}_${replicaId}_$nextSequence"
+                TableCartOperation.AddLine(replicaId, nextSequence, nextTimestamp(), item.copy(id = lineId))
+            }
+            line?.template != null ->
+                TableCartOperation.AdjustQuantity(replicaId, nextSequence, nextTimestamp(), item.id, item.quantity)
+            else -> TableCartOperation.AddLine(replicaId, nextSequence, nextTimestamp(), item)
+        }
+        return applyLocal(operation)
+    }
+
+    fun localRemove(lineId: String): TableCartOperation? {
+        if (!isVisible(lines[lineId])) return null
+        return applyLocal(TableCartOperation.RemoveLine(replicaId, nextSequence, nextTimestamp(), lineId))
+    }
+
+    fun localSetQuantity(lineId: String, quantity: Int): TableCartOperation? {
+        val line = lines[lineId]
+        if (!isVisible(line)) return null
+        val delta = quantity - line!!.quantity
+        if (delta == 0) return null
+        return applyLocal(TableCartOperation.AdjustQuantity(replicaId, nextSequence, nextTimestamp(), lineId, delta))
+    }
+
+    fun localSetFulfillmentType(lineId: String, type: FulfillmentType): TableCartOperation? {
+        if (!isVisible(lines[lineId])) return null
+        return applyLocal(TableCartOperation.SetFulfillmentType(replicaId, nextSequence, nextTimestamp(), lineId, type))
+    }
+
+    /**
+     * Remove as linhas visíveis nesta réplica (linhas adicionadas por outros tablets e ainda
+     * não recebidas continuam: a remoção só vale para o que foi observado).
+     */
+    fun localClear(): List<TableCartOperation> {
+        val visibleIds = lines.filterValues { isVisible(it) }.keys.toList()
+        return visibleIds.mapNotNull { localRemove(it) }
+    }
+
+    /**
+     * Aplica uma operação recebida de outra réplica (ou o eco de uma local).
+     * Uma operação adiantada fica guardada e é aplicada assim que as anteriores da mesma origem chegarem.
+     * @return true se alguma operação foi aplicada; false se repetida ou ainda aguardando as anteriores
+     */
+    fun applyRemote(operation: TableCartOperation): Boolean {
+        val origin = operation.replicaId
+        val applied = appliedSequence[origin] ?: 0L
+        if (operation.sequence <= applied) return false
+        if (operation.sequence > applied + 1) {
+            outOfOrder.getOrPut(origin) { HashMap() }[operation.sequence] = operation
+            return false
+        }
+
+        var next: TableCartOperation? = operation
+        while (next != null) {
+            lamport = maxOf(lamport, next.timestamp)
+            apply(next)
+            next = outOfOrder[origin]?.remove(next.sequence + 1)
+        }
+        if (outOfOrder[origin]?.isEmpty() == true) outOfOrder.remove(origin)
+        return true
+    }
+
+    /**
+     * Linhas visíveis, em ordem de criação (igual em todas as réplicas).
+     */
+    fun visibleLines(): List<CartItem> {
+        return lines.entries
+            .filter { isVisible(it.value) }
+            .sortedWith(compareBy<Map.Entry<String, Line>>({ it.value.addedAt }, { it.value.addedBy }, { it.key }))
+            .map { (_, line) ->
+                line.template!!.copy(
+                    quantity = line.quantity,
+                    fulfillmentType = line.fulfillmentType ?: line.template!!.fulfillmentType
+                )
+            }
+    }
+
+    fun containsLine(lineId: String): Boolean = lines[lineId]?.template != null
+
+    /**
+     * Maior sequência aplicada (sem lacunas) de cada réplica: quem sincroniza pede só o que vem
+     * depois. Operações guardadas fora de ordem não entram, então a lacuna é pedida de novo.
+     */
+    fun versionVector(): Map<String, Long> = HashMap(appliedSequence)
+
+    private fun applyLocal(operation: TableCartOperation): TableCartOperation {
+        nextSequence++
+        apply(operation)
+        return operation
+    }
+
+    private fun nextTimestamp(): Long = ++lamport
+
+    private fun apply(operation: TableCartOperation) {
+        appliedSequence[operation.replicaId] = operation.sequence
+        when (operation) {
+            is TableCartOperation.AddLine -> {
+                val line = lines.getOrPut(operation.item.id) { Line() }
+                // A mesma linha criada em duas réplicas: vale a primeira criação, em qualquer ordem de chegada
+                val earlier = line.template == null || operation.timestamp < line.addedAt ||
+                    (operation.timestamp == line.addedAt && operation.replicaId < line.addedBy)
+                if (earlier) {
+                    line.template = operation.item
+                    line.addedAt = operation.timestamp
+                    line.addedBy = operation.replicaId
+                }
+                line.quantity += operation.item.quantity
+                setFulfillment(line, operation.item.fulfillmentType, operation.timestamp, operation.replicaId)
+            }
+            is TableCartOperation.AdjustQuantity -> {
+                lines.getOrPut(operation.lineId) { Line() }.quantity += operation.delta
+            }
+            is TableCartOperation.SetFulfillmentType -> {
+                val line = lines.getOrPut(operation.lineId) { Line() }
+                setFulfillment(line, operation.type, operation.timestamp, operation.replicaId)
+            }
+            is TableCartOperation.RemoveLine -> {
+                lines.getOrPut(operation.lineId) { Line() }.removed = true
+            }
+        }
+    }
+
+    private fun setFulfillment(line: Line, type: FulfillmentType, timestamp: Long, replicaId: String) {
+        val newer = timestamp > line.fulfillmentAt ||
+            (timestamp == line.fulfillmentAt && replicaId > line.fulfillmentBy)
+        if (newer) {
+            line.fulfillmentType = type
+            line.fulfillmentAt = timestamp
+            line.fulfillmentBy = replicaId
+        }
+    }
+
+    private fun isVisible(line: Line?): Boolean {
+        return line != null && line.template != null && !line.removed && line.quantity > 0
+    }
+}
@@ -0,0 +1,236 @@
+package com.speedmenu.tablet.data.repository
+
+import com.speedmenu.tablet.core.di.ApplicationScope
+import com.speedmenu.tablet.core.refresh.RefreshPolicy
+import com.speedmenu.tablet.data.datasource.remote.TableCartSyncSource
+import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.CartOperation
+import com.speedmenu.tablet.domain.model.TableCartOperation
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.channels.BufferOverflow
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.SharedFlow
+import kotlinx.coroutines.flow.asSharedFlow
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import timber.log.Timber
+import java.util.UUID
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Carrinho compartilhado entre os tablets de uma mesa.
+ *
+ * - Operações locais do carrinho viram operações do CRDT ([TableCartReplica]) na hora,
+ *   sem esperar a rede
+ * - O envio é agrupado: operações próximas saem num único lote, [PUBLISH_DELAY_MS] depois da primeira;
+ *   lotes que falharam são reenviados em ordem, com backoff
+ * - As operações dos outros tablets chegam pelo [TableCartSyncSource]; a cada lote aplicado,
+ *   [remoteChanges] avisa para o carrinho local se atualizar a partir de [currentLines]
+ * - Item adicionado a uma linha que a mesa já removeu vai para uma linha nova
+ *   ([TableCartReplica.localAdd]); [remoteChanges] também avisa, para o carrinho local trocar de linha
+ *
+ * Ao entrar na mesa, primeiro recebe o histórico dela e depois publica as linhas locais que a
+ * mesa ainda não conhece (ex: itens escolhidos antes de entrar, ou restaurados após um reboot).
+ */
+@Singleton
+class TableCartSync internal constructor(
+    private val source: TableCartSyncSource,
+    private val applicationScope: CoroutineScope,
+    private val policy: RefreshPolicy
+) {
+
+    @Inject
+    constructor(
+        source: TableCartSyncSource,
+        @ApplicationScope applicationScope: CoroutineScope
+    ) : this(
+        source,
+        applicationScope,
+        RefreshPolicy(
+            intervalMillis = 0L,
+            backoffBaseMillis = BACKOFF_BASE_MILLIS,
+            backoffMaxMillis = BACKOFF_MAX_MILLIS
+        )
+    )
+
+    private val lock = Any()
+    private var tableId: String? = null
+    private var replica: TableCartReplica? = null
+    private var session: Job? = null
+    private val outgoing = ArrayList<TableCartOperation>()
+    private var publishScheduled = false
+
+    // Lotes publicados um de cada vez, na ordem em que foram gerados
+    private val publishMutex = Mutex()
+
+    private val _remoteChanges = MutableSharedFlow<Unit>(
+        extraBufferCapacity = 1,
+        onBufferOverflow = BufferOverflow.DROP_OLDEST
+    )
+
+    /**
+     * Emite quando o carrinho da mesa mudou sem passar pelo carrinho local: operações de outros
+     * tablets, ou uma linha local que ganhou outro ID na mesa.
+     */
+    val remoteChanges: SharedFlow<Unit> = _remoteChanges.asSharedFlow()
+
+    /**
+     * Entra no carrinho compartilhado da mesa (sai da anterior, se houver).
+     *
+     * @param tableId Mesa ou comanda
+     * @param localLines Linhas atuais do carrinho local, publicadas após a carga inicial
+     */
+    fun join(tableId: String, localLines: () -> List<CartItem>) {
+        synchronized(lock) {
+            if (this.tableId == tableId) return
+            leaveLocked()
+            val newReplica = TableCartReplica(UUID.randomUUID().toString())
+            this.tableId = tableId
+            replica = newReplica
+            session = applicationScope.launch { receiveLoop(tableId, newReplica, localLines) }
+        }
+        Timber.d("TableCartSync: joined table $tableId")
+    }
+
+    /**
+     * Sai do carrinho da mesa; o carrinho local continua com as linhas atuais.
+     */
+    fun leave() {
+        synchronized(lock) { leaveLocked() }
+    }
+
+    /**
+     * Linhas do carrinho da mesa (null fora de uma mesa).
+     */
+    fun currentLines(): List<CartItem>? = synchronized(lock) { replica?.visibleLines() }
+
+    /**
+     * Replica no carrinho da mesa uma operação já aplicada ao carrinho local. Não bloqueia.
+     */
+    fun onLocalOperation(operation: CartOperation) {
+        val lineMoved = synchronized(lock) {
+            val replica = replica ?: return
+            var lineMoved = false
+            when (operation) {
+                is CartOperation.Add -> {
+                    val replicated = replica.localAdd(operation.item)
+                    enqueueLocked(replicated)
+                    lineMoved = replicated is TableCartOperation.AddLine && replicated.item.id != operation.item.id
+                }
+                is CartOperation.Remove -> replica.localRemove(operation.lineId)?.let { enqueueLocked(it) }
+                is CartOperation.SetQuantity -> replica.localSetQuantity(operation.lineId, operation.quantity)?.let { enqueueLocked(it) }
+                is CartOperation.SetFulfillmentType -> replica.localSetFulfillmentType(operation.lineId, operation.type)?.let { enqueueLocked(it) }
+                CartOperation.Clear -> replica.localClear().forEach { enqueueLocked(it) }
+                // Só o próprio carrinho da mesa substitui todas as linhas: nada a replicar
+                is CartOperation.ReplaceAll -> Unit
+            }
+            lineMoved
+        }
+        // A linha local foi removida na mesa: o carrinho local relê as linhas com o novo ID
+        if (lineMoved) _remoteChanges.tryEmit(Unit)
+    }
+
+    private fun leaveLocked() {
+        val previous = tableId ?: return
+        session?.cancel()
+        session = null
+        replica = null
+        tableId = null
+        outgoing.clear()
+        Timber.d("TableCartSync: left table $previous")
+    }
+
+    private fun enqueueLocked(operation: TableCartOperation) {
+        outgoing += operation
+        if (publishScheduled) return
+        publishScheduled = true
+        applicationScope.launch {
+            delay(PUBLISH_DELAY_MS)
+            publish()
+        }
+    }
+
+    /**
+     * Publica as operações pendentes num único lote; em caso de falha, tenta de novo com backoff.
+     */
+    private suspend fun publish() {
+        publishMutex.withLock {
+            var consecutiveFailures = 0
+            while (true) {
+                val (table, batch) = synchronized(lock) {
+                    publishScheduled = false
+                    val batch = ArrayList(outgoing)
+                    outgoing.clear()
+                    tableId to batch
+                }
+                if (table == null || batch.isEmpty()) return
+
+                try {
+                    source.publish(table, batch)
+                    return
+                } catch (e: CancellationException) {
+                    throw e
+                } catch (e: Exception) {
+                    consecutiveFailures++
+                    val nextDelay = policy.delayAfterFailureMillis(consecutiveFailures)
+                    Timber.w(e, "TableCartSync: failed to publish ${batch.size} operations, retrying in ${nextDelay / 1000}s")
+                    synchronized(lock) {
+                        // Devolve o lote à frente da fila (se ainda na mesma mesa) para manter a ordem
+                        if (tableId == table) outgoing.addAll(0, batch)
+                        publishScheduled = true
+                    }
+                    delay(nextDelay)
+                }
+            }
+        }
+    }
+
+    /**
+     * Recebe as operações da mesa até sair dela, reconectando com backoff.
+     */
+    private suspend fun receiveLoop(tableId: String, replica: TableCartReplica, localLines: () -> List<CartItem>) {
+        var initialSyncDone = false
+        var consecutiveFailures = 0
+        while (true) {
+            try {
+                source.operations(tableId) { synchronized(lock) { replica.versionVector() } }.collect { batch ->
+                    consecutiveFailures = 0
+                    val changed = synchronized(lock) {
+                        if (this.replica !== replica) throw CancellationException("Left table $tableId")
+                        var changed = false
+                        batch.forEach { if (replica.applyRemote(it)) changed = true }
+                        if (!initialSyncDone) {
+                            initialSyncDone = true
+                            localLines()
+                                .filter { !replica.containsLine(it.id) }
+                                .forEach { enqueueLocked(replica.localAdd(it)) }
+                            changed = true
+                        }
+                        changed
+                    }
+                    if (changed) _remoteChanges.emit(Unit)
+                }
+                Timber.d("TableCartSync: stream for table $tableId ended")
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                Timber.w(e, "TableCartSync: connection to table $tableId lost")
+            }
+            consecutiveFailures++
+            val nextDelay = policy.delayAfterFailureMillis(consecutiveFailures)
+            Timber.d("TableCartSync: reconnecting to table $tableId in ${nextDelay / 1000}s")
+            delay(nextDelay)
+        }
+    }
+
+    companion object {
+        private const val PUBLISH_DELAY_MS = 50L
+        private const val BACKOFF_BASE_MILLIS = 1_000L
+        private const val BACKOFF_MAX_MILLIS = 60_000L
+    }
+}
@@ -1,5 +1,7 @@
 package com.speedmenu.tablet.domain.model
 
+import java.util.Objects
+
 /**
  * Configuração completa do aplicativo para um restaurante (tenant).
  * Esta é a fonte única de verdade para todas as configurações remotas.
@@ -8,11 +10,32 @@ package com.speedmenu.tablet.domain.model
  * @param branding Configurações de branding (nome, logo)
  * @param theme Esquemas de cores (light/dark)
  * @param home Configurações da tela Home (carrossel, etc.)
+ *
+ * O config é imutável, então o hash do conteúdo é calculado uma única vez.
+ * A igualdade compara versão e hash antes do conteúdo: configs diferentes (o caso comum
+ * ao receber um config novo) se resolvem sem percorrer tema e carrossel. É essa igualdade
+ * que o StateFlow usa para descartar emissões repetidas.
  */
 data class AppConfig(
     val version: Int,
     val branding: Branding,
     val theme: ThemeTokens,
     val home: HomeConfig
-)
+) {
+    private val contentHash: Int by lazy(LazyThreadSafetyMode.PUBLICATION) {
+        Objects.hash(version, branding, theme, home)
+    }
+
+    override fun hashCode(): Int = contentHash
+
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (other !is AppConfig) return false
+        return version == other.version &&
+            contentHash == other.contentHash &&
+            branding == other.branding &&
+            theme == other.theme &&
+            home == other.home
+    }
+}
 
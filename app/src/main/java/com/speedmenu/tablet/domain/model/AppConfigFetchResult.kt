@@ -0,0 +1,23 @@
+package com.speedmenu.tablet.domain.model
+
+/**
+ * Resultado de uma busca condicional de AppConfig.
+ * A fonte só devolve o config inteiro quando ele é mais novo do que a versão conhecida pelo tablet.
+ */
+sealed class AppConfigFetchResult {
+    /**
+     * Há um config mais novo (ou o tablet não tinha nenhum).
+     * @param config Config completo retornado pela fonte
+     */
+    data class Modified(val config: AppConfig) : AppConfigFetchResult()
+    
+    /**
+     * A versão conhecida ainda é a atual; nada foi transferido nem decodificado.
+     */
+    object NotModified : AppConfigFetchResult()
+    
+    /**
+     * A fonte não tem config para o restaurante.
+     */
+    object NotFound : AppConfigFetchResult()
+}
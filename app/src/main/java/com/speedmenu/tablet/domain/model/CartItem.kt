@@ -18,7 +18,7 @@ data class CartItem(
     val id: String,
     val productId: String,
     val name: String,
-    val price: Double,
+    val price: Money,
     val quantity: Int,
     val imageResId: Int = 0, // ID do recurso de imagem do prato
     val options: CartItemOptions = CartItemOptions(),
@@ -27,15 +27,6 @@ data class CartItem(
     /**
      * Calcula o preço total do item (preço unitário * quantidade).
      */
-    val totalPrice: Double
+    val totalPrice: Money
         get() = price * quantity
 }
-
-/**
- * Opções e personalizações do item do carrinho.
- */
-data class CartItemOptions(
-    val ingredients: Map<String, Int> = emptyMap(), // Nome do ingrediente -> quantidade
-    val observations: String = ""
-)
-
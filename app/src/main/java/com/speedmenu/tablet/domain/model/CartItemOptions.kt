@@ -0,0 +1,216 @@
+package com.speedmenu.tablet.domain.model
+
+/**
+ * Opções e personalizações do item do carrinho, em forma canônica.
+ *
+ * - Ingredientes viram IDs numéricos ([IngredientDictionary]) com as quantidades num IntArray
+ *   paralelo, na ordem em que foram escolhidos (a ordem exibida ao cliente)
+ * - Uma permutação em ordem crescente de ID é a forma canônica usada só no [fingerprint] e no
+ *   equals: a mesma escolha feita em outra ordem gera opções iguais
+ * - Observações sem espaços nas pontas e internadas: textos iguais compartilham a mesma String
+ * - [fingerprint] de 64 bits calculado uma única vez na criação
+ *
+ * equals/hashCode comparam primeiro o fingerprint: opções diferentes (o caso comum na mesclagem
+ * do carrinho) são descartadas em O(1), sem percorrer ingredientes nem texto.
+ *
+ * Os IDs valem só dentro do processo: para persistir ou enviar, use os nomes ([forEachIngredient]).
+ */
+class CartItemOptions private constructor(
+    private val ingredientIds: IntArray,
+    private val ingredientQuantities: IntArray,
+    private val canonicalOrder: IntArray,
+    val observations: String,
+    val fingerprint: Long
+) {
+
+    val ingredientCount: Int
+        get() = ingredientIds.size
+
+    val hasIngredients: Boolean
+        get() = ingredientIds.isNotEmpty()
+
+    fun ingredientId(index: Int): Int = ingredientIds[index]
+
+    fun ingredientName(index: Int): String = IngredientDictionary.nameOf(ingredientIds[index])
+
+    fun ingredientQuantity(index: Int): Int = ingredientQuantities[index]
+
+    /**
+     * Percorre os ingredientes (nome -> quantidade) na ordem em que foram escolhidos.
+     */
+    inline fun forEachIngredient(action: (name: String, quantity: Int) -> Unit) {
+        for (index in 0 until ingredientCount) {
+            action(ingredientName(index), ingredientQuantity(index))
+        }
+    }
+
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (other !is CartItemOptions) return false
+        if (fingerprint != other.fingerprint || ingredientCount != other.ingredientCount) return false
+        for (position in canonicalOrder.indices) {
+            val index = canonicalOrder[position]
+            val otherIndex = other.canonicalOrder[position]
+            if (ingredientIds[index] != other.ingredientIds[otherIndex] ||
+                ingredientQuantities[index] != other.ingredientQuantities[otherIndex]
+            ) {
+                return false
+            }
+        }
+        return observations == other.observations
+    }
+
+    override fun hashCode(): Int = (fingerprint xor (fingerprint ushr 32)).toInt()
+
+    override fun toString(): String {
+        val ingredients = StringBuilder()
+        forEachIngredient { name, quantity ->
+            if (ingredients.isNotEmpty()) ingredients.append(", ")
+            ingredients.append(name).append('=').append(quantity)
+        }
+        return "CartItemOptions(ingredients={$ingredients}, observations=$observations)"
+    }
+
+    /**
+     * Monta opções canônicas sem mapa intermediário (ex: direto da lista de ingredientes da tela do prato).
+     * Ingrediente repetido fica com a última quantidade informada.
+     */
+    class Builder {
+        private var ids = IntArray(INITIAL_CAPACITY)
+        private var quantities = IntArray(INITIAL_CAPACITY)
+        private var size = 0
+        private var observations = ""
+
+        fun ingredient(name: String, quantity: Int): Builder {
+            val id = IngredientDictionary.idOf(name)
+            for (index in 0 until size) {
+                if (ids[index] == id) {
+                    quantities[index] = quantity
+                    return this
+                }
+            }
+            if (size == ids.size) {
+                ids = ids.copyOf(size * 2)
+                quantities = quantities.copyOf(size * 2)
+            }
+            ids[size] = id
+            quantities[size] = quantity
+            size++
+            return this
+        }
+
+        fun observations(text: String): Builder {
+            observations = text
+            return this
+        }
+
+        fun build(): CartItemOptions {
+            val normalizedObservations = observations.trim()
+            if (size == 0 && normalizedObservations.isEmpty()) return NONE
+
+            val orderedIds = ids.copyOf(size)
+            // Índices em ordem crescente de ID; insertion sort: poucos ingredientes por prato
+            val canonicalOrder = IntArray(size) { it }
+            for (i in 1 until size) {
+                val index = canonicalOrder[i]
+                var j = i - 1
+                while (j >= 0 && orderedIds[canonicalOrder[j]] > orderedIds[index]) {
+                    canonicalOrder[j + 1] = canonicalOrder[j]
+                    j--
+                }
+                canonicalOrder[j + 1] = index
+            }
+            return create(orderedIds, quantities.copyOf(size), canonicalOrder, ObservationInterner.intern(normalizedObservations))
+        }
+    }
+
+    companion object {
+        private const val INITIAL_CAPACITY = 8
+
+        // FNV-1a 64 bits
+        private const val FNV_OFFSET = -0x340d631b7bdddcdbL
+        private const val FNV_PRIME = 0x100000001b3L
+
+        /** Sem ingredientes nem observações */
+        val NONE = create(IntArray(0), IntArray(0), IntArray(0), "")
+
+        /**
+         * Cria opções canônicas a partir do mapa ingrediente -> quantidade.
+         */
+        operator fun invoke(
+            ingredients: Map<String, Int> = emptyMap(),
+            observations: String = ""
+        ): CartItemOptions {
+            val builder = Builder()
+            ingredients.forEach { (name, quantity) -> builder.ingredient(name, quantity) }
+            return builder.observations(observations).build()
+        }
+
+        private fun create(
+            ids: IntArray,
+            quantities: IntArray,
+            canonicalOrder: IntArray,
+            observations: String
+        ): CartItemOptions {
+            var hash = FNV_OFFSET
+            for (index in canonicalOrder) {
+                hash = mix(hash, ids[index])
+                hash = mix(hash, quantities[index])
+            }
+            for (char in observations) {
+                hash = mix(hash, char.code)
+            }
+            return CartItemOptions(ids, quantities, canonicalOrder, observations, hash)
+        }
+
+        private fun mix(hash: Long, value: Int): Long {
+            var result = hash
+            var remaining = value
+            repeat(4) {
+                result = (result xor (remaining and 0xFF).toLong()) * FNV_PRIME
+                remaining = remaining ushr 8
+            }
+            return result
+        }
+    }
+}
+
+/**
+ * Dicionário nome do ingrediente -> ID numérico, preenchido sob demanda.
+ * Os cardápios têm poucas dezenas de ingredientes; o dicionário vive enquanto o processo.
+ */
+internal object IngredientDictionary {
+    private val idsByName = HashMap<String, Int>()
+    private val names = ArrayList<String>()
+
+    @Synchronized
+    fun idOf(name: String): Int {
+        return idsByName.getOrPut(name) {
+            names += name
+            names.size - 1
+        }
+    }
+
+    @Synchronized
+    fun nameOf(id: Int): String = names[id]
+}
+
+/**
+ * Intern das observações digitadas: pedidos repetidos ("sem cebola", "bem passado")
+ * compartilham a mesma String. Limitado para não crescer sem fim num tablet ligado 24/7.
+ */
+private object ObservationInterner {
+    private const val MAX_ENTRIES = 256
+
+    private val interned = object : LinkedHashMap<String, String>(MAX_ENTRIES, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, String>?): Boolean {
+            return size > MAX_ENTRIES
+        }
+    }
+
+    @Synchronized
+    fun intern(text: String): String {
+        if (text.isEmpty()) return ""
+        return interned.getOrPut(text) { text }
+    }
+}
@@ -0,0 +1,39 @@
+package com.speedmenu.tablet.domain.model
+
+/**
+ * Operação aplicada ao carrinho.
+ * Aplicar em ordem as operações registradas reconstrói as mesmas linhas (ver CartJournal).
+ */
+sealed class CartOperation {
+    /**
+     * Item adicionado. O ID do item é o da linha resultante: a linha nova ou a linha
+     * existente com o mesmo produto e opções, que recebe a quantidade.
+     */
+    data class Add(val item: CartItem) : CartOperation()
+
+    /**
+     * Linha removida.
+     */
+    data class Remove(val lineId: String) : CartOperation()
+
+    /**
+     * Quantidade da linha alterada (sempre positiva; zero vira [Remove]).
+     */
+    data class SetQuantity(val lineId: String, val quantity: Int) : CartOperation()
+
+    /**
+     * Tipo de atendimento da linha alterado.
+     */
+    data class SetFulfillmentType(val lineId: String, val type: FulfillmentType) : CartOperation()
+
+    /**
+     * Carrinho esvaziado (ex: pedido finalizado).
+     */
+    object Clear : CartOperation()
+
+    /**
+     * Todas as linhas substituídas de uma vez (ex: pelo carrinho compartilhado da mesa).
+     * Um único registro no diário, no lugar de um [Clear] seguido de um [Add] por linha.
+     */
+    data class ReplaceAll(val lines: List<CartItem>) : CartOperation()
+}
@@ -8,7 +8,7 @@ data class MenuItem(
     val id: String,
     val name: String,
     val description: String,
-    val price: Double,
+    val price: Money,
     val category: String,
     val imageUrl: String? = null,
     val isAvailable: Boolean = true
@@ -0,0 +1,49 @@
+package com.speedmenu.tablet.domain.model
+
+/**
+ * Valor monetário exato em centavos.
+ * Value class sobre Long: sem alocação e sem erro de arredondamento de Double.
+ */
+@JvmInline
+value class Money(val cents: Long) : Comparable<Money> {
+
+    operator fun plus(other: Money): Money = Money(cents + other.cents)
+
+    operator fun minus(other: Money): Money = Money(cents - other.cents)
+
+    operator fun times(quantity: Int): Money = Money(cents * quantity)
+
+    override fun compareTo(other: Money): Int = cents.compareTo(other.cents)
+
+    val isZero: Boolean
+        get() = cents == 0L
+
+    val isPositive: Boolean
+        get() = cents > 0L
+
+    companion object {
+        val ZERO = Money(0L)
+
+        /**
+         * Cria a partir de centavos. Ex.: ofCents(6890) = R$ 68,90
+         */
+        fun ofCents(cents: Long): Money = Money(cents)
+
+        /**
+         * Converte um valor decimal (ex.: vindo de JSON) arredondando para o centavo mais próximo.
+         * Use apenas na fronteira com fontes externas; dentro do app, trabalhe sempre em centavos.
+         */
+        fun fromDecimal(value: Double): Money = Money(Math.round(value * 100))
+    }
+}
+
+/**
+ * Soma valores monetários sem boxing (o seletor é inline e Money é value class).
+ */
+inline fun <T> Iterable<T>.sumOfMoney(selector: (T) -> Money): Money {
+    var total = 0L
+    for (element in this) {
+        total += selector(element).cents
+    }
+    return Money(total)
+}
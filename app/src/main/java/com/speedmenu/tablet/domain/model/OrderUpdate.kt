@@ -0,0 +1,50 @@
+package com.speedmenu.tablet.domain.model
+
+/**
+ * Situação de uma linha do pedido na cozinha.
+ */
+enum class OrderLineStatus {
+    /** Pedido registrado, ainda não enviado à cozinha */
+    RECEIVED,
+    /** Em preparo na cozinha */
+    SENT_TO_KITCHEN,
+    /** Pronto, aguardando o garçom */
+    READY,
+    /** Entregue na mesa */
+    DELIVERED
+}
+
+/**
+ * Linha do pedido de uma comanda com a situação atual.
+ */
+data class OrderLine(
+    val item: CartItem,
+    val status: OrderLineStatus
+)
+
+/**
+ * Alteração do pedido de uma comanda, emitida por [com.speedmenu.tablet.domain.repository.OrderRepository.observeOrder].
+ *
+ * A primeira alteração é sempre um [Snapshot] (pedido completo); as seguintes são diferenças
+ * por ID da linha, aplicadas sobre o estado atual.
+ */
+sealed class OrderUpdate {
+    /**
+     * Pedido completo: substitui todas as linhas.
+     */
+    data class Snapshot(val lines: List<OrderLine>) : OrderUpdate()
+
+    /**
+     * Linha nova ou alterada (ex: item adicionado à comanda por outro tablet).
+     */
+    data class LineUpserted(val line: OrderLine) : OrderUpdate()
+
+    data class LineRemoved(val lineId: String) : OrderUpdate()
+
+    data class StatusChanged(val lineId: String, val status: OrderLineStatus) : OrderUpdate()
+
+    /**
+     * Falha ao acompanhar o pedido. A reconexão é automática; o último estado continua válido.
+     */
+    data class Unavailable(val message: String) : OrderUpdate()
+}
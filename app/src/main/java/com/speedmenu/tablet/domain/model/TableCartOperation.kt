@@ -0,0 +1,57 @@
+package com.speedmenu.tablet.domain.model
+
+/**
+ * Operação do carrinho compartilhado da mesa (vários tablets na mesma comanda).
+ *
+ * Cada tablet (réplica) numera as próprias operações em sequência (1, 2, 3...) e as marca
+ * com um relógio de Lamport ([timestamp]), usado para ordenar as linhas e desempatar
+ * alterações concorrentes do tipo de atendimento.
+ */
+sealed class TableCartOperation {
+    abstract val replicaId: String
+    abstract val sequence: Long
+    abstract val timestamp: Long
+
+    /**
+     * Linha nova. O ID do item é o ID da linha (único entre réplicas) e a quantidade é a inicial.
+     */
+    data class AddLine(
+        override val replicaId: String,
+        override val sequence: Long,
+        override val timestamp: Long,
+        val item: CartItem
+    ) : TableCartOperation()
+
+    /**
+     * Soma [delta] à quantidade da linha. Ajustes concorrentes se somam (nenhum se perde).
+     */
+    data class AdjustQuantity(
+        override val replicaId: String,
+        override val sequence: Long,
+        override val timestamp: Long,
+        val lineId: String,
+        val delta: Int
+    ) : TableCartOperation()
+
+    /**
+     * Altera o tipo de atendimento da linha. Entre alterações concorrentes vence a de maior
+     * (timestamp, replicaId).
+     */
+    data class SetFulfillmentType(
+        override val replicaId: String,
+        override val sequence: Long,
+        override val timestamp: Long,
+        val lineId: String,
+        val type: FulfillmentType
+    ) : TableCartOperation()
+
+    /**
+     * Remove a linha. A remoção é definitiva: ajustes concorrentes na mesma linha não a trazem de volta.
+     */
+    data class RemoveLine(
+        override val replicaId: String,
+        override val sequence: Long,
+        override val timestamp: Long,
+        val lineId: String
+    ) : TableCartOperation()
+}
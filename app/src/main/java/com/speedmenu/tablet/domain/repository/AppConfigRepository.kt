@@ -11,9 +11,8 @@ interface AppConfigRepository {
     /**
      * Observa a configuração do app para um restaurante.
      * O fluxo emite:
-     * 1. DefaultAppConfig (inicial)
-     * 2. Cache (se disponível)
-     * 3. Config atualizada (mock/backend)
+     * 1. Cache (em memória ou disco, se disponível); senão DefaultAppConfig
+     * 2. Config atualizada (mock/backend), apenas se a versão mudou
      * 
      * @param restaurantId ID do restaurante
      * @return Flow de AppConfig
@@ -24,7 +23,8 @@ interface AppConfigRepository {
      * Atualiza a configuração manualmente (útil para refresh).
      * 
      * @param restaurantId ID do restaurante
+     * @return Sucesso (inclusive "não modificado") ou o erro da busca
      */
-    suspend fun refreshConfig(restaurantId: String)
+    suspend fun refreshConfig(restaurantId: String): Result<Unit>
 }
 
@@ -1,6 +1,7 @@
 package com.speedmenu.tablet.domain.repository
 
 import com.speedmenu.tablet.domain.model.AppConfig
+import com.speedmenu.tablet.domain.model.AppConfigFetchResult
 
 /**
  * Fonte de configuração do app (mock ou backend real).
@@ -14,5 +15,24 @@ interface AppConfigSource {
      * @return AppConfig ou null se não encontrado
      */
     suspend fun getConfig(restaurantId: String): AppConfig?
+    
+    /**
+     * Busca condicional: informa a versão que o tablet já possui e só recebe o config
+     * se houver uma versão mais nova (no backend, via ETag/If-None-Match e 304).
+     * 
+     * A implementação padrão usa [getConfig] e compara versões, para fontes sem suporte
+     * a requisições condicionais.
+     * 
+     * @param restaurantId ID do restaurante
+     * @param knownVersion Versão em cache no tablet (null se não houver cache)
+     * @return Config novo, "não modificado" ou "não encontrado"
+     */
+    suspend fun getConfigIfModified(restaurantId: String, knownVersion: Int?): AppConfigFetchResult {
+        val config = getConfig(restaurantId) ?: return AppConfigFetchResult.NotFound
+        return if (knownVersion != null && config.version <= knownVersion) {
+            AppConfigFetchResult.NotModified
+        } else {
+            AppConfigFetchResult.Modified(config)
+        }
+    }
 }
-
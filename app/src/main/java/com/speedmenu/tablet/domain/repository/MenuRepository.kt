@@ -2,6 +2,7 @@ package com.speedmenu.tablet.domain.repository
 
 import com.speedmenu.tablet.domain.model.Category
 import com.speedmenu.tablet.domain.model.MenuItem
+import kotlinx.coroutines.flow.Flow
 
 /**
  * Interface do repositório de cardápio.
@@ -34,5 +35,56 @@ interface MenuRepository {
      * @return Lista de categorias
      */
     suspend fun getCategories(): Result<List<Category>>
-}
 
+    /**
+     * Busca itens do cardápio por texto (nome e descrição), sem diferenciar acentos e plurais.
+     * Pensada para busca enquanto o usuário digita: cada palavra casa por prefixo.
+     * @param query Texto digitado
+     * @param limit Número máximo de resultados
+     * @return Itens encontrados, com os que casam pelo nome primeiro
+     */
+    suspend fun searchMenu(query: String, limit: Int = DEFAULT_SEARCH_LIMIT): Result<List<MenuItem>>
+
+    /**
+     * Observa todos os itens do cardápio (stale-while-revalidate).
+     * O fluxo emite:
+     * 1. Snapshot local (imediatamente)
+     * 2. Cardápio atualizado, apenas se mudou após a revalidação em segundo plano
+     * Alterações ao vivo não reemitem a lista; chegam item a item por [observeItemUpdates].
+     *
+     * @return Flow com a lista de itens do menu
+     */
+    fun observeMenu(): Flow<List<MenuItem>>
+
+    /**
+     * Observa os itens de uma categoria (stale-while-revalidate).
+     * Emite o snapshot local imediatamente e novamente apenas quando a categoria mudar.
+     * Alterações ao vivo não reemitem a lista; chegam item a item por [observeItemUpdates].
+     *
+     * @param categoryId ID da categoria
+     * @return Flow com a lista de itens da categoria
+     */
+    fun observeCategory(categoryId: String): Flow<List<MenuItem>>
+
+    /**
+     * Observa alterações ao vivo de itens do cardápio (disponibilidade e preço).
+     * Cada alteração é aplicada ao catálogo local e emitida apenas com os itens afetados,
+     * permitindo que a UI atualize só as linhas correspondentes, sem recarregar a lista.
+     * A conexão com o servidor é compartilhada entre os coletores e reconecta sozinha.
+     *
+     * @return Flow com os itens alterados em cada atualização
+     */
+    fun observeItemUpdates(): Flow<List<MenuItem>>
+
+    /**
+     * Sincroniza o cardápio local com o servidor (respeitando o TTL e a versão do catálogo).
+     * Usado pelo refresh periódico em segundo plano.
+     *
+     * @return Sucesso (inclusive quando o cardápio já estava atualizado) ou o erro da sincronização
+     */
+    suspend fun refreshMenu(): Result<Unit>
+
+    companion object {
+        const val DEFAULT_SEARCH_LIMIT = 50
+    }
+}
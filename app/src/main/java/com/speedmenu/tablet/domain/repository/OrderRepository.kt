@@ -1,6 +1,8 @@
 package com.speedmenu.tablet.domain.repository
 
 import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.OrderUpdate
+import kotlinx.coroutines.flow.Flow
 
 /**
  * Interface do repositório de pedidos.
@@ -9,17 +11,21 @@ import com.speedmenu.tablet.domain.model.CartItem
  */
 interface OrderRepository {
     /**
-     * Busca o pedido de uma comanda pelo código.
+     * Acompanha o pedido de uma comanda enquanto o Flow é coletado.
+     * Emite primeiro o pedido completo ([OrderUpdate.Snapshot]) e depois só as alterações
+     * por linha (itens novos, removidos, mudança de situação na cozinha).
+     * Falhas emitem [OrderUpdate.Unavailable] e reconectam sozinhas; o Flow não termina com erro.
      * @param comandaCode Código da comanda (extraído do QRCode)
-     * @return Lista de itens do pedido ou lista vazia se não encontrado
      */
-    suspend fun getOrderByComandaCode(comandaCode: String): Result<List<CartItem>>
+    fun observeOrder(comandaCode: String): Flow<OrderUpdate>
     
     /**
      * Finaliza um pedido associando-o a uma comanda.
+     * O pedido é gravado no tablet e enviado em segundo plano (com novas tentativas até ser
+     * entregue): o retorno não depende da rede.
      * @param comandaCode Código da comanda (extraído do QRCode)
      * @param items Lista de itens do carrinho a serem finalizados
-     * @return Result indicando sucesso ou falha
+     * @return Result indicando se o pedido foi registrado
      */
     suspend fun finalizeOrder(comandaCode: String, items: List<CartItem>): Result<Unit>
 }
@@ -74,6 +74,7 @@ import androidx.compose.material3.DrawerValue
 import androidx.compose.material3.Scaffold
 import androidx.compose.material.icons.filled.Menu
 import androidx.compose.ui.layout.onGloballyPositioned
+import androidx.compose.ui.layout.onSizeChanged
 import androidx.compose.ui.unit.Constraints
 import androidx.compose.foundation.layout.BoxWithConstraints
 import androidx.compose.runtime.rememberCoroutineScope
@@ -759,13 +760,13 @@ private fun SidebarHeader(
     headerHeight: androidx.compose.ui.unit.Dp = 140.dp,
     appConfigViewModel: com.speedmenu.tablet.ui.viewmodel.AppConfigViewModel = androidx.hilt.navigation.compose.hiltViewModel()
 ) {
-    // Observa AppConfig para obter logo
-    val appConfig by appConfigViewModel.appConfig.collectAsState()
+    // Observa apenas o branding do AppConfig para obter logo
+    val branding by appConfigViewModel.branding.collectAsState()
     val isDarkMode = androidx.compose.foundation.isSystemInDarkTheme()
     val logoUrl = if (isDarkMode) {
-        appConfig?.branding?.logoUrlDark ?: appConfig?.branding?.logoUrl
+        branding?.logoUrlDark ?: branding?.logoUrl
     } else {
-        appConfig?.branding?.logoUrl
+        branding?.logoUrl
     }
     
     Column(
@@ -854,9 +855,9 @@ private fun HomeBanner(
     appConfigViewModel: com.speedmenu.tablet.ui.viewmodel.AppConfigViewModel = androidx.hilt.navigation.compose.hiltViewModel(),
     navController: androidx.navigation.NavHostController? = null
 ) {
-    // Observa AppConfig para obter carrossel
-    val appConfig by appConfigViewModel.appConfig.collectAsState()
-    val carouselItems = appConfig?.home?.carousel ?: emptyList()
+    // Observa apenas o carrossel do AppConfig (e a versão, que identifica as imagens baixadas)
+    val carouselItems by appConfigViewModel.carousel.collectAsState()
+    val configVersion by appConfigViewModel.configVersion.collectAsState()
     
     // Fallback para imagens locais se carrossel estiver vazio
     val coverImages = remember {
@@ -871,16 +872,38 @@ private fun HomeBanner(
     val hasCarousel = carouselItems.isNotEmpty()
     val itemCount = if (hasCarousel) carouselItems.size else coverImages.size
     
+    // Imagens das páginas: URLs do config (com a versão que as trouxe) ou recursos locais
+    val carouselModels: List<Any> = remember(carouselItems, hasCarousel, configVersion) {
+        if (hasCarousel) {
+            carouselItems.map { com.speedmenu.tablet.core.ui.images.RemoteCarouselImage(it.imageUrl, configVersion ?: 0) }
+        } else {
+            coverImages
+        }
+    }
+    
+    // Tamanho do banner em pixels: as imagens são decodificadas exatamente nele
+    val carouselAssets = com.speedmenu.tablet.core.ui.images.rememberCarouselAssetManager()
+    var bannerSize by remember { mutableStateOf(androidx.compose.ui.unit.IntSize.Zero) }
+    
     // Estado do pager
     val pagerState = rememberPagerState(pageCount = { itemCount }, initialPage = 0)
     
     // Auto-play do carrossel (muda de página a cada 5 segundos)
-    LaunchedEffect(itemCount) {
-        if (itemCount > 0) {
-        while (true) {
-            delay(5000)
+    // A próxima página é baixada/decodificada durante a espera, antes de animar
+    LaunchedEffect(carouselModels, bannerSize) {
+        if (itemCount > 0 && bannerSize != androidx.compose.ui.unit.IntSize.Zero) {
+            // Descarta imagens de versões anteriores do carrossel
+            carouselAssets.retainOnly(carouselModels)
+            while (true) {
+                val upcomingPage = (pagerState.currentPage + 1) % itemCount
+                val loadMillis = kotlin.system.measureTimeMillis {
+                    carouselAssets.load(carouselModels[upcomingPage], bannerSize.width, bannerSize.height)
+                }
+                delay((5000L - loadMillis).coerceAtLeast(0L))
+                // Página pode ter mudado por swipe durante a espera (carregamento instantâneo se já pronta)
                 val nextPage = (pagerState.currentPage + 1) % itemCount
-            pagerState.animateScrollToPage(nextPage)
+                carouselAssets.load(carouselModels[nextPage], bannerSize.width, bannerSize.height)
+                pagerState.animateScrollToPage(nextPage)
             }
         }
     }
@@ -946,40 +969,31 @@ private fun HomeBanner(
         )
         
         // ========== CAMADA 1: Carrossel de imagens ==========
-        // Imagens exibidas com brilho padrão (sem filtros de cor)
-        if (hasCarousel) {
-            // Carrossel remoto do AppConfig
-            HorizontalPager(
-                state = pagerState,
-                modifier = Modifier.fillMaxSize()
-            ) { page ->
-                val item = carouselItems[page]
-                Box(
-                    modifier = Modifier
-                        .fillMaxSize()
-                        .clickable { onCarouselItemClick(item.action) }
-                ) {
-                    AsyncImage(
-                        model = item.imageUrl,
-                        contentDescription = "Imagem de capa ${page + 1}",
-                        modifier = Modifier.fillMaxSize(),
-                        contentScale = ContentScale.Crop,
-                        placeholder = painterResource(id = R.drawable.capa),
-                        error = painterResource(id = R.drawable.capa)
-                    )
-                }
-            }
-        } else {
-            // Fallback: carrossel local
+        // Imagens exibidas com brilho padrão (sem filtros de cor), já decodificadas no tamanho do banner.
+        // Enquanto uma imagem não está pronta, o gradiente da camada 0 aparece no lugar.
         HorizontalPager(
             state = pagerState,
-            modifier = Modifier.fillMaxSize()
+            modifier = Modifier
+                .fillMaxSize()
+                .onSizeChanged { bannerSize = it }
         ) { page ->
-            Image(
-                painter = painterResource(id = coverImages[page]),
-                contentDescription = "Imagem de capa ${page + 1}",
-                modifier = Modifier.fillMaxSize(),
-                    contentScale = ContentScale.Crop
+            Box(
+                modifier = Modifier
+                    .fillMaxSize()
+                    .then(
+                        if (hasCarousel) {
+                            // Carrossel remoto do AppConfig: clique executa a ação do item
+                            Modifier.clickable { onCarouselItemClick(carouselItems[page].action) }
+                        } else {
+                            Modifier
+                        }
+                    )
+            ) {
+                com.speedmenu.tablet.core.ui.images.CarouselImage(
+                    model = carouselModels[page],
+                    sizePx = bannerSize,
+                    contentDescription = "Imagem de capa ${page + 1}",
+                    modifier = Modifier.fillMaxSize()
                 )
             }
         }
@@ -26,6 +26,7 @@ import com.speedmenu.tablet.core.ui.components.PrimaryCTA
 import com.speedmenu.tablet.core.ui.components.AppTopBar
 import com.speedmenu.tablet.core.ui.components.WaiterCalledDialog
 import com.speedmenu.tablet.ui.viewmodel.WaiterViewModel
+import com.speedmenu.tablet.domain.model.Money
 import androidx.hilt.navigation.compose.hiltViewModel
 import androidx.compose.runtime.collectAsState
 
@@ -127,7 +128,7 @@ fun CartEmptyScreen(
                 // CTA opcional: Ver cardápio
                 PrimaryCTA(
                     text = "Ver cardápio",
-                    price = 0.0, // Preço oculto quando 0.0
+                    price = Money.ZERO, // Preço oculto quando zero
                     onClick = onNavigateToMenu,
                     modifier = Modifier
                         .fillMaxWidth()
@@ -49,6 +49,8 @@ import com.speedmenu.tablet.core.ui.components.AppTopBar
 import com.speedmenu.tablet.core.ui.components.WaiterCalledDialog
 import com.speedmenu.tablet.core.ui.components.FulfillmentToggle
 import com.speedmenu.tablet.core.utils.CurrencyFormatter
+import com.speedmenu.tablet.domain.model.Money
+import com.speedmenu.tablet.domain.model.sumOfMoney
 import com.speedmenu.tablet.domain.model.CartItem
 import com.speedmenu.tablet.ui.viewmodel.CartViewModel
 import com.speedmenu.tablet.ui.viewmodel.WaiterViewModel
@@ -80,7 +82,7 @@ fun CartSummaryScreen(
     val waiterUiState by waiterViewModel.uiState.collectAsState()
     
     // Calcula valores
-    val subtotal = items.sumOf { it.totalPrice }
+    val subtotal = items.sumOfMoney { it.totalPrice }
     val total = subtotal // Por enquanto, total = subtotal (taxa de serviço pode ser adicionada depois)
     
     val colorScheme = MaterialTheme.colorScheme
@@ -381,7 +383,7 @@ fun CartItemRow(
             
             // Seção "Observações" (se houver observações ou ingredientes)
             val hasObservations = item.options.observations.isNotBlank()
-            val hasIngredients = item.options.ingredients.isNotEmpty()
+            val hasIngredients = item.options.hasIngredients
             
             if (hasObservations || hasIngredients) {
                 // Constrói lista de itens separados por vírgula
@@ -393,7 +395,7 @@ fun CartItemRow(
                 }
                 
                 // Adiciona ingredientes (ajustes e modificações)
-                item.options.ingredients.forEach { (ingredientName, quantity) ->
+                item.options.forEachIngredient { ingredientName, quantity ->
                     val ingredientText = when {
                         quantity > 1 -> "$ingredientName (${quantity}x)"
                         quantity == 1 -> ingredientName
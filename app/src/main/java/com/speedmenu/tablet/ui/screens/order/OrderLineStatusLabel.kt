@@ -0,0 +1,50 @@
+package com.speedmenu.tablet.ui.screens.order
+
+import androidx.compose.animation.animateColorAsState
+import androidx.compose.foundation.background
+import androidx.compose.foundation.layout.padding
+import androidx.compose.foundation.shape.RoundedCornerShape
+import androidx.compose.material3.MaterialTheme
+import androidx.compose.material3.Text
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.getValue
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.text.font.FontWeight
+import androidx.compose.ui.unit.dp
+import androidx.compose.ui.unit.sp
+import com.speedmenu.tablet.domain.model.OrderLineStatus
+
+/**
+ * Selo com a situação de uma linha do pedido na cozinha (read-only).
+ * A cor muda com transição suave quando a situação avança.
+ */
+@Composable
+fun OrderLineStatusLabel(
+    status: OrderLineStatus,
+    modifier: Modifier = Modifier
+) {
+    val colorScheme = MaterialTheme.colorScheme
+    val targetColor = when (status) {
+        OrderLineStatus.RECEIVED -> colorScheme.onSurfaceVariant
+        OrderLineStatus.SENT_TO_KITCHEN -> colorScheme.tertiary
+        OrderLineStatus.READY -> colorScheme.primary
+        OrderLineStatus.DELIVERED -> colorScheme.secondary
+    }
+    val color by animateColorAsState(targetValue = targetColor, label = "orderLineStatusColor")
+
+    Text(
+        text = when (status) {
+            OrderLineStatus.RECEIVED -> "Recebido"
+            OrderLineStatus.SENT_TO_KITCHEN -> "Na cozinha"
+            OrderLineStatus.READY -> "Pronto"
+            OrderLineStatus.DELIVERED -> "Entregue"
+        },
+        modifier = modifier
+            .background(color = color.copy(alpha = 0.12f), shape = RoundedCornerShape(8.dp))
+            .padding(horizontal = 10.dp, vertical = 4.dp),
+        style = MaterialTheme.typography.labelMedium,
+        fontWeight = FontWeight.Medium,
+        color = color,
+        fontSize = 12.sp
+    )
+}
@@ -23,6 +23,7 @@ import androidx.compose.runtime.Composable
 import androidx.compose.runtime.LaunchedEffect
 import androidx.compose.runtime.collectAsState
 import androidx.compose.runtime.getValue
+import androidx.compose.runtime.key
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.text.font.FontWeight
@@ -30,11 +31,14 @@ import androidx.compose.ui.text.style.TextAlign
 import androidx.compose.ui.unit.dp
 import androidx.compose.ui.unit.sp
 import androidx.hilt.navigation.compose.hiltViewModel
+import androidx.lifecycle.compose.collectAsStateWithLifecycle
 import com.speedmenu.tablet.core.ui.components.PrimaryCTA
 import com.speedmenu.tablet.core.ui.components.AppTopBar
 import com.speedmenu.tablet.core.ui.components.WaiterCalledDialog
 import com.speedmenu.tablet.core.utils.CurrencyFormatter
+import com.speedmenu.tablet.domain.model.Money
 import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.OrderLineStatus
 import com.speedmenu.tablet.ui.screens.order.CartItemRow
 import com.speedmenu.tablet.ui.viewmodel.ViewOrderViewModel
 import com.speedmenu.tablet.ui.viewmodel.WaiterViewModel
@@ -54,7 +58,8 @@ fun ViewOrderScreen(
     viewModel: ViewOrderViewModel = hiltViewModel(),
     onNavigateBack: () -> Unit = {}
 ) {
-    val uiState by viewModel.uiState.collectAsState()
+    // Só com a tela visível: o acompanhamento do pedido para com o app em segundo plano
+    val uiState by viewModel.uiState.collectAsStateWithLifecycle()
     
     // Carrega o pedido quando a tela é exibida
     LaunchedEffect(comandaCode) {
@@ -138,6 +143,7 @@ fun ViewOrderScreen(
                 // Estado de sucesso - mostra lista de itens
                 ViewOrderContentScreen(
                     items = uiState.items,
+                    lineStatuses = uiState.lineStatuses,
                     subtotal = uiState.subtotal,
                     total = uiState.total
                 )
@@ -159,8 +165,9 @@ fun ViewOrderScreen(
 @Composable
 private fun ViewOrderContentScreen(
     items: List<CartItem>,
-    subtotal: Double,
-    total: Double
+    lineStatuses: Map<String, OrderLineStatus>,
+    subtotal: Money,
+    total: Money
 ) {
     val colorScheme = MaterialTheme.colorScheme
     
@@ -203,11 +210,23 @@ private fun ViewOrderContentScreen(
             verticalArrangement = Arrangement.spacedBy(16.dp)
         ) {
             items.forEachIndexed { index, item ->
-                CartItemRow(
-                    item = item,
-                    readOnly = true, // Modo read-only
-                    animationDelay = index * 50 // Delay escalonado: 0ms, 50ms, 100ms...
-                )
+                // Key pelo ID da linha: uma mudança de situação recompõe só a linha alterada,
+                // e linhas já exibidas não repetem a animação de entrada
+                key(item.id) {
+                    Column(verticalArrangement = Arrangement.spacedBy(8.dp)) {
+                        CartItemRow(
+                            item = item,
+                            readOnly = true, // Modo read-only
+                            animationDelay = index * 50 // Delay escalonado: 0ms, 50ms, 100ms...
+                        )
+                        lineStatuses[item.id]?.let { status ->
+                            OrderLineStatusLabel(
+                                status = status,
+                                modifier = Modifier.align(Alignment.End)
+                            )
+                        }
+                    }
+                }
             }
         }
         
@@ -373,7 +392,7 @@ private fun ViewOrderEmptyScreen(
                 // Botão "Voltar para Home"
                 PrimaryCTA(
                     text = "Voltar para Home",
-                    price = 0.0,
+                    price = Money.ZERO,
                     onClick = onNavigateBack,
                     modifier = Modifier
                         .fillMaxWidth()
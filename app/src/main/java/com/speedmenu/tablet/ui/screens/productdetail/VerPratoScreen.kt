@@ -69,6 +69,7 @@ import com.speedmenu.tablet.ui.viewmodel.WaiterViewModel
 import androidx.hilt.navigation.compose.hiltViewModel
 import androidx.compose.runtime.collectAsState
 import com.speedmenu.tablet.core.utils.CurrencyFormatter
+import com.speedmenu.tablet.domain.model.Money
 
 /**
  * Estado de quantidade de um ingrediente.
@@ -89,7 +90,7 @@ fun VerPratoScreen(
     productId: String,
     productName: String,
     productCategory: String,
-    productPrice: Double,
+    productPrice: Money,
     productImageResId: Int,
     productDescription: String,
     ingredients: List<String>,
@@ -424,15 +425,16 @@ fun VerPratoScreen(
                         PrimaryCTA(
                             modifier = Modifier.padding(bottom = 32.dp),
                             text = if (isAddedToCart) "Adicionado ao pedido" else "Adicionar ao pedido",
-                            price = if (isAddedToCart) 0.0 else productPrice * quantity,
+                            price = if (isAddedToCart) Money.ZERO else productPrice * quantity,
                             onClick = {
                                 // Cria CartItem com as informações do produto
-                                val cartItemOptions = CartItemOptions(
-                                    ingredients = ingredientQuantities
-                                        .filter { it.quantity > 0 }
-                                        .associate { it.name to it.quantity },
-                                    observations = observationsText
-                                )
+                                // Opções canônicas (IDs ordenados + fingerprint), sem mapa intermediário
+                                val cartItemOptions = CartItemOptions.Builder().apply {
+                                    ingredientQuantities.forEach { selected ->
+                                        if (selected.quantity > 0) ingredient(selected.name, selected.quantity)
+                                    }
+                                    observations(observationsText)
+                                }.build()
                                 
                                 // Cria CartItem com as informações do produto
                                 // ID vazio será gerado pelo ViewModel se necessário
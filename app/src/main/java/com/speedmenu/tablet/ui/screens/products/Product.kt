@@ -1,13 +1,16 @@
 package com.speedmenu.tablet.ui.screens.products
 
+import com.speedmenu.tablet.domain.model.Money
+
 /**
  * Modelo de dados para um produto/prato do cardápio.
  */
 data class Product(
     val id: String,
     val name: String,
-    val price: Double,
+    val price: Money,
     val imageResId: Int,
-    val shortDescription: String
+    val shortDescription: String,
+    val imageUrl: String? = null // Imagem remota; imageResId vira placeholder
 )
 
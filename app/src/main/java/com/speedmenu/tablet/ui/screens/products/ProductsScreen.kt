@@ -15,6 +15,7 @@ import androidx.compose.foundation.layout.padding
 import androidx.compose.foundation.layout.width
 import androidx.compose.foundation.lazy.LazyColumn
 import androidx.compose.foundation.lazy.items
+import androidx.compose.foundation.lazy.rememberLazyListState
 import androidx.compose.runtime.Composable
 import androidx.compose.runtime.LaunchedEffect
 import androidx.compose.runtime.collectAsState
@@ -32,16 +33,23 @@ import androidx.compose.ui.unit.dp
 import androidx.compose.material3.MaterialTheme
 import com.speedmenu.tablet.R
 import com.speedmenu.tablet.core.ui.components.ProductListItem
+import com.speedmenu.tablet.core.ui.components.ProductListItemImageSize
+import com.speedmenu.tablet.core.ui.images.ProductImagePrefetchEffect
 import com.speedmenu.tablet.core.ui.components.AppTopBar
 import com.speedmenu.tablet.core.ui.components.ItemAddedDialog
 import com.speedmenu.tablet.core.ui.components.WaiterCalledDialog
 import com.speedmenu.tablet.ui.screens.products.ProductDetailsBottomSheet
+import com.speedmenu.tablet.ui.viewmodel.MenuLiveUpdatesViewModel
+import com.speedmenu.tablet.ui.viewmodel.MenuSearchViewModel
+import com.speedmenu.tablet.ui.viewmodel.ProductsViewModel
 import com.speedmenu.tablet.ui.viewmodel.WaiterViewModel
 import androidx.hilt.navigation.compose.hiltViewModel
 import com.speedmenu.tablet.ui.screens.home.OrderFlowSidebar
 import com.speedmenu.tablet.ui.screens.home.MenuMockupScenario
 import com.speedmenu.tablet.ui.screens.home.getMenuMockup
 import com.speedmenu.tablet.ui.screens.home.getSelectedCategoryIdForScenario
+import com.speedmenu.tablet.domain.model.MenuItem
+import androidx.compose.material3.Text
 
 /**
  * Tela de listagem de produtos/pratos de uma categoria.
@@ -65,6 +73,13 @@ fun ProductsScreen(
     val waiterViewModel: WaiterViewModel = hiltViewModel()
     val waiterUiState by waiterViewModel.uiState.collectAsState()
     
+    // Busca no cardápio inteiro (índice local, sem acentos/plurais)
+    val searchViewModel: MenuSearchViewModel = hiltViewModel()
+    val searchUiState by searchViewModel.uiState.collectAsState()
+    
+    // Disponibilidade e preço ao vivo: cada linha observa apenas o próprio item
+    val liveUpdatesViewModel: MenuLiveUpdatesViewModel = hiltViewModel()
+    
     // Estado para controlar visibilidade do dialog de item adicionado
     var showItemAddedDialog by remember { mutableStateOf(false) }
     var productNameForDialog by remember { mutableStateOf<String?>(null) }
@@ -127,52 +142,13 @@ fun ProductsScreen(
         getMenuMockup(mockupScenario)
     }
     
-    // Dados mockados de produtos (usando imagens das categorias como placeholder)
-    val products = remember(categoryName) {
-        when (categoryName.lowercase()) {
-            "entradas" -> listOf(
-                Product("1", "Bruschetta Italiana", 24.90, R.drawable.entradas, "Pão artesanal com tomate, manjericão e azeite"),
-                Product("2", "Carpaccio de Salmão", 32.50, R.drawable.entradas, "Salmão fresco com rúcula e parmesão"),
-                Product("3", "Tartar de Atum", 28.90, R.drawable.entradas, "Atum fresco com abacate e molho especial"),
-                Product("4", "Ceviche de Peixe", 29.90, R.drawable.entradas, "Peixe branco marinado com limão e cebola roxa"),
-                Product("5", "Salada Caprese", 22.90, R.drawable.entradas, "Mozzarella, tomate e manjericão fresco"),
-                Product("6", "Crostini de Queijo", 26.50, R.drawable.entradas, "Pão crocante com queijo brie e geleia"),
-                Product("7", "Antepasto Italiano", 35.90, R.drawable.entradas, "Seleção de embutidos e queijos"),
-                Product("8", "Tábua de Frios", 38.90, R.drawable.entradas, "Variedade de frios e queijos artesanais")
-            )
-            "pratos principais" -> listOf(
-                Product("9", "Filé Mignon ao Molho", 68.90, R.drawable.pratos_principais, "Filé grelhado com molho especial"),
-                Product("10", "Risotto de Camarão", 54.90, R.drawable.pratos_principais, "Arroz cremoso com camarões frescos"),
-                Product("11", "Salmão Grelhado", 62.50, R.drawable.pratos_principais, "Salmão com legumes grelhados"),
-                Product("12", "Penne ao Pesto", 42.90, R.drawable.pratos_principais, "Massa com molho pesto artesanal"),
-                Product("13", "Frango à Parmegiana", 48.90, R.drawable.pratos_principais, "Frango empanado com molho de tomate"),
-                Product("14", "Costela de Porco", 58.90, R.drawable.pratos_principais, "Costela assada com molho barbecue"),
-                Product("15", "Lasanha Bolonhesa", 52.90, R.drawable.pratos_principais, "Lasanha tradicional italiana"),
-                Product("16", "Peixe à Moda do Chef", 59.90, R.drawable.pratos_principais, "Peixe fresco com molho exclusivo")
-            )
-            "bebidas" -> listOf(
-                Product("17", "Suco Natural Laranja", 12.90, R.drawable.bebidas, "Suco fresco de laranja"),
-                Product("18", "Água com Gás", 6.90, R.drawable.bebidas, "Água mineral com gás"),
-                Product("19", "Refrigerante", 8.90, R.drawable.bebidas, "Refrigerante gelado"),
-                Product("20", "Cerveja Artesanal", 15.90, R.drawable.bebidas, "Cerveja artesanal local"),
-                Product("21", "Vinho Tinto", 45.90, R.drawable.bebidas, "Vinho tinto selecionado"),
-                Product("22", "Caipirinha", 18.90, R.drawable.bebidas, "Caipirinha tradicional"),
-                Product("23", "Água Mineral", 5.90, R.drawable.bebidas, "Água mineral sem gás"),
-                Product("24", "Suco Detox", 14.90, R.drawable.bebidas, "Suco verde detox")
-            )
-            "sobremesas" -> listOf(
-                Product("25", "Brownie com Sorvete", 22.90, R.drawable.sobremesas, "Brownie quente com sorvete de creme"),
-                Product("26", "Tiramisu", 24.90, R.drawable.sobremesas, "Tiramisu tradicional italiano"),
-                Product("27", "Cheesecake de Frutas", 23.90, R.drawable.sobremesas, "Cheesecake com frutas vermelhas"),
-                Product("28", "Pudim de Leite", 18.90, R.drawable.sobremesas, "Pudim caseiro com calda"),
-                Product("29", "Mousse de Chocolate", 20.90, R.drawable.sobremesas, "Mousse cremosa de chocolate"),
-                Product("30", "Petit Gateau", 26.90, R.drawable.sobremesas, "Bolinho quente com sorvete"),
-                Product("31", "Torta de Limão", 21.90, R.drawable.sobremesas, "Torta refrescante de limão"),
-                Product("32", "Sorvete Artesanal", 16.90, R.drawable.sobremesas, "Sorvete artesanal com cobertura")
-            )
-            else -> emptyList()
-        }
-    }
+    // Produtos da categoria: mesmo catálogo local usado pela busca
+    val productsViewModel: ProductsViewModel = hiltViewModel()
+    val products by productsViewModel.products.collectAsState()
+    
+    // Categoria adjacente (próxima na ordem do cardápio): suas primeiras imagens são pré-carregadas
+    val adjacentImageUrls by productsViewModel.adjacentImageUrls.collectAsState()
+    val productImageUrls = remember(products) { products.map { it.imageUrl } }
 
     val colorScheme = MaterialTheme.colorScheme
     
@@ -266,42 +242,75 @@ fun ProductsScreen(
                     modifier = Modifier.padding(bottom = 12.dp)
                 )
 
-                // ========== LISTA VERTICAL DE PRODUTOS COM FADE-IN SUAVE ==========
-                Crossfade(
-                    targetState = categoryName,
-                    animationSpec = tween(durationMillis = 220), // Duração entre 200-250ms
-                    label = "products_content_fade"
-                ) { _ ->
-                    LazyColumn(
-                        modifier = Modifier.fillMaxSize(),
-                        verticalArrangement = Arrangement.spacedBy(16.dp),
-                        contentPadding = androidx.compose.foundation.layout.PaddingValues(0.dp)
-                    ) {
-                        items(products) { product ->
-                            // Badge emocional apenas para alguns produtos específicos
-                            val badgeText = when (product.id) {
-                                "1" -> "Mais pedido" // Bruschetta Italiana
-                                "9" -> "Chef recomenda" // Filé Mignon ao Molho
-                                "25" -> "Mais pedido" // Brownie com Sorvete
-                                else -> null
+                // ========== BUSCA ==========
+                ProductsSearchBar(
+                    query = searchUiState.query,
+                    onQueryChange = searchViewModel::onQueryChange,
+                    onClear = searchViewModel::clearQuery,
+                    modifier = Modifier.padding(bottom = 16.dp)
+                )
+
+                if (searchUiState.isActive) {
+                    // Resultados da busca substituem a listagem da categoria
+                    ProductsSearchResults(
+                        results = searchUiState.results,
+                        isSearching = searchUiState.isSearching,
+                        liveUpdatesViewModel = liveUpdatesViewModel,
+                        onProductClick = onNavigateToProductDetail
+                    )
+                } else {
+                    // ========== LISTA VERTICAL DE PRODUTOS COM FADE-IN SUAVE ==========
+                    Crossfade(
+                        targetState = categoryName,
+                        animationSpec = tween(durationMillis = 220), // Duração entre 200-250ms
+                        label = "products_content_fade"
+                    ) { _ ->
+                        val listState = rememberLazyListState()
+                        
+                        // Aquece o cache de imagens das próximas linhas conforme a rolagem
+                        ProductImagePrefetchEffect(
+                            listState = listState,
+                            imageUrls = productImageUrls,
+                            adjacentImageUrls = adjacentImageUrls,
+                            imageSize = ProductListItemImageSize
+                        )
+                        
+                        LazyColumn(
+                            state = listState,
+                            modifier = Modifier.fillMaxSize(),
+                            verticalArrangement = Arrangement.spacedBy(16.dp),
+                            contentPadding = androidx.compose.foundation.layout.PaddingValues(0.dp)
+                        ) {
+                            items(products, key = { it.id }) { product ->
+                                // Badge emocional apenas para alguns produtos específicos
+                                val badgeText = when (product.id) {
+                                    "1" -> "Mais pedido" // Bruschetta Italiana
+                                    "9" -> "Chef recomenda" // Filé Mignon ao Molho
+                                    "25" -> "Mais pedido" // Brownie com Sorvete
+                                    else -> null
+                                }
+                                // Leitura do State dentro da linha: só ela recompõe quando o item muda
+                                val liveStatus by liveUpdatesViewModel.statusOf(product.id)
+                                
+                                ProductListItem(
+                                    name = product.name,
+                                    description = product.description,
+                                    price = liveStatus?.price ?: product.price,
+                                    imageResId = placeholderImageFor(product.category),
+                                    onClick = {
+                                        // Navega para tela de detalhes do produto
+                                        onNavigateToProductDetail(product.id)
+                                    },
+                                    onSelectClick = {
+                                        // Navega para tela de detalhes do produto
+                                        // O carrinho será gerenciado na tela de detalhes
+                                        onNavigateToProductDetail(product.id)
+                                    },
+                                    badgeText = badgeText,
+                                    isAvailable = liveStatus?.isAvailable ?: product.isAvailable,
+                                    imageUrl = product.imageUrl
+                                )
                             }
-                            
-                            ProductListItem(
-                                name = product.name,
-                                description = product.shortDescription,
-                                price = product.price,
-                                imageResId = product.imageResId,
-                                onClick = {
-                                    // Navega para tela de detalhes do produto
-                                    onNavigateToProductDetail(product.id)
-                                },
-                                onSelectClick = {
-                                    // Navega para tela de detalhes do produto
-                                    // O carrinho será gerenciado na tela de detalhes
-                                    onNavigateToProductDetail(product.id)
-                                },
-                                badgeText = badgeText
-                            )
                         }
                     }
                 }
@@ -366,3 +375,59 @@ fun ProductsScreen(
     }
 }
 
+/**
+ * Lista de resultados da busca no cardápio.
+ * Os itens vêm do catálogo local; a imagem usa o placeholder da categoria.
+ */
+@Composable
+private fun ProductsSearchResults(
+    results: List<MenuItem>,
+    isSearching: Boolean,
+    liveUpdatesViewModel: MenuLiveUpdatesViewModel,
+    onProductClick: (String) -> Unit
+) {
+    val colorScheme = MaterialTheme.colorScheme
+
+    if (results.isEmpty()) {
+        if (!isSearching) {
+            Text(
+                text = "Nenhum item encontrado",
+                style = MaterialTheme.typography.bodyLarge,
+                color = colorScheme.onSurfaceVariant,
+                modifier = Modifier.padding(top = 24.dp)
+            )
+        }
+        return
+    }
+
+    LazyColumn(
+        modifier = Modifier.fillMaxSize(),
+        verticalArrangement = Arrangement.spacedBy(16.dp)
+    ) {
+        items(results, key = { it.id }) { item ->
+            val liveStatus by liveUpdatesViewModel.statusOf(item.id)
+            ProductListItem(
+                name = item.name,
+                description = item.description,
+                price = liveStatus?.price ?: item.price,
+                imageResId = placeholderImageFor(item.category),
+                onClick = { onProductClick(item.id) },
+                onSelectClick = { onProductClick(item.id) },
+                isAvailable = liveStatus?.isAvailable ?: item.isAvailable,
+                imageUrl = item.imageUrl
+            )
+        }
+    }
+}
+
+/**
+ * Imagem de placeholder por ID de categoria (enquanto os itens não têm imagem própria carregada).
+ */
+private fun placeholderImageFor(categoryId: String): Int {
+    return when (categoryId) {
+        "entradas" -> R.drawable.entradas
+        "bebidas" -> R.drawable.bebidas
+        "sobremesas" -> R.drawable.sobremesas
+        else -> R.drawable.pratos_principais
+    }
+}
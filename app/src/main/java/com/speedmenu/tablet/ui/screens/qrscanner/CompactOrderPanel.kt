@@ -27,6 +27,7 @@ import androidx.compose.ui.graphics.Brush
 import androidx.compose.ui.graphics.Color
 import androidx.compose.ui.draw.shadow
 import androidx.compose.runtime.Composable
+import androidx.compose.runtime.key
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.text.font.FontWeight
@@ -34,8 +35,11 @@ import androidx.compose.ui.text.style.TextAlign
 import androidx.compose.ui.unit.dp
 import androidx.compose.ui.unit.sp
 import com.speedmenu.tablet.core.utils.CurrencyFormatter
+import com.speedmenu.tablet.domain.model.sumOfMoney
 import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.OrderLineStatus
 import com.speedmenu.tablet.ui.screens.order.CartItemRow
+import com.speedmenu.tablet.ui.screens.order.OrderLineStatusLabel
 import com.speedmenu.tablet.ui.viewmodel.FinalizationState
 
 /**
@@ -47,6 +51,7 @@ import com.speedmenu.tablet.ui.viewmodel.FinalizationState
  * 
  * @param mode Modo de operação (CHECKOUT ou VIEW_ORDER)
  * @param items Lista de itens do carrinho (CHECKOUT) ou pedido (VIEW_ORDER)
+ * @param lineStatuses Situação de cada linha na cozinha, por ID do item (apenas VIEW_ORDER)
  * @param isLoading Se true, mostra loading (apenas VIEW_ORDER)
  * @param error Mensagem de erro (se houver, apenas VIEW_ORDER)
  * @param comandaCode Código da comanda escaneada (se houver)
@@ -63,6 +68,7 @@ import com.speedmenu.tablet.ui.viewmodel.FinalizationState
 fun CompactOrderPanel(
     mode: QrScannerMode,
     items: List<CartItem>,
+    lineStatuses: Map<String, OrderLineStatus> = emptyMap(),
     isLoading: Boolean = false,
     error: String? = null,
     comandaCode: String? = null,
@@ -276,13 +282,24 @@ fun CompactOrderPanel(
                                 verticalArrangement = Arrangement.spacedBy(12.dp)
                             ) {
                                 items.forEachIndexed { index, item ->
-                                    CartItemRow(
-                                        item = item,
-                                        readOnly = true, // VIEW_ORDER sempre read-only
-                                        animationDelay = index * 30,
-                                        onRemoveItem = {},
-                                        onUpdateQuantity = {}
-                                    )
+                                    // Key pelo ID da linha: atualizações do pedido recompõem só a linha alterada
+                                    key(item.id) {
+                                        Column(verticalArrangement = Arrangement.spacedBy(6.dp)) {
+                                            CartItemRow(
+                                                item = item,
+                                                readOnly = true, // VIEW_ORDER sempre read-only
+                                                animationDelay = index * 30,
+                                                onRemoveItem = {},
+                                                onUpdateQuantity = {}
+                                            )
+                                            lineStatuses[item.id]?.let { status ->
+                                                OrderLineStatusLabel(
+                                                    status = status,
+                                                    modifier = Modifier.align(Alignment.End)
+                                                )
+                                            }
+                                        }
+                                    }
                                 }
                             }
                         }
@@ -310,7 +327,7 @@ fun CompactOrderPanel(
             )
             
             // Total (sempre calcula, mesmo se vazio)
-            val total = items.sumOf { it.totalPrice }
+            val total = items.sumOfMoney { it.totalPrice }
             
             Row(
                 modifier = Modifier.fillMaxWidth(),
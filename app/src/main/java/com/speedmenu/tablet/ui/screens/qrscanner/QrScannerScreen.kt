@@ -47,6 +47,7 @@ import android.view.ViewGroup
 import android.view.ViewOutlineProvider
 import androidx.core.content.ContextCompat
 import androidx.hilt.navigation.compose.hiltViewModel
+import androidx.lifecycle.compose.collectAsStateWithLifecycle
 import com.google.accompanist.permissions.ExperimentalPermissionsApi
 import com.google.accompanist.permissions.PermissionStatus
 import com.google.accompanist.permissions.rememberPermissionState
@@ -119,7 +120,8 @@ fun QrScannerScreen(
     cartViewModel: CartViewModel // Recebe do NavGraph para garantir mesma instância compartilhada
 ) {
     val context = LocalContext.current
-    val uiState by qrScannerViewModel.uiState.collectAsState()
+    // Só com a tela visível: o acompanhamento do pedido para com o app em segundo plano
+    val uiState by qrScannerViewModel.uiState.collectAsStateWithLifecycle()
     val cartState by cartViewModel.cartState.collectAsState()
     
     // WaiterViewModel centralizado para gerenciar chamadas de garçom
@@ -280,6 +282,7 @@ fun QrScannerScreen(
                     // CHECKOUT: usa diretamente cartState.items do CartViewModel compartilhado
                     // VIEW_ORDER: usa orderItems do QrScannerViewModel
                     items = if (mode == QrScannerMode.CHECKOUT) cartState.items else uiState.orderItems,
+                    lineStatuses = uiState.orderLineStatuses,
                     isLoading = uiState.isLoadingOrder,
                     error = uiState.orderError,
                     comandaCode = uiState.comandaCode,
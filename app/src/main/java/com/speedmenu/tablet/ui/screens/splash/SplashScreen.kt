@@ -2,30 +2,39 @@ package com.speedmenu.tablet.ui.screens.splash
 
 import androidx.compose.foundation.layout.Box
 import androidx.compose.foundation.layout.fillMaxSize
-import androidx.compose.material3.Text
+import androidx.compose.material3.CircularProgressIndicator
+import androidx.compose.material3.MaterialTheme
 import androidx.compose.runtime.Composable
+import androidx.compose.runtime.LaunchedEffect
+import androidx.compose.runtime.collectAsState
+import androidx.compose.runtime.getValue
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
-import androidx.compose.ui.text.style.TextAlign
+import androidx.hilt.navigation.compose.hiltViewModel
 
 /**
  * Tela de splash/boas-vindas.
- * Placeholder para desenvolvimento futuro.
+ * Exibida enquanto as tarefas críticas de inicialização rodam; navega para a Home ao terminar.
  *
- * @param onNavigateToPlaceholder Callback para navegação (temporário)
+ * @param onNavigateToHome Callback de navegação para a Home
  */
 @Composable
 fun SplashScreen(
-    onNavigateToPlaceholder: () -> Unit = {}
+    onNavigateToHome: () -> Unit = {},
+    viewModel: SplashViewModel = hiltViewModel()
 ) {
+    val uiState by viewModel.uiState.collectAsState()
+
+    LaunchedEffect(uiState.isReady) {
+        if (uiState.isReady) onNavigateToHome()
+    }
+
     Box(
         modifier = Modifier.fillMaxSize(),
         contentAlignment = Alignment.Center
     ) {
-        Text(
-            text = "Splash Screen\n(Placeholder)",
-            textAlign = TextAlign.Center
-        )
+        if (uiState.isLoading) {
+            CircularProgressIndicator(color = MaterialTheme.colorScheme.primary)
+        }
     }
 }
-
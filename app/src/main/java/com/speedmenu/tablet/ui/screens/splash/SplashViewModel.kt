@@ -2,6 +2,7 @@ package com.speedmenu.tablet.ui.screens.splash
 
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
+import com.speedmenu.tablet.core.startup.StartupOrchestrator
 import dagger.hilt.android.lifecycle.HiltViewModel
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
@@ -11,26 +12,31 @@ import javax.inject.Inject
 
 /**
  * Estado da UI da tela de splash.
+ *
+ * @param isLoading Tarefas críticas de inicialização em andamento
+ * @param isReady Pronto para navegar para a Home
  */
 data class SplashUiState(
     val isLoading: Boolean = true,
+    val isReady: Boolean = false,
     val error: String? = null
 )
 
 /**
  * ViewModel da tela de splash.
- * Gerencia o estado e lógica da tela de boas-vindas.
- * TODO: Implementar lógica de inicialização quando necessário.
+ * Aguarda o aquecimento do app ([StartupOrchestrator], iniciado pela Application) e libera
+ * a navegação para a Home assim que as tarefas críticas terminam; o restante continua em segundo plano.
  */
 @HiltViewModel
-class SplashViewModel @Inject constructor() : ViewModel() {
+class SplashViewModel @Inject constructor(
+    private val startupOrchestrator: StartupOrchestrator
+) : ViewModel() {
 
     private val _uiState = MutableStateFlow(SplashUiState())
     val uiState: StateFlow<SplashUiState> = _uiState.asStateFlow()
 
     init {
-        // TODO: Implementar lógica de inicialização
-        // Por exemplo: verificar conexão, carregar dados iniciais, etc.
+        startLoading()
     }
 
     /**
@@ -39,8 +45,9 @@ class SplashViewModel @Inject constructor() : ViewModel() {
     fun startLoading() {
         viewModelScope.launch {
             _uiState.value = _uiState.value.copy(isLoading = true)
-            // TODO: Implementar lógica de carregamento
+            // Falhas individuais já são tratadas no orquestrador: a Home carrega o que faltar sob demanda
+            startupOrchestrator.awaitInteractive()
+            _uiState.value = _uiState.value.copy(isLoading = false, isReady = true)
         }
     }
 }
-
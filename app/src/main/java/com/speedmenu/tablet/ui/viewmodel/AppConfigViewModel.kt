@@ -4,15 +4,18 @@ import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
 import com.speedmenu.tablet.data.local.RestaurantSession
 import com.speedmenu.tablet.domain.model.AppConfig
+import com.speedmenu.tablet.domain.model.Branding
+import com.speedmenu.tablet.domain.model.CarouselItem
+import com.speedmenu.tablet.domain.model.ThemeTokens
 import com.speedmenu.tablet.domain.repository.AppConfigRepository
 import dagger.hilt.android.lifecycle.HiltViewModel
 import kotlinx.coroutines.Job
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.SharingStarted
 import kotlinx.coroutines.flow.asStateFlow
-import kotlinx.coroutines.flow.combine
-import kotlinx.coroutines.flow.launchIn
-import kotlinx.coroutines.flow.onEach
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.stateIn
 import kotlinx.coroutines.launch
 import timber.log.Timber
 import javax.inject.Inject
@@ -30,6 +33,16 @@ class AppConfigViewModel @Inject constructor(
     private val _appConfig = MutableStateFlow<AppConfig?>(null)
     val appConfig: StateFlow<AppConfig?> = _appConfig.asStateFlow()
     
+    /**
+     * Fatias do config, cada uma emitindo apenas quando o seu conteúdo muda
+     * (o StateFlow descarta valores iguais ao atual).
+     * Ex: um novo carrossel não recompõe quem só lê o tema ou o branding.
+     */
+    val themeTokens: StateFlow<ThemeTokens?> = appConfig.slice { it?.theme }
+    val branding: StateFlow<Branding?> = appConfig.slice { it?.branding }
+    val carousel: StateFlow<List<CarouselItem>> = appConfig.slice { it?.home?.carousel.orEmpty() }
+    val configVersion: StateFlow<Int?> = appConfig.slice { it?.version }
+    
     private val _restaurantId = MutableStateFlow<String>("default")
     val restaurantId: StateFlow<String> = _restaurantId.asStateFlow()
     
@@ -64,12 +77,17 @@ class AppConfigViewModel @Inject constructor(
         configLoadJob = viewModelScope.launch {
             repository.observeConfig(restaurantId)
                 .collect { config ->
+                    // Config igual ao atual (versão e hash em cache batem) é descartado pelo StateFlow
                     Timber.d("AppConfigViewModel: received config version=${config.version} for restaurant=$restaurantId")
                     _appConfig.value = config
                 }
         }
     }
     
+    private fun <T> StateFlow<AppConfig?>.slice(selector: (AppConfig?) -> T): StateFlow<T> {
+        return map(selector).stateIn(viewModelScope, SharingStarted.Eagerly, selector(value))
+    }
+    
     /**
      * Atualiza o restaurantId.
      */
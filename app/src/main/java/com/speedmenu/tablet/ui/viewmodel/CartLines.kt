@@ -0,0 +1,148 @@
+package com.speedmenu.tablet.ui.viewmodel
+
+import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.CartItemOptions
+import com.speedmenu.tablet.domain.model.CartOperation
+import com.speedmenu.tablet.domain.model.FulfillmentType
+import com.speedmenu.tablet.domain.model.Money
+
+/**
+ * Linhas do carrinho com índices e totais mantidos de forma incremental.
+ *
+ * - Linhas por ID em ordem de inserção (LinkedHashMap): alterar ou remover uma linha é O(1)
+ * - Índice (productId, preço, opções) -> ID da linha: achar a linha para mesclar é uma busca em hash,
+ *   sem comparar as opções de cada item do carrinho; o hash das opções é o fingerprint
+ *   pré-calculado de [CartItemOptions], então a chave não percorre ingredientes nem observações
+ * - totalItems/totalValue atualizados a cada operação pela diferença, sem somar a lista de novo
+ *
+ * Não é thread-safe: o [CartViewModel] serializa o acesso.
+ */
+internal class CartLines {
+
+    /**
+     * Chave de mesclagem: mesmo produto, pelo mesmo preço unitário e com as mesmas opções, vira
+     * uma única linha. Com o preço na chave, a linha mesclada sempre cobra o preço de quem a
+     * somou (um item adicionado depois de uma mudança de preço ganha linha própria).
+     */
+    private data class MergeKey(val productId: String, val price: Money, val options: CartItemOptions)
+
+    private val linesById = LinkedHashMap<String, CartItem>()
+    private val lineIdByKey = HashMap<MergeKey, String>()
+
+    private var totalItems = 0
+    private var totalValue = Money.ZERO
+
+    /**
+     * Adiciona o item, somando a quantidade à linha existente com mesmo produto e opções.
+     * @param newLineId Gera o ID de uma linha nova quando o item não traz um
+     * @return ID da linha que recebeu o item (nova ou mesclada)
+     */
+    fun add(item: CartItem, newLineId: () -> String): String {
+        val key = keyOf(item)
+        val existingId = lineIdByKey[key]
+        val existing = existingId?.let { linesById[it] }
+        val lineId = if (existing != null) {
+            linesById[existing.id] = existing.copy(quantity = existing.quantity + item.quantity)
+            existing.id
+        } else {
+            val line = if (item.id.isEmpty()) item.copy(id = newLineId()) else item
+            linesById[line.id] = line
+            lineIdByKey[key] = line.id
+            line.id
+        }
+        totalItems += item.quantity
+        totalValue += item.price * item.quantity
+        return lineId
+    }
+
+    /**
+     * Remove a linha. @return false se não existia
+     */
+    fun remove(lineId: String): Boolean {
+        val line = linesById.remove(lineId) ?: return false
+        val key = keyOf(line)
+        if (lineIdByKey[key] == lineId) lineIdByKey.remove(key)
+        totalItems -= line.quantity
+        totalValue -= line.totalPrice
+        return true
+    }
+
+    /**
+     * Define a quantidade da linha (deve ser positiva). @return false se não existia
+     */
+    fun setQuantity(lineId: String, quantity: Int): Boolean {
+        val line = linesById[lineId] ?: return false
+        val delta = quantity - line.quantity
+        linesById[lineId] = line.copy(quantity = quantity)
+        totalItems += delta
+        totalValue += line.price * delta
+        return true
+    }
+
+    /**
+     * Altera o tipo de atendimento da linha (não afeta totais). @return false se não existia
+     */
+    fun setFulfillmentType(lineId: String, type: FulfillmentType): Boolean {
+        val line = linesById[lineId] ?: return false
+        linesById[lineId] = line.copy(fulfillmentType = type)
+        return true
+    }
+
+    fun clear() {
+        linesById.clear()
+        lineIdByKey.clear()
+        totalItems = 0
+        totalValue = Money.ZERO
+    }
+
+    /**
+     * Reaplica uma operação registrada (o item de [CartOperation.Add] já traz o ID da linha).
+     * @return false se a operação não alterou nada
+     */
+    fun apply(operation: CartOperation): Boolean {
+        return when (operation) {
+            is CartOperation.Add -> {
+                add(operation.item) { operation.item.id }
+                true
+            }
+            is CartOperation.Remove -> remove(operation.lineId)
+            is CartOperation.SetQuantity -> setQuantity(operation.lineId, operation.quantity)
+            is CartOperation.SetFulfillmentType -> setFulfillmentType(operation.lineId, operation.type)
+            CartOperation.Clear -> {
+                clear()
+                true
+            }
+            is CartOperation.ReplaceAll -> {
+                replaceAll(operation.lines)
+                true
+            }
+        }
+    }
+
+    /**
+     * Substitui todas as linhas (ex: pelo carrinho compartilhado da mesa), sem mesclar:
+     * o carrinho da mesa pode ter duas linhas iguais adicionadas ao mesmo tempo em tablets diferentes.
+     */
+    fun replaceAll(items: List<CartItem>) {
+        clear()
+        items.forEach { line ->
+            linesById[line.id] = line
+            lineIdByKey.putIfAbsent(keyOf(line), line.id)
+            totalItems += line.quantity
+            totalValue += line.totalPrice
+        }
+    }
+
+    private fun keyOf(item: CartItem) = MergeKey(item.productId, item.price, item.options)
+
+    /**
+     * Estado imutável para a UI (cópia das linhas; totais já calculados).
+     */
+    fun snapshot(): CartState {
+        return CartState(
+            items = ArrayList(linesById.values),
+            totalItems = totalItems,
+            totalValue = totalValue
+        )
+    }
+}
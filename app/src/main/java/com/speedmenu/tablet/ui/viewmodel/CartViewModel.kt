@@ -6,29 +6,31 @@ import dagger.hilt.android.lifecycle.HiltViewModel
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asStateFlow
-import kotlinx.coroutines.flow.update
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.launch
+import java.util.UUID
 import javax.inject.Inject
+import com.speedmenu.tablet.data.local.CartJournal
+import com.speedmenu.tablet.data.local.RestaurantSession
+import com.speedmenu.tablet.data.repository.TableCartSync
 import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.CartOperation
 import com.speedmenu.tablet.domain.model.FulfillmentType
+import com.speedmenu.tablet.domain.model.Money
 
 /**
  * Estado do carrinho de compras.
+ * Os totais são mantidos incrementalmente pelo [CartViewModel] (não somam a lista a cada leitura).
+ *
+ * @param items Linhas do carrinho, em ordem de inserção
+ * @param totalItems Total de itens no carrinho (soma de todas as quantidades)
+ * @param totalValue Valor total do carrinho
  */
 data class CartState(
-    val items: List<CartItem> = emptyList()
-) {
-    /**
-     * Total de itens no carrinho (soma de todas as quantidades).
-     */
-    val totalItems: Int
-        get() = items.sumOf { it.quantity }
-
-    /**
-     * Valor total do carrinho.
-     */
-    val totalValue: Double
-        get() = items.sumOf { it.totalPrice }
-}
+    val items: List<CartItem> = emptyList(),
+    val totalItems: Int = 0,
+    val totalValue: Money = Money.ZERO
+)
 
 /**
  * ViewModel global do carrinho de compras.
@@ -36,82 +38,94 @@ data class CartState(
  * 
  * Este ViewModel é compartilhado entre todas as telas e mantém o estado
  * durante toda a navegação do usuário.
+ *
+ * Cada alteração é registrada no [CartJournal]; ao criar o ViewModel (ex: após crash ou
+ * reboot do tablet) o carrinho salvo é restaurado.
+ *
+ * Com uma mesa configurada ([RestaurantSession.observeTableId]), o carrinho é compartilhado
+ * com os outros tablets da mesa via [TableCartSync]: as alterações locais valem na hora e
+ * as dos outros tablets substituem as linhas quando chegam.
  */
 @HiltViewModel
-class CartViewModel @Inject constructor() : ViewModel() {
+class CartViewModel @Inject constructor(
+    private val cartJournal: CartJournal,
+    private val tableCartSync: TableCartSync,
+    private val restaurantSession: RestaurantSession
+) : ViewModel() {
 
     // ID único da instância para debug (verificar se há múltiplas instâncias)
     private val instanceId = System.identityHashCode(this)
     
+    // Linhas com índice de mesclagem e totais incrementais; o StateFlow recebe cópias imutáveis
+    private val lines = CartLines()
+    
     private val _cartState = MutableStateFlow(CartState())
     val cartState: StateFlow<CartState> = _cartState.asStateFlow()
     
     init {
         // Debug: Log da criação da instância (remover em produção)
         // android.util.Log.d("CartViewModel", "Instância criada: $instanceId")
+        viewModelScope.launch {
+            restoreFromJournal()
+            // Só entra na mesa depois do restore, para publicar também as linhas restauradas
+            restaurantSession.observeTableId()
+                .distinctUntilChanged()
+                .collect { tableId ->
+                    if (tableId == null) {
+                        tableCartSync.leave()
+                    } else {
+                        tableCartSync.join(tableId) { _cartState.value.items }
+                    }
+                }
+        }
+        viewModelScope.launch {
+            tableCartSync.remoteChanges.collect { applyTableCart() }
+        }
+    }
+
+    /**
+     * Restaura o carrinho salvo em disco.
+     * Alterações feitas antes do restore terminar são reaplicadas por cima do carrinho salvo,
+     * na mesma ordem em que estão no diário.
+     */
+    private suspend fun restoreFromJournal() {
+        val restored = cartJournal.restore()
+        if (restored.isEmpty) return
+        synchronized(lines) {
+            val addedMeanwhile = lines.snapshot().items
+            // O snapshot já traz as linhas finais (sem mesclar: o carrinho da mesa pode ter linhas iguais)
+            lines.replaceAll(restored.lines)
+            restored.operations.forEach { lines.apply(it) }
+            addedMeanwhile.forEach { line -> lines.add(line) { line.id } }
+            _cartState.value = lines.snapshot()
+        }
+    }
+
+    /**
+     * Substitui as linhas pelo carrinho da mesa, após operações de outros tablets ou quando um
+     * item adicionado aqui foi para uma linha nova na mesa (a linha local já tinha sido removida lá).
+     * No diário, vira um único [CartOperation.ReplaceAll] (que já compacta em snapshot).
+     */
+    private fun applyTableCart() {
+        synchronized(lines) {
+            val shared = tableCartSync.currentLines() ?: return
+            lines.replaceAll(shared)
+            val state = lines.snapshot()
+            _cartState.value = state
+            cartJournal.record(CartOperation.ReplaceAll(state.items), state.items)
+        }
     }
 
     /**
      * Adiciona um item ao carrinho.
      * Se o item já existir (mesmo productId e opções idênticas), incrementa a quantidade.
      * Caso contrário, adiciona como novo item com ID único.
-     * 
-     * DEBUG CHECKLIST:
-     * ✅ Este método é realmente chamado?
-     * ✅ O estado global do carrinho é mutado?
-     * ✅ O componente do topo está observando o estado correto?
-     * ✅ Existe mais de um carrinho instanciado? (verificar instanceId)
-     * ✅ O store não está sendo recriado ao navegar de tela?
      */
     fun addItem(item: CartItem) {
-        // Debug: Verificar se o método está sendo chamado
-        // android.util.Log.d("CartViewModel", "[$instanceId] addItem() chamado: ${item.name}, qty=${item.quantity}")
-        
-        val previousTotalItems = _cartState.value.totalItems
-        
-        _cartState.update { state ->
-            // Busca item existente com mesmo productId e opções idênticas
-            val existingItemIndex = state.items.indexOfFirst { 
-                it.productId == item.productId && it.options == item.options 
-            }
-            
-            val newState = if (existingItemIndex >= 0) {
-                // Item já existe, incrementa quantidade
-                val existingItem = state.items[existingItemIndex]
-                val updatedItems = state.items.toMutableList()
-                updatedItems[existingItemIndex] = existingItem.copy(
-                    quantity = existingItem.quantity + item.quantity
-                )
-                // Debug: Item incrementado
-                // android.util.Log.d("CartViewModel", "[$instanceId] Item incrementado: ${existingItem.name}, qty: ${existingItem.quantity} -> ${updatedItems[existingItemIndex].quantity}")
-                state.copy(items = updatedItems)
-            } else {
-                // Novo item, adiciona à lista
-                // Gera ID único se não foi fornecido
-                val finalItem = if (item.id.isEmpty()) {
-                    item.copy(id = "${item.productId}_${System.currentTimeMillis()}")
-                } else {
-                    item
-                }
-                // Debug: Novo item adicionado
-                // android.util.Log.d("CartViewModel", "[$instanceId] Novo item adicionado: ${finalItem.name}, qty=${finalItem.quantity}")
-                state.copy(items = state.items + finalItem)
-            }
-            
-            // Debug: Verificar mudança no estado
-            val newTotalItems = newState.totalItems
-            // android.util.Log.d("CartViewModel", "[$instanceId] Estado atualizado: totalItems $previousTotalItems -> $newTotalItems")
-            
-            newState
-        }
-        
-        // Debug: Verificar se o estado foi realmente atualizado
-        val finalTotalItems = _cartState.value.totalItems
-        // android.util.Log.d("CartViewModel", "[$instanceId] Estado final verificado: totalItems=$finalTotalItems")
-        
-        // REGRA DE OURO: Se totalItems não aumentou, algo está errado
-        if (finalTotalItems != previousTotalItems + item.quantity) {
-            // android.util.Log.e("CartViewModel", "[$instanceId] ⚠️ ERRO: Estado não atualizado corretamente! Esperado: ${previousTotalItems + item.quantity}, Atual: $finalTotalItems")
+        mutate { cart ->
+            // ID único também entre tablets (o carrinho pode ser compartilhado com a mesa)
+            val lineId = cart.add(item) { "${item.productId}_${UUID.randomUUID()}" }
+            CartOperation.Add(item.copy(id = lineId))
         }
     }
 
@@ -119,9 +133,7 @@ class CartViewModel @Inject constructor() : ViewModel() {
      * Remove um item do carrinho pelo ID.
      */
     fun removeItem(itemId: String) {
-        _cartState.update { state ->
-            state.copy(items = state.items.filter { it.id != itemId })
-        }
+        mutate { cart -> CartOperation.Remove(itemId).takeIf { cart.remove(itemId) } }
     }
 
     /**
@@ -133,16 +145,8 @@ class CartViewModel @Inject constructor() : ViewModel() {
             removeItem(itemId)
             return
         }
-
-        _cartState.update { state ->
-            val updatedItems = state.items.map { item ->
-                if (item.id == itemId) {
-                    item.copy(quantity = newQuantity)
-                } else {
-                    item
-                }
-            }
-            state.copy(items = updatedItems)
+        mutate { cart ->
+            CartOperation.SetQuantity(itemId, newQuantity).takeIf { cart.setQuantity(itemId, newQuantity) }
         }
     }
 
@@ -150,15 +154,8 @@ class CartViewModel @Inject constructor() : ViewModel() {
      * Atualiza o tipo de atendimento (fulfillment type) de um item no carrinho.
      */
     fun updateFulfillmentType(itemId: String, newType: FulfillmentType) {
-        _cartState.update { state ->
-            val updatedItems = state.items.map { item ->
-                if (item.id == itemId) {
-                    item.copy(fulfillmentType = newType)
-                } else {
-                    item
-                }
-            }
-            state.copy(items = updatedItems)
+        mutate { cart ->
+            CartOperation.SetFulfillmentType(itemId, newType).takeIf { cart.setFulfillmentType(itemId, newType) }
         }
     }
 
@@ -166,7 +163,26 @@ class CartViewModel @Inject constructor() : ViewModel() {
      * Limpa todo o carrinho.
      */
     fun clearCart() {
-        _cartState.update { CartState() }
+        mutate { cart ->
+            cart.clear()
+            CartOperation.Clear
+        }
+    }
+
+    /**
+     * Aplica uma alteração às linhas, publica o novo estado e registra a operação no diário
+     * (apenas se algo mudou).
+     *
+     * @param block Altera as linhas e retorna a operação aplicada, ou null se nada mudou
+     */
+    private inline fun mutate(block: (CartLines) -> CartOperation?) {
+        synchronized(lines) {
+            val operation = block(lines) ?: return
+            val state = lines.snapshot()
+            _cartState.value = state
+            cartJournal.record(operation, state.items)
+            tableCartSync.onLocalOperation(operation)
+        }
     }
 
     /**
@@ -177,6 +193,6 @@ class CartViewModel @Inject constructor() : ViewModel() {
     /**
      * Obtém o valor total do carrinho.
      */
-    fun getTotalValue(): Double = _cartState.value.totalValue
+    fun getTotalValue(): Money = _cartState.value.totalValue
 }
 
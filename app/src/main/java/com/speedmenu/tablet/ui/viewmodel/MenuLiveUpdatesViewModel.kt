@@ -0,0 +1,58 @@
+package com.speedmenu.tablet.ui.viewmodel
+
+import androidx.compose.runtime.MutableState
+import androidx.compose.runtime.State
+import androidx.compose.runtime.mutableStateOf
+import androidx.lifecycle.ViewModel
+import androidx.lifecycle.viewModelScope
+import com.speedmenu.tablet.domain.model.Money
+import com.speedmenu.tablet.domain.repository.MenuRepository
+import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.launch
+import javax.inject.Inject
+
+/**
+ * Estado ao vivo de um item do cardápio (disponibilidade e preço atuais).
+ */
+data class MenuItemLiveStatus(
+    val isAvailable: Boolean,
+    val price: Money
+)
+
+/**
+ * ViewModel que aplica as alterações ao vivo do cardápio nas linhas da lista.
+ *
+ * Cada item tem o seu próprio State: uma linha lê apenas o State do seu item,
+ * então uma alteração recompõe somente a linha afetada (a lista não é recarregada).
+ * O valor é null enquanto não chegar nenhuma alteração para o item.
+ */
+@HiltViewModel
+class MenuLiveUpdatesViewModel @Inject constructor(
+    private val menuRepository: MenuRepository
+) : ViewModel() {
+
+    // Acessado apenas na main thread (composição e viewModelScope)
+    private val statuses = HashMap<String, MutableState<MenuItemLiveStatus?>>()
+
+    init {
+        viewModelScope.launch {
+            menuRepository.observeItemUpdates().collect { items ->
+                for (item in items) {
+                    stateFor(item.id).value = MenuItemLiveStatus(
+                        isAvailable = item.isAvailable,
+                        price = item.price
+                    )
+                }
+            }
+        }
+    }
+
+    /**
+     * Estado ao vivo do item (null se não houve alteração desde que a tela abriu).
+     * @param itemId ID do item
+     */
+    fun statusOf(itemId: String): State<MenuItemLiveStatus?> = stateFor(itemId)
+
+    private fun stateFor(itemId: String): MutableState<MenuItemLiveStatus?> =
+        statuses.getOrPut(itemId) { mutableStateOf(null) }
+}
@@ -0,0 +1,85 @@
+package com.speedmenu.tablet.ui.viewmodel
+
+import androidx.lifecycle.ViewModel
+import androidx.lifecycle.viewModelScope
+import com.speedmenu.tablet.domain.model.MenuItem
+import com.speedmenu.tablet.domain.repository.MenuRepository
+import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.update
+import kotlinx.coroutines.launch
+import timber.log.Timber
+import javax.inject.Inject
+
+/**
+ * Estado da UI da busca no cardápio.
+ */
+data class MenuSearchUiState(
+    val query: String = "",
+    val results: List<MenuItem> = emptyList(),
+    val isSearching: Boolean = false
+) {
+    /**
+     * Indica se há uma busca ativa (a tela deve mostrar resultados em vez da categoria).
+     */
+    val isActive: Boolean
+        get() = query.isNotBlank()
+}
+
+/**
+ * ViewModel da busca no cardápio (busca enquanto digita).
+ * Cada nova digitação cancela a busca anterior; o índice local responde em menos de 1ms,
+ * então o pequeno atraso serve apenas para não recompor a lista a cada tecla.
+ */
+@HiltViewModel
+class MenuSearchViewModel @Inject constructor(
+    private val menuRepository: MenuRepository
+) : ViewModel() {
+
+    private val _uiState = MutableStateFlow(MenuSearchUiState())
+    val uiState: StateFlow<MenuSearchUiState> = _uiState.asStateFlow()
+
+    private var searchJob: Job? = null
+
+    /**
+     * Atualiza o texto da busca e dispara a consulta.
+     * @param query Texto digitado
+     */
+    fun onQueryChange(query: String) {
+        _uiState.update { it.copy(query = query) }
+        searchJob?.cancel()
+
+        if (query.isBlank()) {
+            _uiState.update { it.copy(results = emptyList(), isSearching = false) }
+            return
+        }
+
+        searchJob = viewModelScope.launch {
+            delay(SEARCH_DEBOUNCE_MILLIS)
+            _uiState.update { it.copy(isSearching = true) }
+            menuRepository.searchMenu(query)
+                .onSuccess { results ->
+                    _uiState.update { it.copy(results = results, isSearching = false) }
+                }
+                .onFailure { exception ->
+                    Timber.w(exception, "MenuSearchViewModel: search failed for query=$query")
+                    _uiState.update { it.copy(results = emptyList(), isSearching = false) }
+                }
+        }
+    }
+
+    /**
+     * Limpa a busca e volta para a listagem da categoria.
+     */
+    fun clearQuery() {
+        onQueryChange("")
+    }
+
+    companion object {
+        private const val SEARCH_DEBOUNCE_MILLIS = 80L
+    }
+}
@@ -0,0 +1,59 @@
+package com.speedmenu.tablet.ui.viewmodel
+
+import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.OrderLine
+import com.speedmenu.tablet.domain.model.OrderLineStatus
+import com.speedmenu.tablet.domain.model.OrderUpdate
+
+/**
+ * Linhas do pedido acompanhado, por ID e em ordem de chegada (LinkedHashMap).
+ * Cada [OrderUpdate] altera só a linha a que se refere; as demais continuam as mesmas
+ * instâncias, e a UI (que usa o ID como key) recompõe apenas o que mudou.
+ *
+ * Não é thread-safe: o [OrderTracking] dono aplica as alterações numa única coleta por vez.
+ */
+internal class OrderLines {
+
+    private val linesById = LinkedHashMap<String, OrderLine>()
+
+    /**
+     * Indica se o pedido completo já chegou (diferenças antes dele são ignoradas).
+     */
+    var hasSnapshot = false
+        private set
+
+    /**
+     * Aplica a alteração.
+     * @return true se as linhas mudaram (ou se chegou o pedido completo, mesmo vazio)
+     */
+    fun apply(update: OrderUpdate): Boolean {
+        if (update is OrderUpdate.Snapshot) {
+            linesById.clear()
+            update.lines.forEach { linesById[it.item.id] = it }
+            hasSnapshot = true
+            return true
+        }
+        if (!hasSnapshot) return false
+        return when (update) {
+            is OrderUpdate.LineUpserted -> {
+                val previous = linesById.put(update.line.item.id, update.line)
+                previous != update.line
+            }
+            is OrderUpdate.LineRemoved -> linesById.remove(update.lineId) != null
+            is OrderUpdate.StatusChanged -> {
+                val line = linesById[update.lineId]
+                if (line == null || line.status == update.status) {
+                    false
+                } else {
+                    linesById[update.lineId] = line.copy(status = update.status)
+                    true
+                }
+            }
+            is OrderUpdate.Snapshot, is OrderUpdate.Unavailable -> false
+        }
+    }
+
+    fun items(): List<CartItem> = linesById.values.map { it.item }
+
+    fun statuses(): Map<String, OrderLineStatus> = linesById.mapValues { it.value.status }
+}
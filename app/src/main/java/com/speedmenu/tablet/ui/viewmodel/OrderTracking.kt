@@ -0,0 +1,58 @@
+package com.speedmenu.tablet.ui.viewmodel
+
+import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.OrderLineStatus
+import com.speedmenu.tablet.domain.model.OrderUpdate
+import com.speedmenu.tablet.domain.repository.OrderRepository
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+
+/**
+ * Estado do pedido acompanhado, como exibido na tela.
+ */
+internal data class TrackedOrder(
+    val isLoading: Boolean = true,
+    val items: List<CartItem> = emptyList(),
+    val lineStatuses: Map<String, OrderLineStatus> = emptyMap(),
+    val error: String? = null
+)
+
+/**
+ * Acompanhamento do pedido de uma comanda, ligado só enquanto alguém coleta [states]
+ * (ex: stateIn com WhileSubscribed). As linhas e o último estado ficam guardados entre uma
+ * coleta e outra: ao voltar do segundo plano, a tela parte do que já mostrava e o long-poll
+ * recomeça com um pedido completo ([OrderUpdate.Snapshot]).
+ */
+internal class OrderTracking(
+    val comandaCode: String,
+    private val orderRepository: OrderRepository
+) {
+
+    private val lines = OrderLines()
+
+    var state = TrackedOrder()
+        private set
+
+    fun states(): Flow<TrackedOrder> = flow {
+        emit(state)
+        orderRepository.observeOrder(comandaCode).collect { update ->
+            val next = if (update is OrderUpdate.Unavailable) {
+                // Com o pedido já na tela, mantém o último estado enquanto reconecta
+                if (lines.hasSnapshot) null else state.copy(isLoading = false, error = update.message)
+            } else if (lines.apply(update)) {
+                TrackedOrder(
+                    isLoading = false,
+                    items = lines.items(),
+                    lineStatuses = lines.statuses(),
+                    error = null
+                )
+            } else {
+                null
+            }
+            if (next != null) {
+                state = next
+                emit(next)
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.speedmenu.tablet.ui.viewmodel
+
+import androidx.lifecycle.SavedStateHandle
+import androidx.lifecycle.ViewModel
+import androidx.lifecycle.viewModelScope
+import com.speedmenu.tablet.domain.model.MenuItem
+import com.speedmenu.tablet.domain.repository.MenuRepository
+import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.flow.SharingStarted
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.catch
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.stateIn
+import timber.log.Timber
+import javax.inject.Inject
+
+/**
+ * ViewModel da listagem de produtos de uma categoria.
+ *
+ * Lê a categoria do argumento de navegação ("categoryName", comparado em minúsculas com o ID
+ * da categoria) e observa o catálogo local via [MenuRepository] — a mesma fonte usada pela busca,
+ * então tudo que aparece na lista também é encontrado pela busca.
+ */
+@HiltViewModel
+class ProductsViewModel @Inject constructor(
+    savedStateHandle: SavedStateHandle,
+    private val menuRepository: MenuRepository
+) : ViewModel() {
+
+    private val categoryId: String = savedStateHandle.get<String>("categoryName").orEmpty().lowercase()
+
+    /**
+     * Itens da categoria, na ordem do catálogo.
+     * Só muda com o catálogo (cardápio ou delta do servidor); disponibilidade e preço ao vivo
+     * chegam a cada linha por [MenuLiveUpdatesViewModel.statusOf], sem reemitir a lista.
+     */
+    val products: StateFlow<List<MenuItem>> = menuRepository.observeCategory(categoryId)
+        .catch { e ->
+            Timber.w(e, "ProductsViewModel: failed to observe category=$categoryId")
+            emit(emptyList())
+        }
+        .stateIn(viewModelScope, SharingStarted.WhileSubscribed(STOP_TIMEOUT_MILLIS), emptyList())
+
+    /**
+     * Imagens da próxima categoria na ordem do catálogo (a primeira após a última),
+     * pré-carregadas enquanto o usuário navega pela atual.
+     */
+    val adjacentImageUrls: StateFlow<List<String?>> = menuRepository.observeMenu()
+        .map { items -> adjacentCategoryItems(items).map { it.imageUrl } }
+        .distinctUntilChanged()
+        .catch { e ->
+            Timber.w(e, "ProductsViewModel: failed to observe menu for prefetch")
+            emit(emptyList())
+        }
+        .stateIn(viewModelScope, SharingStarted.WhileSubscribed(STOP_TIMEOUT_MILLIS), emptyList())
+
+    private fun adjacentCategoryItems(items: List<MenuItem>): List<MenuItem> {
+        val categoryOrder = items.mapTo(LinkedHashSet()) { it.category }.toList()
+        if (categoryOrder.isEmpty()) return emptyList()
+        val index = categoryOrder.indexOf(categoryId)
+        val adjacent = categoryOrder[(index + 1) % categoryOrder.size]
+        return items.filter { it.category == adjacent }
+    }
+
+    companion object {
+        private const val STOP_TIMEOUT_MILLIS = 5_000L
+    }
+}
@@ -3,12 +3,20 @@ package com.speedmenu.tablet.ui.viewmodel
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
 import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.SharingStarted
 import kotlinx.coroutines.flow.StateFlow
-import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.combine
+import kotlinx.coroutines.flow.flatMapLatest
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.stateIn
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.delay
 import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.Money
+import com.speedmenu.tablet.domain.model.OrderLineStatus
+import com.speedmenu.tablet.domain.model.sumOfMoney
 import com.speedmenu.tablet.domain.repository.OrderRepository
 import com.speedmenu.tablet.ui.screens.qrscanner.QrScannerMode
 import javax.inject.Inject
@@ -45,6 +53,7 @@ data class QrScannerUiState(
     val cartItems: List<CartItem> = emptyList(),
     // Estado do pedido (VIEW_ORDER) - usado apenas neste modo
     val orderItems: List<CartItem> = emptyList(),
+    val orderLineStatuses: Map<String, OrderLineStatus> = emptyMap(),
     val isLoadingOrder: Boolean = false,
     val orderError: String? = null,
     // Estado da finalização (CHECKOUT apenas)
@@ -57,14 +66,14 @@ data class QrScannerUiState(
      * Calcula o subtotal do pedido (VIEW_ORDER apenas).
      * No CHECKOUT, o total vem diretamente do CartViewModel.
      */
-    val subtotal: Double
-        get() = orderItems.sumOf { it.totalPrice }
+    val subtotal: Money
+        get() = orderItems.sumOfMoney { it.totalPrice }
     
     /**
      * Calcula o total do pedido (VIEW_ORDER apenas).
      * No CHECKOUT, o total vem diretamente do CartViewModel.
      */
-    val total: Double
+    val total: Money
         get() = subtotal
     
     /**
@@ -80,14 +89,36 @@ data class QrScannerUiState(
 /**
  * ViewModel da tela de scanner de QR Code.
  * Gerencia o estado e lógica da tela de escaneamento com split view.
+ *
+ * O acompanhamento do pedido escaneado (VIEW_ORDER) só roda enquanto a tela coleta [uiState]
+ * (ver [ViewOrderViewModel]).
  */
+@OptIn(ExperimentalCoroutinesApi::class)
 @HiltViewModel
 class QrScannerViewModel @Inject constructor(
     private val orderRepository: OrderRepository
 ) : ViewModel() {
 
     private val _uiState = MutableStateFlow(QrScannerUiState())
-    val uiState: StateFlow<QrScannerUiState> = _uiState.asStateFlow()
+
+    // Acompanhamento do pedido escaneado (VIEW_ORDER)
+    private val orderTracking = MutableStateFlow<OrderTracking?>(null)
+
+    val uiState: StateFlow<QrScannerUiState> = combine(
+        _uiState,
+        orderTracking.flatMapLatest { order -> order?.states() ?: flowOf(null) }
+    ) { state, order ->
+        if (order == null) {
+            state
+        } else {
+            state.copy(
+                isLoadingOrder = order.isLoading,
+                orderItems = order.items,
+                orderLineStatuses = order.lineStatuses,
+                orderError = order.error
+            )
+        }
+    }.stateIn(viewModelScope, SharingStarted.WhileSubscribed(STOP_TIMEOUT_MILLIS), QrScannerUiState())
     
     // Flag para proteger contra múltiplas finalizações simultâneas
     private var isFinalizing = false
@@ -143,6 +174,8 @@ class QrScannerViewModel @Inject constructor(
     
     /**
      * Finaliza o pedido do checkout (CHECKOUT apenas).
+     * A confirmação sai assim que o pedido é gravado no tablet; o envio ao backend segue
+     * em segundo plano. Error só ocorre se a gravação local falhar.
      * @param items Lista de itens do carrinho a serem finalizados
      */
     fun finalizeCheckout(items: List<CartItem>) {
@@ -196,31 +229,10 @@ class QrScannerViewModel @Inject constructor(
     }
 
     /**
-     * Carrega o pedido de uma comanda (VIEW_ORDER).
+     * Carrega o pedido de uma comanda e passa a acompanhá-lo (VIEW_ORDER).
      */
     private fun loadOrder(comandaCode: String) {
-        viewModelScope.launch {
-            _uiState.value = _uiState.value.copy(
-                isLoadingOrder = true,
-                orderError = null
-            )
-            
-            orderRepository.getOrderByComandaCode(comandaCode)
-                .onSuccess { items ->
-                    _uiState.value = _uiState.value.copy(
-                        isLoadingOrder = false,
-                        orderItems = items,
-                        orderError = null
-                    )
-                }
-                .onFailure { exception ->
-                    _uiState.value = _uiState.value.copy(
-                        isLoadingOrder = false,
-                        orderItems = emptyList(),
-                        orderError = exception.message ?: "Erro ao carregar pedido"
-                    )
-                }
-        }
+        orderTracking.value = OrderTracking(comandaCode, orderRepository)
     }
 
     /**
@@ -228,10 +240,12 @@ class QrScannerViewModel @Inject constructor(
      */
     fun resetScan() {
         isFinalizing = false
+        orderTracking.value = null
         _uiState.value = _uiState.value.copy(
             scanState = ScanState.Idle,
             comandaCode = null,
             orderItems = emptyList(),
+            orderLineStatuses = emptyMap(),
             orderError = null,
             finalizationState = FinalizationState.Idle,
             isRequestingBill = false,
@@ -280,8 +294,9 @@ class QrScannerViewModel @Inject constructor(
     }
     
     /**
-     * Tenta finalizar novamente após erro (CHECKOUT apenas).
-     * Usa o comandaCode já escaneado, não exige novo scan.
+     * Tenta finalizar novamente após erro ao gravar o pedido (CHECKOUT apenas).
+     * Usa o comandaCode já escaneado, não exige novo scan. Falhas de rede não chegam aqui:
+     * são retentadas em segundo plano pelo envio da outbox.
      */
     fun retryFinalization(items: List<CartItem>) {
         finalizeCheckout(items)
@@ -296,5 +311,9 @@ class QrScannerViewModel @Inject constructor(
     fun updateCartItems(items: List<CartItem>) {
         // Não faz nada - o carrinho vem do CartViewModel compartilhado
     }
+
+    companion object {
+        private const val STOP_TIMEOUT_MILLIS = 5_000L
+    }
 }
 
@@ -3,11 +3,18 @@ package com.speedmenu.tablet.ui.viewmodel
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
 import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.SharingStarted
 import kotlinx.coroutines.flow.StateFlow
-import kotlinx.coroutines.flow.asStateFlow
-import kotlinx.coroutines.launch
+import kotlinx.coroutines.flow.flatMapLatest
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.stateIn
 import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.Money
+import com.speedmenu.tablet.domain.model.OrderLineStatus
+import com.speedmenu.tablet.domain.model.sumOfMoney
 import com.speedmenu.tablet.domain.repository.OrderRepository
 import javax.inject.Inject
 
@@ -17,6 +24,8 @@ import javax.inject.Inject
 data class ViewOrderUiState(
     val isLoading: Boolean = false,
     val items: List<CartItem> = emptyList(),
+    // Situação de cada linha na cozinha, por ID do item
+    val lineStatuses: Map<String, OrderLineStatus> = emptyMap(),
     val error: String? = null,
     val comandaCode: String? = null
 ) {
@@ -29,56 +38,58 @@ data class ViewOrderUiState(
     /**
      * Calcula o subtotal do pedido.
      */
-    val subtotal: Double
-        get() = items.sumOf { it.totalPrice }
+    val subtotal: Money
+        get() = items.sumOfMoney { it.totalPrice }
     
     /**
      * Calcula o total do pedido (por enquanto igual ao subtotal).
      */
-    val total: Double
+    val total: Money
         get() = subtotal
 }
 
 /**
  * ViewModel da tela de visualização de pedido.
  * Gerencia o estado e lógica da tela read-only de visualização de pedido por comanda.
+ *
+ * O acompanhamento (long-poll) só roda enquanto a tela coleta [uiState]: com o app em segundo
+ * plano a coleta para (collectAsStateWithLifecycle) e, depois de [STOP_TIMEOUT_MILLIS], a consulta também.
  */
+@OptIn(ExperimentalCoroutinesApi::class)
 @HiltViewModel
 class ViewOrderViewModel @Inject constructor(
     private val orderRepository: OrderRepository
 ) : ViewModel() {
 
-    private val _uiState = MutableStateFlow(ViewOrderUiState())
-    val uiState: StateFlow<ViewOrderUiState> = _uiState.asStateFlow()
+    private val tracking = MutableStateFlow<OrderTracking?>(null)
+
+    val uiState: StateFlow<ViewOrderUiState> = tracking
+        .flatMapLatest { order ->
+            order?.states()?.map { it.toUiState(order.comandaCode) } ?: flowOf(ViewOrderUiState())
+        }
+        .stateIn(viewModelScope, SharingStarted.WhileSubscribed(STOP_TIMEOUT_MILLIS), ViewOrderUiState())
 
     /**
-     * Carrega o pedido de uma comanda pelo código.
+     * Carrega o pedido de uma comanda pelo código e passa a acompanhá-lo: a situação de cada
+     * linha (cozinha, pronto, entregue) se atualiza enquanto a tela está visível.
+     * Chamar de novo com a mesma comanda (ex: tela recriada) mantém o acompanhamento atual.
      * @param comandaCode Código da comanda extraído do QRCode
      */
     fun loadOrder(comandaCode: String) {
-        viewModelScope.launch {
-            _uiState.value = _uiState.value.copy(
-                isLoading = true,
-                error = null,
-                comandaCode = comandaCode
-            )
-            
-            orderRepository.getOrderByComandaCode(comandaCode)
-                .onSuccess { items ->
-                    _uiState.value = _uiState.value.copy(
-                        isLoading = false,
-                        items = items,
-                        error = null
-                    )
-                }
-                .onFailure { exception ->
-                    _uiState.value = _uiState.value.copy(
-                        isLoading = false,
-                        items = emptyList(),
-                        error = exception.message ?: "Erro ao carregar pedido"
-                    )
-                }
-        }
+        if (tracking.value?.comandaCode == comandaCode) return
+        tracking.value = OrderTracking(comandaCode, orderRepository)
+    }
+
+    private fun TrackedOrder.toUiState(comandaCode: String) = ViewOrderUiState(
+        isLoading = isLoading,
+        items = items,
+        lineStatuses = lineStatuses,
+        error = error,
+        comandaCode = comandaCode
+    )
+
+    companion object {
+        private const val STOP_TIMEOUT_MILLIS = 5_000L
     }
 }
 
@@ -0,0 +1,65 @@
+package com.speedmenu.tablet.testing
+
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.concurrent.thread
+
+/**
+ * Medição simples para os testes de desempenho.
+ * Executa [warmup] rodadas descartadas (JIT, caches) e devolve a mediana de [runs] rodadas.
+ *
+ * @return Mediana em milissegundos
+ */
+inline fun medianMillis(runs: Int = 10, warmup: Int = 3, block: () -> Unit): Double {
+    repeat(warmup) { block() }
+    val samples = DoubleArray(runs) {
+        val start = System.nanoTime()
+        block()
+        (System.nanoTime() - start) / 1_000_000.0
+    }
+    samples.sort()
+    return samples[runs / 2]
+}
+
+/**
+ * Pico de heap usado durante [block], acima do heap usado logo antes (após um GC).
+ * Uma thread amostra o heap a cada milissegundo; serve em JVM e em Android (sem MXBeans).
+ * Picos mais curtos que o intervalo podem escapar, então o valor é um limite inferior.
+ *
+ * @return Pico em bytes
+ */
+fun peakHeapBytes(block: () -> Unit): Long {
+    val runtime = Runtime.getRuntime()
+    fun usedBytes() = runtime.totalMemory() - runtime.freeMemory()
+
+    System.gc()
+    val baseline = usedBytes()
+    val peak = AtomicLong(baseline)
+    val sampling = AtomicBoolean(true)
+    val sampler = thread(isDaemon = true, name = "heap-sampler") {
+        while (sampling.get()) {
+            peak.accumulateAndGet(usedBytes(), ::maxOf)
+            Thread.sleep(HEAP_SAMPLE_INTERVAL_MILLIS)
+        }
+    }
+    try {
+        block()
+    } finally {
+        peak.accumulateAndGet(usedBytes(), ::maxOf)
+        sampling.set(false)
+        sampler.join()
+    }
+    return peak.get() - baseline
+}
+
+/**
+ * Registra o resultado no output do teste (logcat nos testes instrumentados).
+ *
+ * @param peakHeapBytes Pico de heap medido com [peakHeapBytes], se houver
+ */
+fun reportBenchmark(name: String, millis: Double, peakHeapBytes: Long? = null) {
+    val heap = peakHeapBytes?.let { ", peak heap ${it / 1024}KB" }.orEmpty()
+    println("Benchmark $name: ${"%.3f".format(millis)} ms$heap")
+}
+
+private const val HEAP_SAMPLE_INTERVAL_MILLIS = 1L
@@ -0,0 +1,131 @@
+package com.speedmenu.tablet.core.refresh
+
+import com.speedmenu.tablet.core.kiosk.GuestActivityMonitor
+import com.speedmenu.tablet.core.utils.Clock
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import kotlin.random.Random
+
+/**
+ * Agendamento do refresh em segundo plano com relógio virtual (runTest) e Random fixo:
+ * espalhamento inicial, intervalo com jitter, backoff após falhas e espera pelo tablet ocioso.
+ */
+@OptIn(ExperimentalCoroutinesApi::class)
+class BackgroundRefreshSchedulerTest {
+
+    @Test
+    fun initialSpreadAndIntervalStayWithinJitter() {
+        repeat(SEEDS) { seed ->
+            runTest {
+                val policy = RefreshPolicy(intervalMillis = INTERVAL_MILLIS, random = Random(seed))
+                val times = runLoop(policy, monitor(), SIMULATED_MILLIS) { Result.success(Unit) }
+
+                assertTrue("seed $seed: first at ${times.first()}", times.first() in 0L..INITIAL_SPREAD_MILLIS)
+                times.zipWithNext { previous, next -> next - previous }.forEach { gap ->
+                    assertTrue("seed $seed: gap $gap", gap in INTERVAL_MILLIS * 8 / 10..INTERVAL_MILLIS * 12 / 10)
+                }
+            }
+        }
+    }
+
+    @Test
+    fun backoffDoublesCapsAndResetsAfterSuccess() {
+        repeat(SEEDS) { seed ->
+            runTest {
+                // 8 falhas seguidas (passam do teto), um sucesso e mais uma falha
+                val outcomes = List(8) { false } + true + false
+                var call = 0
+                val policy = RefreshPolicy(
+                    intervalMillis = INTERVAL_MILLIS,
+                    backoffBaseMillis = BACKOFF_BASE_MILLIS,
+                    backoffMaxMillis = BACKOFF_MAX_MILLIS,
+                    random = Random(seed)
+                )
+                val times = runLoop(policy, monitor(), SIMULATED_MILLIS) {
+                    val success = outcomes.getOrElse(call++) { true }
+                    if (success) Result.success(Unit) else Result.failure(IllegalStateException("offline"))
+                }
+                val gaps = times.zipWithNext { previous, next -> next - previous }
+
+                // Falha n espera entre metade e o valor cheio de base * 2^(n-1), limitado ao teto
+                for (failure in 1..8) {
+                    val capped = minOf(BACKOFF_BASE_MILLIS shl (failure - 1), BACKOFF_MAX_MILLIS)
+                    assertTrue("seed $seed: failure $failure waited ${gaps[failure - 1]}", gaps[failure - 1] in capped / 2..capped)
+                }
+                assertTrue("seed $seed: after success ${gaps[8]}", gaps[8] in INTERVAL_MILLIS * 8 / 10..INTERVAL_MILLIS * 12 / 10)
+                // Primeira falha depois do sucesso volta à espera base
+                assertTrue("seed $seed: reset ${gaps[9]}", gaps[9] in BACKOFF_BASE_MILLIS / 2..BACKOFF_BASE_MILLIS)
+            }
+        }
+    }
+
+    @Test
+    fun refreshWaitsWhileGuestIsActive() = runTest {
+        val monitor = monitor()
+        val policy = RefreshPolicy(intervalMillis = INTERVAL_MILLIS, random = Random(7))
+        // Cliente tocando na tela a cada 30s durante os primeiros 20 minutos
+        val guest = launch {
+            repeat(GUEST_TAPS) {
+                monitor.onUserInteraction()
+                delay(GUEST_TAP_INTERVAL_MILLIS)
+            }
+        }
+
+        val times = runLoop(policy, monitor, SIMULATED_MILLIS) {
+            assertFalse("refresh while guest active", monitor.isGuestActive())
+            Result.success(Unit)
+        }
+        guest.join()
+
+        val lastTap = (GUEST_TAPS - 1) * GUEST_TAP_INTERVAL_MILLIS
+        val idleAt = lastTap + ACTIVE_WINDOW_MILLIS
+        assertTrue("first at ${times.first()}", times.first() in idleAt..idleAt + IDLE_JITTER_MAX_MILLIS)
+    }
+
+    /**
+     * Roda o ciclo por [durationMillis] de tempo virtual e devolve o instante de cada refresh.
+     */
+    private fun TestScope.runLoop(
+        policy: RefreshPolicy,
+        monitor: GuestActivityMonitor,
+        durationMillis: Long,
+        refresh: () -> Result<Unit>
+    ): List<Long> {
+        val times = ArrayList<Long>()
+        backgroundScope.launch {
+            runRefreshLoop("test", policy, monitor) {
+                times += testScheduler.currentTime
+                refresh()
+            }
+        }
+        advanceTimeBy(durationMillis)
+        return times
+    }
+
+    private fun TestScope.monitor() = GuestActivityMonitor(Clock { testScheduler.currentTime })
+
+    companion object {
+        private const val SEEDS = 20
+
+        private const val INTERVAL_MILLIS = 10 * 60 * 1000L
+        private const val SIMULATED_MILLIS = 6 * 60 * 60 * 1000L
+
+        // Padrões de RefreshPolicy e GuestActivityMonitor
+        private const val INITIAL_SPREAD_MILLIS = 2 * 60 * 1000L
+        private const val IDLE_JITTER_MAX_MILLIS = 30_000L
+        private const val ACTIVE_WINDOW_MILLIS = 90_000L
+
+        private const val BACKOFF_BASE_MILLIS = 15_000L
+        private const val BACKOFF_MAX_MILLIS = 15 * 60 * 1000L
+
+        private const val GUEST_TAPS = 41
+        private const val GUEST_TAP_INTERVAL_MILLIS = 30_000L
+    }
+}
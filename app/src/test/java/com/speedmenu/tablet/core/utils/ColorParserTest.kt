@@ -0,0 +1,70 @@
+package com.speedmenu.tablet.core.utils
+
+import com.speedmenu.tablet.testing.medianMillis
+import com.speedmenu.tablet.testing.reportBenchmark
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Parse de cores HEX: formatos aceitos, entradas inválidas e custo do parse
+ * de um config completo comparado ao parse com Regex + toLong(16).
+ */
+class ColorParserTest {
+
+    @Test
+    fun parsesRgbAndArgb() {
+        assertEquals(0xFFFF6A00L, ColorParser.parseArgb("#FF6A00"))
+        assertEquals(0x80FF6A00L, ColorParser.parseArgb("#80ff6a00"))
+        assertEquals(0xFF112233L, ColorParser.parseArgb("  112233 "))
+    }
+
+    @Test
+    fun rejectsInvalidHex() {
+        assertEquals(ColorParser.INVALID_ARGB, ColorParser.parseArgb(""))
+        assertEquals(ColorParser.INVALID_ARGB, ColorParser.parseArgb("#FFF"))
+        assertEquals(ColorParser.INVALID_ARGB, ColorParser.parseArgb("#GG6A00"))
+        assertEquals(ColorParser.INVALID_ARGB, ColorParser.parseArgb("#FF6A00FF00"))
+        assertNull(ColorParser.parseColorOrNull("#XYZXYZ"))
+        assertNull(ColorParser.parseColorOrNull(null))
+    }
+
+    @Test
+    fun benchmarkParse() {
+        // 20 tokens (temas claro e escuro) com as repetições típicas de um config
+        val tokens = List(TOKENS_PER_CONFIG) { index -> PALETTE[index % PALETTE.size] }
+
+        var checksum = 0L
+        val parseMillis = medianMillis(runs = 20) {
+            repeat(CONFIG_COUNT) { for (token in tokens) checksum += ColorParser.parseArgb(token) }
+        }
+        val internedMillis = medianMillis(runs = 20) {
+            repeat(CONFIG_COUNT) { for (token in tokens) checksum += ColorParser.parseColorOrNull(token).hashCode() }
+        }
+        val regexMillis = medianMillis(runs = 20) {
+            repeat(CONFIG_COUNT) { for (token in tokens) checksum += regexParse(token) }
+        }
+        reportBenchmark("ColorParser.parseArgb[$CONFIG_COUNT configs]", parseMillis)
+        reportBenchmark("ColorParser.parseColorOrNull[$CONFIG_COUNT configs]", internedMillis)
+        reportBenchmark("Regex + toLong(16)[$CONFIG_COUNT configs]", regexMillis)
+
+        // Só registra os tempos: uma comparação entre eles falharia ao acaso em máquinas de CI ocupadas
+        assertTrue(checksum != 0L)
+    }
+
+    private fun regexParse(hex: String): Long {
+        val match = HEX_REGEX.matchEntire(hex.trim()) ?: return ColorParser.INVALID_ARGB
+        val digits = match.groupValues[1]
+        val value = digits.toLong(16)
+        return if (digits.length == 6) value or 0xFF000000L else value
+    }
+
+    companion object {
+        private const val TOKENS_PER_CONFIG = 20
+        private const val CONFIG_COUNT = 1_000
+
+        private val PALETTE = listOf("#FF6A00", "#FFFFFF", "#121212", "#1E1E1E", "#B00020", "#FFFFFF", "#FF8A33")
+        private val HEX_REGEX = Regex("#?([0-9A-Fa-f]{6}|[0-9A-Fa-f]{8})")
+    }
+}
@@ -0,0 +1,195 @@
+package com.speedmenu.tablet.data.datasource.local
+
+import com.speedmenu.tablet.data.model.CategoryEntity
+import com.speedmenu.tablet.data.model.MenuChangesEntity
+import com.speedmenu.tablet.data.model.MenuItemEntity
+import com.speedmenu.tablet.data.model.MenuItemPatchEntity
+import com.speedmenu.tablet.domain.model.Money
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Delta do catálogo aplicado ao snapshot: ordem preservada, itens movidos entre categorias,
+ * categorias alteradas e índices (por ID e por categoria) coerentes com a lista final.
+ * Alterações ao vivo mantêm a listagem; deltas a trocam.
+ */
+class MenuCatalogSnapshotTest {
+
+    @Test
+    fun upsertReplacesInPlaceAndAppendsNewItems() {
+        val snapshot = catalog()
+
+        val changed = snapshot.withChanges(
+            MenuChangesEntity(
+                catalogVersion = 2L,
+                upsertedItems = listOf(item("b", "cat_1", price = 99), item("e", "cat_2"))
+            ),
+            newSyncedAtMillis = SYNCED_AT
+        )
+
+        assertEquals(listOf("a", "b", "c", "d", "e"), changed.items.map { it.id })
+        assertEquals(Money.ofCents(99), changed.itemById("b")!!.price)
+        assertEquals(listOf("a", "b"), changed.itemsInCategory("cat_1").map { it.id })
+        assertEquals(listOf("c", "d", "e"), changed.itemsInCategory("cat_2").map { it.id })
+        assertEquals(2L, changed.catalogVersion)
+        assertEquals(SYNCED_AT, changed.syncedAtMillis)
+        assertIndexesMatchItems(changed)
+    }
+
+    @Test
+    fun deleteRemovesFromListAndIndexes() {
+        val snapshot = catalog()
+
+        val changed = snapshot.withChanges(
+            MenuChangesEntity(catalogVersion = 2L, deletedItemIds = listOf("a", "c", "unknown")),
+            newSyncedAtMillis = SYNCED_AT
+        )
+
+        assertEquals(listOf("b", "d"), changed.items.map { it.id })
+        assertNull(changed.itemById("a"))
+        assertNull(changed.itemById("c"))
+        assertEquals(listOf("b"), changed.itemsInCategory("cat_1").map { it.id })
+        assertEquals(listOf("d"), changed.itemsInCategory("cat_2").map { it.id })
+        assertIndexesMatchItems(changed)
+    }
+
+    @Test
+    fun upsertAndDeleteOfSameIdRemovesItem() {
+        val changed = catalog().withChanges(
+            MenuChangesEntity(
+                catalogVersion = 2L,
+                upsertedItems = listOf(item("a", "cat_1", price = 1), item("z", "cat_1")),
+                deletedItemIds = listOf("a", "z")
+            ),
+            newSyncedAtMillis = SYNCED_AT
+        )
+
+        assertEquals(listOf("b", "c", "d"), changed.items.map { it.id })
+        assertIndexesMatchItems(changed)
+    }
+
+    @Test
+    fun movedItemLeavesOldCategoryAndKeepsCatalogPosition() {
+        val snapshot = catalog()
+        val untouched = snapshot.itemsInCategory("cat_2")
+
+        val changed = snapshot.withChanges(
+            MenuChangesEntity(catalogVersion = 2L, upsertedItems = listOf(item("a", "cat_3"))),
+            newSyncedAtMillis = SYNCED_AT
+        )
+
+        assertEquals(listOf("a", "b", "c", "d"), changed.items.map { it.id })
+        assertEquals(listOf("b"), changed.itemsInCategory("cat_1").map { it.id })
+        assertEquals(listOf("a"), changed.itemsInCategory("cat_3").map { it.id })
+        assertEquals("cat_3", changed.itemById("a")!!.category)
+        // Categoria não afetada: a mesma lista, sem reparticionar
+        assertSame(untouched, changed.itemsInCategory("cat_2"))
+        assertIndexesMatchItems(changed)
+
+        // Último item da categoria movido: a categoria some do índice
+        val emptied = changed.withChanges(
+            MenuChangesEntity(catalogVersion = 3L, upsertedItems = listOf(item("b", "cat_3"))),
+            newSyncedAtMillis = SYNCED_AT
+        )
+        assertTrue(emptied.itemsInCategory("cat_1").isEmpty())
+        assertEquals(listOf("a", "b"), emptied.itemsInCategory("cat_3").map { it.id })
+        assertIndexesMatchItems(emptied)
+    }
+
+    @Test
+    fun categoryUpsertAndDeleteKeepOrder() {
+        val snapshot = catalog()
+
+        val changed = snapshot.withChanges(
+            MenuChangesEntity(
+                catalogVersion = 2L,
+                upsertedCategories = listOf(category("cat_2", name = "Bebidas geladas"), category("cat_4")),
+                deletedCategoryIds = listOf("cat_1")
+            ),
+            newSyncedAtMillis = SYNCED_AT
+        )
+
+        assertEquals(listOf("cat_2", "cat_3", "cat_4"), changed.categories.map { it.id })
+        assertEquals("Bebidas geladas", changed.categories.first().name)
+        // Só categorias mudaram: itens e índices são os mesmos
+        assertSame(snapshot.items.first(), changed.items.first())
+        assertEquals(snapshot.items, changed.items)
+        assertIndexesMatchItems(changed)
+    }
+
+    @Test
+    fun fullSnapshotReplacesEverything() {
+        val changed = catalog().withChanges(
+            MenuChangesEntity(
+                catalogVersion = 9L,
+                upsertedItems = listOf(item("x", "cat_9")),
+                upsertedCategories = listOf(category("cat_9")),
+                isFullSnapshot = true
+            ),
+            newSyncedAtMillis = SYNCED_AT
+        )
+
+        assertEquals(listOf("x"), changed.items.map { it.id })
+        assertEquals(listOf("cat_9"), changed.categories.map { it.id })
+        assertNull(changed.itemById("a"))
+        assertTrue(changed.itemsInCategory("cat_1").isEmpty())
+        assertEquals(9L, changed.catalogVersion)
+    }
+
+    @Test
+    fun livePatchKeepsListingAndDeltaChangesIt() {
+        val snapshot = catalog()
+
+        val (patched, changed) = snapshot.withItemPatches(
+            listOf(MenuItemPatchEntity("b", isAvailable = false), MenuItemPatchEntity("unknown", isAvailable = false))
+        )
+
+        assertEquals(listOf("b"), changed.map { it.id })
+        assertFalse(patched.itemById("b")!!.isAvailable)
+        assertTrue(patched.hasSameListingAs(snapshot))
+        assertIndexesMatchItems(patched)
+        assertTrue(patched.withSyncState(2L, SYNCED_AT).hasSameListingAs(snapshot))
+
+        val delta = patched.withChanges(
+            MenuChangesEntity(catalogVersion = 2L, upsertedItems = listOf(item("a", "cat_1", price = 1))),
+            newSyncedAtMillis = SYNCED_AT
+        )
+        assertFalse(delta.hasSameListingAs(patched))
+        // O delta parte do snapshot com a alteração ao vivo já aplicada
+        assertFalse(delta.itemById("b")!!.isAvailable)
+    }
+
+    /**
+     * Os índices precisam refletir exatamente a lista de itens, na mesma ordem.
+     */
+    private fun assertIndexesMatchItems(snapshot: MenuCatalogSnapshot) {
+        snapshot.items.forEach { assertSame(it, snapshot.itemById(it.id)) }
+        snapshot.items.groupBy { it.category }.forEach { (categoryId, expected) ->
+            assertEquals(expected, snapshot.itemsInCategory(categoryId))
+        }
+    }
+
+    private fun catalog() = MenuCatalogSnapshot.build(
+        items = listOf(item("a", "cat_1"), item("b", "cat_1"), item("c", "cat_2"), item("d", "cat_2")),
+        categories = listOf(category("cat_1"), category("cat_2"), category("cat_3")),
+        catalogVersion = 1L
+    )
+
+    private fun item(id: String, category: String, price: Long = 2_500) = MenuItemEntity(
+        id = id,
+        name = "Prato $id",
+        description = "",
+        price = Money.ofCents(price),
+        category = category
+    )
+
+    private fun category(id: String, name: String = "Categoria $id") = CategoryEntity(id = id, name = name)
+
+    companion object {
+        private const val SYNCED_AT = 1_700_000_000_000L
+    }
+}
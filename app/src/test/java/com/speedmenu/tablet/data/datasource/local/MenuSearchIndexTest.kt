@@ -0,0 +1,106 @@
+package com.speedmenu.tablet.data.datasource.local
+
+import com.speedmenu.tablet.data.model.MenuItemEntity
+import com.speedmenu.tablet.domain.model.Money
+import com.speedmenu.tablet.testing.medianMillis
+import com.speedmenu.tablet.testing.reportBenchmark
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Índice de busca do cardápio: ordem dos resultados, sincronização incremental
+ * e tempo de consulta em um catálogo de 10k itens.
+ */
+class MenuSearchIndexTest {
+
+    @Test
+    fun resultsFollowCatalogOrderAfterDocIdReuse() {
+        val index = MenuSearchIndex()
+        val risotto = item("1", "Risotto de Camarão")
+        val salmon = item("2", "Salmão Grelhado")
+        val pesto = item("3", "Penne ao Pesto")
+        index.sync { listOf(risotto, salmon, pesto) }
+        index.sync { listOf(risotto, pesto) }
+
+        // O novo item reaproveita o docId do removido, mas fica no início do catálogo
+        val gnocchi = item("4", "Gnocchi de Camarão")
+        index.sync { listOf(gnocchi, risotto, pesto) }
+
+        assertEquals(listOf("4", "1"), index.search("camarao", limit = 10).map { it.id })
+    }
+
+    @Test
+    fun nameMatchesComeBeforeDescriptionMatches() {
+        val index = MenuSearchIndex()
+        index.sync {
+            listOf(
+                item("1", "Salada Verde", description = "Folhas com tomate"),
+                item("2", "Tomate Recheado"),
+                item("3", "Bruschetta", description = "Pão com tomates frescos")
+            )
+        }
+
+        assertEquals(listOf("2", "1", "3"), index.search("tomate", limit = 10).map { it.id })
+        assertEquals(listOf("2"), index.search("tomate", limit = 1).map { it.id })
+    }
+
+    @Test
+    fun updatedItemIsReindexed() {
+        val index = MenuSearchIndex()
+        index.sync { listOf(item("1", "Suco de Laranja")) }
+        index.sync { listOf(item("1", "Suco de Uva")) }
+
+        assertTrue(index.search("laranja", limit = 10).isEmpty())
+        assertEquals(listOf("1"), index.search("uva", limit = 10).map { it.id })
+    }
+
+    @Test
+    fun benchmarkSearch10k() {
+        val items = List(ITEM_COUNT) { i ->
+            item(
+                id = "item_$i",
+                name = "${DISHES[i % DISHES.size]} ${STYLES[(i / DISHES.size) % STYLES.size]} $i",
+                description = "Acompanha ${SIDES[i % SIDES.size]} e molho da casa"
+            )
+        }
+        val index = MenuSearchIndex()
+        val indexMillis = medianMillis(runs = 1, warmup = 0) { index.sync { items } }
+
+        var results = emptyList<MenuItemEntity>()
+        val prefixMillis = medianMillis(runs = 50) { results = index.search("fra", limit = 50) }
+        val multiTermMillis = medianMillis(runs = 50) { index.search("risoto camaroes", limit = 50) }
+        val descriptionMillis = medianMillis(runs = 50) { index.search("batata", limit = 50) }
+        reportBenchmark("MenuSearchIndex.sync[$ITEM_COUNT]", indexMillis)
+        reportBenchmark("MenuSearchIndex.search[$ITEM_COUNT, prefix]", prefixMillis)
+        reportBenchmark("MenuSearchIndex.search[$ITEM_COUNT, multi-term]", multiTermMillis)
+        reportBenchmark("MenuSearchIndex.search[$ITEM_COUNT, description]", descriptionMillis)
+
+        assertEquals(50, results.size)
+        // Ordem do catálogo: os primeiros pratos com "Frango" no nome
+        val expected = items.filter { it.name.startsWith("Frango") }.take(50).map { it.id }
+        assertEquals(expected, results.map { it.id })
+        assertTrue("prefix search took $prefixMillis ms", prefixMillis < MAX_QUERY_MILLIS)
+        assertTrue("multi-term search took $multiTermMillis ms", multiTermMillis < MAX_QUERY_MILLIS)
+        assertTrue("description search took $descriptionMillis ms", descriptionMillis < MAX_QUERY_MILLIS)
+    }
+
+    private fun item(id: String, name: String, description: String = "") = MenuItemEntity(
+        id = id,
+        name = name,
+        description = description,
+        price = Money.ofCents(1_000),
+        category = "cat"
+    )
+
+    companion object {
+        private const val ITEM_COUNT = 10_000
+
+        // Folga para máquinas de CI lentas; em um tablet médio as consultas ficam perto de 1ms
+        private const val MAX_QUERY_MILLIS = 20.0
+
+        private val DISHES = listOf("Frango", "Risoto de Camarão", "Salmão", "Filé", "Penne", "Lasanha", "Salada", "Torta")
+        private val STYLES = listOf("Grelhado", "ao Molho", "da Casa", "Especial", "Tradicional")
+        private val SIDES = listOf("arroz", "batatas", "legumes", "purê")
+    }
+}
@@ -0,0 +1,116 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import kotlinx.coroutines.runBlocking
+import okhttp3.OkHttpClient
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okhttp3.mockwebserver.SocketPolicy
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+import java.util.concurrent.TimeUnit
+
+/**
+ * Envio de pedidos contra um servidor local (MockWebServer): classificação de cada resposta
+ * (entregue, tentar de novo, recusado), resposta lenta, conexão derrubada e a mesma
+ * Idempotency-Key em todas as tentativas.
+ */
+class HttpOrderSubmissionSourceTest {
+
+    private lateinit var server: MockWebServer
+    private lateinit var source: HttpOrderSubmissionSource
+
+    @Before
+    fun setUp() {
+        server = MockWebServer()
+        server.start()
+        val client = OkHttpClient.Builder()
+            .readTimeout(READ_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+            .build()
+        source = HttpOrderSubmissionSource(client) { server.url("/api/") }
+    }
+
+    @After
+    fun tearDown() {
+        server.shutdown()
+    }
+
+    @Test
+    fun successAndConflictAreDelivered() = runBlocking {
+        listOf(200, 201, 204, 409).forEach { code ->
+            server.enqueue(MockResponse().setResponseCode(code))
+            assertEquals("HTTP $code", OrderSubmissionResult.DELIVERED, source.submit(KEY, PAYLOAD))
+        }
+
+        val request = server.takeRequest()
+        assertEquals("POST", request.method)
+        assertEquals("/api/orders", request.path)
+        assertEquals(KEY, request.getHeader("Idempotency-Key"))
+        assertEquals(String(PAYLOAD), request.body.readUtf8())
+    }
+
+    @Test
+    fun temporaryFailuresAreRetried() = runBlocking {
+        listOf(408, 429, 500, 502, 503, 504).forEach { code ->
+            server.enqueue(MockResponse().setResponseCode(code))
+            assertEquals("HTTP $code", OrderSubmissionResult.RETRY, source.submit(KEY, PAYLOAD))
+        }
+    }
+
+    @Test
+    fun otherClientErrorsAreRejected() = runBlocking {
+        listOf(400, 401, 403, 404, 410, 422).forEach { code ->
+            server.enqueue(MockResponse().setResponseCode(code))
+            assertEquals("HTTP $code", OrderSubmissionResult.REJECTED, source.submit(KEY, PAYLOAD))
+        }
+    }
+
+    @Test
+    fun slowResponseWithinTimeoutIsDelivered() = runBlocking {
+        server.enqueue(MockResponse().setHeadersDelay(SLOW_RESPONSE_MILLIS, TimeUnit.MILLISECONDS))
+
+        assertEquals(OrderSubmissionResult.DELIVERED, source.submit(KEY, PAYLOAD))
+    }
+
+    @Test
+    fun responseAfterTimeoutIsRetried() = runBlocking {
+        // O servidor pode ter gravado o pedido: a nova tentativa usa a mesma chave
+        server.enqueue(MockResponse().setHeadersDelay(READ_TIMEOUT_MILLIS * 3, TimeUnit.MILLISECONDS))
+
+        assertEquals(OrderSubmissionResult.RETRY, source.submit(KEY, PAYLOAD))
+    }
+
+    @Test
+    fun droppedConnectionIsRetried() = runBlocking {
+        server.enqueue(MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST))
+
+        assertEquals(OrderSubmissionResult.RETRY, source.submit(KEY, PAYLOAD))
+    }
+
+    @Test
+    fun idempotencyKeyIsStableAcrossRetries() = runBlocking {
+        // Queda primeiro, numa conexão nova: numa conexão reaproveitada o OkHttp tenta de novo
+        // sozinho (também com a mesma chave) e a resposta seguinte da fila seria consumida
+        server.enqueue(MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST))
+        server.enqueue(MockResponse().setResponseCode(503))
+        server.enqueue(MockResponse().setResponseCode(201))
+
+        val results = List(3) { source.submit(KEY, PAYLOAD) }
+
+        assertEquals(
+            listOf(OrderSubmissionResult.RETRY, OrderSubmissionResult.RETRY, OrderSubmissionResult.DELIVERED),
+            results
+        )
+        val keys = List(server.requestCount) { server.takeRequest().getHeader("Idempotency-Key") }
+        assertEquals(List(server.requestCount) { KEY }, keys)
+    }
+
+    companion object {
+        private const val KEY = "9b2f6a3e-1c44-4d1b-8f3a-5e7d2c0a9f11"
+        private val PAYLOAD = """{"items":[{"id":"a","quantity":2}]}""".toByteArray()
+
+        private const val READ_TIMEOUT_MILLIS = 500L
+        private const val SLOW_RESPONSE_MILLIS = 200L
+    }
+}
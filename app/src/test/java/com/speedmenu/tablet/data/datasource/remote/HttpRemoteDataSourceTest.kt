@@ -0,0 +1,184 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import com.speedmenu.tablet.data.model.MenuItemEntity
+import com.speedmenu.tablet.domain.model.Money
+import com.speedmenu.tablet.testing.FakeLocalDataSource
+import com.speedmenu.tablet.testing.medianMillis
+import com.speedmenu.tablet.testing.peakHeapBytes
+import com.speedmenu.tablet.testing.reportBenchmark
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.cancelAndJoin
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withContext
+import kotlinx.serialization.builtins.ListSerializer
+import kotlinx.serialization.json.Json
+import okhttp3.HttpUrl
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okio.Buffer
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import java.util.concurrent.TimeUnit
+
+/**
+ * HttpRemoteDataSource contra um servidor local (MockWebServer): ETag/304, delta do catálogo,
+ * erros, cancelamento e tempo/pico de heap da decodificação de um cardápio de ~10MB, comparada
+ * à leitura do corpo inteiro numa String.
+ */
+class HttpRemoteDataSourceTest {
+
+    private lateinit var server: MockWebServer
+    private lateinit var local: FakeLocalDataSource
+    private lateinit var source: HttpRemoteDataSource
+
+    @Before
+    fun setUp() {
+        server = MockWebServer()
+        server.start()
+        local = FakeLocalDataSource()
+        source = HttpRemoteDataSource(OkHttpClient(), local) { server.url("/api/") }
+    }
+
+    @After
+    fun tearDown() {
+        server.shutdown()
+    }
+
+    @Test
+    fun notModifiedIsServedFromLocalStore() = runBlocking {
+        server.enqueue(MockResponse().setHeader("ETag", "\"v1\"").setBody(itemsJson(3)))
+        server.enqueue(MockResponse().setResponseCode(304))
+
+        val first = source.getMenuItems().getOrThrow()
+        assertNull(server.takeRequest().getHeader("If-None-Match"))
+        local.saveMenuItems(first)
+
+        val second = source.getMenuItems().getOrThrow()
+        assertEquals("\"v1\"", server.takeRequest().getHeader("If-None-Match"))
+        // Nenhuma cópia extra: o 304 devolve a própria lista do armazenamento local
+        assertSame(local.getMenuItems(), second)
+    }
+
+    @Test
+    fun etagIsNotSentWithoutLocalCopy() = runBlocking {
+        server.enqueue(MockResponse().setHeader("ETag", "\"v1\"").setBody(itemsJson(3)))
+        server.enqueue(MockResponse().setHeader("ETag", "\"v1\"").setBody(itemsJson(3)))
+
+        local.saveMenuItems(source.getMenuItems().getOrThrow())
+        server.takeRequest()
+        local.clearAll()
+
+        assertEquals(3, source.getMenuItems().getOrThrow().size)
+        assertNull(server.takeRequest().getHeader("If-None-Match"))
+    }
+
+    @Test
+    fun httpErrorIsReturnedAsFailure() = runBlocking {
+        server.enqueue(MockResponse().setResponseCode(503))
+
+        assertTrue(source.getCategories().isFailure)
+    }
+
+    @Test
+    fun menuChangesAreRequestedSinceLocalVersion() = runBlocking {
+        server.enqueue(
+            MockResponse().setBody(
+                """{"catalogVersion":8,"upsertedItems":[""" +
+                    """{"id":"item_1","name":"Prato 1","price":12.5,"category":"cat_2","isAvailable":false}],""" +
+                    """"deletedItemIds":["item_2"],"upsertedCategories":[{"id":"cat_2","name":"Massas"}],""" +
+                    """"deletedCategoryIds":["cat_9"],"unknownField":true}"""
+            )
+        )
+
+        val changes = source.getMenuChanges(sinceVersion = 7L).getOrThrow()
+
+        val request = server.takeRequest()
+        assertEquals("/api/menu/changes?since=7", request.path)
+        assertEquals(8L, changes.catalogVersion)
+        assertEquals(listOf("item_1"), changes.upsertedItems.map { it.id })
+        assertEquals(Money.ofCents(1_250), changes.upsertedItems.single().price)
+        assertFalse(changes.upsertedItems.single().isAvailable)
+        assertEquals(listOf("item_2"), changes.deletedItemIds)
+        assertEquals(listOf("cat_2"), changes.upsertedCategories.map { it.id })
+        assertEquals(listOf("cat_9"), changes.deletedCategoryIds)
+        assertFalse(changes.isFullSnapshot)
+    }
+
+    @Test
+    fun cancellationIsNotTurnedIntoFailure() = runBlocking {
+        server.enqueue(MockResponse().setBody(itemsJson(1)).setHeadersDelay(2, TimeUnit.SECONDS))
+
+        var continuedAfterCall = false
+        val job = launch(Dispatchers.IO) {
+            source.getMenuItems()
+            continuedAfterCall = true
+        }
+        withContext(Dispatchers.IO) { server.takeRequest() }
+        job.cancelAndJoin()
+
+        assertFalse(continuedAfterCall)
+    }
+
+    @Test
+    fun benchmarkDecodeLargeMenu() = runBlocking {
+        val body = itemsJson(BENCHMARK_ITEM_COUNT, descriptionLength = BENCHMARK_DESCRIPTION_LENGTH).toByteArray()
+        val client = OkHttpClient()
+        val name = "[${BENCHMARK_ITEM_COUNT / 1000}k, ${body.size / (1024 * 1024)}MB]"
+
+        // Caminho real: decodificação direto do stream, item a item
+        val streamed = {
+            server.enqueue(MockResponse().setBody(Buffer().write(body)))
+            runBlocking { source.getMenuItems().getOrThrow() }
+        }
+        // Referência: corpo inteiro numa String, depois decodeFromString da lista de DTOs
+        val buffered = {
+            server.enqueue(MockResponse().setBody(Buffer().write(body)))
+            decodeWholeBody(client, server.url("/api/menu/items"))
+        }
+
+        val streamedMillis = medianMillis(runs = 5) { streamed() }
+        val streamedPeak = peakHeapBytes { assertEquals(BENCHMARK_ITEM_COUNT, streamed().size) }
+        val bufferedMillis = medianMillis(runs = 5) { buffered() }
+        val bufferedPeak = peakHeapBytes { assertEquals(BENCHMARK_ITEM_COUNT, buffered().size) }
+
+        reportBenchmark("HttpRemoteDataSource.getMenuItems$name", streamedMillis, streamedPeak)
+        reportBenchmark("string+decodeFromString$name", bufferedMillis, bufferedPeak)
+    }
+
+    private fun decodeWholeBody(client: OkHttpClient, url: HttpUrl): List<MenuItemEntity> {
+        val json = Json {
+            ignoreUnknownKeys = true
+            coerceInputValues = true
+        }
+        client.newCall(Request.Builder().url(url).build()).execute().use { response ->
+            val text = response.body!!.string()
+            return json.decodeFromString(ListSerializer(MenuItemDto.serializer()), text).map { it.toEntity() }
+        }
+    }
+
+    private fun itemsJson(count: Int, descriptionLength: Int = 0): String = buildString {
+        val padding = "Ingredientes frescos da estação. ".repeat(descriptionLength / 33 + 1).take(descriptionLength)
+        append('[')
+        for (index in 0 until count) {
+            if (index > 0) append(',')
+            append("""{"id":"item_$index","name":"Prato $index","description":"Descrição do prato $index. $padding",""")
+            append(""""price":${10 + index % 90}.90,"category":"cat_${index % 10}","imageUrl":"https://cdn.example.com/$index.jpg"}""")
+        }
+        append(']')
+    }
+
+    companion object {
+        // ~10MB de JSON: descrições longas, como num cardápio com textos completos
+        private const val BENCHMARK_ITEM_COUNT = 10_000
+        private const val BENCHMARK_DESCRIPTION_LENGTH = 900
+    }
+}
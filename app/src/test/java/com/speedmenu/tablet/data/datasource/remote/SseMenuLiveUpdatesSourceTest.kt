@@ -0,0 +1,138 @@
+package com.speedmenu.tablet.data.datasource.remote
+
+import com.speedmenu.tablet.data.model.MenuItemPatchEntity
+import com.speedmenu.tablet.domain.model.Money
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.retry
+import kotlinx.coroutines.flow.take
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import okhttp3.OkHttpClient
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Assert.fail
+import org.junit.Before
+import org.junit.Test
+import java.io.IOException
+import java.util.concurrent.TimeUnit
+
+/**
+ * Canal ao vivo contra um servidor local (MockWebServer): leitura dos eventos (tipo, comentários,
+ * data em várias linhas), fim do stream como erro para reconectar e cancelamento sem esperar o servidor.
+ */
+class SseMenuLiveUpdatesSourceTest {
+
+    private lateinit var server: MockWebServer
+    private lateinit var source: SseMenuLiveUpdatesSource
+
+    @Before
+    fun setUp() {
+        server = MockWebServer()
+        server.start()
+        source = SseMenuLiveUpdatesSource(OkHttpClient()) { server.url("/api/") }
+    }
+
+    @After
+    fun tearDown() {
+        server.shutdown()
+    }
+
+    @Test
+    fun parsesItemEventsAndSkipsOthers() = runBlocking {
+        server.enqueue(
+            eventStream(
+                ": keep-alive",
+                "",
+                "event: item",
+                """data: {"itemId":"1","isAvailable":false}""",
+                "",
+                "event: heartbeat",
+                """data: {"itemId":"ignored"}""",
+                "",
+                // Sem "event:": tipo padrão (message), data em duas linhas
+                """data: {"itemId":"2",""",
+                """data: "price":12.5}""",
+                "",
+                ""
+            )
+        )
+
+        val patches = withTimeout(TIMEOUT_MILLIS) { source.itemPatches().take(2).toList() }
+
+        assertEquals(
+            listOf(
+                MenuItemPatchEntity("1", isAvailable = false),
+                MenuItemPatchEntity("2", price = Money.ofCents(1_250))
+            ),
+            patches
+        )
+        val request = server.takeRequest()
+        assertEquals("/api/menu/live", request.path)
+        assertEquals("text/event-stream", request.getHeader("Accept"))
+    }
+
+    @Test
+    fun serverClosingStreamFailsFlow() = runBlocking {
+        server.enqueue(eventStream("""data: {"itemId":"1","isAvailable":true}""", "", ""))
+
+        val received = ArrayList<MenuItemPatchEntity>()
+        try {
+            withTimeout(TIMEOUT_MILLIS) { source.itemPatches().collect { received += it } }
+            fail("expected the flow to fail when the server closes the stream")
+        } catch (e: IOException) {
+            // Esperado: quem coleta reconecta
+        }
+        assertEquals(listOf("1"), received.map { it.itemId })
+    }
+
+    @Test
+    fun reconnectOpensNewStream() = runBlocking {
+        server.enqueue(eventStream("""data: {"itemId":"1","isAvailable":false}""", "", ""))
+        server.enqueue(MockResponse().setResponseCode(503))
+        server.enqueue(eventStream("""data: {"itemId":"2","isAvailable":true}""", "", ""))
+
+        val patches = withTimeout(TIMEOUT_MILLIS) {
+            source.itemPatches().retry(2).take(2).toList()
+        }
+
+        assertEquals(listOf("1", "2"), patches.map { it.itemId })
+        assertEquals(3, server.requestCount)
+    }
+
+    @Test
+    fun cancellationDoesNotWaitForServer() = runBlocking {
+        // Primeiro evento chega; depois o servidor fica em silêncio. Sem call.cancel(), a coleta
+        // só terminaria quando a leitura bloqueada voltasse, ao fim do silêncio
+        val event = "data: {\"itemId\":\"1\",\"isAvailable\":false}\n\n"
+        server.enqueue(
+            MockResponse()
+                .setHeader("Content-Type", "text/event-stream")
+                .setBody(event + ": keep-alive\n\n")
+                .throttleBody(event.length.toLong(), SERVER_SILENCE_SECONDS, TimeUnit.SECONDS)
+        )
+
+        val startNanos = System.nanoTime()
+        val first = withTimeout(TIMEOUT_MILLIS) { source.itemPatches().first() }
+        val elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000
+
+        assertEquals("1", first.itemId)
+        assertTrue("cancel took ${elapsedMillis}ms", elapsedMillis < CANCEL_BUDGET_MILLIS)
+    }
+
+    private fun eventStream(vararg lines: String): MockResponse =
+        MockResponse()
+            .setHeader("Content-Type", "text/event-stream")
+            .setBody(lines.joinToString("\n"))
+
+    companion object {
+        private const val TIMEOUT_MILLIS = 5_000L
+        private const val CANCEL_BUDGET_MILLIS = 1_500L
+
+        // Curto o bastante para o shutdown do MockWebServer não desistir de esperar a resposta
+        private const val SERVER_SILENCE_SECONDS = 3L
+    }
+}
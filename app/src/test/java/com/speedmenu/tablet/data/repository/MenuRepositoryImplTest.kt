@@ -0,0 +1,169 @@
+package com.speedmenu.tablet.data.repository
+
+import com.speedmenu.tablet.core.utils.Clock
+import com.speedmenu.tablet.data.datasource.remote.HttpRemoteDataSource
+import com.speedmenu.tablet.data.datasource.remote.MenuLiveUpdatesSource
+import com.speedmenu.tablet.data.model.CategoryEntity
+import com.speedmenu.tablet.data.model.MenuChangesEntity
+import com.speedmenu.tablet.data.model.MenuItemEntity
+import com.speedmenu.tablet.data.model.MenuItemPatchEntity
+import com.speedmenu.tablet.domain.model.Money
+import com.speedmenu.tablet.testing.FakeLocalDataSource
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.update
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import okhttp3.OkHttpClient
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Revalidação do cardápio contra um servidor local (MockWebServer): com catálogo local
+ * versionado e vencido, pede só o delta e o aplica ao snapshot; dentro do TTL, nem consulta.
+ * Alterações ao vivo chegam às linhas sem reemitir a lista da categoria.
+ */
+class MenuRepositoryImplTest {
+
+    private lateinit var server: MockWebServer
+    private lateinit var local: FakeLocalDataSource
+    private lateinit var scope: CoroutineScope
+    private lateinit var repository: MenuRepositoryImpl
+    private val livePatches = MutableSharedFlow<MenuItemPatchEntity>()
+    private var now = SYNCED_AT
+
+    @Before
+    fun setUp() {
+        server = MockWebServer()
+        server.start()
+        local = FakeLocalDataSource()
+        scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+        repository = MenuRepositoryImpl(
+            remoteDataSource = HttpRemoteDataSource(OkHttpClient(), local) { server.url("/api/") },
+            localDataSource = local,
+            liveUpdatesSource = object : MenuLiveUpdatesSource {
+                override fun itemPatches(): Flow<MenuItemPatchEntity> = livePatches
+            },
+            applicationScope = scope,
+            clock = Clock { now }
+        )
+    }
+
+    @After
+    fun tearDown() {
+        scope.cancel()
+        server.shutdown()
+    }
+
+    @Test
+    fun staleVersionedCatalogIsSyncedIncrementally() = runBlocking {
+        seedLocalCatalog()
+        now = SYNCED_AT + STALE_AFTER_MILLIS
+        server.enqueue(
+            MockResponse().setBody(
+                """{"catalogVersion":4,"upsertedItems":[""" +
+                    """{"id":"a","name":"Prato a","price":30.0,"category":"cat_2"},""" +
+                    """{"id":"e","name":"Prato e","price":10.0,"category":"cat_1"}],""" +
+                    """"deletedItemIds":["c"],"deletedCategoryIds":["cat_3"]}"""
+            )
+        )
+
+        assertTrue(repository.refreshMenu().isSuccess)
+
+        assertEquals("/api/menu/changes?since=3", server.takeRequest().path)
+        assertEquals(1, server.requestCount)
+        assertEquals(listOf("a", "b", "d", "e"), local.getMenuItems().map { it.id })
+        assertEquals(listOf("b", "e"), local.getMenuItemsByCategory("cat_1").map { it.id })
+        assertEquals(listOf("a", "d"), local.getMenuItemsByCategory("cat_2").map { it.id })
+        assertEquals(Money.ofCents(3_000), local.getMenuItemById("a")!!.price)
+        assertEquals(listOf("cat_1", "cat_2"), local.getCategories().map { it.id })
+        assertEquals(4L, local.getCatalogVersion())
+        assertEquals(now, local.getLastSyncedAtMillis())
+        // O delta não passa pela gravação do catálogo completo
+        assertEquals(1, local.saveMenuItemsCalls)
+    }
+
+    @Test
+    fun freshCatalogIsNotRevalidated() = runBlocking {
+        seedLocalCatalog()
+        now = SYNCED_AT + 1_000L
+
+        assertTrue(repository.refreshMenu().isSuccess)
+
+        assertEquals(0, server.requestCount)
+    }
+
+    @Test
+    fun failedDeltaKeepsLocalCatalog() = runBlocking {
+        seedLocalCatalog()
+        now = SYNCED_AT + STALE_AFTER_MILLIS
+        server.enqueue(MockResponse().setResponseCode(503))
+
+        assertTrue(repository.refreshMenu().isFailure)
+
+        assertEquals(listOf("a", "b", "c", "d"), local.getMenuItems().map { it.id })
+        assertEquals(3L, local.getCatalogVersion())
+        assertEquals(SYNCED_AT, local.getLastSyncedAtMillis())
+    }
+
+    @Test
+    fun livePatchReachesRowsWithoutReemittingList() = runBlocking {
+        seedLocalCatalog()
+        val categoryEmissions = MutableStateFlow<List<List<String>>>(emptyList())
+        val listJob = launch(Dispatchers.IO) {
+            repository.observeCategory("cat_1").collect { items ->
+                categoryEmissions.update { it + listOf(items.map { item -> item.id }) }
+            }
+        }
+        val updates = async(Dispatchers.IO) { repository.observeItemUpdates().first() }
+        livePatches.subscriptionCount.first { it > 0 }
+        categoryEmissions.first { it.isNotEmpty() }
+
+        livePatches.emit(MenuItemPatchEntity("a", isAvailable = false))
+        assertEquals(listOf("a"), updates.await().map { it.id })
+        local.applyMenuChanges(MenuChangesEntity(catalogVersion = 4L, deletedItemIds = listOf("b")), now)
+
+        // A lista só muda com o catálogo: a alteração ao vivo não gerou emissão entre as duas
+        val emissions = withTimeout(5_000L) { categoryEmissions.first { it.lastOrNull() == listOf("a") } }
+        assertEquals(listOf(listOf("a", "b"), listOf("a")), emissions)
+        assertFalse(local.getMenuItemById("a")!!.isAvailable)
+        listJob.cancel()
+    }
+
+    private suspend fun seedLocalCatalog() {
+        local.saveCategories(listOf(category("cat_1"), category("cat_2"), category("cat_3")))
+        local.saveMenuItems(listOf(item("a", "cat_1"), item("b", "cat_1"), item("c", "cat_2"), item("d", "cat_2")))
+        local.markSynced(catalogVersion = 3L, syncedAtMillis = SYNCED_AT)
+    }
+
+    private fun item(id: String, category: String) = MenuItemEntity(
+        id = id,
+        name = "Prato $id",
+        description = "",
+        price = Money.ofCents(2_000),
+        category = category
+    )
+
+    private fun category(id: String) = CategoryEntity(id = id, name = "Categoria $id")
+
+    companion object {
+        private const val SYNCED_AT = 1_700_000_000_000L
+
+        // Acima do TTL de 5 minutos do repositório
+        private const val STALE_AFTER_MILLIS = 10 * 60 * 1000L
+    }
+}
@@ -0,0 +1,141 @@
+package com.speedmenu.tablet.data.repository
+
+import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.FulfillmentType
+import com.speedmenu.tablet.domain.model.Money
+import com.speedmenu.tablet.domain.model.TableCartOperation
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import kotlin.random.Random
+
+/**
+ * Carrinho compartilhado da mesa: réplicas convergem com entrega embaralhada e repetida,
+ * operações adiantadas esperam as anteriores e um item adicionado a uma linha já removida
+ * na mesa vai para uma linha nova.
+ */
+class TableCartReplicaTest {
+
+    @Test
+    fun replicasConvergeWithShuffledAndDuplicatedDelivery() {
+        repeat(SCENARIOS) { seed -> assertConverges(seed) }
+    }
+
+    @Test
+    fun earlyOperationWaitsForPreviousOne() {
+        val a = TableCartReplica("a")
+        val b = TableCartReplica("b")
+        val first = a.localAdd(item("a_1", "p1"))
+        val second = a.localSetQuantity("a_1", 3)!!
+        val third = a.localSetFulfillmentType("a_1", FulfillmentType.TAKEAWAY)!!
+
+        assertFalse(b.applyRemote(third))
+        assertFalse(b.applyRemote(second))
+        // A lacuna continua sendo pedida: o vetor só avança com operações aplicadas
+        assertEquals(null, b.versionVector()["a"])
+        assertTrue(b.applyRemote(first))
+
+        assertEquals(3L, b.versionVector()["a"])
+        assertEquals(a.visibleLines(), b.visibleLines())
+        assertEquals(FulfillmentType.TAKEAWAY, b.visibleLines().single().fulfillmentType)
+    }
+
+    @Test
+    fun addToLineRemovedByTableStartsNewLine() {
+        val a = TableCartReplica("a")
+        val b = TableCartReplica("b")
+        val added = a.localAdd(item("a_1", "p1", quantity = 2))
+        b.applyRemote(added)
+        val removed = b.localRemove("a_1")!!
+        a.applyRemote(removed)
+
+        // O carrinho local de "a" ainda mostrava a linha quando o cliente tocou em +1
+        val readded = a.localAdd(item("a_1", "p1", quantity = 1))
+        assertTrue(readded is TableCartOperation.AddLine)
+        val newLineId = (readded as TableCartOperation.AddLine).item.id
+        assertNotEquals("a_1", newLineId)
+        b.applyRemote(readded)
+
+        val expected = listOf(item(newLineId, "p1", quantity = 1))
+        assertEquals(expected, a.visibleLines())
+        assertEquals(expected, b.visibleLines())
+    }
+
+    /**
+     * Três réplicas alteram o carrinho ao mesmo tempo, recebendo de vez em quando parte das
+     * operações das outras; no fim todas recebem tudo, embaralhado e com repetições.
+     */
+    private fun assertConverges(seed: Int) {
+        val random = Random(seed)
+        val replicas = List(REPLICA_COUNT) { TableCartReplica("replica_$it") }
+        val log = ArrayList<TableCartOperation>()
+        val seenLineIds = ArrayList<String>()
+        var nextLine = 0
+
+        repeat(STEPS) {
+            val replica = replicas[random.nextInt(replicas.size)]
+            val visible = replica.visibleLines()
+            when (random.nextInt(10)) {
+                0, 1, 2 -> {
+                    val productId = "p${random.nextInt(PRODUCT_COUNT)}"
+                    val lineId = when {
+                        // Mesclar numa linha visível, ou numa que talvez já tenha sido removida em outra réplica
+                        visible.isNotEmpty() && random.nextBoolean() -> visible.random(random).id
+                        seenLineIds.isNotEmpty() && random.nextInt(4) == 0 -> seenLineIds.random(random)
+                        else -> "${productId}_${nextLine++}"
+                    }
+                    val operation = replica.localAdd(item(lineId, productId, quantity = 1 + random.nextInt(3)))
+                    if (operation is TableCartOperation.AddLine) seenLineIds += operation.item.id
+                    log += operation
+                }
+                3 -> if (visible.isNotEmpty()) {
+                    replica.localRemove(visible.random(random).id)?.let { log += it }
+                }
+                4, 5 -> if (visible.isNotEmpty()) {
+                    replica.localSetQuantity(visible.random(random).id, 1 + random.nextInt(5))?.let { log += it }
+                }
+                6 -> if (visible.isNotEmpty()) {
+                    val type = FulfillmentType.values().random(random)
+                    replica.localSetFulfillmentType(visible.random(random).id, type)?.let { log += it }
+                }
+                7 -> if (random.nextInt(5) == 0) log += replica.localClear()
+                else -> deliver(replica, log.filter { random.nextInt(3) == 0 }, random)
+            }
+        }
+
+        replicas.forEach { deliver(it, log, random) }
+
+        val expected = replicas.first().visibleLines()
+        replicas.forEach { replica ->
+            assertEquals("seed $seed, ${replica.replicaId}", expected, replica.visibleLines())
+            assertEquals("seed $seed, ${replica.replicaId}", replicas.first().versionVector(), replica.versionVector())
+        }
+    }
+
+    /**
+     * Entrega as operações embaralhadas, com parte delas repetida (reenvio após resposta perdida).
+     */
+    private fun deliver(replica: TableCartReplica, operations: List<TableCartOperation>, random: Random) {
+        val deliveries = ArrayList(operations)
+        operations.filterTo(deliveries) { random.nextInt(4) == 0 }
+        deliveries.shuffle(random)
+        deliveries.forEach { replica.applyRemote(it) }
+    }
+
+    private fun item(id: String, productId: String, quantity: Int = 1) = CartItem(
+        id = id,
+        productId = productId,
+        name = "Produto $productId",
+        price = Money.ofCents(1_500),
+        quantity = quantity
+    )
+
+    companion object {
+        private const val SCENARIOS = 50
+        private const val REPLICA_COUNT = 3
+        private const val STEPS = 300
+        private const val PRODUCT_COUNT = 6
+    }
+}
@@ -0,0 +1,63 @@
+package com.speedmenu.tablet.domain.model
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotEquals
+import org.junit.Test
+
+/**
+ * Opções do item: ordem de exibição preservada, igualdade e fingerprint independentes
+ * da ordem em que os ingredientes foram escolhidos.
+ */
+class CartItemOptionsTest {
+
+    @Test
+    fun keepsChosenOrderForDisplay() {
+        // Registra os IDs numa ordem diferente da escolha do cliente
+        IngredientDictionary.idOf("Rúcula")
+        IngredientDictionary.idOf("Tomate Seco")
+        IngredientDictionary.idOf("Mussarela")
+
+        val options = CartItemOptions.Builder()
+            .ingredient("Mussarela", 2)
+            .ingredient("Rúcula", 0)
+            .ingredient("Tomate Seco", 1)
+            .build()
+
+        assertEquals(listOf("Mussarela" to 2, "Rúcula" to 0, "Tomate Seco" to 1), ingredientsOf(options))
+    }
+
+    @Test
+    fun sameChoicesInAnyOrderAreEqual() {
+        val first = CartItemOptions.Builder()
+            .ingredient("Bacon", 1)
+            .ingredient("Cheddar", 2)
+            .observations(" Bem passado ")
+            .build()
+        val second = CartItemOptions.Builder()
+            .ingredient("Cheddar", 2)
+            .ingredient("Bacon", 1)
+            .observations("Bem passado")
+            .build()
+
+        assertEquals(first, second)
+        assertEquals(first.fingerprint, second.fingerprint)
+        assertEquals(first.hashCode(), second.hashCode())
+        // A exibição segue a escolha de cada um
+        assertEquals(listOf("Bacon" to 1, "Cheddar" to 2), ingredientsOf(first))
+        assertEquals(listOf("Cheddar" to 2, "Bacon" to 1), ingredientsOf(second))
+    }
+
+    @Test
+    fun differentQuantitiesAreNotEqual() {
+        val first = CartItemOptions(mapOf("Cebola" to 0, "Picles" to 1))
+        val second = CartItemOptions(mapOf("Cebola" to 1, "Picles" to 0))
+
+        assertNotEquals(first, second)
+    }
+
+    private fun ingredientsOf(options: CartItemOptions): List<Pair<String, Int>> {
+        val ingredients = ArrayList<Pair<String, Int>>()
+        options.forEachIngredient { name, quantity -> ingredients += name to quantity }
+        return ingredients
+    }
+}
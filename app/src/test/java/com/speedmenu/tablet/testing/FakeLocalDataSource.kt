@@ -0,0 +1,77 @@
+package com.speedmenu.tablet.testing
+
+import com.speedmenu.tablet.data.datasource.local.LocalDataSource
+import com.speedmenu.tablet.data.datasource.local.MenuCatalogSnapshot
+import com.speedmenu.tablet.data.model.CategoryEntity
+import com.speedmenu.tablet.data.model.MenuChangesEntity
+import com.speedmenu.tablet.data.model.MenuItemEntity
+import com.speedmenu.tablet.data.model.MenuItemPatchEntity
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.map
+
+/**
+ * LocalDataSource em memória para testes: o mesmo [MenuCatalogSnapshot] da implementação real
+ * (deltas e patches aplicados pelo código de produção), sem disco e sem índice de busca.
+ */
+class FakeLocalDataSource : LocalDataSource {
+
+    private val snapshot = MutableStateFlow(MenuCatalogSnapshot.EMPTY)
+
+    var saveMenuItemsCalls = 0
+        private set
+
+    override suspend fun saveMenuItems(items: List<MenuItemEntity>) {
+        saveMenuItemsCalls++
+        snapshot.value = snapshot.value.withItems(items)
+    }
+
+    override suspend fun getMenuItems(): List<MenuItemEntity> = snapshot.value.items
+
+    override suspend fun getMenuItemById(itemId: String): MenuItemEntity? = snapshot.value.itemById(itemId)
+
+    override suspend fun getMenuItemsByCategory(categoryId: String): List<MenuItemEntity> =
+        snapshot.value.itemsInCategory(categoryId)
+
+    override suspend fun hasMenuItems(): Boolean = snapshot.value.items.isNotEmpty()
+
+    override fun observeMenuItems(): Flow<List<MenuItemEntity>> = listings().map { it.items }
+
+    override fun observeMenuItemsByCategory(categoryId: String): Flow<List<MenuItemEntity>> =
+        listings().map { it.itemsInCategory(categoryId) }.distinctUntilChanged()
+
+    override suspend fun searchMenuItems(query: String, limit: Int): List<MenuItemEntity> =
+        snapshot.value.items.filter { it.name.contains(query, ignoreCase = true) }.take(limit)
+
+    override suspend fun getCatalogVersion(): Long = snapshot.value.catalogVersion
+
+    override suspend fun getLastSyncedAtMillis(): Long = snapshot.value.syncedAtMillis
+
+    override suspend fun markSynced(catalogVersion: Long, syncedAtMillis: Long) {
+        snapshot.value = snapshot.value.withSyncState(catalogVersion, syncedAtMillis)
+    }
+
+    override suspend fun applyMenuChanges(changes: MenuChangesEntity, syncedAtMillis: Long) {
+        snapshot.value = snapshot.value.withChanges(changes, syncedAtMillis)
+    }
+
+    override suspend fun applyItemPatches(patches: List<MenuItemPatchEntity>): List<MenuItemEntity> {
+        val (patched, changed) = snapshot.value.withItemPatches(patches)
+        snapshot.value = patched
+        return changed
+    }
+
+    override suspend fun saveCategories(categories: List<CategoryEntity>) {
+        snapshot.value = snapshot.value.withCategories(categories)
+    }
+
+    override suspend fun getCategories(): List<CategoryEntity> = snapshot.value.categories
+
+    override suspend fun clearAll() {
+        snapshot.value = MenuCatalogSnapshot.EMPTY
+    }
+
+    private fun listings(): Flow<MenuCatalogSnapshot> =
+        snapshot.distinctUntilChanged { old, new -> old.hasSameListingAs(new) }
+}
@@ -0,0 +1,116 @@
+package com.speedmenu.tablet.ui.viewmodel
+
+import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.CartItemOptions
+import com.speedmenu.tablet.domain.model.Money
+import com.speedmenu.tablet.testing.medianMillis
+import com.speedmenu.tablet.testing.reportBenchmark
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Linhas do carrinho: mesclagem por produto, preço e opções, totais incrementais
+ * e custo de adicionar/mesclar em um carrinho de 200 linhas.
+ */
+class CartLinesTest {
+
+    private var nextLineId = 0
+    private fun newLineId() = "line_${nextLineId++}"
+
+    @Test
+    fun mergesSameProductPriceAndOptions() {
+        val lines = CartLines()
+        val first = lines.add(item("p1", cents = 2_000, quantity = 1)) { newLineId() }
+        val second = lines.add(item("p1", cents = 2_000, quantity = 2)) { newLineId() }
+
+        assertEquals(first, second)
+        val state = lines.snapshot()
+        assertEquals(1, state.items.size)
+        assertEquals(3, state.totalItems)
+        assertEquals(Money.ofCents(6_000), state.totalValue)
+    }
+
+    @Test
+    fun priceChangeStartsNewLineAndTotalsMatchLines() {
+        val lines = CartLines()
+        val first = lines.add(item("p1", cents = 2_000, quantity = 1)) { newLineId() }
+        // Preço mudou (ex: alteração ao vivo do cardápio) antes de adicionar de novo
+        val second = lines.add(item("p1", cents = 2_500, quantity = 1)) { newLineId() }
+
+        assertNotEquals(first, second)
+        val state = lines.snapshot()
+        assertEquals(Money.ofCents(4_500), state.totalValue)
+        assertEquals(state.items.fold(Money.ZERO) { total, line -> total + line.totalPrice }, state.totalValue)
+    }
+
+    @Test
+    fun removeAndSetQuantityKeepTotals() {
+        val lines = CartLines()
+        val a = lines.add(item("p1", cents = 1_000, quantity = 2)) { newLineId() }
+        val b = lines.add(item("p2", cents = 3_000, quantity = 1)) { newLineId() }
+
+        lines.setQuantity(a, 5)
+        lines.remove(b)
+
+        val state = lines.snapshot()
+        assertEquals(5, state.totalItems)
+        assertEquals(Money.ofCents(5_000), state.totalValue)
+    }
+
+    @Test
+    fun benchmarkAddAndMerge200Lines() {
+        val options = List(OPTION_VARIANTS) { variant ->
+            CartItemOptions.Builder()
+                .ingredient("Queijo", 1 + variant % 3)
+                .ingredient("Bacon", variant % 2)
+                .observations(if (variant % 5 == 0) "Sem cebola" else "")
+                .build()
+        }
+        val items = List(LINE_COUNT) { index ->
+            item("product_${index % PRODUCT_COUNT}", cents = 1_000L + index % PRODUCT_COUNT, quantity = 1, options = options[index / PRODUCT_COUNT])
+        }
+
+        var lines = CartLines()
+        val addMillis = medianMillis(runs = 20) {
+            lines = CartLines()
+            for (item in items) lines.add(item) { newLineId() }
+        }
+        val mergeMillis = medianMillis(runs = 20) {
+            // Cada item cai em uma linha existente
+            for (item in items) lines.add(item) { newLineId() }
+        }
+        reportBenchmark("CartLines.add[$LINE_COUNT new lines]", addMillis)
+        reportBenchmark("CartLines.add[$LINE_COUNT merges]", mergeMillis)
+
+        val state = lines.snapshot()
+        assertEquals(LINE_COUNT, state.items.size)
+        assertEquals(state.items.sumOf { it.quantity }, state.totalItems)
+        assertTrue("add took $addMillis ms", addMillis < MAX_MILLIS)
+        assertTrue("merge took $mergeMillis ms", mergeMillis < MAX_MILLIS)
+    }
+
+    private fun item(
+        productId: String,
+        cents: Long,
+        quantity: Int,
+        options: CartItemOptions = CartItemOptions()
+    ) = CartItem(
+        id = "",
+        productId = productId,
+        name = "Produto $productId",
+        price = Money.ofCents(cents),
+        quantity = quantity,
+        options = options
+    )
+
+    companion object {
+        private const val LINE_COUNT = 200
+        private const val PRODUCT_COUNT = 40
+        private const val OPTION_VARIANTS = LINE_COUNT / PRODUCT_COUNT
+
+        // Folga para máquinas de CI lentas; a operação inteira fica bem abaixo de 1ms
+        private const val MAX_MILLIS = 5.0
+    }
+}
@@ -0,0 +1,88 @@
+package com.speedmenu.tablet.ui.viewmodel
+
+import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.Money
+import com.speedmenu.tablet.domain.model.OrderLine
+import com.speedmenu.tablet.domain.model.OrderLineStatus
+import com.speedmenu.tablet.domain.model.OrderUpdate
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Linhas do pedido acompanhado: diferenças só depois do pedido completo, alterações
+ * repetidas ignoradas e linhas não alteradas preservadas (mesma instância).
+ */
+class OrderLinesTest {
+
+    @Test
+    fun ignoresDiffsBeforeSnapshot() {
+        val lines = OrderLines()
+
+        assertFalse(lines.apply(OrderUpdate.StatusChanged("l1", OrderLineStatus.READY)))
+        assertFalse(lines.apply(OrderUpdate.LineUpserted(line("l1"))))
+        assertFalse(lines.hasSnapshot)
+        assertTrue(lines.items().isEmpty())
+
+        // Pedido vazio também conta como carga inicial
+        assertTrue(lines.apply(OrderUpdate.Snapshot(emptyList())))
+        assertTrue(lines.hasSnapshot)
+    }
+
+    @Test
+    fun statusChangeReplacesOnlyThatLine() {
+        val lines = OrderLines()
+        lines.apply(OrderUpdate.Snapshot(listOf(line("l1"), line("l2"))))
+        val untouched = lines.items()[1]
+
+        assertTrue(lines.apply(OrderUpdate.StatusChanged("l1", OrderLineStatus.SENT_TO_KITCHEN)))
+        assertFalse(lines.apply(OrderUpdate.StatusChanged("l1", OrderLineStatus.SENT_TO_KITCHEN)))
+        assertFalse(lines.apply(OrderUpdate.StatusChanged("unknown", OrderLineStatus.READY)))
+
+        assertEquals(mapOf("l1" to OrderLineStatus.SENT_TO_KITCHEN, "l2" to OrderLineStatus.RECEIVED), lines.statuses())
+        assertSame(untouched, lines.items()[1])
+    }
+
+    @Test
+    fun upsertAndRemoveKeepArrivalOrder() {
+        val lines = OrderLines()
+        lines.apply(OrderUpdate.Snapshot(listOf(line("l1"), line("l2"))))
+
+        assertTrue(lines.apply(OrderUpdate.LineUpserted(line("l3"))))
+        assertFalse(lines.apply(OrderUpdate.LineUpserted(line("l3"))))
+        assertTrue(lines.apply(OrderUpdate.LineUpserted(line("l1", quantity = 2))))
+        assertTrue(lines.apply(OrderUpdate.LineRemoved("l2")))
+        assertFalse(lines.apply(OrderUpdate.LineRemoved("l2")))
+
+        assertEquals(listOf("l1", "l3"), lines.items().map { it.id })
+        assertEquals(2, lines.items().first().quantity)
+    }
+
+    @Test
+    fun snapshotReplacesAllLines() {
+        val lines = OrderLines()
+        lines.apply(OrderUpdate.Snapshot(listOf(line("l1"), line("l2"))))
+
+        assertTrue(lines.apply(OrderUpdate.Snapshot(listOf(line("l3", status = OrderLineStatus.DELIVERED)))))
+
+        assertEquals(listOf("l3"), lines.items().map { it.id })
+        assertEquals(mapOf("l3" to OrderLineStatus.DELIVERED), lines.statuses())
+    }
+
+    private fun line(
+        id: String,
+        quantity: Int = 1,
+        status: OrderLineStatus = OrderLineStatus.RECEIVED
+    ) = OrderLine(
+        item = CartItem(
+            id = id,
+            productId = "product_$id",
+            name = "Prato $id",
+            price = Money.ofCents(3_000),
+            quantity = quantity
+        ),
+        status = status
+    )
+}
@@ -0,0 +1,79 @@
+package com.speedmenu.tablet.ui.viewmodel
+
+import com.speedmenu.tablet.domain.model.CartItem
+import com.speedmenu.tablet.domain.model.Money
+import com.speedmenu.tablet.domain.model.OrderLine
+import com.speedmenu.tablet.domain.model.OrderLineStatus
+import com.speedmenu.tablet.domain.model.OrderUpdate
+import com.speedmenu.tablet.domain.repository.OrderRepository
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Test
+
+/**
+ * Acompanhamento do pedido: falha antes da carga inicial vira erro, falha depois mantém
+ * o pedido na tela, e uma nova coleta (volta do segundo plano) parte do último estado.
+ */
+class OrderTrackingTest {
+
+    @Test
+    fun unavailableBeforeSnapshotShowsError() = runBlocking {
+        val tracking = OrderTracking("C1", repository(OrderUpdate.Unavailable("Sem conexão")))
+
+        val states = tracking.states().toList()
+
+        assertEquals(listOf(TrackedOrder(), TrackedOrder(isLoading = false, error = "Sem conexão")), states)
+    }
+
+    @Test
+    fun unavailableAfterSnapshotKeepsOrder() = runBlocking {
+        val tracking = OrderTracking(
+            "C1",
+            repository(
+                OrderUpdate.Snapshot(listOf(line("l1"))),
+                OrderUpdate.Unavailable("Sem conexão"),
+                OrderUpdate.StatusChanged("l1", OrderLineStatus.READY)
+            )
+        )
+
+        val states = tracking.states().toList()
+
+        assertEquals(3, states.size)
+        assertFalse(states.any { it.error != null })
+        assertEquals(mapOf("l1" to OrderLineStatus.READY), states.last().lineStatuses)
+    }
+
+    @Test
+    fun newCollectionStartsFromLastState() = runBlocking {
+        val tracking = OrderTracking(
+            "C1",
+            repository(OrderUpdate.Snapshot(listOf(line("l1"))), OrderUpdate.StatusChanged("l1", OrderLineStatus.READY))
+        )
+        val lastState = tracking.states().toList().last()
+
+        // Volta do segundo plano: a tela continua com o pedido até a nova carga chegar
+        assertEquals(lastState, tracking.states().toList().first())
+    }
+
+    private fun repository(vararg updates: OrderUpdate) = object : OrderRepository {
+        override fun observeOrder(comandaCode: String): Flow<OrderUpdate> = flowOf(*updates)
+
+        override suspend fun finalizeOrder(comandaCode: String, items: List<CartItem>): Result<Unit> =
+            Result.success(Unit)
+    }
+
+    private fun line(id: String) = OrderLine(
+        item = CartItem(
+            id = id,
+            productId = "product_$id",
+            name = "Prato $id",
+            price = Money.ofCents(3_000),
+            quantity = 1
+        ),
+        status = OrderLineStatus.RECEIVED
+    )
+}